@@ -0,0 +1,33 @@
+package com.cg.analytics; // Defines the package for flight analytics
+
+import java.util.EnumSet; // Set of dimensions of one query
+import java.util.Locale; // Case-insensitive parsing
+
+// What an analytics query can group flights by
+public enum Dimension {
+	AIRLINE, // Operating airline
+	ROUTE, // Source and destination pair
+	CLASS, // Seating class
+	DAY; // Departure date
+
+	// Parses "airline,route" (any case, any order); null or blank means no grouping
+	public static EnumSet<Dimension> parse(String list) {
+		EnumSet<Dimension> dims = EnumSet.noneOf(Dimension.class);
+		if (list == null || list.isBlank()) {
+			return dims;
+		}
+		for (String name : list.split(",")) {
+			String wanted = name.trim().toUpperCase(Locale.ROOT);
+			if (wanted.isEmpty()) {
+				continue;
+			}
+			try {
+				dims.add(valueOf(wanted));
+			} catch (IllegalArgumentException ex) {
+				throw new IllegalArgumentException("Unknown groupBy dimension '" + name.trim() + "'; known dimensions are "
+						+ EnumSet.allOf(Dimension.class).toString().toLowerCase(Locale.ROOT));
+			}
+		}
+		return dims;
+	}
+}
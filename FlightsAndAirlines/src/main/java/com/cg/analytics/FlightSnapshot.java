@@ -0,0 +1,304 @@
+package com.cg.analytics; // Defines the package for flight analytics
+
+import java.time.LocalDate; // Departure dates
+import java.util.ArrayList; // Resizable lists of dictionary entries and result rows
+import java.util.Arrays; // Array growth
+import java.util.Comparator; // Orders groups by revenue potential
+import java.util.EnumSet; // Dimensions of one query
+import java.util.HashMap; // Dictionaries used while building
+import java.util.List; // Interface for ordered collections
+import java.util.Map; // Interface for the dictionaries
+import java.util.concurrent.ForkJoinPool; // Number of cores a scan is split across
+import java.util.stream.IntStream; // Runs the scan chunks in parallel
+
+import com.cg.dto.AnalyticsQuery; // Import for the grouping and filter parameters
+import com.cg.dto.AnalyticsResult; // Import for the answer of a query
+import com.cg.dto.AnalyticsRow; // Import for one group of the answer
+import com.cg.entity.AirlineClass; // Seating classes and their price factors
+
+// Read-only columnar copy of the flights table for analytics. Each column is a primitive array
+// indexed by row; strings are dictionary-encoded (airlines and cities become small int codes)
+// and fares are stored with the class price factor already applied. A million flights take about
+// 33 MB. Grouping scans the arrays in parallel chunks, each with its own GroupTable keyed by a
+// mixed-radix number built from the grouped codes, and merges the chunk tables at the end.
+//
+// A snapshot never changes after it is built, so queries need no locks; FlightAnalyticsService
+// replaces it as a whole when it refreshes.
+public final class FlightSnapshot {
+
+	private static final AirlineClass[] CLASSES = AirlineClass.values(); // Class codes are their ordinals
+	private static final int NO_CLASS = CLASSES.length; // Code of flights without a known class
+	private static final int MIN_CHUNK = 64 * 1024; // Rows scanned per parallel task at least
+
+	private final int size; // Flights in the snapshot
+	private final int[] airline; // Airline code per flight
+	private final int[] source; // City code of the departure
+	private final int[] destination; // City code of the arrival
+	private final byte[] classCode; // AirlineClass ordinal, or NO_CLASS
+	private final int[] day; // Departure date as 1 + days since firstDay, or 0 when unknown
+	private final double[] fare; // flightPrice x class price factor
+	private final int[] totSeat; // Seating capacity
+	private final int[] availSeat; // Seats still for sale
+	private final String[] airlineNames; // Airline code -> name
+	private final String[] places; // City code -> name
+	private final long firstDay; // Epoch day of day code 1
+	private final int days; // Highest day code
+	private final long takenAt; // Epoch milliseconds when the rows were read
+
+	private FlightSnapshot(Builder b, int[] day, long firstDay, int days, long takenAt) {
+		this.size = b.size;
+		this.airline = Arrays.copyOf(b.airline, b.size);
+		this.source = Arrays.copyOf(b.source, b.size);
+		this.destination = Arrays.copyOf(b.destination, b.size);
+		this.classCode = Arrays.copyOf(b.classCode, b.size);
+		this.day = day;
+		this.fare = Arrays.copyOf(b.fare, b.size);
+		this.totSeat = Arrays.copyOf(b.totSeat, b.size);
+		this.availSeat = Arrays.copyOf(b.availSeat, b.size);
+		this.airlineNames = b.airlineNames.toArray(new String[0]);
+		this.places = b.places.toArray(new String[0]);
+		this.firstDay = firstDay;
+		this.days = days;
+		this.takenAt = takenAt;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public long getTakenAt() {
+		return takenAt;
+	}
+
+	// Groups the flights matching the query's filters and returns the groups with the highest
+	// revenue potential first; throws IllegalArgumentException for unknown dimensions
+	public AnalyticsResult aggregate(AnalyticsQuery query) {
+		long start = System.nanoTime();
+		Scan scan = new Scan(Dimension.parse(query.getGroupBy()), query);
+		int chunks = Math.max(1, Math.min(ForkJoinPool.getCommonPoolParallelism() * 4, size / MIN_CHUNK));
+		int chunkSize = (size + chunks - 1) / chunks;
+		GroupTable groups = chunks == 1 ? scan.run(0, size)
+				: IntStream.range(0, chunks).parallel()
+						.mapToObj(c -> scan.run(c * chunkSize, Math.min(size, (c + 1) * chunkSize)))
+						.reduce((a, b) -> {
+							a.merge(b);
+							return a;
+						}).orElseThrow();
+
+		long matched = 0;
+		List<AnalyticsRow> rows = new ArrayList<>(groups.size());
+		for (int slot = 0; slot < groups.capacity(); slot++) {
+			if (groups.key(slot) >= 0) {
+				matched += groups.flights(slot);
+				rows.add(scan.row(groups, slot));
+			}
+		}
+		rows.sort(Comparator.comparingDouble(AnalyticsRow::getRevenuePotential).reversed());
+		int limit = Math.max(0, query.getLimit());
+		List<AnalyticsRow> top = rows.size() > limit ? List.copyOf(rows.subList(0, limit)) : rows;
+		return new AnalyticsResult(takenAt, size, matched, rows.size(), (System.nanoTime() - start) / 1000, top);
+	}
+
+	// One query's filters as code masks and its group key as key = sum(code x multiplier), where
+	// the multiplier of a dimension not grouped by is 0
+	private final class Scan {
+		private final boolean[] airlineMask; // Airline codes to keep, or null for all
+		private final boolean[] sourceMask; // City codes to keep as departures, or null for all
+		private final boolean[] destinationMask; // City codes to keep as arrivals, or null for all
+		private final int classFilter; // Class code to keep, or -1 for all
+		private final int dayFrom; // Lowest day code to keep
+		private final int dayTo; // Highest day code to keep
+		private final long radixAirline, radixRoute, radixClass, radixDay; // 1 when not grouped
+		private final long mulAirline, mulRoute, mulClass, mulDay; // 0 when not grouped
+		private final int expectedGroups; // Initial table size, so small key spaces never rehash
+
+		Scan(EnumSet<Dimension> dims, AnalyticsQuery q) {
+			airlineMask = mask(airlineNames, q.getAirline());
+			sourceMask = mask(places, q.getSource());
+			destinationMask = mask(places, q.getDestination());
+			classFilter = q.getClassName() != null ? q.getClassName().ordinal() : -1;
+			if (q.getFromDate() == null && q.getToDate() == null) {
+				dayFrom = 0; // Flights without a date are kept too
+				dayTo = days;
+			} else {
+				dayFrom = (int) Math.max(1, Math.min(days + 1L, q.getFromDate() == null ? 1
+						: q.getFromDate().toEpochDay() - firstDay + 1));
+				dayTo = (int) Math.max(0, Math.min(days, q.getToDate() == null ? days
+						: q.getToDate().toEpochDay() - firstDay + 1));
+			}
+			radixDay = dims.contains(Dimension.DAY) ? days + 1L : 1;
+			radixClass = dims.contains(Dimension.CLASS) ? NO_CLASS + 1L : 1;
+			radixRoute = dims.contains(Dimension.ROUTE) ? Math.max(1, (long) places.length * places.length) : 1;
+			radixAirline = dims.contains(Dimension.AIRLINE) ? Math.max(1, airlineNames.length) : 1;
+			try {
+				long keySpace = Math.multiplyExact(Math.multiplyExact(radixAirline, radixRoute),
+						Math.multiplyExact(radixClass, radixDay));
+				expectedGroups = (int) Math.min(keySpace, Math.min(size, 1 << 16));
+			} catch (ArithmeticException ex) { // Every key must fit in a long
+				throw new IllegalArgumentException("Too many possible groups for " + dims + "; group by fewer dimensions");
+			}
+			mulDay = dims.contains(Dimension.DAY) ? 1 : 0;
+			mulClass = dims.contains(Dimension.CLASS) ? radixDay : 0;
+			mulRoute = dims.contains(Dimension.ROUTE) ? radixDay * radixClass : 0;
+			mulAirline = dims.contains(Dimension.AIRLINE) ? radixDay * radixClass * radixRoute : 0;
+		}
+
+		// Sums the matching rows of [from, to) into a new table
+		GroupTable run(int from, int to) {
+			GroupTable table = new GroupTable(Math.min(expectedGroups, to - from));
+			long placeCount = places.length;
+			for (int i = from; i < to; i++) {
+				int d = day[i];
+				if (d < dayFrom || d > dayTo || (classFilter >= 0 && classCode[i] != classFilter)
+						|| (airlineMask != null && !airlineMask[airline[i]])
+						|| (sourceMask != null && !sourceMask[source[i]])
+						|| (destinationMask != null && !destinationMask[destination[i]])) {
+					continue;
+				}
+				long key = airline[i] * mulAirline + (source[i] * placeCount + destination[i]) * mulRoute
+						+ classCode[i] * mulClass + d * mulDay;
+				int seats = totSeat[i];
+				int sold = seats - availSeat[i];
+				table.add(key, seats, sold, fare[i] * sold);
+			}
+			return table;
+		}
+
+		// Decodes a group key back into names
+		AnalyticsRow row(GroupTable groups, int slot) {
+			long key = groups.key(slot);
+			int d = (int) (key % radixDay);
+			key /= radixDay;
+			int c = (int) (key % radixClass);
+			key /= radixClass;
+			long route = key % radixRoute;
+			int a = (int) (key / radixRoute);
+			return new AnalyticsRow(mulAirline != 0 ? airlineNames[a] : null,
+					mulRoute != 0 ? places[(int) (route / places.length)] : null,
+					mulRoute != 0 ? places[(int) (route % places.length)] : null,
+					mulClass != 0 && c < NO_CLASS ? CLASSES[c].name() : null,
+					mulDay != 0 && d > 0 ? LocalDate.ofEpochDay(firstDay + d - 1) : null, groups.flights(slot),
+					groups.seats(slot), groups.sold(slot), groups.revenue(slot));
+		}
+
+		// Codes whose name equals 'wanted' ignoring case, or null when there is no filter
+		private boolean[] mask(String[] names, String wanted) {
+			if (wanted == null || wanted.isBlank()) {
+				return null;
+			}
+			String name = wanted.trim();
+			boolean[] mask = new boolean[names.length];
+			for (int i = 0; i < names.length; i++) {
+				mask[i] = names[i] != null && names[i].trim().equalsIgnoreCase(name);
+			}
+			return mask;
+		}
+	}
+
+	// Collects rows read from the database into growing columns, assigning dictionary codes
+	public static final class Builder {
+		// Columns as in FlightSnapshot, with spare capacity at the end
+		private int size;
+		private int[] airline;
+		private int[] source;
+		private int[] destination;
+		private byte[] classCode;
+		private int[] epochDay; // Converted to day codes by build()
+		private double[] fare;
+		private int[] totSeat;
+		private int[] availSeat;
+		private final Map<Integer, Integer> airlineCodes = new HashMap<>(); // Airline ID -> code
+		private final List<String> airlineNames = new ArrayList<>(); // Code -> name
+		private final Map<String, Integer> placeCodes = new HashMap<>(); // City -> code
+		private final List<String> places = new ArrayList<>(); // Code -> city
+
+		// 'expected' sizes the columns up front, e.g. the previous snapshot's size
+		public Builder(int expected) {
+			int capacity = Math.max(16, expected);
+			airline = new int[capacity];
+			source = new int[capacity];
+			destination = new int[capacity];
+			classCode = new byte[capacity];
+			epochDay = new int[capacity];
+			fare = new double[capacity];
+			totSeat = new int[capacity];
+			availSeat = new int[capacity];
+		}
+
+		// Adds one flight; airlineId, names, className and departureDate may be null
+		public void add(Integer airlineId, String airlineName, String from, String to, String className,
+				LocalDate departureDate, double flightPrice, int seats, int available) {
+			if (size == airline.length) {
+				grow();
+			}
+			Integer code = airlineCodes.get(airlineId);
+			if (code == null) {
+				code = airlineNames.size();
+				airlineCodes.put(airlineId, code);
+				airlineNames.add(airlineName);
+			}
+			airline[size] = code;
+			source[size] = place(from);
+			destination[size] = place(to);
+			int cls = classOf(className);
+			classCode[size] = (byte) cls;
+			fare[size] = flightPrice * (cls < NO_CLASS ? CLASSES[cls].getPriceFactor() : 1);
+			epochDay[size] = departureDate != null ? (int) departureDate.toEpochDay() : Integer.MIN_VALUE;
+			totSeat[size] = seats;
+			availSeat[size] = available;
+			size++;
+		}
+
+		// Freezes the columns; 'takenAt' is when the rows were read
+		public FlightSnapshot build(long takenAt) {
+			int min = Integer.MAX_VALUE;
+			int max = Integer.MIN_VALUE;
+			for (int i = 0; i < size; i++) {
+				if (epochDay[i] != Integer.MIN_VALUE) {
+					min = Math.min(min, epochDay[i]);
+					max = Math.max(max, epochDay[i]);
+				}
+			}
+			int[] day = new int[size];
+			if (min <= max) {
+				for (int i = 0; i < size; i++) {
+					day[i] = epochDay[i] != Integer.MIN_VALUE ? epochDay[i] - min + 1 : 0;
+				}
+			}
+			return new FlightSnapshot(this, day, min <= max ? min : 0, min <= max ? max - min + 1 : 0, takenAt);
+		}
+
+		private int place(String name) {
+			Integer code = placeCodes.get(name); // Null cities share one code too
+			if (code == null) {
+				code = places.size();
+				placeCodes.put(name, code);
+				places.add(name);
+			}
+			return code;
+		}
+
+		private static int classOf(String className) {
+			if (className != null) {
+				for (AirlineClass cls : CLASSES) {
+					if (cls.name().equals(className)) {
+						return cls.ordinal();
+					}
+				}
+			}
+			return NO_CLASS;
+		}
+
+		private void grow() {
+			int capacity = airline.length * 2;
+			airline = Arrays.copyOf(airline, capacity);
+			source = Arrays.copyOf(source, capacity);
+			destination = Arrays.copyOf(destination, capacity);
+			classCode = Arrays.copyOf(classCode, capacity);
+			epochDay = Arrays.copyOf(epochDay, capacity);
+			fare = Arrays.copyOf(fare, capacity);
+			totSeat = Arrays.copyOf(totSeat, capacity);
+			availSeat = Arrays.copyOf(availSeat, capacity);
+		}
+	}
+}
@@ -0,0 +1,115 @@
+package com.cg.analytics; // Defines the package for flight analytics
+
+import java.util.Arrays; // Marks new slots as free
+
+// Open-addressing hash table from a group key to the running sums of that group. The four sums of
+// a slot sit next to each other in one double array, so adding a flight touches two cache lines
+// (key and sums) and allocates nothing; counts stay exact up to 2^53. Each scan thread fills its
+// own table; the tables are merged at the end. Not thread-safe.
+final class GroupTable {
+
+	private static final long EMPTY = -1; // Keys are never negative
+	private static final int FLIGHTS = 0, SEATS = 1, SOLD = 2, REVENUE = 3, WIDTH = 4; // Sums per slot
+
+	private long[] keys; // Group key per slot, EMPTY when free
+	private double[] sums; // WIDTH sums per slot
+	private int size; // Slots in use
+	private int mask; // Capacity - 1; the capacity is a power of two
+
+	GroupTable(int expected) {
+		allocate(Integer.highestOneBit(Math.max(16, expected * 2 - 1)) << 1);
+	}
+
+	// Adds one flight to its group
+	void add(long key, int flightSeats, int soldSeats, double flightRevenue) {
+		int at = sumsAt(key);
+		sums[at + FLIGHTS] += 1;
+		sums[at + SEATS] += flightSeats;
+		sums[at + SOLD] += soldSeats;
+		sums[at + REVENUE] += flightRevenue;
+	}
+
+	// Adds every group of 'other' to this table
+	void merge(GroupTable other) {
+		for (int slot = 0; slot < other.keys.length; slot++) {
+			if (other.keys[slot] != EMPTY) {
+				int at = sumsAt(other.keys[slot]);
+				for (int k = 0; k < WIDTH; k++) {
+					sums[at + k] += other.sums[slot * WIDTH + k];
+				}
+			}
+		}
+	}
+
+	int size() {
+		return size;
+	}
+
+	// Slots are read by index: 0 .. capacity() - 1, skipping those where key(slot) < 0
+	int capacity() {
+		return keys.length;
+	}
+
+	long key(int slot) {
+		return keys[slot];
+	}
+
+	long flights(int slot) {
+		return (long) sums[slot * WIDTH + FLIGHTS];
+	}
+
+	long seats(int slot) {
+		return (long) sums[slot * WIDTH + SEATS];
+	}
+
+	long sold(int slot) {
+		return (long) sums[slot * WIDTH + SOLD];
+	}
+
+	double revenue(int slot) {
+		return sums[slot * WIDTH + REVENUE];
+	}
+
+	// Index of the key's sums, claiming a free slot for a new key (linear probing)
+	private int sumsAt(long key) {
+		int slot = slot(key);
+		if (keys[slot] == EMPTY) {
+			if (size * 2 >= keys.length) { // Keeps probe chains short
+				grow();
+				slot = slot(key);
+			}
+			keys[slot] = key;
+			size++;
+		}
+		return slot * WIDTH;
+	}
+
+	// The key's slot, or the free slot where it belongs
+	private int slot(long key) {
+		int slot = (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+		while (keys[slot] != EMPTY && keys[slot] != key) {
+			slot = (slot + 1) & mask;
+		}
+		return slot;
+	}
+
+	private void grow() {
+		long[] oldKeys = keys;
+		double[] oldSums = sums;
+		allocate(oldKeys.length * 2);
+		for (int i = 0; i < oldKeys.length; i++) {
+			if (oldKeys[i] != EMPTY) {
+				int slot = slot(oldKeys[i]);
+				keys[slot] = oldKeys[i];
+				System.arraycopy(oldSums, i * WIDTH, sums, slot * WIDTH, WIDTH);
+			}
+		}
+	}
+
+	private void allocate(int capacity) {
+		keys = new long[capacity];
+		Arrays.fill(keys, EMPTY);
+		sums = new double[capacity * WIDTH];
+		mask = capacity - 1;
+	}
+}
@@ -0,0 +1,52 @@
+package com.cg.cache; // Defines the package for in-process caches
+
+// Point-in-time hit/miss counters of one cache, shown to admins and exported as metrics
+public class CacheStats {
+	private final String name; // Name of the cache these numbers belong to
+	private final long hits; // Lookups answered from memory
+	private final long misses; // Lookups that had to go to the database
+	private final long evictions; // Entries dropped because of size limits or invalidation
+	private final int size; // Entries currently held
+
+	// Parameterized constructor to initialize all fields at once
+	public CacheStats(String name, long hits, long misses, long evictions, int size) {
+		this.name = name;
+		this.hits = hits;
+		this.misses = misses;
+		this.evictions = evictions;
+		this.size = size;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public long getHits() {
+		return hits;
+	}
+
+	public long getMisses() {
+		return misses;
+	}
+
+	public long getEvictions() {
+		return evictions;
+	}
+
+	public int getSize() {
+		return size;
+	}
+
+	// Share of lookups served from memory, between 0 and 1
+	public double getHitRatio() {
+		long total = hits + misses;
+		return total == 0 ? 0.0 : (double) hits / total;
+	}
+
+	// Readable summary for log lines
+	@Override
+	public String toString() {
+		return "CacheStats [name=" + name + ", hits=" + hits + ", misses=" + misses + ", evictions=" + evictions
+				+ ", size=" + size + "]";
+	}
+}
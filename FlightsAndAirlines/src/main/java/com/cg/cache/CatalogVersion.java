@@ -0,0 +1,63 @@
+package com.cg.cache; // Defines the package for in-process caches
+
+import java.util.concurrent.ThreadLocalRandom; // Random epoch that tells restarts apart
+import java.util.concurrent.atomic.AtomicLong; // Version shared by all request threads
+
+import org.springframework.context.event.EventListener; // Subscribes a method to application events
+import org.springframework.stereotype.Component; // Registers this class as a Spring bean
+
+import com.cg.event.FlightChangedEvent; // Event published when a flight changes
+import com.cg.event.FlightsBulkChangedEvent; // Event published after bulk writes
+
+// A counter that moves whenever anything shown in the flight listing may have changed: flights,
+// seat counts after a booking, or airline names. Pages rendered from the same version are
+// identical, so the version is used as the HTTP validator (ETag and Last-Modified) of the listing
+// and an unchanged page can be answered with 304 without a query or a template render.
+// The ETag also carries a random epoch per start, so validators from before a restart (or from
+// another instance, whose counter is unrelated) never match.
+@Component // Tells Spring to create and manage a single shared instance
+public class CatalogVersion {
+
+	private final String epoch = Long.toHexString(ThreadLocalRandom.current().nextLong()); // Per start
+	private final AtomicLong version = new AtomicLong(); // Bumped on every catalog change
+	private volatile long lastModified = System.currentTimeMillis() / 1000 * 1000; // Whole seconds, as in HTTP dates
+	private volatile String etag = tag(0); // Cached so a 304 costs no string building
+
+	// Records a catalog change; called after the change is committed
+	public void bump() {
+		long v = version.incrementAndGet();
+		lastModified = System.currentTimeMillis() / 1000 * 1000;
+		etag = tag(v);
+	}
+
+	// Flight saves, updates and deletes
+	@EventListener
+	public void onFlightChanged(FlightChangedEvent event) {
+		bump();
+	}
+
+	// Imports and bulk deletes
+	@EventListener
+	public void onFlightsBulkChanged(FlightsBulkChangedEvent event) {
+		bump();
+	}
+
+	public long getVersion() {
+		return version.get();
+	}
+
+	// Weak entity tag of the current version: equal versions render equal pages
+	public String getEtag() {
+		return etag;
+	}
+
+	// Time of the last change in epoch milliseconds, truncated to seconds. Two changes in the same
+	// second share it, which is why clients sending If-None-Match are matched on the ETag instead.
+	public long getLastModified() {
+		return lastModified;
+	}
+
+	private String tag(long v) {
+		return "W/\"" + epoch + "-" + v + "\"";
+	}
+}
@@ -0,0 +1,110 @@
+package com.cg.cache; // Defines the package for in-process caches
+
+import java.time.Duration; // Time-to-live of cached results
+import java.util.Arrays; // Binary search over the cached flight IDs
+import java.util.List; // Interface for the cached flight lists
+import java.util.function.Supplier; // Runs the real search on a miss
+
+import org.slf4j.Logger; // Interface for logging system messages
+import org.slf4j.LoggerFactory; // Factory to create logger instances
+import org.springframework.beans.factory.annotation.Value; // Reads settings from application.properties
+import org.springframework.context.event.EventListener; // Subscribes a method to application events
+import org.springframework.core.annotation.Order; // Runs after the search index has been updated
+import org.springframework.stereotype.Component; // Registers this class as a Spring bean
+
+import com.cg.dto.FlightDTO; // Import for the cached search rows
+import com.cg.entity.Flight; // Import for the Flight entity
+import com.cg.event.FlightChangedEvent; // Event published when a flight changes
+import com.cg.event.FlightsBulkChangedEvent; // Event published after bulk writes
+import com.cg.event.SeatsChangedEvent; // Event published when seats are taken or given back
+
+// Result cache in front of FlightService.searchFlight, keyed on the normalized criteria.
+// Entries expire after a TTL and the least recently used ones are dropped when full.
+// A flight change only evicts the searches it can affect: those whose criteria match the
+// flight's new values, and those whose cached result already contains the flight. Seat changes
+// evict the results showing the flight, and an airline rename the searches by either name and
+// the results showing the old one.
+@Component // Tells Spring to create and manage a single shared instance
+public class FlightSearchCache {
+
+	// Initializes the logger to record application events
+	private static final Logger log = LoggerFactory.getLogger(FlightSearchCache.class);
+
+	private final LruCache<FlightSearchKey, Result> cache; // Bounded, expiring storage
+
+	// Creates the cache with the configured size and lifetime
+	public FlightSearchCache(@Value("${app.cache.search.max-size:10000}") int maxSize,
+			@Value("${app.cache.search.ttl:30s}") Duration ttl) {
+		this.cache = new LruCache<>("flightSearch", maxSize, ttl);
+	}
+
+	// Returns the cached flights for these criteria, or runs the search and caches its result
+	public List<FlightDTO> get(FlightSearchKey key, Supplier<List<FlightDTO>> search) {
+		return cache.get(key, k -> new Result(search.get())).flights;
+	}
+
+	// Evicts only the searches that the changed flight can appear in or disappear from
+	@EventListener
+	@Order(100) // After the index, so a reload right after eviction sees the change
+	public void onFlightChanged(FlightChangedEvent event) {
+		int id = event.getFlightId();
+		Flight flight = event.getFlight(); // Null for deletes
+		int removed = cache.evictIf((key, result) -> result.contains(id) || (flight != null && key.matches(flight)));
+		log.debug("Flight {} {}: evicted {} cached searches", id, event.getType(), removed);
+	}
+
+	// Evicts the results that show the flight's old seat count
+	@EventListener
+	public void onSeatsChanged(SeatsChangedEvent event) {
+		int id = event.getFlightId();
+		cache.evictIf((key, result) -> result.contains(id));
+	}
+
+	// Evicts the searches an airline save affects: searches by its old or new name, and results
+	// showing its old name; either name may be null
+	public void evictAirline(String oldName, String newName) {
+		int removed = cache.evictIf((key, result) -> key.filtersAirline(oldName) || key.filtersAirline(newName)
+				|| result.showsAirline(oldName));
+		log.debug("Airline {} -> {}: evicted {} cached searches", oldName, newName, removed);
+	}
+
+	// Drops every cached search, used when many flights change at once
+	@EventListener(FlightsBulkChangedEvent.class)
+	@Order(100) // After the indexes have reloaded
+	public void clear() {
+		cache.clear();
+	}
+
+	// Current hit/miss counters
+	public CacheStats stats() {
+		return cache.stats();
+	}
+
+	// A cached result plus its sorted flight IDs for fast membership checks
+	private static final class Result {
+		final List<FlightDTO> flights;
+		final int[] ids;
+
+		Result(List<FlightDTO> flights) {
+			this.flights = List.copyOf(flights);
+			this.ids = flights.stream().mapToInt(FlightDTO::getFlightId).sorted().toArray();
+		}
+
+		boolean contains(int id) {
+			return Arrays.binarySearch(ids, id) >= 0;
+		}
+
+		boolean showsAirline(String name) {
+			if (name == null) {
+				return false;
+			}
+			String wanted = name.trim();
+			for (FlightDTO f : flights) {
+				if (f.getAirlineName() != null && f.getAirlineName().trim().equalsIgnoreCase(wanted)) {
+					return true;
+				}
+			}
+			return false;
+		}
+	}
+}
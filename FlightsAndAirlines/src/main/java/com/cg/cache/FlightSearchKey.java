@@ -0,0 +1,66 @@
+package com.cg.cache; // Defines the package for in-process caches
+
+import java.util.Locale; // Locale-neutral lower casing of criteria
+import java.util.Objects; // Helpers for equals and hashCode
+
+import com.cg.entity.AirlineClass; // Import for the AirlineClass enum filter
+import com.cg.entity.Flight; // Import for the Flight entity
+
+// Normalized search criteria of /api/list, used as the key of the search result cache.
+// Blank criteria become "" so "Hyd", " hyd " and "HYD" share one entry, like MySQL's matching.
+public final class FlightSearchKey {
+	private final String source; // Lower-cased source, or "" for any
+	private final String dest; // Lower-cased destination, or "" for any
+	private final String airline; // Lower-cased airline name, or "" for any
+	private final AirlineClass className; // Class filter, or null for any
+
+	// Builds a key from the raw request parameters
+	public FlightSearchKey(String source, String dest, String airline, AirlineClass className) {
+		this.source = normalize(source);
+		this.dest = normalize(dest);
+		this.airline = normalize(airline);
+		this.className = className;
+	}
+
+	// True when the given flight would be part of this search's result
+	public boolean matches(Flight flight) {
+		String airName = flight.getAirline() != null ? flight.getAirline().getAirName() : null;
+		return (source.isEmpty() || source.equals(normalize(flight.getSource())))
+				&& (dest.isEmpty() || dest.equals(normalize(flight.getDestination())))
+				&& (airline.isEmpty() || airline.equals(normalize(airName)))
+				&& (className == null || className == flight.getClassName());
+	}
+
+	// True when this search filters by the given airline name
+	public boolean filtersAirline(String name) {
+		return name != null && !airline.isEmpty() && airline.equals(normalize(name));
+	}
+
+	private static String normalize(String value) {
+		return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (!(o instanceof FlightSearchKey)) {
+			return false;
+		}
+		FlightSearchKey other = (FlightSearchKey) o;
+		return source.equals(other.source) && dest.equals(other.dest) && airline.equals(other.airline)
+				&& className == other.className;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(source, dest, airline, className);
+	}
+
+	@Override
+	public String toString() {
+		return "FlightSearchKey [source=" + source + ", dest=" + dest + ", airline=" + airline + ", className="
+				+ className + "]";
+	}
+}
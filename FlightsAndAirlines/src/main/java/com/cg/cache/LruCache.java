@@ -0,0 +1,131 @@
+package com.cg.cache; // Defines the package for in-process caches
+
+import java.time.Duration; // Time-to-live of cached entries
+import java.util.Iterator; // Walks entries for predicate-based eviction
+import java.util.LinkedHashMap; // Keeps entries in access order so the eldest is least recently used
+import java.util.Map; // Interface for key-value lookups
+import java.util.concurrent.atomic.LongAdder; // Low-contention counters for hits and misses
+import java.util.function.BiPredicate; // Decides which entries a write invalidates
+import java.util.function.Function; // Loader called on a cache miss
+
+// Small thread-safe least-recently-used cache with a fixed maximum size, an optional
+// time-to-live and hit/miss counters. Loaders run outside the lock, so a slow database
+// call never blocks readers of other keys.
+public class LruCache<K, V> {
+
+	private final String name; // Used in stats and log lines
+	private final int maxSize; // Entries kept before the least recently used one is dropped
+	private final long ttlNanos; // Lifetime of an entry; 0 means entries never expire
+	private final LongAdder hits = new LongAdder(); // Lookups answered from memory
+	private final LongAdder misses = new LongAdder(); // Lookups that called the loader
+	private final LongAdder evictions = new LongAdder(); // Entries removed by size, age or invalidation
+
+	private final LinkedHashMap<K, Entry<V>> map; // Access-ordered storage guarded by 'this'
+	private long generation; // Bumped on every invalidation so in-flight loads cannot store stale values
+
+	// Creates a cache that holds at most maxSize entries and never expires them
+	public LruCache(String name, int maxSize) {
+		this(name, maxSize, Duration.ZERO);
+	}
+
+	// Creates a cache that holds at most maxSize entries, each for at most ttl
+	public LruCache(String name, int maxSize, Duration ttl) {
+		this.name = name;
+		this.maxSize = maxSize;
+		this.ttlNanos = ttl.toNanos();
+		this.map = new LinkedHashMap<K, Entry<V>>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+				boolean full = size() > LruCache.this.maxSize;
+				if (full) {
+					evictions.increment();
+				}
+				return full;
+			}
+		};
+	}
+
+	// Returns the cached value, or loads and caches it; null results are not cached
+	public V get(K key, Function<K, V> loader) {
+		long seen;
+		synchronized (this) {
+			Entry<V> entry = map.get(key);
+			if (entry != null) {
+				if (!entry.isExpired()) {
+					hits.increment();
+					return entry.value;
+				}
+				map.remove(key); // Too old: reload below
+				evictions.increment();
+			}
+			seen = generation;
+		}
+		misses.increment();
+		V loaded = loader.apply(key); // Database call happens without holding the lock
+		if (loaded != null) {
+			synchronized (this) {
+				if (generation == seen) {
+					// Skipped if a write invalidated the cache meanwhile
+					map.put(key, new Entry<>(loaded, ttlNanos == 0 ? Long.MAX_VALUE : System.nanoTime() + ttlNanos));
+				}
+			}
+		}
+		return loaded;
+	}
+
+	// Removes one entry
+	public synchronized void evict(K key) {
+		generation++;
+		if (map.remove(key) != null) {
+			evictions.increment();
+		}
+	}
+
+	// Removes every entry for which the predicate holds and returns how many were removed
+	public synchronized int evictIf(BiPredicate<K, V> predicate) {
+		generation++;
+		int removed = 0;
+		for (Iterator<Map.Entry<K, Entry<V>>> it = map.entrySet().iterator(); it.hasNext();) {
+			Map.Entry<K, Entry<V>> e = it.next();
+			if (predicate.test(e.getKey(), e.getValue().value)) {
+				it.remove();
+				removed++;
+			}
+		}
+		evictions.add(removed);
+		return removed;
+	}
+
+	// Removes every entry
+	public synchronized void clear() {
+		generation++;
+		evictions.add(map.size());
+		map.clear();
+	}
+
+	public synchronized int size() {
+		return map.size();
+	}
+
+	// Current hit/miss counters
+	public CacheStats stats() {
+		return new CacheStats(name, hits.sum(), misses.sum(), evictions.sum(), size());
+	}
+
+	// A cached value and the moment it stops being valid
+	private static final class Entry<V> {
+		final V value;
+		final long expiresAt; // System.nanoTime() deadline
+
+		Entry(V value, long expiresAt) {
+			this.value = value;
+			this.expiresAt = expiresAt;
+		}
+
+		boolean isExpired() {
+			return expiresAt != Long.MAX_VALUE && System.nanoTime() - expiresAt > 0;
+		}
+	}
+}
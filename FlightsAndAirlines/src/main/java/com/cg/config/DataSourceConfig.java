@@ -0,0 +1,79 @@
+package com.cg.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.cg.datasource.ReadWriteRoutingDataSource;
+import com.cg.datasource.ReplicaLagGuard;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+// Read/write split, active only when app.datasource.replica-urls lists at least one replica.
+// The primary pool is built from spring.datasource.* (and spring.datasource.hikari.*) as Boot
+// would; every replica pool copies its settings and only changes the URL and credentials.
+// Without replicas this class is skipped and Boot's single datasource is used unchanged.
+@Configuration
+@ConditionalOnExpression("!'${app.datasource.replica-urls:}'.isBlank()")
+public class DataSourceConfig {
+	private static final Logger log = LoggerFactory.getLogger(DataSourceConfig.class);
+
+	@Bean
+	@ConfigurationProperties("spring.datasource.hikari")
+	public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+		HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+		primary.setPoolName("primary");
+		return primary;
+	}
+
+	// Registered with the transaction manager by Boot, like any TransactionExecutionListener bean
+	@Bean
+	public ReplicaLagGuard replicaLagGuard(@Value("${app.datasource.read-your-writes:5s}") Duration window) {
+		return new ReplicaLagGuard(window);
+	}
+
+	@Bean
+	public ReadWriteRoutingDataSource routingDataSource(HikariDataSource primaryDataSource,
+			ReplicaLagGuard replicaLagGuard, DataSourceProperties properties,
+			@Value("${app.datasource.replica-urls}") List<String> urls,
+			@Value("${app.datasource.replica-username:}") String username,
+			@Value("${app.datasource.replica-password:}") String password) {
+		List<HikariDataSource> replicas = new ArrayList<>();
+		for (String url : urls) {
+			if (url.isBlank()) {
+				continue;
+			}
+			HikariConfig config = new HikariConfig();
+			primaryDataSource.copyStateTo(config); // Same driver, pool size and timeouts as the primary
+			config.setJdbcUrl(url.trim());
+			config.setUsername(username.isEmpty() ? properties.determineUsername() : username);
+			config.setPassword(username.isEmpty() ? properties.determinePassword() : password);
+			config.setPoolName("replica-" + replicas.size());
+			config.setReadOnly(true);
+			replicas.add(new HikariDataSource(config));
+		}
+		log.info("Read-only transactions are routed to {} replica(s)", replicas.size());
+		return new ReadWriteRoutingDataSource(primaryDataSource, replicas, replicaLagGuard);
+	}
+
+	// The datasource JPA and JdbcTemplate use: connections are taken on the first statement, once
+	// the transaction's read-only flag is known
+	@Bean
+	@Primary
+	public DataSource dataSource(ReadWriteRoutingDataSource routingDataSource) {
+		return new LazyConnectionDataSourceProxy(routingDataSource);
+	}
+}
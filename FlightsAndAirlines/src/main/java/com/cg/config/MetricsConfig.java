@@ -0,0 +1,66 @@
+package com.cg.config;
+
+import java.lang.reflect.Method;
+
+import javax.sql.DataSource;
+
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.util.ReflectionUtils;
+
+import com.cg.metrics.CountingDataSource;
+import com.cg.metrics.FlightServiceMetrics;
+import com.cg.service.IFlightService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Application metrics on top of what Actuator already records (HTTP requests, JVM, Hikari pools).
+// Exported for Prometheus at /actuator/prometheus.
+@Configuration
+public class MetricsConfig {
+
+	// Times the IFlightService methods. An infrastructure advisor is applied by the same
+	// auto-proxy creator as @Transactional, so the service keeps a single proxy; the highest
+	// precedence puts the timer outside the transaction.
+	@Bean
+	@Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+	public static Advisor flightServiceMetricsAdvisor(ObjectProvider<MeterRegistry> registry) {
+		StaticMethodMatcherPointcut pointcut = new StaticMethodMatcherPointcut() {
+			@Override
+			public boolean matches(Method method, Class<?> targetClass) {
+				return IFlightService.class.isAssignableFrom(targetClass)
+						&& ReflectionUtils.findMethod(IFlightService.class, method.getName(), method.getParameterTypes()) != null;
+			}
+		};
+		DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(pointcut, new FlightServiceMetrics(registry));
+		advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+		return advisor;
+	}
+
+	// Counts SQL statements and rows on the data source JPA and JdbcTemplate use. Only the bean
+	// named dataSource is wrapped; with replicas that is the routing proxy, so the pools underneath
+	// are not counted twice.
+	@Bean
+	@ConditionalOnProperty(name = "app.metrics.sql-counts", havingValue = "true", matchIfMissing = true)
+	public static BeanPostProcessor countingDataSourcePostProcessor(ObjectProvider<MeterRegistry> registry) {
+		return new BeanPostProcessor() {
+			@Override
+			public Object postProcessAfterInitialization(Object bean, String beanName) {
+				if ("dataSource".equals(beanName) && bean instanceof DataSource dataSource
+						&& !(bean instanceof CountingDataSource)) {
+					return new CountingDataSource(dataSource, registry.getObject());
+				}
+				return bean;
+			}
+		};
+	}
+}
@@ -1,29 +1,144 @@
 package com.cg.config;
 
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import jakarta.servlet.DispatcherType;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.authentication.AuthenticationTrustResolver;
+import org.springframework.security.authentication.AuthenticationTrustResolverImpl;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.security.web.context.DelegatingSecurityContextRepository;
 import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
+import org.springframework.security.web.context.RequestAttributeSecurityContextRepository;
+import org.springframework.security.web.context.SecurityContextRepository;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
+
+import com.cg.security.SignedCookieSecurityContextRepository;
 
 @Configuration
 @EnableWebSecurity
 public class SpringConfig {
+	private static final Logger log = LoggerFactory.getLogger(SpringConfig.class);
+
+	private static final int MIN_COOKIE_KEY_BYTES = 32; // Output size of HMAC-SHA256
+
+	// Where the logged-in user is kept between requests: "session" (HTTP session, needs sticky
+	// sessions or a shared store across instances) or "cookie" (signed, expiring cookie, stateless)
+	@Value("${app.session.mode:session}")
+	private String sessionMode;
+
+	// Addresses and CIDR ranges allowed to read /actuator/prometheus; the scrape lists every route,
+	// search shape and pool, so it is not for the public
+	@Value("${app.metrics.scrape-from:127.0.0.1,::1}")
+	private List<String> scrapeFrom;
+
+	// Usernames of admins and ops staff; only they may read and refresh /api/v1/analytics, which
+	// shows the revenue of every airline. Users carry no roles, so the list stands in for one
+	@Value("${app.security.ops-users:}")
+	private List<String> opsUsers;
+
 	@Bean
-	public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+	public SecurityFilterChain securityFilterChain(HttpSecurity http,
+			SecurityContextRepository securityContextRepository) throws Exception {
+		http.securityContext(context -> context.securityContextRepository(securityContextRepository));
+		if (isCookieMode()) {
+			// No session is created for security, and the saved-request cache is turned off with it
+			http.sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS));
+		}
 		http.csrf(csrf -> csrf.disable()).authorizeHttpRequests(auth -> auth
+				// Error dispatches of a request that already passed the checks, e.g. a live update
+				// stream whose client went away
+				.dispatcherTypeMatchers(DispatcherType.ERROR).permitAll()
 				// Allow everyone to SEE the login and register pages
-				.requestMatchers("/login", "/register", "/Flight/login", "/api/list").permitAll().anyRequest()
-				.authenticated()).formLogin(form -> form.loginPage("/login")
+				.requestMatchers("/login", "/register", "/Flight/login", "/api/list", "/api/list/rows", "/api/v1/flights/**",
+						"/api/v1/airlines", "/api/v1/places").permitAll()
+				// Health checks for load balancers; the Prometheus scrape only from the listed addresses
+				.requestMatchers("/actuator/health").permitAll()
+				.requestMatchers("/actuator/prometheus").access(fromAddresses(scrapeFrom))
+				.requestMatchers("/api/v1/analytics", "/api/v1/analytics/**").access(forUsers(opsUsers))
+				.anyRequest().authenticated()).formLogin(form -> form.loginPage("/login")
 						// CHANGE THIS: Set processing to a dummy URL so it doesn't "steal" /login
 						.loginProcessingUrl("/internal_login_only").permitAll());
 
 		return http.build();
 	}
 
+	// Used by the filter chain to load the user and by LoginController to save it after login
+	@Bean
+	public SecurityContextRepository securityContextRepository(
+			@Value("${app.session.cookie.secret:}") String secret,
+			@Value("${app.session.cookie.name:FA_AUTH}") String cookieName,
+			@Value("${app.session.cookie.ttl:8h}") Duration ttl) {
+		if (!isCookieMode()) {
+			return new DelegatingSecurityContextRepository(new RequestAttributeSecurityContextRepository(),
+					new HttpSessionSecurityContextRepository());
+		}
+		return new DelegatingSecurityContextRepository(new RequestAttributeSecurityContextRepository(),
+				new SignedCookieSecurityContextRepository(cookieKey(secret), cookieName, ttl));
+	}
+
+	// Decodes the base64 cookie secret; HMAC-SHA256 keys shorter than its 32-byte output weaken it
+	static byte[] cookieKey(String secret) {
+		if (secret.isBlank()) {
+			// Fine for a single instance; every instance must share the configured secret otherwise
+			byte[] key = new byte[MIN_COOKIE_KEY_BYTES];
+			new SecureRandom().nextBytes(key);
+			log.warn("app.session.cookie.secret is not set; using a random key, logins will not survive a restart");
+			return key;
+		}
+		byte[] key = Base64.getDecoder().decode(secret.trim());
+		if (key.length < MIN_COOKIE_KEY_BYTES) {
+			throw new IllegalStateException("app.session.cookie.secret must decode to at least " + MIN_COOKIE_KEY_BYTES
+					+ " bytes, got " + key.length + "; generate one with: openssl rand -base64 32");
+		}
+		return key;
+	}
+
+	// Grants requests whose client address is in one of the given addresses or CIDR ranges
+	static AuthorizationManager<RequestAuthorizationContext> fromAddresses(List<String> addresses) {
+		List<IpAddressMatcher> matchers = addresses.stream().map(String::trim).filter(a -> !a.isEmpty())
+				.map(IpAddressMatcher::new).toList();
+		return (authentication, context) -> new AuthorizationDecision(
+				matchers.stream().anyMatch(m -> m.matches(context.getRequest())));
+	}
+
+	// Grants logged-in users whose name is in the list, ignoring case as the login lookup does on
+	// MySQL's default collation; anonymous requests are sent to the login page as usual
+	static AuthorizationManager<RequestAuthorizationContext> forUsers(List<String> usernames) {
+		Set<String> allowed = usernames.stream().map(u -> u.trim().toLowerCase(Locale.ROOT)).filter(u -> !u.isEmpty())
+				.collect(Collectors.toUnmodifiableSet());
+		AuthenticationTrustResolver trust = new AuthenticationTrustResolverImpl();
+		return (authentication, context) -> {
+			Authentication auth = authentication.get();
+			return new AuthorizationDecision(
+					trust.isAuthenticated(auth) && allowed.contains(auth.getName().toLowerCase(Locale.ROOT)));
+		};
+	}
+
+	private boolean isCookieMode() {
+		return "cookie".equalsIgnoreCase(sessionMode.trim());
+	}
+
 	@Bean
 	public PasswordEncoder passwordEncoder() {
 		return new BCryptPasswordEncoder();
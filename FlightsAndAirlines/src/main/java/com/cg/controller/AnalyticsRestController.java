@@ -0,0 +1,34 @@
+package com.cg.controller; // Defines the package structure for the controller
+
+import org.springframework.beans.factory.annotation.Autowired; // For Dependency Injection
+import org.springframework.web.bind.annotation.GetMapping; // Maps HTTP GET requests
+import org.springframework.web.bind.annotation.PostMapping; // Maps HTTP POST requests
+import org.springframework.web.bind.annotation.RequestMapping; // Sets the base URL path for this controller
+import org.springframework.web.bind.annotation.RestController; // Marks this class as a controller returning data
+
+import com.cg.dto.AnalyticsQuery; // Import for the grouping and filter parameters
+import com.cg.dto.AnalyticsResult; // Import for the answer of a query
+import com.cg.service.FlightAnalyticsService; // Service layer for the analytics snapshot
+
+// JSON API for ops dashboards: revenue potential and load factor grouped by airline, route, class
+// and day, e.g. /api/v1/analytics?groupBy=airline,class&fromDate=2026-12-01. Answered from the
+// in-memory snapshot, never from the flights table. Only for the users listed in
+// app.security.ops-users (see SpringConfig).
+@RestController // Tells Spring this class handles web requests and returns data, not views
+@RequestMapping("/api/v1/analytics") // Base prefix for all URLs in this class
+public class AnalyticsRestController {
+
+	@Autowired // Automatically injects the FlightAnalyticsService
+	FlightAnalyticsService service;
+
+	@GetMapping // Groups of the current snapshot, highest revenue potential first
+	public AnalyticsResult query(AnalyticsQuery query) {
+		return service.query(query);
+	}
+
+	@PostMapping("/refresh") // Reads the snapshot again now instead of waiting for the next period
+	public AnalyticsResult refresh() {
+		service.refresh();
+		return service.query(new AnalyticsQuery()); // Grand totals of the new snapshot
+	}
+}
@@ -1,8 +1,22 @@
 package com.cg.controller; // Defines the package structure for the controller
 
+import java.io.IOException; // Thrown when an upload cannot be read
+import java.io.InputStream; // Raw bytes of an uploaded feed
+import java.io.InputStreamReader; // Decodes the uploaded feed as UTF-8
+import java.io.PrintWriter; // Writes progress lines back to the client
+import java.nio.charset.StandardCharsets; // UTF-8 charset constant
+import java.security.Principal; // Logged-in user who owns a seat hold
+import java.time.Instant; // Expiry instant of a seat hold
+import java.time.LocalDate; // Imports LocalDate for the travel date of connection searches
+import java.time.LocalDateTime; // Expiry time shown for a seat hold
+import java.time.ZoneId; // Server time zone for the expiry time
 import java.util.List; // Imports the List interface for handling collections of data
+import java.util.Locale; // Locale-neutral case folding of format names
 
 import org.springframework.beans.factory.annotation.Autowired; // For Dependency Injection
+import org.springframework.format.annotation.DateTimeFormat; // Parses yyyy-MM-dd request parameters
+import org.springframework.http.HttpHeaders; // Header names for the rows fragment
+import org.springframework.http.MediaType; // Content type constants for the import endpoints
 import org.springframework.stereotype.Controller; // Marks this class as a Web Controller (returns views)
 import org.springframework.ui.Model; // Used to pass data from the controller to the UI (Thymeleaf)
 import org.springframework.web.bind.annotation.GetMapping; // Maps HTTP GET requests
@@ -11,14 +25,34 @@ import org.springframework.web.bind.annotation.PathVariable; // Extracts values
 import org.springframework.web.bind.annotation.PostMapping; // Maps HTTP POST requests
 import org.springframework.web.bind.annotation.RequestMapping; // Sets the base URL path for this controller
 import org.springframework.web.bind.annotation.RequestParam; // Extracts query parameters from the URL
+import org.springframework.web.context.request.WebRequest; // Evaluates conditional GET headers
+import org.springframework.web.multipart.MultipartFile; // Uploaded flight feed
+import org.springframework.web.servlet.mvc.support.RedirectAttributes; // Passes temporary data during redirects
 
+import com.cg.cache.CatalogVersion; // Version of the listing for HTTP caching
 import com.cg.dto.FlightDTO; // Import for Data Transfer Object
+import com.cg.dto.FlightEditForm; // Import for the values the update form was rendered with
+import com.cg.dto.FlightPage; // Import for one page of the sorted listing
+import com.cg.dto.FlightPatch; // Import for partial flight updates
+import com.cg.dto.ImportReport; // Import for bulk import totals
 import com.cg.entity.Airline; // Import for Airline entity
 import com.cg.entity.AirlineClass; // Import for AirlineClass enum
 import com.cg.entity.Flight; // Import for Flight entity
+import com.cg.entity.SeatHold; // Import for temporary seat holds
+import com.cg.exception.HoldExpired; // Custom exception for holds that are gone
 import com.cg.exception.ResourceNotFound; // Custom exception for missing records
+import com.cg.exception.SeatUnavailable; // Custom exception for sold-out flights
+import com.cg.exception.StaleFlightUpdate; // Custom exception for concurrent flight edits
+import com.cg.index.RouteGraph; // Ranking options for connection searches
 import com.cg.service.AirlineService; // Service layer for Airline logic
+import com.cg.service.FlightExportService; // Service layer for streaming exports
+import com.cg.service.FlightImportService; // Service layer for bulk flight imports
 import com.cg.service.FlightService; // Service layer for Flight logic
+import com.cg.service.LoginService; // Service layer for login counters
+import com.cg.service.SeatHoldService; // Service layer for temporary seat holds
+
+import jakarta.servlet.http.HttpServletRequest; // Raw request body of a streamed feed
+import jakarta.servlet.http.HttpServletResponse; // Response that progress is streamed into
 
 @Controller // Tells Spring this class handles web requests and returns HTML views
 @RequestMapping("/api") // Base prefix for all URLs in this class (e.g., /api/list)
@@ -30,10 +64,26 @@ public class FlightController {
 	@Autowired // Automatically injects the AirlineService implementation
 	AirlineService AService;
 
+	@Autowired // Automatically injects the bulk import service
+	FlightImportService importService;
+
+	@Autowired // Automatically injects the streaming export service
+	FlightExportService exportService;
+
+	@Autowired // Automatically injects the login service for its load counters
+	LoginService loginService;
+
+	@Autowired // Automatically injects the catalog version used as the listing's ETag
+	CatalogVersion catalogVersion;
+
+	@Autowired // Automatically injects the seat hold service
+	SeatHoldService holdService;
+
 	@GetMapping("/list") // Handles GET requests to /api/list
 	public String getAllFlights(Model model, @RequestParam(required = false) String source,
 			@RequestParam(required = false) String dest, @RequestParam(required = false) String airline,
-			@RequestParam(required = false) String className) {
+			@RequestParam(required = false) String className, @RequestParam(required = false) Double afterPrice,
+			@RequestParam(required = false) Integer afterId, @RequestParam(defaultValue = "50") int size) {
 
 		// Checks if all search filters are provided
 		if (source != null && dest != null && airline != null && className != null) {
@@ -42,17 +92,37 @@ public class FlightController {
 					: null;
 
 			// Calls service to find specific flights based on search criteria
-			List<Flight> flights = service.searchFlight(source, dest, airline, flightClass);
+			List<FlightDTO> flights = service.searchFlight(source, dest, airline, flightClass);
 			model.addAttribute("airlines", AService.getAllAirlines()); // Adds airline list to dropdown
 			model.addAttribute("flights", flights); // Adds filtered flights to the table
 		} else {
-			// Default view: shows all airlines and all flights if no search is performed
+			// Default view: shows all airlines and one price-sorted page of flights if no search is performed
+			FlightPage page = service.getFlightPage(afterPrice, afterId, size);
 			model.addAttribute("airlines", AService.getAllAirlines());
-			model.addAttribute("flights", service.getAllFlights());
+			model.addAttribute("flights", page.getFlights());
+			model.addAttribute("page", page); // Cursor for the "Next" link
 		}
 		return "Flight/index"; // Returns the Flight/index.html view
 	}
 
+	// Returns only the table rows of one page of the price-sorted listing, for infinite scroll.
+	// The catalog version is the ETag: when the client already has this version the answer is
+	// 304 before any query runs or the template is rendered.
+	@GetMapping("/list/rows")
+	public String getFlightRows(Model model, WebRequest request, HttpServletResponse response,
+			@RequestParam(required = false) Double afterPrice, @RequestParam(required = false) Integer afterId,
+			@RequestParam(defaultValue = "50") int size) {
+		response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache"); // Browsers may keep it but must revalidate
+		// Read before the query, so a change racing with it leaves an older tag behind, never a newer one
+		if (request.checkNotModified(catalogVersion.getEtag(), catalogVersion.getLastModified())) {
+			return null; // 304 Not Modified with no body
+		}
+		FlightPage page = service.getFlightPage(afterPrice, afterId, size);
+		model.addAttribute("flights", page.getFlights());
+		model.addAttribute("page", page); // Cursor for the row that loads the following page
+		return "Flight/index :: rows"; // Renders only the "rows" fragment of Flight/index.html
+	}
+
 	@GetMapping("/addAir") // Displays the form to add a new Airline
 	public String addAir(Model model) {
 		model.addAttribute("air", new Airline()); // Provides an empty Airline object for the form
@@ -82,6 +152,8 @@ public class FlightController {
 	@GetMapping("/showAirline") // Handles request to view all airlines
 	public String showAirlines(Model model) {
 		model.addAttribute("allAirlines", AService.getAllAirlines()); // Adds all airlines to the model
+		model.addAttribute("cacheStats", AService.getCacheStats()); // Hit/miss counters for admins
+		model.addAttribute("authStats", loginService.getAuthStats()); // Password hashing load for admins
 		return "Flight/show-AllAirlines"; // Returns Flight/show-AllAirlines.html
 	}
 
@@ -94,30 +166,78 @@ public class FlightController {
 	@GetMapping("/book/{id}") // Handles flight booking request for a specific ID
 	public String bookFlight(@PathVariable int id, Model model) throws ResourceNotFound {
 		model.addAttribute("flight", service.findIdByFlight(id)); // Finds flight details to show on booking page
-		return "Flight/book"; // Returns Flight/book.html
+		return "Flight/Book"; // Returns Flight/Book.html
+	}
+
+	@PostMapping("/book/{id}") // Holds seats on a flight until the user confirms or the hold expires
+	public String bookedFlight(@PathVariable int id, @RequestParam(defaultValue = "1") int seats, Model model,
+			Principal principal, RedirectAttributes redirectAttributes) throws ResourceNotFound {
+		try {
+			SeatHold hold = holdService.hold(id, seats, principal.getName()); // Takes the seats atomically
+			model.addAttribute("flight", service.findIdByFlight(id));
+			model.addAttribute("hold", hold); // Shows the confirm/release buttons
+			model.addAttribute("holdExpires", LocalDateTime.ofInstant(Instant.ofEpochMilli(hold.getExpiresAt()),
+					ZoneId.systemDefault())); // Server-local expiry time
+			return "Flight/Book";
+		} catch (SeatUnavailable ex) {
+			redirectAttributes.addFlashAttribute("bookingError", ex.getMessage()); // Explains why it failed
+			return "redirect:/api/list"; // Sends the user back to pick another flight
+		}
+	}
+
+	@PostMapping("/book/hold/{holdId}/confirm") // Turns a live hold into a booking
+	public String confirmHold(@PathVariable long holdId, Model model, Principal principal,
+			RedirectAttributes redirectAttributes) throws ResourceNotFound {
+		try {
+			SeatHold hold = holdService.confirm(holdId, principal.getName());
+			model.addAttribute("flight", service.findIdByFlight(hold.getFlightId()));
+			return "Flight/Book"; // Shows the ticket for the confirmed booking
+		} catch (HoldExpired ex) {
+			redirectAttributes.addFlashAttribute("bookingError", "Your seat hold expired, please book again");
+			return "redirect:/api/list";
+		}
+	}
+
+	@PostMapping("/book/hold/{holdId}/release") // Gives the held seats back straight away
+	public String releaseHold(@PathVariable long holdId, Principal principal) {
+		try {
+			holdService.release(holdId, principal.getName());
+		} catch (HoldExpired ex) {
+			// Already expired or confirmed: nothing left to release
+		}
+		return "redirect:/api/list";
 	}
 
 	@GetMapping("/update/{id}") // Displays the update form for a flight
 	public String updateFlight(@PathVariable int id, Model model) throws ResourceNotFound {
-		Flight flight = service.findIdByFlight(id); // Retrieves the existing flight
-		FlightDTO flightdto = service.convertToDTO(flight); // Converts entity to DTO for the form
+		FlightDTO flightdto = service.findDtoById(id); // Reads the flight straight into the form DTO
 		model.addAttribute("airlines", AService.getAllAirlines()); // Provides airline list for potential changes
 		model.addAttribute("flight", flightdto); // Passes the flight data to the form
 		return "Flight/update"; // Returns Flight/update.html
 	}
 
 	@PostMapping("/update") // Processes the flight update
-	public String updatedFlight(@ModelAttribute("flight") FlightDTO flightdto, @RequestParam("enterprise") int airId)
+	public String updatedFlight(@ModelAttribute("flight") FlightDTO flightdto, @RequestParam("enterprise") int airId,
+			@ModelAttribute("edit") FlightEditForm edit, RedirectAttributes redirectAttributes)
 			throws ResourceNotFound {
-		Flight existFlight = service.findIdByFlight(flightdto.getFlightId()); // Gets the current flight from DB
-		Airline air = AService.findById(airId).get(); // Gets the airline selected in the update form
-		service.updateFlight(existFlight, flightdto, air); // Updates the flight details in service layer
+		try {
+			// Only the columns that differ from the rendered values are written, in one UPDATE guarded by
+			// the version the form was loaded with; nothing is read before or after it
+			FlightDTO loaded = edit.getLoaded();
+			service.patchFlight(flightdto.getFlightId(), flightdto.getVersion(), loaded,
+					FlightPatch.fromForm(flightdto, airId, loaded));
+		} catch (StaleFlightUpdate ex) {
+			redirectAttributes.addFlashAttribute("updateError", ex.getMessage()); // Explains the conflict
+			return "redirect:/api/update/" + flightdto.getFlightId(); // Reloads the form with the current values
+		}
 		return "redirect:/api/list"; // Redirects to the list view
 	}
 
 	@GetMapping("/airDelete/{id}") // Handles airline deletion
-	public String deleteAirline(@PathVariable("id") int airId) {
-		AService.deleteById(airId); // Deletes the airline by ID
+	public String deleteAirline(@PathVariable("id") int airId, RedirectAttributes redirectAttributes) {
+		int flights = AService.deleteById(airId); // Deletes the airline and its flights in chunks
+		redirectAttributes.addFlashAttribute("deleteResult",
+				"Airline " + airId + " deleted together with " + flights + " flight(s)"); // Reports the row count
 		return "redirect:/api/showAirline"; // Redirects back to airline management page
 	}
 
@@ -127,4 +247,101 @@ public class FlightController {
 		model.addAttribute("air", air); // Passes airline data to the view
 		return "Flight/updateAir"; // Returns Flight/updateAir.html
 	}
+
+	@GetMapping("/connections") // Finds multi-leg trips between two cities
+	public String findConnections(Model model, @RequestParam(required = false) String source,
+			@RequestParam(required = false) String dest,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+			@RequestParam(defaultValue = "5") int k, @RequestParam(defaultValue = "1") int maxConnections,
+			@RequestParam(defaultValue = "45") int minLayover,
+			@RequestParam(defaultValue = "PRICE") RouteGraph.SortBy sortBy) {
+		if (source != null && dest != null && date != null) {
+			// Runs the search only once the form has been filled in
+			model.addAttribute("itineraries",
+					service.findConnections(source, dest, date, k, maxConnections, minLayover, sortBy));
+		}
+		return "Flight/connections"; // Returns Flight/connections.html
+	}
+
+	@GetMapping("/fares") // Shows the cheapest fare per day and class for a route
+	public String fareCalendar(Model model, @RequestParam(required = false) String source,
+			@RequestParam(required = false) String dest,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+			@RequestParam(defaultValue = "30") int days) {
+		if (source != null && dest != null) {
+			// Defaults to a calendar starting today
+			model.addAttribute("calendar",
+					service.getFareCalendar(source, dest, from != null ? from : LocalDate.now(), days));
+		}
+		model.addAttribute("classes", AirlineClass.values()); // Column headers
+		return "Flight/fares"; // Returns Flight/fares.html
+	}
+
+	@GetMapping("/import") // Displays the upload form for bulk flight feeds
+	public String importForm() {
+		return "Flight/import"; // Returns Flight/import.html
+	}
+
+	@PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE) // Feed uploaded from the form
+	public void importUpload(@RequestParam("file") MultipartFile file, @RequestParam(required = false) String format,
+			HttpServletResponse response) throws IOException {
+		try (InputStream in = file.getInputStream()) {
+			streamImport(in, formatOf(format, file.getContentType(), file.getOriginalFilename()), response);
+		}
+	}
+
+	// Feed posted as the raw request body, e.g. curl --data-binary @flights.csv -H "Content-Type: text/csv"
+	@PostMapping("/import")
+	public void importFeed(@RequestParam(required = false) String format, HttpServletRequest request,
+			HttpServletResponse response) throws IOException {
+		streamImport(request.getInputStream(), formatOf(format, request.getContentType(), null), response);
+	}
+
+	// Runs the import and writes a progress line (plus any new row errors) after every batch
+	private void streamImport(InputStream in, FlightImportService.Format format, HttpServletResponse response)
+			throws IOException {
+		response.setContentType("text/plain;charset=UTF-8");
+		PrintWriter out = response.getWriter();
+		int[] errorsShown = { 0 }; // Errors already written, so each one is printed once
+		ImportReport report = importService.importFlights(new InputStreamReader(in, StandardCharsets.UTF_8), format,
+				progress -> {
+					List<String> errors = progress.getErrors();
+					for (int i = errorsShown[0]; i < errors.size(); i++) {
+						out.println(errors.get(i));
+					}
+					errorsShown[0] = errors.size();
+					out.println("progress: " + progress);
+					out.flush(); // Pushes the line to the client straight away
+				});
+		List<String> errors = report.getErrors();
+		for (int i = errorsShown[0]; i < errors.size(); i++) {
+			out.println(errors.get(i));
+		}
+		if (report.getFailed() > errors.size()) {
+			out.println("... " + (report.getFailed() - errors.size()) + " more rejected rows not shown");
+		}
+		out.println("done: " + report);
+		out.flush();
+	}
+
+	// Picks the feed format from the explicit parameter, then the content type, then the file name
+	static FlightImportService.Format formatOf(String format, String contentType, String fileName) {
+		if (format != null && !format.isBlank()) {
+			return FlightImportService.Format.valueOf(format.trim().toUpperCase(Locale.ROOT));
+		}
+		String name = fileName == null ? "" : fileName.toLowerCase(Locale.ROOT);
+		boolean json = (contentType != null && contentType.toLowerCase(Locale.ROOT).contains("json"))
+				|| name.endsWith(".json") || name.endsWith(".ndjson");
+		return json ? FlightImportService.Format.JSON : FlightImportService.Format.CSV;
+	}
+
+	@GetMapping("/export") // Downloads every flight as CSV or NDJSON, streamed row by row
+	public void exportFlights(@RequestParam(defaultValue = "csv") String format, HttpServletResponse response)
+			throws IOException {
+		FlightExportService.Format exportFormat = FlightExportService.Format.valueOf(format.trim().toUpperCase(Locale.ROOT));
+		boolean csv = exportFormat == FlightExportService.Format.CSV;
+		response.setContentType(csv ? "text/csv;charset=UTF-8" : "application/x-ndjson;charset=UTF-8");
+		response.setHeader("Content-Disposition", "attachment; filename=\"flights." + (csv ? "csv" : "ndjson") + "\"");
+		exportService.export(exportFormat, response.getOutputStream()); // No Content-Length: sent chunked
+	}
 }
@@ -0,0 +1,201 @@
+package com.cg.controller; // Defines the package structure for the controller
+
+import java.io.IOException; // Thrown when the client stops reading
+import java.security.Principal; // Logged-in user of a stream request
+import java.util.LinkedHashSet; // Requested fields, in request order
+import java.util.List; // Imports the List interface for handling collections of data
+import java.util.Locale; // Locale-neutral case folding of class names
+import java.util.Set; // Known and requested field names
+import java.util.TreeSet; // Known field names, sorted for error messages
+
+import org.springframework.beans.factory.annotation.Autowired; // For Dependency Injection
+import org.springframework.http.HttpHeaders; // Header names for caching
+import org.springframework.http.MediaType; // JSON content type
+import org.springframework.web.bind.annotation.GetMapping; // Maps HTTP GET requests
+import org.springframework.web.bind.annotation.PathVariable; // Extracts values from the URL path
+import org.springframework.web.bind.annotation.RequestMapping; // Sets the base URL path for this controller
+import org.springframework.web.bind.annotation.RequestParam; // Extracts query parameters from the URL
+import org.springframework.web.bind.annotation.RestController; // Marks this class as a controller returning data
+import org.springframework.web.context.request.WebRequest; // Evaluates conditional GET headers
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter; // Open stream of live updates
+
+import com.cg.cache.CatalogVersion; // Version of the catalog, used as the ETag
+import com.cg.dto.AirlineDTO; // Import for airlines without their flights
+import com.cg.dto.FlightDTO; // Import for Data Transfer Object
+import com.cg.dto.FlightPage; // Import for one page of the sorted listing
+import com.cg.dto.FlightRangeQuery; // Import for price and departure range criteria
+import com.cg.dto.FlightSearchPage; // Import for one slice of a search result
+import com.cg.dto.PlaceDTO; // Import for typeahead suggestions
+import com.cg.entity.AirlineClass; // Import for AirlineClass enum
+import com.cg.exception.ResourceNotFound; // Custom exception for missing records
+import com.cg.exception.StreamLimitReached; // Thrown when a client holds too many live update streams
+import com.cg.push.FlightUpdateHub; // Pushes seat and price changes to subscribers
+import com.cg.service.AirlineService; // Service layer for Airline logic
+import com.cg.service.FlightService; // Service layer for Flight logic
+import com.cg.service.IFlightService; // Contract of the flight service
+
+import com.fasterxml.jackson.annotation.JsonFilter; // Names the filter used for field selection
+
+import jakarta.servlet.http.HttpServletRequest; // Request whose user or address a stream counts against
+import jakarta.servlet.http.HttpServletResponse; // Response the JSON is written into
+
+import tools.jackson.databind.ObjectMapper; // Spring's configured JSON mapper
+import tools.jackson.databind.ObjectWriter; // Serializer bound to a field filter
+import tools.jackson.databind.ser.std.SimpleBeanPropertyFilter; // Keeps only the requested fields
+import tools.jackson.databind.ser.std.SimpleFilterProvider; // Supplies the filter to the writer
+
+// JSON API over the same services as FlightController, for clients that do not want HTML.
+// Flights are read as FlightDTO projections and written straight to the response. Lists are
+// paged (keyset for the listing and range search, offset for search results), 'fields=a,b' keeps only those
+// FlightDTO properties, and responses are gzip-compressed by the server (server.compression).
+// Every response derives from the catalog, so CatalogVersion is the ETag and a client that
+// already has the current version gets 304 without any lookup or serialization.
+@RestController // Tells Spring this class handles web requests and returns data, not views
+@RequestMapping("/api/v1") // Base prefix for all URLs in this class (e.g., /api/v1/flights)
+public class FlightRestController {
+
+	@Autowired // Automatically injects the FlightService implementation
+	IFlightService service;
+
+	@Autowired // Automatically injects the AirlineService implementation
+	AirlineService AService;
+
+	@Autowired // Automatically injects the catalog version used as the ETag
+	CatalogVersion catalogVersion;
+
+	@Autowired // Automatically injects the hub that streams live seat and price changes
+	FlightUpdateHub updateHub;
+
+	private final ObjectMapper mapper; // Spring's mapper with field filtering added for FlightDTO
+	private final ObjectWriter allFields; // Writer used when no field selection is given
+	private final Set<String> knownFields; // FlightDTO property names clients may select
+
+	// Ties FlightDTO to the "fields" filter without annotating the DTO itself
+	@JsonFilter("fields")
+	private interface FieldFilterMixin {
+	}
+
+	// Copies Spring's mapper (same dates, modules and features) and adds the field filter to it
+	public FlightRestController(ObjectMapper springMapper) {
+		this.mapper = springMapper.rebuild().addMixIn(FlightDTO.class, FieldFilterMixin.class).build();
+		this.allFields = writer(SimpleBeanPropertyFilter.serializeAll());
+		this.knownFields = new TreeSet<>(springMapper.valueToTree(new FlightDTO()).propertyNames());
+	}
+
+	@GetMapping("/flights") // One price-sorted page, continued with the nextPrice/nextId cursor
+	public void getFlights(@RequestParam(required = false) Double afterPrice,
+			@RequestParam(required = false) Integer afterId, @RequestParam(defaultValue = "50") int size,
+			@RequestParam(required = false) String fields, WebRequest request, HttpServletResponse response)
+			throws IOException {
+		ObjectWriter writer = writerFor(fields); // Rejects unknown fields before any lookup
+		if (notModified(request, response)) {
+			return;
+		}
+		FlightPage page = service.getFlightPage(afterPrice, afterId, size);
+		write(writer, page, response);
+	}
+
+	@GetMapping("/flights/search") // Flights matching the filters, sliced by offset and size
+	public void searchFlights(@RequestParam(required = false) String source,
+			@RequestParam(required = false) String dest, @RequestParam(required = false) String airline,
+			@RequestParam(required = false) String className, @RequestParam(defaultValue = "0") int offset,
+			@RequestParam(defaultValue = "50") int size, @RequestParam(required = false) String fields,
+			WebRequest request, HttpServletResponse response) throws IOException {
+		ObjectWriter writer = writerFor(fields);
+		AirlineClass flightClass = (className != null && !className.isBlank())
+				? AirlineClass.valueOf(className.trim().toUpperCase(Locale.ROOT))
+				: null;
+		if (notModified(request, response)) {
+			return;
+		}
+		List<FlightDTO> flights = service.searchFlight(source, dest, airline, flightClass); // Cached per criteria
+		int pageSize = Math.max(1, Math.min(size, FlightService.MAX_PAGE_SIZE));
+		int from = Math.min(Math.max(offset, 0), flights.size());
+		int to = Math.min(from + pageSize, flights.size());
+		write(writer, new FlightSearchPage(flights.subList(from, to), flights.size(), from, pageSize), response);
+	}
+
+	@GetMapping("/flights/range") // Price-sorted page of flights within price and departure ranges
+	public void getFlightsInRange(FlightRangeQuery query, @RequestParam(required = false) Double afterPrice,
+			@RequestParam(required = false) Integer afterId, @RequestParam(defaultValue = "50") int size,
+			@RequestParam(required = false) String fields, WebRequest request, HttpServletResponse response)
+			throws IOException {
+		ObjectWriter writer = writerFor(fields);
+		if (notModified(request, response)) {
+			return;
+		}
+		write(writer, service.getFlightsInRange(query, afterPrice, afterId, size), response);
+	}
+
+	// Server-Sent Events for the given flights (ids=1,2,3): their current seats and price first, then
+	// a 'flight' event whenever either changes, at most once per push interval per flight. Open
+	// streams are counted per logged-in user, or per address for anonymous clients
+	@GetMapping(path = "/flights/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	public SseEmitter streamFlights(@RequestParam List<Integer> ids, HttpServletRequest request)
+			throws StreamLimitReached {
+		Principal user = request.getUserPrincipal();
+		return updateHub.subscribe(ids, user != null ? "user:" + user.getName() : "ip:" + request.getRemoteAddr());
+	}
+
+	@GetMapping("/flights/{id}") // One flight, 404 when it does not exist
+	public void getFlight(@PathVariable int id, @RequestParam(required = false) String fields, WebRequest request,
+			HttpServletResponse response) throws IOException, ResourceNotFound {
+		ObjectWriter writer = writerFor(fields);
+		if (notModified(request, response)) {
+			return;
+		}
+		write(writer, service.findDtoById(id), response);
+	}
+
+	@GetMapping("/airlines") // Every airline, for filling search filters
+	public void getAirlines(WebRequest request, HttpServletResponse response) throws IOException {
+		if (notModified(request, response)) {
+			return;
+		}
+		List<AirlineDTO> airlines = AService.getAllAirlines().stream() // Served from the airline cache
+				.map(a -> new AirlineDTO(a.getAid(), a.getAirName())).toList();
+		write(allFields, airlines, response);
+	}
+
+	@GetMapping("/places") // Cities starting with 'prefix', busiest first, for the search form's typeahead
+	public List<PlaceDTO> suggestPlaces(@RequestParam(defaultValue = "") String prefix,
+			@RequestParam(defaultValue = "10") int limit) {
+		return service.suggestPlaces(prefix, limit); // Answered from memory; not worth an ETag round trip
+	}
+
+	// Answers 304 when the client's ETag is the current catalog version; adds the validators otherwise
+	private boolean notModified(WebRequest request, HttpServletResponse response) {
+		response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache"); // Clients may keep it but must revalidate
+		return request.checkNotModified(catalogVersion.getEtag(), catalogVersion.getLastModified());
+	}
+
+	// Returns the writer keeping only the given comma-separated FlightDTO properties
+	private ObjectWriter writerFor(String fields) {
+		if (fields == null || fields.isBlank()) {
+			return allFields;
+		}
+		Set<String> wanted = new LinkedHashSet<>();
+		for (String field : fields.split(",")) {
+			String name = field.trim();
+			if (name.isEmpty()) {
+				continue;
+			}
+			if (!knownFields.contains(name)) {
+				throw new IllegalArgumentException("Unknown field '" + name + "'; known fields are " + knownFields);
+			}
+			wanted.add(name);
+		}
+		return wanted.isEmpty() ? allFields : writer(SimpleBeanPropertyFilter.filterOutAllExcept(wanted));
+	}
+
+	private ObjectWriter writer(SimpleBeanPropertyFilter filter) {
+		return mapper.writer(new SimpleFilterProvider().addFilter("fields", filter));
+	}
+
+	// Serializes straight into the response; compression is applied by the server
+	private void write(ObjectWriter writer, Object value, HttpServletResponse response) throws IOException {
+		response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+		response.setCharacterEncoding("UTF-8");
+		writer.writeValue(response.getOutputStream(), value);
+	}
+}
@@ -5,8 +5,6 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.authority.AuthorityUtils; // Utility to handle user roles/permissions
 import org.springframework.security.core.context.SecurityContext; // Container for the authentication details
 import org.springframework.security.core.context.SecurityContextHolder; // Helper that provides access to the security context
-import org.springframework.security.crypto.password.PasswordEncoder; // Tool for hashing and matching passwords
-import org.springframework.security.web.context.HttpSessionSecurityContextRepository; // Manages security context between HTTP requests
 import org.springframework.security.web.context.SecurityContextRepository; // Interface for storing security context
 import org.springframework.stereotype.Controller; // Marks the class as a Spring MVC controller
 import org.springframework.ui.Model; // Used to share data with the UI
@@ -17,6 +15,7 @@ import org.springframework.web.bind.annotation.RequestParam; // Extracts form fi
 import org.springframework.web.servlet.mvc.support.RedirectAttributes; // Passes temporary data during redirects
 
 import com.cg.entity.UserDetails; // Import for the User entity
+import com.cg.exception.LoginThrottled; // Thrown when an attempt is refused to protect the server
 import com.cg.service.LoginService; // Service for user-related database operations
 
 import jakarta.servlet.http.HttpServletRequest; // Represents the HTTP request object
@@ -28,11 +27,8 @@ public class LoginController {
 	@Autowired // Injects the service to find users in the database
 	LoginService service;
 
-	@Autowired // Injects the BCrypt or relevant password encoder bean
-	PasswordEncoder passwordEncoder;
-
-	// Initialises the repository to save the login session into the HTTP session
-	private final SecurityContextRepository securityContextRepository = new HttpSessionSecurityContextRepository();
+	@Autowired // Injects the repository chosen in SpringConfig (HTTP session or signed cookie)
+	SecurityContextRepository securityContextRepository;
 
 	@GetMapping("/login") // Displays the login page
 	public String loginPage() {
@@ -43,11 +39,16 @@ public class LoginController {
 	public String checkLogin(@RequestParam("username") String username, @RequestParam("password") String pass,
 			HttpServletRequest request, HttpServletResponse response, RedirectAttributes redirectAttributes) {
 
-		// Fetches user details from the database by username
-		UserDetails user = service.checkUser(username);
+		// Fetches the user and matches the raw password with the encoded hash on the hashing pool;
+		// refused when this address or username is over its budget or hashing is saturated
+		UserDetails user;
+		try {
+			user = service.authenticate(username, pass, request.getRemoteAddr());
+		} catch (LoginThrottled ex) {
+			return "redirect:/login?throttled=true";
+		}
 
-		// Validates user existence and matches the raw password with the encoded hash
-		if (user != null && passwordEncoder.matches(pass, user.getPassword())) {
+		if (user != null) {
 			
 			// 1. Create Authentication: Creates a token for the authenticated user with no specific roles
 			UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(username, null,
@@ -58,7 +59,7 @@ public class LoginController {
 			context.setAuthentication(auth);
 			SecurityContextHolder.setContext(context);
 
-			// 3. PERSIST THE SESSION: Saves the authentication context into the session so the user stays logged in
+			// 3. PERSIST THE SESSION: Saves the authentication context (session or signed cookie) so the user stays logged in
 			securityContextRepository.saveContext(context, request, response);
 
 			// Adds the username to a flash attribute for a one-time welcome message
@@ -77,10 +78,13 @@ public class LoginController {
 	}
 
 	@PostMapping("/register") // Processes the registration form
-	public String saveUser(@ModelAttribute("UserDetails") UserDetails user) {
-		// Hashes the plain text password before saving it for security
-		user.setPassword(passwordEncoder.encode(user.getPassword()));
-		service.saveUser(user); // Saves the new user to the database
+	public String saveUser(@ModelAttribute("UserDetails") UserDetails user, HttpServletRequest request) {
+		try {
+			// Hashes the plain text password on the hashing pool and saves the new user
+			service.register(user, request.getRemoteAddr());
+		} catch (LoginThrottled ex) {
+			return "redirect:/register?throttled=true";
+		}
 		return "redirect:/login"; // Redirects to login page after successful registration
 	}
 }
@@ -0,0 +1,62 @@
+package com.cg.controller; // Defines the package structure for the controller
+
+import java.util.List; // Imports the List interface for handling collections of data
+
+import org.springframework.beans.factory.annotation.Autowired; // For Dependency Injection
+import org.springframework.http.HttpStatus; // Status of a created rule
+import org.springframework.web.bind.annotation.DeleteMapping; // Maps HTTP DELETE requests
+import org.springframework.web.bind.annotation.GetMapping; // Maps HTTP GET requests
+import org.springframework.web.bind.annotation.PathVariable; // Extracts values from the URL path
+import org.springframework.web.bind.annotation.PostMapping; // Maps HTTP POST requests
+import org.springframework.web.bind.annotation.PutMapping; // Maps HTTP PUT requests
+import org.springframework.web.bind.annotation.RequestBody; // Reads the rule from the JSON body
+import org.springframework.web.bind.annotation.RequestMapping; // Sets the base URL path for this controller
+import org.springframework.web.bind.annotation.ResponseStatus; // Sets the status of a successful response
+import org.springframework.web.bind.annotation.RestController; // Marks this class as a controller returning data
+
+import com.cg.dto.ExpansionReport; // Totals of an expansion
+import com.cg.entity.ScheduleRule; // Import for the ScheduleRule entity
+import com.cg.exception.ResourceNotFound; // Custom exception for missing records
+import com.cg.service.ScheduleService; // Service layer for schedule rules
+
+// JSON API for recurring schedule rules, e.g. every MONDAY, WEDNESDAY and FRIDAY at 08:15. Saving a
+// rule generates or adjusts its flights up to the horizon before the response is sent; the
+// periodic expansion keeps extending them afterwards. Requires a logged-in user.
+@RestController // Tells Spring this class handles web requests and returns data, not views
+@RequestMapping("/api/v1/schedules") // Base prefix for all URLs in this class
+public class ScheduleRestController {
+
+	@Autowired // Automatically injects the ScheduleService
+	ScheduleService service;
+
+	@GetMapping // Every rule with its expansion state
+	public List<ScheduleRule> getRules() {
+		return service.getAllRules();
+	}
+
+	@GetMapping("/{id}") // One rule, 404 when it does not exist
+	public ScheduleRule getRule(@PathVariable int id) throws ResourceNotFound {
+		return service.findRule(id);
+	}
+
+	@PostMapping // Creates a rule and generates its flights
+	@ResponseStatus(HttpStatus.CREATED)
+	public ScheduleRule createRule(@RequestBody ScheduleRule rule) {
+		return service.createRule(rule);
+	}
+
+	@PutMapping("/{id}") // Replaces a rule and brings its future flights in line with it
+	public ScheduleRule updateRule(@PathVariable int id, @RequestBody ScheduleRule rule) throws ResourceNotFound {
+		return service.updateRule(id, rule);
+	}
+
+	@DeleteMapping("/{id}") // Deletes a rule and its unbooked future flights
+	public ExpansionReport deleteRule(@PathVariable int id) throws ResourceNotFound {
+		return service.deleteRule(id);
+	}
+
+	@PostMapping("/expand") // Runs the expansion of every rule now instead of waiting for the next period
+	public ExpansionReport expandAll() {
+		return service.expandAll();
+	}
+}
@@ -0,0 +1,89 @@
+package com.cg.datasource; // Defines the package for datasource routing
+
+import java.io.Closeable; // Closes the replica pools on shutdown
+import java.util.HashMap; // Lookup key -> pool
+import java.util.List; // Replica pools
+import java.util.Map; // Interface for the target pools
+import java.util.concurrent.atomic.AtomicInteger; // Round-robin position over the replicas
+import java.util.concurrent.atomic.LongAdder; // Low-contention routing counters
+
+import javax.sql.DataSource; // Primary pool
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource; // Picks a pool per connection
+import org.springframework.transaction.support.TransactionSynchronizationManager; // Read-only flag of the transaction
+
+import com.zaxxer.hikari.HikariDataSource; // Replica pools owned by this data source
+
+// Sends the connections of read-only transactions (@Transactional(readOnly = true)) to the
+// replicas in turn and everything else to the primary: read-write transactions, statements run
+// outside a transaction, and reads of users the ReplicaLagGuard holds back after a write.
+//
+// The decision uses the transaction's read-only flag, which is only known once the transaction
+// has started, so this data source must sit behind a LazyConnectionDataSourceProxy: the proxy
+// fetches the real connection on the first statement rather than at transaction begin.
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+
+	private static final String PRIMARY = "primary"; // Lookup key of the primary pool
+
+	private final List<HikariDataSource> replicas; // Replica pools, closed with this data source
+	private final String[] replicaKeys; // Lookup keys of the replicas
+	private final ReplicaLagGuard guard; // Keeps recent writers on the primary
+	private final AtomicInteger next = new AtomicInteger(); // Next replica to hand out
+	private final LongAdder primaryConnections = new LongAdder(); // Connections routed to the primary
+	private final LongAdder replicaConnections = new LongAdder(); // Connections routed to a replica
+	private final LongAdder guardedReads = new LongAdder(); // Read-only connections kept on the primary
+
+	// Routes between 'primary' and the given replicas
+	public ReadWriteRoutingDataSource(DataSource primary, List<HikariDataSource> replicas, ReplicaLagGuard guard) {
+		this.replicas = replicas;
+		this.guard = guard;
+		this.replicaKeys = new String[replicas.size()];
+		Map<Object, Object> targets = new HashMap<>();
+		targets.put(PRIMARY, primary);
+		for (int i = 0; i < replicas.size(); i++) {
+			replicaKeys[i] = "replica-" + i;
+			targets.put(replicaKeys[i], replicas.get(i));
+		}
+		setTargetDataSources(targets);
+		setDefaultTargetDataSource(primary);
+		setLenientFallback(false); // An unknown key is a bug, not a reason to write to a replica
+	}
+
+	// Called once per physical connection the proxy asks for
+	@Override
+	protected Object determineCurrentLookupKey() {
+		if (replicaKeys.length == 0 || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+			primaryConnections.increment();
+			return PRIMARY;
+		}
+		if (guard.mustReadPrimary()) {
+			guardedReads.increment();
+			primaryConnections.increment();
+			return PRIMARY;
+		}
+		replicaConnections.increment();
+		return replicaKeys[Math.floorMod(next.getAndIncrement(), replicaKeys.length)];
+	}
+
+	public long getPrimaryConnections() {
+		return primaryConnections.sum();
+	}
+
+	public long getReplicaConnections() {
+		return replicaConnections.sum();
+	}
+
+	public long getGuardedReads() {
+		return guardedReads.sum();
+	}
+
+	public int getReplicaCount() {
+		return replicaKeys.length;
+	}
+
+	// Closes the replica pools; the primary pool is a bean of its own and is closed by Spring
+	@Override
+	public void close() {
+		replicas.forEach(HikariDataSource::close);
+	}
+}
@@ -0,0 +1,71 @@
+package com.cg.datasource; // Defines the package for datasource routing
+
+import java.time.Duration; // Length of the read-your-writes window
+import java.util.concurrent.ConcurrentHashMap; // Last write time per user
+import java.util.concurrent.atomic.AtomicLong; // Next time stale entries may be swept
+
+import org.springframework.security.authentication.AnonymousAuthenticationToken; // Visitors who are not logged in
+import org.springframework.security.core.Authentication; // The user of the current request
+import org.springframework.security.core.context.SecurityContextHolder; // Access to the current user
+import org.springframework.transaction.TransactionExecution; // The transaction that just committed
+import org.springframework.transaction.TransactionExecutionListener; // Notified by the transaction manager
+
+// Read-your-writes guard for replica routing. Replicas apply the primary's changes with some
+// delay, so a user who has just booked or edited something could read the old row back from a
+// replica. After every committed read-write transaction the current user's write time is
+// recorded here, and for the next 'window' that user's read-only transactions go to the primary.
+// Other users keep reading from replicas. The window should exceed the replicas' usual lag.
+//
+// Only logged-in users are tracked; background work and anonymous visitors write nothing they
+// read back. The record lives in this instance's memory, so behind a load balancer without sticky
+// sessions a user's next request may land on an instance that has not seen the write.
+public class ReplicaLagGuard implements TransactionExecutionListener {
+
+	private static final int SWEEP_ABOVE = 10_000; // Users tracked before expired entries are dropped
+
+	private final long windowMillis; // How long a user reads from the primary after writing
+	private final ConcurrentHashMap<String, Long> lastWrite = new ConcurrentHashMap<>(); // User -> epoch millis
+	private final AtomicLong nextSweep = new AtomicLong(); // Sweeps run at most once per window
+
+	// Creates the guard; a zero window turns it off
+	public ReplicaLagGuard(Duration window) {
+		this.windowMillis = window.toMillis();
+	}
+
+	// Records the write of the current user once a read-write transaction has committed
+	@Override
+	public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+		if (commitFailure != null || transaction.isReadOnly() || windowMillis <= 0) {
+			return;
+		}
+		String user = currentUser();
+		if (user == null) {
+			return;
+		}
+		long now = System.currentTimeMillis();
+		lastWrite.put(user, now);
+		long sweepAt = nextSweep.get();
+		if (lastWrite.size() > SWEEP_ABOVE && now >= sweepAt && nextSweep.compareAndSet(sweepAt, now + windowMillis)) {
+			lastWrite.values().removeIf(at -> now - at >= windowMillis);
+		}
+	}
+
+	// True when the current user wrote within the window and must not read from a replica yet
+	public boolean mustReadPrimary() {
+		if (windowMillis <= 0 || lastWrite.isEmpty()) {
+			return false;
+		}
+		String user = currentUser();
+		Long at = user != null ? lastWrite.get(user) : null;
+		return at != null && System.currentTimeMillis() - at < windowMillis;
+	}
+
+	// Name of the logged-in user of this thread, or null
+	private static String currentUser() {
+		Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+		if (auth == null || !auth.isAuthenticated() || auth instanceof AnonymousAuthenticationToken) {
+			return null;
+		}
+		return auth.getName();
+	}
+}
@@ -0,0 +1,21 @@
+package com.cg.dto; // Defines the package for Data Transfer Objects
+
+// An airline as sent to API clients: its ID and name, without the flights collection
+public class AirlineDTO {
+	private final int aid; // Unique ID of the airline
+	private final String airName; // Name of the airline
+
+	// Parameterized constructor to initialize all fields at once
+	public AirlineDTO(int aid, String airName) {
+		this.aid = aid;
+		this.airName = airName;
+	}
+
+	public int getAid() {
+		return aid;
+	}
+
+	public String getAirName() {
+		return airName;
+	}
+}
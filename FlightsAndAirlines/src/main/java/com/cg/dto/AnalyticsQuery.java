@@ -0,0 +1,90 @@
+package com.cg.dto; // Defines the package for Data Transfer Objects
+
+import java.time.LocalDate; // Import for the departure date window
+
+import org.springframework.format.annotation.DateTimeFormat; // Parses ISO dates from request parameters
+
+import com.cg.entity.AirlineClass; // Import for the seating class filter
+
+// Parameters of an analytics query: the dimensions to group by ("airline,route,class,day" in any
+// combination, none for one grand total) and optional filters. A null filter is not applied;
+// names match ignoring case and surrounding spaces.
+public class AnalyticsQuery {
+	private String groupBy; // Comma-separated dimensions, or null
+	private String airline; // Airline name, or null
+	private String source; // Departure city, or null
+	private String destination; // Arrival city, or null
+	private AirlineClass className; // Seating class, or null
+
+	@DateTimeFormat(iso = DateTimeFormat.ISO.DATE) // Accepts yyyy-MM-dd
+	private LocalDate fromDate; // First departure date, or null
+
+	@DateTimeFormat(iso = DateTimeFormat.ISO.DATE) // Accepts yyyy-MM-dd
+	private LocalDate toDate; // Last departure date, or null
+
+	private int limit = 100; // Groups returned, highest revenue potential first
+
+	public String getGroupBy() {
+		return groupBy;
+	}
+
+	public void setGroupBy(String groupBy) {
+		this.groupBy = groupBy;
+	}
+
+	public String getAirline() {
+		return airline;
+	}
+
+	public void setAirline(String airline) {
+		this.airline = airline;
+	}
+
+	public String getSource() {
+		return source;
+	}
+
+	public void setSource(String source) {
+		this.source = source;
+	}
+
+	public String getDestination() {
+		return destination;
+	}
+
+	public void setDestination(String destination) {
+		this.destination = destination;
+	}
+
+	public AirlineClass getClassName() {
+		return className;
+	}
+
+	public void setClassName(AirlineClass className) {
+		this.className = className;
+	}
+
+	public LocalDate getFromDate() {
+		return fromDate;
+	}
+
+	public void setFromDate(LocalDate fromDate) {
+		this.fromDate = fromDate;
+	}
+
+	public LocalDate getToDate() {
+		return toDate;
+	}
+
+	public void setToDate(LocalDate toDate) {
+		this.toDate = toDate;
+	}
+
+	public int getLimit() {
+		return limit;
+	}
+
+	public void setLimit(int limit) {
+		this.limit = limit;
+	}
+}
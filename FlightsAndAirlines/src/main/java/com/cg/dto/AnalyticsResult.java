@@ -0,0 +1,48 @@
+package com.cg.dto; // Defines the package for Data Transfer Objects
+
+import java.util.List; // Interface for the returned groups
+
+// Answer of an analytics query together with the age and size of the snapshot it was computed on
+public class AnalyticsResult {
+	private final long snapshotTakenAt; // Epoch milliseconds when the snapshot was read from the database
+	private final int snapshotFlights; // Flights in the snapshot
+	private final long matchedFlights; // Flights that passed the filters
+	private final int groups; // Groups found, before the limit
+	private final long elapsedMicros; // Time spent scanning and grouping
+	private final List<AnalyticsRow> rows; // Groups with the highest revenue potential first
+
+	// Parameterized constructor to initialize all fields at once
+	public AnalyticsResult(long snapshotTakenAt, int snapshotFlights, long matchedFlights, int groups,
+			long elapsedMicros, List<AnalyticsRow> rows) {
+		this.snapshotTakenAt = snapshotTakenAt;
+		this.snapshotFlights = snapshotFlights;
+		this.matchedFlights = matchedFlights;
+		this.groups = groups;
+		this.elapsedMicros = elapsedMicros;
+		this.rows = rows;
+	}
+
+	public long getSnapshotTakenAt() {
+		return snapshotTakenAt;
+	}
+
+	public int getSnapshotFlights() {
+		return snapshotFlights;
+	}
+
+	public long getMatchedFlights() {
+		return matchedFlights;
+	}
+
+	public int getGroups() {
+		return groups;
+	}
+
+	public long getElapsedMicros() {
+		return elapsedMicros;
+	}
+
+	public List<AnalyticsRow> getRows() {
+		return rows;
+	}
+}
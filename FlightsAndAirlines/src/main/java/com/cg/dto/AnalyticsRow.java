@@ -0,0 +1,79 @@
+package com.cg.dto; // Defines the package for Data Transfer Objects
+
+import java.time.LocalDate; // Import for the departure date of a group
+
+import com.fasterxml.jackson.annotation.JsonFormat; // Annotation to define date formatting for JSON
+
+// One group of an analytics query. Dimensions that were not grouped by are null.
+// revenuePotential is the sum of flightPrice x class price factor x sold seats, and loadFactor the
+// share of all seats in the group that are sold (1 - availSeat/totSeat, weighted by capacity).
+public class AnalyticsRow {
+	private final String airline; // Airline name
+	private final String source; // Departure city
+	private final String destination; // Arrival city
+	private final String className; // Seating class
+
+	@JsonFormat(pattern = "yyyy-MM-dd") // Specifies the date format as Year-Month-Day
+	private final LocalDate date; // Departure date
+
+	private final long flights; // Flights in the group
+	private final long seats; // Total seats
+	private final long soldSeats; // Seats sold or held
+	private final double revenuePotential; // Fare value of the sold seats
+	private final double loadFactor; // soldSeats / seats, 0 when there are no seats
+
+	// Parameterized constructor to initialize all fields at once
+	public AnalyticsRow(String airline, String source, String destination, String className, LocalDate date,
+			long flights, long seats, long soldSeats, double revenuePotential) {
+		this.airline = airline;
+		this.source = source;
+		this.destination = destination;
+		this.className = className;
+		this.date = date;
+		this.flights = flights;
+		this.seats = seats;
+		this.soldSeats = soldSeats;
+		this.revenuePotential = revenuePotential;
+		this.loadFactor = seats > 0 ? (double) soldSeats / seats : 0;
+	}
+
+	public String getAirline() {
+		return airline;
+	}
+
+	public String getSource() {
+		return source;
+	}
+
+	public String getDestination() {
+		return destination;
+	}
+
+	public String getClassName() {
+		return className;
+	}
+
+	public LocalDate getDate() {
+		return date;
+	}
+
+	public long getFlights() {
+		return flights;
+	}
+
+	public long getSeats() {
+		return seats;
+	}
+
+	public long getSoldSeats() {
+		return soldSeats;
+	}
+
+	public double getRevenuePotential() {
+		return revenuePotential;
+	}
+
+	public double getLoadFactor() {
+		return loadFactor;
+	}
+}
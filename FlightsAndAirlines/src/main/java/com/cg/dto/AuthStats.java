@@ -0,0 +1,84 @@
+package com.cg.dto; // Defines the package for Data Transfer Objects
+
+// Point-in-time counters of the login path: password hashing load and refused attempts
+public class AuthStats {
+	private final long hashes; // BCrypt hashes computed
+	private final double avgHashMillis; // Average time of one hash
+	private final double maxHashMillis; // Slowest hash
+	private final double avgWaitMillis; // Average time a login waited for its hash, queueing included
+	private final int queued; // Hash jobs waiting for a thread right now
+	private final long rejectedBusy; // Attempts refused because hashing was saturated
+	private final long timedOut; // Attempts that gave up waiting for a hash
+	private final long throttledUser; // Attempts refused by a username bucket
+	private final long throttledIp; // Attempts refused by an address bucket
+	private final int trackedKeys; // Usernames and addresses with a bucket
+
+	// Parameterized constructor to initialize all fields at once
+	public AuthStats(long hashes, double avgHashMillis, double maxHashMillis, double avgWaitMillis, int queued,
+			long rejectedBusy, long timedOut, long throttledUser, long throttledIp, int trackedKeys) {
+		this.hashes = hashes;
+		this.avgHashMillis = avgHashMillis;
+		this.maxHashMillis = maxHashMillis;
+		this.avgWaitMillis = avgWaitMillis;
+		this.queued = queued;
+		this.rejectedBusy = rejectedBusy;
+		this.timedOut = timedOut;
+		this.throttledUser = throttledUser;
+		this.throttledIp = throttledIp;
+		this.trackedKeys = trackedKeys;
+	}
+
+	public long getHashes() {
+		return hashes;
+	}
+
+	public double getAvgHashMillis() {
+		return avgHashMillis;
+	}
+
+	public double getMaxHashMillis() {
+		return maxHashMillis;
+	}
+
+	public double getAvgWaitMillis() {
+		return avgWaitMillis;
+	}
+
+	public int getQueued() {
+		return queued;
+	}
+
+	public long getRejectedBusy() {
+		return rejectedBusy;
+	}
+
+	public long getTimedOut() {
+		return timedOut;
+	}
+
+	public long getThrottledUser() {
+		return throttledUser;
+	}
+
+	public long getThrottledIp() {
+		return throttledIp;
+	}
+
+	public int getTrackedKeys() {
+		return trackedKeys;
+	}
+
+	// All attempts refused before or during hashing
+	public long getRejected() {
+		return rejectedBusy + timedOut + throttledUser + throttledIp;
+	}
+
+	// Readable summary for log lines
+	@Override
+	public String toString() {
+		return "AuthStats [hashes=" + hashes + ", avgHashMillis=" + avgHashMillis + ", maxHashMillis=" + maxHashMillis
+				+ ", avgWaitMillis=" + avgWaitMillis + ", queued=" + queued + ", rejectedBusy=" + rejectedBusy
+				+ ", timedOut=" + timedOut + ", throttledUser=" + throttledUser + ", throttledIp=" + throttledIp
+				+ ", trackedKeys=" + trackedKeys + "]";
+	}
+}
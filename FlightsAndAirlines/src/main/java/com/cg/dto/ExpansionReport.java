@@ -0,0 +1,79 @@
+package com.cg.dto; // Defines the package for Data Transfer Objects
+
+// Running totals of one schedule expansion: flight rows written for the rules that were expanded
+public class ExpansionReport {
+
+	private int rules; // Rules expanded
+	private int skipped; // Rules left out because their airline no longer exists
+	private long inserted; // Flights generated for new dates
+	private long updated; // Existing future flights changed to match an edited rule
+	private long deleted; // Unbooked future flights on dates a rule no longer covers
+	private long keptBooked; // Flights on such dates kept because seats were already sold or held
+	private long oversold; // Flights left unchanged because more seats were sold than the rule's capacity
+	private long elapsedMillis; // Time spent
+
+	public void ruleExpanded() {
+		rules++;
+	}
+
+	public void ruleSkipped() {
+		skipped++;
+	}
+
+	// Adds the rows written for one rule
+	public void add(int inserted, int updated, int deleted, int keptBooked, int oversold) {
+		this.inserted += inserted;
+		this.updated += updated;
+		this.deleted += deleted;
+		this.keptBooked += keptBooked;
+		this.oversold += oversold;
+	}
+
+	// Flight rows written in total
+	public long getChanged() {
+		return inserted + updated + deleted;
+	}
+
+	public void setElapsedMillis(long elapsedMillis) {
+		this.elapsedMillis = elapsedMillis;
+	}
+
+	public int getRules() {
+		return rules;
+	}
+
+	public int getSkipped() {
+		return skipped;
+	}
+
+	public long getInserted() {
+		return inserted;
+	}
+
+	public long getUpdated() {
+		return updated;
+	}
+
+	public long getDeleted() {
+		return deleted;
+	}
+
+	public long getKeptBooked() {
+		return keptBooked;
+	}
+
+	public long getOversold() {
+		return oversold;
+	}
+
+	public long getElapsedMillis() {
+		return elapsedMillis;
+	}
+
+	// One-line summary for the log
+	@Override
+	public String toString() {
+		return rules + " rules, " + inserted + " inserted, " + updated + " updated, " + deleted + " deleted, "
+				+ keptBooked + " kept with bookings, " + oversold + " oversold, " + skipped + " skipped, " + elapsedMillis + " ms";
+	}
+}
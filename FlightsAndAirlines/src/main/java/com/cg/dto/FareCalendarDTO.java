@@ -0,0 +1,53 @@
+package com.cg.dto; // Defines the package for Data Transfer Objects
+
+import java.time.LocalDate; // Import for the calendar days
+import java.util.List; // Import for the ordered days
+import java.util.Map; // Import for fares keyed by class
+
+import com.cg.entity.AirlineClass; // Import for the seating classes
+
+// Cheapest fare per departure day and class for one route
+public class FareCalendarDTO {
+	private final String source; // Departure city/airport
+	private final String destination; // Arrival city/airport
+	private final List<Day> days; // One entry per calendar day, in order
+
+	// Parameterized constructor to initialize all fields at once
+	public FareCalendarDTO(String source, String destination, List<Day> days) {
+		this.source = source;
+		this.destination = destination;
+		this.days = days;
+	}
+
+	public String getSource() {
+		return source;
+	}
+
+	public String getDestination() {
+		return destination;
+	}
+
+	public List<Day> getDays() {
+		return days;
+	}
+
+	// The cheapest fares of one departure day; classes without a flight that day are absent
+	public static class Day {
+		private final LocalDate date; // Departure date
+		private final Map<AirlineClass, Double> fares; // Class -> cheapest fare (price x class factor)
+
+		// Parameterized constructor to initialize all fields at once
+		public Day(LocalDate date, Map<AirlineClass, Double> fares) {
+			this.date = date;
+			this.fares = fares;
+		}
+
+		public LocalDate getDate() {
+			return date;
+		}
+
+		public Map<AirlineClass, Double> getFares() {
+			return fares;
+		}
+	}
+}
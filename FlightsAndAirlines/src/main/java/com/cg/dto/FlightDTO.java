@@ -30,7 +30,9 @@ public class FlightDTO {
 	private int totSeat; // Total number of seats available on the aircraft
 	private int availSeat; // Number of seats currently remaining for booking
 	private AirlineClass className; // Type of class (e.g., Economy, Business, First Class)
+	private int airlineId; // ID of the Airline, or 0 when the flight has none
 	private String airlineName; // Human-readable name of the Airline
+	private int version; // Version of the row this DTO was read from, sent back with edits
 
 	// Default no-argument constructor (required for many frameworks like Jackson/Hibernate)
 	public FlightDTO() {
@@ -58,6 +60,18 @@ public class FlightDTO {
 		this.airlineName = airlineName;
 	}
 
+	// Constructor used by the repository projections, which also read the airline ID and the row
+	// version; the ID is null when the left-joined airline is missing
+	public FlightDTO(int flightId, String enterprise, double flightPrice, String source, String destination,
+			LocalDate departureDate, LocalTime departureTime, LocalDate arrivalDate, LocalTime arrivalTime,
+			int duration, int totSeat, int availSeat, AirlineClass className, Integer airlineId, String airlineName,
+			int version) {
+		this(flightId, enterprise, flightPrice, source, destination, departureDate, departureTime, arrivalDate,
+				arrivalTime, duration, totSeat, availSeat, className, airlineName);
+		this.airlineId = airlineId != null ? airlineId : 0;
+		this.version = version;
+	}
+
 	// Getter and Setter methods follow: 
 	// They provide controlled access to private fields for data binding and retrieval
 
@@ -165,6 +179,14 @@ public class FlightDTO {
 		this.className = className;
 	}
 
+	public int getAirlineId() {
+		return airlineId;
+	}
+
+	public void setAirlineId(int airlineId) {
+		this.airlineId = airlineId;
+	}
+
 	public String getAirlineName() {
 		return airlineName;
 	}
@@ -173,4 +195,11 @@ public class FlightDTO {
 		this.airlineName = airlineName;
 	}
 
+	public int getVersion() {
+		return version;
+	}
+
+	public void setVersion(int version) {
+		this.version = version;
+	}
 }
@@ -0,0 +1,16 @@
+package com.cg.dto; // Defines the package for Data Transfer Objects
+
+// The values the update form was rendered with, posted back as hidden "loaded.*" fields next to
+// the edited ones. The edit is diffed against them and announced from them, so saving it needs
+// no read of the flight.
+public class FlightEditForm {
+	private FlightDTO loaded = new FlightDTO(); // Flight as the form showed it
+
+	public FlightDTO getLoaded() {
+		return loaded;
+	}
+
+	public void setLoaded(FlightDTO loaded) {
+		this.loaded = loaded;
+	}
+}
@@ -0,0 +1,44 @@
+package com.cg.dto; // Defines the package for Data Transfer Objects
+
+import java.util.List; // Import for the list of flights on the page
+
+// One page of the price-sorted flight listing plus the cursor needed to fetch the next page.
+// The cursor is the (flightPrice, flightId) pair of the last row, so the next page starts
+// right after it instead of skipping an OFFSET worth of rows.
+public class FlightPage {
+	private final List<FlightDTO> flights; // Flights on this page, cheapest first
+	private final int size; // Requested page size
+	private final boolean hasNext; // True when at least one more flight follows this page
+	private final Double nextPrice; // Price of the last flight on this page, or null
+	private final Integer nextId; // ID of the last flight on this page, or null
+
+	// Parameterized constructor to initialize all fields at once
+	public FlightPage(List<FlightDTO> flights, int size, boolean hasNext) {
+		this.flights = flights;
+		this.size = size;
+		this.hasNext = hasNext;
+		FlightDTO last = flights.isEmpty() ? null : flights.get(flights.size() - 1);
+		this.nextPrice = last != null ? last.getFlightPrice() : null;
+		this.nextId = last != null ? last.getFlightId() : null;
+	}
+
+	public List<FlightDTO> getFlights() {
+		return flights;
+	}
+
+	public int getSize() {
+		return size;
+	}
+
+	public boolean isHasNext() {
+		return hasNext;
+	}
+
+	public Double getNextPrice() {
+		return nextPrice;
+	}
+
+	public Integer getNextId() {
+		return nextId;
+	}
+}
@@ -0,0 +1,163 @@
+package com.cg.dto; // Defines the package for Data Transfer Objects
+
+import java.time.LocalDate; // Import for departure and arrival dates
+import java.time.LocalTime; // Import for departure and arrival times
+import java.util.Objects; // Null-safe comparison of old and new values
+
+import com.cg.entity.AirlineClass; // Import for the seating class
+
+// The columns an edit changes. A null field is left untouched, so the UPDATE built from a patch
+// only sets the columns that were actually given. The airline is referenced by ID only.
+public class FlightPatch {
+	private String enterprise; // New enterprise name, or null
+	private Double flightPrice; // New base price, or null
+	private String source; // New departure city, or null
+	private String destination; // New arrival city, or null
+	private LocalDate departureDate; // New departure date, or null
+	private LocalTime departureTime; // New departure time, or null
+	private LocalDate arrivalDate; // New arrival date, or null
+	private LocalTime arrivalTime; // New arrival time, or null
+	private Integer duration; // New duration, or null
+	private Integer totSeat; // New seat capacity, or null
+	private Integer availSeat; // New available seat count, or null
+	private AirlineClass className; // New seating class, or null
+	private Integer airlineId; // ID of the new airline, or null
+
+	// Builds the patch for what the update form actually changed, by comparing it with the values
+	// the form was rendered with ('loaded'). The version check makes those equal to the stored flight,
+	// except for the seat count, which bookings move without bumping the version; comparing with
+	// the loaded count still only writes it when the admin edited it. The form has no enterprise
+	// input (its "enterprise" select carries the airline ID), so that column is never changed.
+	public static FlightPatch fromForm(FlightDTO form, int airlineId, FlightDTO loaded) {
+		FlightPatch patch = new FlightPatch();
+		patch.flightPrice = changed(loaded.getFlightPrice(), form.getFlightPrice());
+		patch.source = changed(loaded.getSource(), form.getSource());
+		patch.destination = changed(loaded.getDestination(), form.getDestination());
+		patch.departureDate = changed(loaded.getDepartureDate(), form.getDepartureDate());
+		patch.departureTime = changed(loaded.getDepartureTime(), form.getDepartureTime());
+		patch.arrivalDate = changed(loaded.getArrivalDate(), form.getArrivalDate());
+		patch.arrivalTime = changed(loaded.getArrivalTime(), form.getArrivalTime());
+		patch.duration = changed(loaded.getDuration(), form.getDuration());
+		patch.totSeat = changed(loaded.getTotSeat(), form.getTotSeat());
+		patch.availSeat = changed(loaded.getAvailSeat(), form.getAvailSeat());
+		patch.className = changed(loaded.getClassName(), form.getClassName());
+		patch.airlineId = changed(loaded.getAirlineId(), airlineId);
+		return patch;
+	}
+
+	// The new value when it differs from the old one, otherwise null (column left untouched)
+	private static <T> T changed(T oldValue, T newValue) {
+		return Objects.equals(oldValue, newValue) ? null : newValue;
+	}
+
+	// True when the patch does not change anything
+	public boolean isEmpty() {
+		return enterprise == null && flightPrice == null && source == null && destination == null
+				&& departureDate == null && departureTime == null && arrivalDate == null && arrivalTime == null
+				&& duration == null && totSeat == null && availSeat == null && className == null && airlineId == null;
+	}
+
+	public String getEnterprise() {
+		return enterprise;
+	}
+
+	public void setEnterprise(String enterprise) {
+		this.enterprise = enterprise;
+	}
+
+	public Double getFlightPrice() {
+		return flightPrice;
+	}
+
+	public void setFlightPrice(Double flightPrice) {
+		this.flightPrice = flightPrice;
+	}
+
+	public String getSource() {
+		return source;
+	}
+
+	public void setSource(String source) {
+		this.source = source;
+	}
+
+	public String getDestination() {
+		return destination;
+	}
+
+	public void setDestination(String destination) {
+		this.destination = destination;
+	}
+
+	public LocalDate getDepartureDate() {
+		return departureDate;
+	}
+
+	public void setDepartureDate(LocalDate departureDate) {
+		this.departureDate = departureDate;
+	}
+
+	public LocalTime getDepartureTime() {
+		return departureTime;
+	}
+
+	public void setDepartureTime(LocalTime departureTime) {
+		this.departureTime = departureTime;
+	}
+
+	public LocalDate getArrivalDate() {
+		return arrivalDate;
+	}
+
+	public void setArrivalDate(LocalDate arrivalDate) {
+		this.arrivalDate = arrivalDate;
+	}
+
+	public LocalTime getArrivalTime() {
+		return arrivalTime;
+	}
+
+	public void setArrivalTime(LocalTime arrivalTime) {
+		this.arrivalTime = arrivalTime;
+	}
+
+	public Integer getDuration() {
+		return duration;
+	}
+
+	public void setDuration(Integer duration) {
+		this.duration = duration;
+	}
+
+	public Integer getTotSeat() {
+		return totSeat;
+	}
+
+	public void setTotSeat(Integer totSeat) {
+		this.totSeat = totSeat;
+	}
+
+	public Integer getAvailSeat() {
+		return availSeat;
+	}
+
+	public void setAvailSeat(Integer availSeat) {
+		this.availSeat = availSeat;
+	}
+
+	public AirlineClass getClassName() {
+		return className;
+	}
+
+	public void setClassName(AirlineClass className) {
+		this.className = className;
+	}
+
+	public Integer getAirlineId() {
+		return airlineId;
+	}
+
+	public void setAirlineId(Integer airlineId) {
+		this.airlineId = airlineId;
+	}
+}
@@ -0,0 +1,103 @@
+package com.cg.dto; // Defines the package for Data Transfer Objects
+
+import java.time.LocalDate; // Import for the departure date window
+import java.time.LocalTime; // Import for the departure time-of-day window
+
+import org.springframework.format.annotation.DateTimeFormat; // Parses ISO dates and times from request parameters
+
+import com.cg.entity.AirlineClass; // Import for the seating class filter
+
+// Criteria of a range search: exact matches on route and class plus inclusive ranges on price,
+// departure date and departure time of day. A null field is not filtered on, so "from X under
+// $Y departing 08:00-12:00" only sets source, maxPrice, fromTime and toTime.
+public class FlightRangeQuery {
+	private String source; // Departure city, or null
+	private String destination; // Arrival city, or null
+	private AirlineClass className; // Seating class, or null
+	private Double minPrice; // Lowest price, or null
+	private Double maxPrice; // Highest price, or null
+
+	@DateTimeFormat(iso = DateTimeFormat.ISO.DATE) // Accepts yyyy-MM-dd
+	private LocalDate fromDate; // First departure date, or null
+
+	@DateTimeFormat(iso = DateTimeFormat.ISO.DATE) // Accepts yyyy-MM-dd
+	private LocalDate toDate; // Last departure date, or null
+
+	@DateTimeFormat(iso = DateTimeFormat.ISO.TIME) // Accepts HH:mm[:ss]
+	private LocalTime fromTime; // Earliest departure time of day, or null
+
+	@DateTimeFormat(iso = DateTimeFormat.ISO.TIME) // Accepts HH:mm[:ss]
+	private LocalTime toTime; // Latest departure time of day, or null
+
+	public String getSource() {
+		return source;
+	}
+
+	public void setSource(String source) {
+		this.source = source;
+	}
+
+	public String getDestination() {
+		return destination;
+	}
+
+	public void setDestination(String destination) {
+		this.destination = destination;
+	}
+
+	public AirlineClass getClassName() {
+		return className;
+	}
+
+	public void setClassName(AirlineClass className) {
+		this.className = className;
+	}
+
+	public Double getMinPrice() {
+		return minPrice;
+	}
+
+	public void setMinPrice(Double minPrice) {
+		this.minPrice = minPrice;
+	}
+
+	public Double getMaxPrice() {
+		return maxPrice;
+	}
+
+	public void setMaxPrice(Double maxPrice) {
+		this.maxPrice = maxPrice;
+	}
+
+	public LocalDate getFromDate() {
+		return fromDate;
+	}
+
+	public void setFromDate(LocalDate fromDate) {
+		this.fromDate = fromDate;
+	}
+
+	public LocalDate getToDate() {
+		return toDate;
+	}
+
+	public void setToDate(LocalDate toDate) {
+		this.toDate = toDate;
+	}
+
+	public LocalTime getFromTime() {
+		return fromTime;
+	}
+
+	public void setFromTime(LocalTime fromTime) {
+		this.fromTime = fromTime;
+	}
+
+	public LocalTime getToTime() {
+		return toTime;
+	}
+
+	public void setToTime(LocalTime toTime) {
+		this.toTime = toTime;
+	}
+}
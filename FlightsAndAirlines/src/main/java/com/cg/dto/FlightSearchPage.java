@@ -0,0 +1,41 @@
+package com.cg.dto; // Defines the package for Data Transfer Objects
+
+import java.util.List; // Import for the list of flights on the page
+
+// One offset-based slice of a search result. Searches are answered from the in-memory index and
+// result cache as a whole list, so slicing it by offset costs nothing extra.
+public class FlightSearchPage {
+	private final List<FlightDTO> flights; // Flights in this slice
+	private final int total; // Flights matching the search
+	private final int offset; // Position of the first flight of this slice
+	private final int size; // Requested slice size
+
+	// Parameterized constructor to initialize all fields at once
+	public FlightSearchPage(List<FlightDTO> flights, int total, int offset, int size) {
+		this.flights = flights;
+		this.total = total;
+		this.offset = offset;
+		this.size = size;
+	}
+
+	public List<FlightDTO> getFlights() {
+		return flights;
+	}
+
+	public int getTotal() {
+		return total;
+	}
+
+	public int getOffset() {
+		return offset;
+	}
+
+	public int getSize() {
+		return size;
+	}
+
+	// True when more flights follow this slice
+	public boolean isHasNext() {
+		return offset + flights.size() < total;
+	}
+}
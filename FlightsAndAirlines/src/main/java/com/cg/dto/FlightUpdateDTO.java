@@ -0,0 +1,33 @@
+package com.cg.dto; // Defines the package for Data Transfer Objects
+
+// Seat count and price of one watched flight, as pushed to live subscribers
+public class FlightUpdateDTO {
+	private final int flightId; // Flight the update is about
+	private final int availSeat; // Seats still for sale
+	private final double flightPrice; // Current base price
+	private final boolean deleted; // True when the flight no longer exists; the other values are then 0
+
+	// Parameterized constructor to initialize all fields at once
+	public FlightUpdateDTO(int flightId, int availSeat, double flightPrice, boolean deleted) {
+		this.flightId = flightId;
+		this.availSeat = availSeat;
+		this.flightPrice = flightPrice;
+		this.deleted = deleted;
+	}
+
+	public int getFlightId() {
+		return flightId;
+	}
+
+	public int getAvailSeat() {
+		return availSeat;
+	}
+
+	public double getFlightPrice() {
+		return flightPrice;
+	}
+
+	public boolean isDeleted() {
+		return deleted;
+	}
+}
@@ -0,0 +1,75 @@
+package com.cg.dto; // Defines the package for Data Transfer Objects
+
+import java.util.ArrayList; // Resizable list for the row errors
+import java.util.Collections; // Read-only view of the errors
+import java.util.List; // Interface for ordered collections
+
+// Running totals of a bulk flight import plus the rows that were rejected.
+// Only the first MAX_ERRORS messages are kept so a completely broken feed cannot fill the heap;
+// the failed counter still counts every rejected row.
+public class ImportReport {
+
+	public static final int MAX_ERRORS = 1000; // Error messages kept in memory
+
+	private long rowsRead; // Data rows seen so far (header excluded)
+	private long imported; // Rows written to the flights table
+	private long failed; // Rows rejected by validation or by the database
+	private int batches; // Batches flushed to the database
+	private long elapsedMillis; // Time spent so far
+	private final List<String> errors = new ArrayList<>(); // "line N: reason" messages
+
+	public void rowRead() {
+		rowsRead++;
+	}
+
+	public void imported(int rows) {
+		imported += rows;
+	}
+
+	public void batchWritten() {
+		batches++;
+	}
+
+	// Records a rejected row; 'line' is the CSV line or JSON record number
+	public void rowFailed(long line, String reason) {
+		failed++;
+		if (errors.size() < MAX_ERRORS) {
+			errors.add("line " + line + ": " + reason);
+		}
+	}
+
+	public void setElapsedMillis(long elapsedMillis) {
+		this.elapsedMillis = elapsedMillis;
+	}
+
+	public long getRowsRead() {
+		return rowsRead;
+	}
+
+	public long getImported() {
+		return imported;
+	}
+
+	public long getFailed() {
+		return failed;
+	}
+
+	public int getBatches() {
+		return batches;
+	}
+
+	public long getElapsedMillis() {
+		return elapsedMillis;
+	}
+
+	public List<String> getErrors() {
+		return Collections.unmodifiableList(errors);
+	}
+
+	// One-line progress summary
+	@Override
+	public String toString() {
+		return rowsRead + " rows read, " + imported + " imported, " + failed + " failed, " + batches + " batches, "
+				+ elapsedMillis + " ms";
+	}
+}
@@ -0,0 +1,80 @@
+package com.cg.dto; // Defines the package for Data Transfer Objects
+
+import java.time.LocalDateTime; // Import for departure and arrival moments
+import java.util.List; // Import for the ordered legs of the trip
+
+// One multi-leg trip returned by the connection finder, from first departure to final arrival
+public class ItineraryDTO {
+	private final List<Leg> legs; // Flights to take, in order
+	private final double totalFare; // Sum of every leg's fare (price x class factor)
+	private final long totalMinutes; // Time from the first departure to the last arrival
+
+	// Parameterized constructor to initialize all fields at once
+	public ItineraryDTO(List<Leg> legs, double totalFare, long totalMinutes) {
+		this.legs = legs;
+		this.totalFare = totalFare;
+		this.totalMinutes = totalMinutes;
+	}
+
+	public List<Leg> getLegs() {
+		return legs;
+	}
+
+	public double getTotalFare() {
+		return totalFare;
+	}
+
+	public long getTotalMinutes() {
+		return totalMinutes;
+	}
+
+	// Number of stops between the origin and the destination
+	public int getConnections() {
+		return legs.size() - 1;
+	}
+
+	// A single flight within an itinerary
+	public static class Leg {
+		private final int flightId; // Flight to book for this leg
+		private final String source; // Departure city/airport
+		private final String destination; // Arrival city/airport
+		private final LocalDateTime departure; // Takeoff date and time
+		private final LocalDateTime arrival; // Landing date and time
+		private final double fare; // Price of this leg with the class factor applied
+
+		// Parameterized constructor to initialize all fields at once
+		public Leg(int flightId, String source, String destination, LocalDateTime departure, LocalDateTime arrival,
+				double fare) {
+			this.flightId = flightId;
+			this.source = source;
+			this.destination = destination;
+			this.departure = departure;
+			this.arrival = arrival;
+			this.fare = fare;
+		}
+
+		public int getFlightId() {
+			return flightId;
+		}
+
+		public String getSource() {
+			return source;
+		}
+
+		public String getDestination() {
+			return destination;
+		}
+
+		public LocalDateTime getDeparture() {
+			return departure;
+		}
+
+		public LocalDateTime getArrival() {
+			return arrival;
+		}
+
+		public double getFare() {
+			return fare;
+		}
+	}
+}
@@ -0,0 +1,21 @@
+package com.cg.dto; // Defines the package for Data Transfer Objects
+
+// One typeahead suggestion: a city and the number of flights departing from or arriving at it
+public class PlaceDTO {
+	private final String name; // City as spelled in the flights table
+	private final int flights; // Flights serving the city
+
+	// Parameterized constructor to initialize all fields at once
+	public PlaceDTO(String name, int flights) {
+		this.name = name;
+		this.flights = flights;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public int getFlights() {
+		return flights;
+	}
+}
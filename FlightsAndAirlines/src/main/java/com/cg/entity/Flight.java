@@ -11,12 +11,22 @@ import jakarta.persistence.Enumerated; // Specifies that a field is an Enum type
 import jakarta.persistence.GeneratedValue; // Strategy for primary key generation
 import jakarta.persistence.GenerationType; // Enumeration for primary key generation types
 import jakarta.persistence.Id; // Marks the field as the Primary Key
+import jakarta.persistence.Index; // Declares a database index on the table
 import jakarta.persistence.JoinColumn; // Defines the foreign key column name
 import jakarta.persistence.ManyToOne; // Defines a many-to-one relationship with Airline
 import jakarta.persistence.Table; // Specifies the database table name
+import jakarta.persistence.Version; // Optimistic locking column
 
 @Entity // Instructs JPA to treat this class as a table
-@Table(name="flights") // Maps this entity to the "flights" table in the database
+// Maps this entity to the "flights" table; the price index serves the sorted, paginated listing.
+// The route and source indexes end in (flightPrice, flightId) too, so range searches filtered by
+// route or by origin read their rows in price order instead of sorting them. Flights generated from a
+// schedule rule are unique per rule and date, which keeps repeated expansions from duplicating them.
+@Table(name="flights", indexes = {
+		@Index(name = "idx_flights_price_id", columnList = "flightPrice, flightId"),
+		@Index(name = "idx_flights_route_price", columnList = "source, destination, flightPrice, flightId"),
+		@Index(name = "idx_flights_source_price", columnList = "source, flightPrice, flightId"),
+		@Index(name = "uk_flights_rule_date", columnList = "scheduleRuleId, departureDate", unique = true) })
 public class Flight {
 
 	@Id // Sets flightId as the Primary Key
@@ -51,6 +61,11 @@ public class Flight {
 	@JsonFormat(pattern = "yyyy-MM-dd") // Formats departure date as Year-Month-Day
 	private LocalDate departureDate; // Scheduled date for takeoff
 
+	private Integer scheduleRuleId; // Schedule rule that generated this flight, or null when entered by hand
+
+	@Version // Bumped on every write so concurrent edits are detected instead of overwritten
+	private int version; // Optimistic locking counter
+
 	// Default constructor required by JPA
 	public Flight() {
 
@@ -192,4 +207,20 @@ public class Flight {
 		this.airline = airline;
 	}
 
+	public Integer getScheduleRuleId() {
+		return scheduleRuleId;
+	}
+
+	public void setScheduleRuleId(Integer scheduleRuleId) {
+		this.scheduleRuleId = scheduleRuleId;
+	}
+
+	public int getVersion() {
+		return version;
+	}
+
+	public void setVersion(int version) {
+		this.version = version;
+	}
+
 }
@@ -0,0 +1,237 @@
+package com.cg.entity; // Defines the package for database entity classes
+
+import java.time.DayOfWeek; // Weekdays the rule operates on
+import java.time.LocalDate; // Import for handling dates (Year-Month-Day)
+import java.time.LocalTime; // Import for handling time (Hours-Minutes)
+import java.util.ArrayList; // Resizable list for the weekday names
+import java.util.List; // Interface for the weekdays in JSON
+
+import com.fasterxml.jackson.annotation.JsonFormat; // Annotation to format Date/Time for JSON conversion
+import com.fasterxml.jackson.annotation.JsonIgnore; // Hides the weekday bit mask from JSON
+import com.fasterxml.jackson.annotation.JsonProperty; // Marks the expansion state as read-only
+
+import org.hibernate.annotations.OptimisticLock; // Keeps expansion bookkeeping from counting as an edit
+
+import jakarta.persistence.Column; // Import to specify column mapping details
+import jakarta.persistence.Entity; // Marks this class as a database-mapped entity
+import jakarta.persistence.EnumType; // Defines how Enum values are stored in the database
+import jakarta.persistence.Enumerated; // Specifies that a field is an Enum type
+import jakarta.persistence.GeneratedValue; // Strategy for primary key generation
+import jakarta.persistence.GenerationType; // Enumeration for primary key generation types
+import jakarta.persistence.Id; // Marks the field as the Primary Key
+import jakarta.persistence.Table; // Specifies the database table name
+import jakarta.persistence.Version; // Revision bumped by every edit
+
+// A recurring departure as airlines publish it: "every Mon/Wed/Fri at 08:15, SRC to DST" between
+// validFrom and validTo. ScheduleService expands each rule into dated Flight rows that carry the
+// rule's ID. The revision goes up with every edit; expandedRevision and expandedThrough record
+// what the flights table already reflects, so an unchanged rule only gets its new horizon days.
+@Entity // Instructs JPA to treat this class as a table
+@Table(name = "schedule_rules") // Maps this entity to the "schedule_rules" table
+public class ScheduleRule {
+
+	@Id // Sets ruleId as the Primary Key
+	@GeneratedValue(strategy = GenerationType.IDENTITY) // Auto-increments the ID in the database
+	private int ruleId; // Unique identifier of the rule
+
+	@Column(nullable = false) // Every rule belongs to an airline
+	private int airlineId; // Airline operating the generated flights
+
+	private String enterprise; // Name of the operating company
+	private double flightPrice; // Base cost of each generated flight
+	private String source; // Departure city/airport
+	private String destination; // Arrival city/airport
+
+	@JsonFormat(pattern = "HH:mm") // Formats time as 24-hour, e.g. 08:15
+	private LocalTime departureTime; // Takeoff time on every operating day
+
+	private int duration; // Flight duration in minutes
+	private int totSeat; // Seating capacity of each generated flight
+
+	@Enumerated(EnumType.STRING) // Stores the Enum name as a String (e.g., "BUSINESS") in the DB
+	private AirlineClass className; // The service class of the generated flights
+
+	@JsonIgnore // Clients read and write the weekday names instead
+	private int daysOfWeek; // Operating weekdays, bit 0 = Monday ... bit 6 = Sunday
+
+	@JsonFormat(pattern = "yyyy-MM-dd") // Formats date as Year-Month-Day
+	private LocalDate validFrom; // First day the rule may operate
+
+	@JsonFormat(pattern = "yyyy-MM-dd") // Formats date as Year-Month-Day
+	private LocalDate validTo; // Last day the rule may operate, or null for open-ended
+
+	@Version // Bumped on every edit, which tells the expansion to compare the rule's flights again
+	@JsonProperty(access = JsonProperty.Access.READ_ONLY) // Managed by the server
+	private int revision; // Edit counter
+
+	@OptimisticLock(excluded = true) // Recording an expansion does not bump the revision
+	@JsonProperty(access = JsonProperty.Access.READ_ONLY) // Managed by the server
+	private int expandedRevision = -1; // Revision the generated flights match; -1 before the first expansion
+
+	@JsonFormat(pattern = "yyyy-MM-dd") // Formats date as Year-Month-Day
+	@OptimisticLock(excluded = true) // Recording an expansion does not bump the revision
+	@JsonProperty(access = JsonProperty.Access.READ_ONLY) // Managed by the server
+	private LocalDate expandedThrough; // Last date flights were generated for, or null
+
+	// Default constructor required by JPA
+	public ScheduleRule() {
+
+	}
+
+	// True when the rule operates on this weekday
+	public boolean operatesOn(DayOfWeek day) {
+		return (daysOfWeek & (1 << day.ordinal())) != 0;
+	}
+
+	// Operating weekdays, Monday first
+	public List<DayOfWeek> getDays() {
+		List<DayOfWeek> days = new ArrayList<>(7);
+		for (DayOfWeek day : DayOfWeek.values()) {
+			if (operatesOn(day)) {
+				days.add(day);
+			}
+		}
+		return days;
+	}
+
+	public void setDays(List<DayOfWeek> days) {
+		int mask = 0;
+		if (days != null) {
+			for (DayOfWeek day : days) {
+				mask |= 1 << day.ordinal();
+			}
+		}
+		this.daysOfWeek = mask;
+	}
+
+	// Getter and Setter methods follow:
+	// These allow Spring, Hibernate, and other classes to access and modify private fields
+
+	public int getRuleId() {
+		return ruleId;
+	}
+
+	public void setRuleId(int ruleId) {
+		this.ruleId = ruleId;
+	}
+
+	public int getAirlineId() {
+		return airlineId;
+	}
+
+	public void setAirlineId(int airlineId) {
+		this.airlineId = airlineId;
+	}
+
+	public String getEnterprise() {
+		return enterprise;
+	}
+
+	public void setEnterprise(String enterprise) {
+		this.enterprise = enterprise;
+	}
+
+	public double getFlightPrice() {
+		return flightPrice;
+	}
+
+	public void setFlightPrice(double flightPrice) {
+		this.flightPrice = flightPrice;
+	}
+
+	public String getSource() {
+		return source;
+	}
+
+	public void setSource(String source) {
+		this.source = source;
+	}
+
+	public String getDestination() {
+		return destination;
+	}
+
+	public void setDestination(String destination) {
+		this.destination = destination;
+	}
+
+	public LocalTime getDepartureTime() {
+		return departureTime;
+	}
+
+	public void setDepartureTime(LocalTime departureTime) {
+		this.departureTime = departureTime;
+	}
+
+	public int getDuration() {
+		return duration;
+	}
+
+	public void setDuration(int duration) {
+		this.duration = duration;
+	}
+
+	public int getTotSeat() {
+		return totSeat;
+	}
+
+	public void setTotSeat(int totSeat) {
+		this.totSeat = totSeat;
+	}
+
+	public AirlineClass getClassName() {
+		return className;
+	}
+
+	public void setClassName(AirlineClass className) {
+		this.className = className;
+	}
+
+	public int getDaysOfWeek() {
+		return daysOfWeek;
+	}
+
+	public void setDaysOfWeek(int daysOfWeek) {
+		this.daysOfWeek = daysOfWeek;
+	}
+
+	public LocalDate getValidFrom() {
+		return validFrom;
+	}
+
+	public void setValidFrom(LocalDate validFrom) {
+		this.validFrom = validFrom;
+	}
+
+	public LocalDate getValidTo() {
+		return validTo;
+	}
+
+	public void setValidTo(LocalDate validTo) {
+		this.validTo = validTo;
+	}
+
+	public int getRevision() {
+		return revision;
+	}
+
+	public void setRevision(int revision) {
+		this.revision = revision;
+	}
+
+	public int getExpandedRevision() {
+		return expandedRevision;
+	}
+
+	public void setExpandedRevision(int expandedRevision) {
+		this.expandedRevision = expandedRevision;
+	}
+
+	public LocalDate getExpandedThrough() {
+		return expandedThrough;
+	}
+
+	public void setExpandedThrough(LocalDate expandedThrough) {
+		this.expandedThrough = expandedThrough;
+	}
+}
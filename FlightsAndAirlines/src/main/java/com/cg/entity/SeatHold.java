@@ -0,0 +1,85 @@
+package com.cg.entity; // Defines the package for database entity classes
+
+import jakarta.persistence.Column; // Import to specify column mapping details
+import jakarta.persistence.Entity; // Marks this class as a database-mapped entity
+import jakarta.persistence.GeneratedValue; // Annotation to manage primary key generation
+import jakarta.persistence.GenerationType; // Strategy for auto-incrementing IDs
+import jakarta.persistence.Id; // Marks the field as the primary key
+import jakarta.persistence.Table; // Specifies the specific database table name
+
+// Seats taken from a flight for a user who has not confirmed yet. The seats are already
+// subtracted from availSeat; the row exists so that an unconfirmed hold can be given back after
+// a restart. The flight is referenced by ID only, so deleting a flight is never blocked by holds.
+@Entity // Instructs JPA that this class represents a table in the database
+@Table(name = "seat_holds") // Maps this entity specifically to the "seat_holds" table
+public class SeatHold {
+
+	@Id // Sets 'holdId' as the unique Primary Key for the table
+	@GeneratedValue(strategy = GenerationType.IDENTITY) // Database handles auto-increment for this ID
+	private long holdId; // Unique identifier of the hold
+
+	@Column(nullable = false) // Every hold belongs to a flight
+	private int flightId; // Flight the seats were taken from
+
+	@Column(nullable = false) // Number of seats held
+	private int seats; // Seats to give back if the hold expires
+
+	@Column(nullable = false) // Owner of the hold
+	private String userName; // User allowed to confirm or release it
+
+	@Column(nullable = false) // Expiry time
+	private long expiresAt; // Epoch milliseconds after which the seats are returned
+
+	// Default no-argument constructor required by JPA for entity instantiation
+	public SeatHold() {
+
+	}
+
+	// Parameterized constructor for a new hold; the ID is assigned by the database
+	public SeatHold(int flightId, int seats, String userName, long expiresAt) {
+		this.flightId = flightId;
+		this.seats = seats;
+		this.userName = userName;
+		this.expiresAt = expiresAt;
+	}
+
+	public long getHoldId() {
+		return holdId;
+	}
+
+	public void setHoldId(long holdId) {
+		this.holdId = holdId;
+	}
+
+	public int getFlightId() {
+		return flightId;
+	}
+
+	public void setFlightId(int flightId) {
+		this.flightId = flightId;
+	}
+
+	public int getSeats() {
+		return seats;
+	}
+
+	public void setSeats(int seats) {
+		this.seats = seats;
+	}
+
+	public String getUserName() {
+		return userName;
+	}
+
+	public void setUserName(String userName) {
+		this.userName = userName;
+	}
+
+	public long getExpiresAt() {
+		return expiresAt;
+	}
+
+	public void setExpiresAt(long expiresAt) {
+		this.expiresAt = expiresAt;
+	}
+}
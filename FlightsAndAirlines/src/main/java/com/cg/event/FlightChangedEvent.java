@@ -0,0 +1,56 @@
+package com.cg.event; // Defines the package for in-process application events
+
+import com.cg.entity.Flight; // Import for the Flight entity carried by the event
+
+// Published by FlightService after a flight is saved, updated or deleted.
+// In-memory indexes and caches listen for it to stay in sync with the flights table.
+public class FlightChangedEvent {
+
+	// The kind of change that happened to the flight
+	public enum Type {
+		SAVED, UPDATED, DELETED
+	}
+
+	private final Type type; // What happened to the flight
+	private final int flightId; // ID of the flight that changed
+	private final Flight flight; // Current state of the flight; null when it was deleted
+
+	// Parameterized constructor to initialize all fields at once
+	public FlightChangedEvent(Type type, int flightId, Flight flight) {
+		this.type = type;
+		this.flightId = flightId;
+		this.flight = flight;
+	}
+
+	// Convenience factory for a newly saved flight
+	public static FlightChangedEvent saved(Flight flight) {
+		return new FlightChangedEvent(Type.SAVED, flight.getFlightId(), flight);
+	}
+
+	// Convenience factory for an edited flight
+	public static FlightChangedEvent updated(Flight flight) {
+		return new FlightChangedEvent(Type.UPDATED, flight.getFlightId(), flight);
+	}
+
+	// Convenience factory for a removed flight
+	public static FlightChangedEvent deleted(int flightId) {
+		return new FlightChangedEvent(Type.DELETED, flightId, null);
+	}
+
+	public Type getType() {
+		return type;
+	}
+
+	public int getFlightId() {
+		return flightId;
+	}
+
+	public Flight getFlight() {
+		return flight;
+	}
+
+	// True when the flight no longer exists
+	public boolean isDeleted() {
+		return type == Type.DELETED;
+	}
+}
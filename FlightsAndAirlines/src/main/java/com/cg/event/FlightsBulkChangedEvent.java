@@ -0,0 +1,24 @@
+package com.cg.event; // Defines the package for in-process application events
+
+// Published after a bulk operation wrote many flights straight to the table (imports, bulk deletes).
+// Publishing one FlightChangedEvent per row would cost more than starting over, so in-memory
+// indexes reload from the table and caches are dropped instead.
+public class FlightsBulkChangedEvent {
+
+	private final String operation; // Short name of the bulk operation, for logging
+	private final int rows; // Number of flight rows written or removed
+
+	// Parameterized constructor to initialize all fields at once
+	public FlightsBulkChangedEvent(String operation, int rows) {
+		this.operation = operation;
+		this.rows = rows;
+	}
+
+	public String getOperation() {
+		return operation;
+	}
+
+	public int getRows() {
+		return rows;
+	}
+}
@@ -0,0 +1,26 @@
+package com.cg.event; // Defines the package for in-process application events
+
+// Published when seats of a flight were taken or given back (bookings, holds, hold expiry) without
+// the flight itself being edited. Unlike FlightChangedEvent it leaves the seat counters alone;
+// listeners that show seat counts use it to push the new count.
+public class SeatsChangedEvent {
+
+	public static final int UNKNOWN = -1; // Seats left were not computed; read the flight again
+
+	private final int flightId; // ID of the flight whose seats changed
+	private final int availSeat; // Seats left afterwards, or UNKNOWN
+
+	// Parameterized constructor to initialize all fields at once
+	public SeatsChangedEvent(int flightId, int availSeat) {
+		this.flightId = flightId;
+		this.availSeat = availSeat;
+	}
+
+	public int getFlightId() {
+		return flightId;
+	}
+
+	public int getAvailSeat() {
+		return availSeat;
+	}
+}
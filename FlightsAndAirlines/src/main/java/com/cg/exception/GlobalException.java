@@ -3,10 +3,12 @@ package com.cg.exception; // Defines the package for global exception handling l
 import java.util.Date; // Imports Date to timestamp the error occurrence
 
 import org.springframework.http.HttpStatus; // Import for standard HTTP status codes
+import org.springframework.http.MediaType; // Content type of errors for event stream requests
 import org.springframework.http.ResponseEntity; // Wrapper to return both data and HTTP status
 import org.springframework.web.bind.annotation.ControllerAdvice; // Annotation for global interceptor of exceptions
 import org.springframework.web.bind.annotation.ExceptionHandler; // Annotation to define specific exception handlers
 import org.springframework.web.context.request.WebRequest; // Used to access request details like URL or description
+import org.springframework.web.context.request.async.AsyncRequestNotUsableException; // Client closed a streaming response
 
 // Controller advice to handle all application-level exceptions in one place
 @ControllerAdvice // Marks this class as a global handler for exceptions thrown by any @Controller
@@ -21,9 +23,61 @@ public class GlobalException {
 		return new ResponseEntity<>(errorDetails, HttpStatus.NOT_FOUND);
 	}
 
+	// Handles bookings that lost the race for the last seats of a flight
+	@ExceptionHandler(SeatUnavailable.class) // Runs when a reservation cannot be satisfied
+	public ResponseEntity<?> seatUnavailable(SeatUnavailable ex, WebRequest req) {
+		// Creates a structured error object with the message, current time, and request path
+		ErrorDetails errorDetails = new ErrorDetails(ex.getMessage(), new Date(), req.getDescription(false));
+		// Returns the error object along with a 409 Conflict HTTP status
+		return new ResponseEntity<>(errorDetails, HttpStatus.CONFLICT);
+	}
+
+	// Handles edits made against an outdated version of a flight
+	@ExceptionHandler(StaleFlightUpdate.class) // Runs when the optimistic version check fails
+	public ResponseEntity<?> staleFlightUpdate(StaleFlightUpdate ex, WebRequest req) {
+		// Creates a structured error object with the message, current time, and request path
+		ErrorDetails errorDetails = new ErrorDetails(ex.getMessage(), new Date(), req.getDescription(false));
+		// Returns the error object along with a 409 Conflict HTTP status
+		return new ResponseEntity<>(errorDetails, HttpStatus.CONFLICT);
+	}
+
+	// Handles seat holds that expired before they were confirmed
+	@ExceptionHandler(HoldExpired.class) // Runs when a hold is gone
+	public ResponseEntity<?> holdExpired(HoldExpired ex, WebRequest req) {
+		// Creates a structured error object with the message, current time, and request path
+		ErrorDetails errorDetails = new ErrorDetails(ex.getMessage(), new Date(), req.getDescription(false));
+		// Returns the error object along with a 410 Gone HTTP status
+		return new ResponseEntity<>(errorDetails, HttpStatus.GONE);
+	}
+
+	// Handles login attempts refused to protect the server
+	@ExceptionHandler(LoginThrottled.class) // Runs when an attempt is over budget or hashing is saturated
+	public ResponseEntity<?> loginThrottled(LoginThrottled ex, WebRequest req) {
+		// Creates a structured error object with the message, current time, and request path
+		ErrorDetails errorDetails = new ErrorDetails(ex.getMessage(), new Date(), req.getDescription(false));
+		// Returns the error object along with a 429 Too Many Requests HTTP status
+		return new ResponseEntity<>(errorDetails, HttpStatus.TOO_MANY_REQUESTS);
+	}
+
+	// Handles live update streams refused because the client already holds its share
+	@ExceptionHandler(StreamLimitReached.class) // Runs when a user or address opens too many streams
+	public ResponseEntity<?> streamLimitReached(StreamLimitReached ex, WebRequest req) {
+		// Creates a structured error object with the message, current time, and request path
+		ErrorDetails errorDetails = new ErrorDetails(ex.getMessage(), new Date(), req.getDescription(false));
+		// Returns the error object along with a 429 Too Many Requests HTTP status; JSON even though
+		// EventSource clients only accept text/event-stream, which has no way to carry an error
+		return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).contentType(MediaType.APPLICATION_JSON)
+				.body(errorDetails);
+	}
+
+	// Handles live update streams whose client has gone away; there is nobody left to answer
+	@ExceptionHandler(AsyncRequestNotUsableException.class) // Runs when an open stream's connection is closed
+	public void clientGone() {
+	}
+
 	// Catches all other unexpected system errors (NullPointer, Database down, etc.)
 	@ExceptionHandler(Exception.class) // Fallback handler for any exception not specifically caught elsewhere
-	public ResponseEntity<?> globalExceptionHandler(ResourceNotFound ex, WebRequest req) {
+	public ResponseEntity<?> globalExceptionHandler(Exception ex, WebRequest req) {
 		// Creates a structured error object for internal system failures
 		ErrorDetails errorDetails = new ErrorDetails(ex.getMessage(), new Date(), req.getDescription(false));
 		// Returns the error object along with a 500 Internal Server Error HTTP status
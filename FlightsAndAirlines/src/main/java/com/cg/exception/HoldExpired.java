@@ -0,0 +1,8 @@
+package com.cg.exception;
+
+// Thrown when a seat hold is confirmed or released after it expired, or by someone else
+public class HoldExpired extends Exception{
+	public HoldExpired(String message) {
+    	super(message);
+    }
+}
@@ -0,0 +1,9 @@
+package com.cg.exception;
+
+// Thrown when a login or registration is refused to protect the server, either because the
+// caller made too many attempts or because password hashing is saturated
+public class LoginThrottled extends Exception{
+	public LoginThrottled(String message) {
+    	super(message);
+    }
+}
@@ -0,0 +1,30 @@
+package com.cg.exception; // Defines the package for global exception handling logic
+
+import java.util.Date; // Imports Date to timestamp the error occurrence
+
+import org.springframework.core.Ordered; // Precedence constants
+import org.springframework.core.annotation.Order; // Runs before GlobalException's catch-all handler
+import org.springframework.http.MediaType; // Content type of errors for event stream requests
+import org.springframework.http.ResponseEntity; // Wrapper to return both data and HTTP status
+import org.springframework.web.bind.annotation.ExceptionHandler; // Annotation to define specific exception handlers
+import org.springframework.web.bind.annotation.RestController; // Limits this advice to the JSON controllers
+import org.springframework.web.bind.annotation.RestControllerAdvice; // Exception handlers for selected controllers
+import org.springframework.web.context.request.WebRequest; // Used to access request details like URL or description
+
+// Exception handlers that only apply to the JSON API. Its controllers validate request parameters
+// by throwing IllegalArgumentException, which means a bad request there; anywhere else it is
+// still a server error, handled by GlobalException.
+@RestControllerAdvice(annotations = RestController.class) // Applies to @RestController classes only
+@Order(Ordered.HIGHEST_PRECEDENCE) // Consulted before GlobalException, whose Exception handler matches everything
+public class RestExceptionHandler {
+
+	// Handles request parameters that cannot be used (unknown field names, classes or dimensions)
+	@ExceptionHandler(IllegalArgumentException.class) // Runs when input validation fails
+	public ResponseEntity<?> illegalArgument(IllegalArgumentException ex, WebRequest req) {
+		// Creates a structured error object with the message, current time, and request path
+		ErrorDetails errorDetails = new ErrorDetails(ex.getMessage(), new Date(), req.getDescription(false));
+		// Returns the error object along with a 400 Bad Request HTTP status, as JSON even when the
+		// client asked for an event stream
+		return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON).body(errorDetails);
+	}
+}
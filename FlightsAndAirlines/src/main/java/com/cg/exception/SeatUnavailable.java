@@ -0,0 +1,8 @@
+package com.cg.exception;
+
+// Thrown when a booking asks for more seats than the flight has left
+public class SeatUnavailable extends Exception{
+	public SeatUnavailable(String message) {
+    	super(message);
+    }
+}
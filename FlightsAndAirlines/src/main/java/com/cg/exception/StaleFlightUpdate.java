@@ -0,0 +1,8 @@
+package com.cg.exception;
+
+// Thrown when a flight was changed by someone else after the editor loaded it
+public class StaleFlightUpdate extends Exception{
+	public StaleFlightUpdate(String message) {
+    	super(message);
+    }
+}
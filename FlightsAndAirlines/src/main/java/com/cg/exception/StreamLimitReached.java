@@ -0,0 +1,9 @@
+package com.cg.exception;
+
+// Thrown when a client asks for another live update stream while it already holds as many open
+// as one user or address may
+public class StreamLimitReached extends Exception{
+	public StreamLimitReached(String message) {
+    	super(message);
+    }
+}
@@ -0,0 +1,308 @@
+package com.cg.index; // Defines the package for in-memory flight indexes
+
+import java.sql.Date; // JDBC date column type
+import java.time.LocalDate; // Import for departure days
+import java.util.ArrayList; // Resizable list for the returned days
+import java.util.Arrays; // Utilities for growing and searching primitive arrays
+import java.util.EnumMap; // Compact map keyed by the AirlineClass enum
+import java.util.HashMap; // Hash table for routes and flights
+import java.util.List; // Interface for ordered collections
+import java.util.Locale; // Locale-neutral lower casing of city names
+import java.util.Map; // Interface for key-value lookups
+import java.util.concurrent.locks.ReentrantLock; // Lets one rebuild run at a time
+import java.util.concurrent.locks.ReentrantReadWriteLock; // Lets many readers run while writers wait
+
+import org.slf4j.Logger; // Interface for logging system messages
+import org.slf4j.LoggerFactory; // Factory to create logger instances
+import org.springframework.beans.factory.annotation.Autowired; // For automatic dependency injection
+import org.springframework.beans.factory.annotation.Value; // Reads settings from application.properties
+import org.springframework.boot.context.event.ApplicationReadyEvent; // Fired once the application has started
+import org.springframework.context.event.EventListener; // Subscribes a method to application events
+import org.springframework.core.annotation.Order; // Updates before caches built on top of flights
+import org.springframework.jdbc.core.JdbcTemplate; // Lightweight row streaming without entity hydration
+import org.springframework.stereotype.Component; // Registers this class as a Spring bean
+
+import com.cg.dto.FareCalendarDTO; // Import for the returned calendar
+import com.cg.entity.AirlineClass; // Import for the seating classes
+import com.cg.entity.Flight; // Import for the Flight entity
+import com.cg.event.FlightChangedEvent; // Event published when a flight changes
+import com.cg.event.FlightsBulkChangedEvent; // Event published after bulk writes
+
+// Cheapest fare per route, departure day and class, maintained incrementally.
+// Each route keeps one double array per class indexed by day, so reading a day is a single array
+// access and a 90-day calendar costs 90 x 4 reads. Behind every populated day sits a small sorted
+// bag of the fares flying that day, so deleting or repricing the cheapest flight finds the next
+// cheapest without a query. The arrays only span the window starting on the day of the last
+// rebuild; fares outside it are answered from their bags, so a stray far-off date cannot make
+// every class array millions of days long.
+//
+// A full rebuild reads the flights table into new calendars without holding the lock, so
+// lookups and flight changes carry on against the old ones meanwhile. Changes made during the
+// read are replayed onto the new calendars when they are swapped in.
+@Component // Tells Spring to create and manage a single shared instance
+public class FareCalendar {
+
+	@Autowired // Injects the JdbcTemplate used to load the calendar at startup
+	JdbcTemplate jdbc;
+
+	// Initializes the logger to record application events
+	private static final Logger log = LoggerFactory.getLogger(FareCalendar.class);
+
+	private static final AirlineClass[] CLASSES = AirlineClass.values(); // Cached to avoid array copies
+
+	@Value("${app.fares.calendar-days:400}") // Days from the last rebuild kept in the day arrays
+	int windowDays;
+
+	private final ReentrantLock rebuildLock = new ReentrantLock(); // Serializes full rebuilds
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock(); // Guards the two fields below
+	private Fares fares = new Fares(LocalDate.now().toEpochDay()); // Calendars answered from now
+	private List<FlightChangedEvent> missed; // Changes made while a rebuild reads, or null
+
+	// Loads every dated fare straight from the table at startup and after bulk writes
+	@EventListener({ ApplicationReadyEvent.class, FlightsBulkChangedEvent.class })
+	@Order(1) // Reloads before caches are dropped
+	public void rebuild() {
+		rebuildLock.lock();
+		try {
+			List<FlightChangedEvent> changes = new ArrayList<>();
+			lock.writeLock().lock();
+			try {
+				missed = changes; // From here on, changes are also kept for the new calendars
+			} finally {
+				lock.writeLock().unlock();
+			}
+			Fares loaded = new Fares(LocalDate.now().toEpochDay()); // Drops days that have gone by
+			try {
+				jdbc.query("SELECT flight_id, source, destination, departure_date, flight_price, class_name FROM flights",
+						rs -> {
+							Date day = rs.getDate(4);
+							String cls = rs.getString(6);
+							if (day != null && cls != null) {
+								AirlineClass className = AirlineClass.valueOf(cls);
+								loaded.add(rs.getInt(1), rs.getString(2), rs.getString(3), day.toLocalDate(),
+										className, rs.getDouble(5) * className.getPriceFactor(), windowDays);
+							}
+						});
+				lock.writeLock().lock();
+				try {
+					changes.forEach(event -> loaded.apply(event, windowDays)); // Brings the new calendars up to date
+					fares = loaded;
+				} finally {
+					lock.writeLock().unlock();
+				}
+			} finally {
+				lock.writeLock().lock();
+				try {
+					missed = null;
+				} finally {
+					lock.writeLock().unlock();
+				}
+			}
+			log.info("Fare calendar built with {} routes and {} fares", loaded.routes.size(), loaded.cellOf.size());
+		} finally {
+			rebuildLock.unlock();
+		}
+	}
+
+	// Moves the flight's fare to its new route, day, class and price
+	@EventListener
+	@Order(1) // Indexes update before caches that depend on them
+	public void onFlightChanged(FlightChangedEvent event) {
+		lock.writeLock().lock();
+		try {
+			fares.apply(event, windowDays);
+			if (missed != null) {
+				missed.add(event); // A rebuild is reading; its calendars get this change too
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	// Returns the cheapest fare of each class for 'days' consecutive days starting at 'from'
+	public FareCalendarDTO calendar(String source, String dest, LocalDate from, int days) {
+		lock.readLock().lock();
+		try {
+			Route route = fares.routes.get(routeKey(source, dest));
+			long first = from.toEpochDay();
+			List<FareCalendarDTO.Day> out = new ArrayList<>(days);
+			for (int i = 0; i < days; i++) {
+				Map<AirlineClass, Double> fares = new EnumMap<>(AirlineClass.class);
+				if (route != null) {
+					for (AirlineClass c : CLASSES) {
+						double min = route.min(c.ordinal(), first + i);
+						if (!Double.isNaN(min)) {
+							fares.put(c, min);
+						}
+					}
+				}
+				out.add(new FareCalendarDTO.Day(from.plusDays(i), fares));
+			}
+			return new FareCalendarDTO(source, dest, out);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	// Route calendars filled from one rebuild. The instance answered from is guarded by the lock;
+	// a rebuild fills a new one on its own before swapping it in.
+	private static final class Fares {
+		final long windowStart; // First day of the arrays
+		final Map<String, Route> routes = new HashMap<>(); // "source|dest" -> calendar of that route
+		final Map<Integer, Cell> cellOf = new HashMap<>(); // Flight ID -> where its fare is filed
+
+		Fares(long windowStart) {
+			this.windowStart = windowStart;
+		}
+
+		// Moves the flight's fare to its new route, day, class and price, or drops a deleted one
+		void apply(FlightChangedEvent event, int windowDays) {
+			remove(event.getFlightId());
+			Flight f = event.getFlight();
+			if (f != null && f.getDepartureDate() != null && f.getClassName() != null) {
+				add(f.getFlightId(), f.getSource(), f.getDestination(), f.getDepartureDate(), f.getClassName(),
+						f.getFlightPrice() * f.getClassName().getPriceFactor(), windowDays);
+			}
+		}
+
+		// Files one fare
+		void add(int flightId, String source, String dest, LocalDate day, AirlineClass className, double fare,
+				int windowDays) {
+			String key = routeKey(source, dest);
+			Route route = routes.computeIfAbsent(key, k -> new Route(windowStart, windowDays));
+			route.add(className.ordinal(), day.toEpochDay(), fare);
+			cellOf.put(flightId, new Cell(key, className.ordinal(), day.toEpochDay(), fare));
+		}
+
+		// Un-files the fare a flight was last filed under
+		void remove(int flightId) {
+			Cell cell = cellOf.remove(flightId);
+			if (cell != null) {
+				Route route = routes.get(cell.route);
+				if (route != null && route.remove(cell.classOrdinal, cell.day, cell.fare)) {
+					routes.remove(cell.route); // Last fare of the route
+				}
+			}
+		}
+	}
+
+	private static String routeKey(String source, String dest) {
+		return normalize(source) + '|' + normalize(dest);
+	}
+
+	private static String normalize(String value) {
+		return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+	}
+
+	// Where a flight's fare is filed, so it can be removed without knowing the old flight row
+	private static final class Cell {
+		final String route;
+		final int classOrdinal;
+		final long day;
+		final double fare;
+
+		Cell(String route, int classOrdinal, long day, double fare) {
+			this.route = route;
+			this.classOrdinal = classOrdinal;
+			this.day = day;
+			this.fare = fare;
+		}
+	}
+
+	// Calendar of one route: per class, the minimum fare of each day of the window
+	private static final class Route {
+		final long baseDay; // Epoch day stored at index 0
+		final int windowDays; // Days the arrays may grow to
+		final double[][] min = new double[CLASSES.length][]; // [class][day - baseDay], NaN when no flight
+		final Map<Long, double[]> bags = new HashMap<>(); // (day * classes + class) -> sorted fares, with size in slot 0
+		int fares; // Fares filed on this route
+
+		Route(long baseDay, int windowDays) {
+			this.baseDay = baseDay;
+			this.windowDays = windowDays;
+		}
+
+		double min(int cls, long day) {
+			long i = day - baseDay;
+			if (i < 0 || i >= windowDays) {
+				double[] bag = bags.get(day * CLASSES.length + cls); // Outside the window
+				return bag == null ? Double.NaN : bag[1];
+			}
+			double[] days = min[cls];
+			return (days == null || i >= days.length) ? Double.NaN : days[(int) i];
+		}
+
+		void add(int cls, long day, double fare) {
+			long bagKey = day * CLASSES.length + cls;
+			double[] bag = bags.get(bagKey);
+			if (bag == null) {
+				bag = new double[] { 0, 0, 0 };
+			}
+			int n = (int) bag[0];
+			if (n + 1 == bag.length) {
+				bag = Arrays.copyOf(bag, bag.length * 2);
+			}
+			int pos = insertionPoint(bag, n, fare);
+			System.arraycopy(bag, 1 + pos, bag, 2 + pos, n - pos);
+			bag[1 + pos] = fare;
+			bag[0] = n + 1;
+			bags.put(bagKey, bag);
+			setMin(cls, day, bag[1]);
+			fares++;
+		}
+
+		// Returns true when the route has no fares left
+		boolean remove(int cls, long day, double fare) {
+			long bagKey = day * CLASSES.length + cls;
+			double[] bag = bags.get(bagKey);
+			if (bag != null) {
+				int n = (int) bag[0];
+				int pos = insertionPoint(bag, n, fare);
+				if (pos < n && bag[1 + pos] == fare) {
+					System.arraycopy(bag, 2 + pos, bag, 1 + pos, n - pos - 1);
+					bag[0] = --n;
+					fares--;
+				}
+				if (n == 0) {
+					bags.remove(bagKey);
+					setMin(cls, day, Double.NaN);
+				} else {
+					setMin(cls, day, bag[1]);
+				}
+			}
+			return fares == 0;
+		}
+
+		// Writes one day's minimum, growing the day array up to the window as needed
+		private void setMin(int cls, long day, double value) {
+			if (day < baseDay || day - baseDay >= windowDays) {
+				return; // Outside the window: min() reads the bag
+			}
+			int i = (int) (day - baseDay);
+			double[] days = min[cls];
+			if (days == null || i >= days.length) {
+				int oldLength = days == null ? 0 : days.length;
+				days = days == null ? new double[Math.min(Math.max(i + 1, 32), windowDays)]
+						: Arrays.copyOf(days, Math.min(Math.max(i + 1, oldLength * 2), windowDays));
+				Arrays.fill(days, oldLength, days.length, Double.NaN);
+				min[cls] = days;
+			}
+			days[i] = value;
+		}
+
+		// Position of the first fare >= value among the n sorted fares stored from slot 1
+		private static int insertionPoint(double[] bag, int n, double value) {
+			int lo = 0;
+			int hi = n;
+			while (lo < hi) {
+				int mid = (lo + hi) >>> 1;
+				if (bag[1 + mid] < value) {
+					lo = mid + 1;
+				} else {
+					hi = mid;
+				}
+			}
+			return lo;
+		}
+	}
+}
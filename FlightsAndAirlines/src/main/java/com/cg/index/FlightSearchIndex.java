@@ -0,0 +1,246 @@
+package com.cg.index; // Defines the package for in-memory flight indexes
+
+import java.util.ArrayList; // Resizable list used to gather postings lists
+import java.util.Collection; // Generic collection of airline IDs
+import java.util.Comparator; // Orders postings lists from smallest to largest
+import java.util.EnumMap; // Compact map keyed by the AirlineClass enum
+import java.util.HashMap; // Hash table for string and ID keyed postings
+import java.util.List; // Interface for ordered collections
+import java.util.Locale; // Locale-neutral lower casing of keys
+import java.util.Map; // Interface for key-value lookups
+import java.util.concurrent.locks.ReentrantLock; // Lets one rebuild run at a time
+import java.util.concurrent.locks.ReentrantReadWriteLock; // Lets many searches run while writers wait
+
+import org.slf4j.Logger; // Interface for logging system messages
+import org.slf4j.LoggerFactory; // Factory to create logger instances
+import org.springframework.beans.factory.annotation.Autowired; // For automatic dependency injection
+import org.springframework.boot.context.event.ApplicationReadyEvent; // Fired once the application has started
+import org.springframework.context.event.EventListener; // Subscribes a method to application events
+import org.springframework.core.annotation.Order; // Runs this listener before caches built on top of it
+import org.springframework.jdbc.core.JdbcTemplate; // Lightweight row streaming without entity hydration
+import org.springframework.stereotype.Component; // Registers this class as a Spring bean
+
+import com.cg.entity.AirlineClass; // Import for the AirlineClass enum filter
+import com.cg.entity.Flight; // Import for the Flight entity
+import com.cg.event.FlightChangedEvent; // Event published when a flight changes
+import com.cg.event.FlightsBulkChangedEvent; // Event published after bulk writes
+
+// Inverted index over the four search filters of /api/list: source, destination, airline and class.
+// Every distinct value keeps a sorted postings list of flight IDs; a search intersects the lists
+// of the filters it uses, starting from the shortest, so its cost follows the result size and not
+// the size of the flights table. Keys are trimmed and lower-cased, like MySQL's default collation.
+//
+// A full rebuild reads the flights table into new lists without holding the lock, so searches and
+// flight changes carry on against the old lists meanwhile. Changes made during the read are
+// replayed onto the new lists when they are swapped in; replaying one the read already saw changes
+// nothing.
+@Component // Tells Spring to create and manage a single shared instance
+public class FlightSearchIndex {
+
+	@Autowired // Injects the JdbcTemplate used to load the index at startup
+	JdbcTemplate jdbc;
+
+	// Initializes the logger to record application events
+	private static final Logger log = LoggerFactory.getLogger(FlightSearchIndex.class);
+
+	private final ReentrantLock rebuildLock = new ReentrantLock(); // Serializes full rebuilds
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock(); // Guards the two fields below
+	private Postings postings = new Postings(); // Lists searched now
+	private List<FlightChangedEvent> missed; // Changes made while a rebuild reads, or null
+
+	private volatile boolean ready; // False until the first full load has finished
+
+	// True once the index reflects the whole flights table
+	public boolean isReady() {
+		return ready;
+	}
+
+	// Loads every flight's search keys straight from the table at startup and after bulk writes
+	@EventListener({ ApplicationReadyEvent.class, FlightsBulkChangedEvent.class })
+	@Order(1) // Reloads before caches are dropped
+	public void rebuild() {
+		rebuildLock.lock();
+		try {
+			List<FlightChangedEvent> changes = new ArrayList<>();
+			lock.writeLock().lock();
+			try {
+				missed = changes; // From here on, changes are also kept for the new lists
+			} finally {
+				lock.writeLock().unlock();
+			}
+			Postings loaded = new Postings();
+			try {
+				jdbc.query("SELECT flight_id, source, destination, airline_id, class_name FROM flights ORDER BY flight_id",
+						rs -> {
+							String cls = rs.getString(5);
+							loaded.put(rs.getInt(1), new Keys(rs.getString(2), rs.getString(3), rs.getInt(4),
+									cls != null ? AirlineClass.valueOf(cls) : null));
+						});
+				lock.writeLock().lock();
+				try {
+					changes.forEach(loaded::apply); // Brings the new lists up to date
+					postings = loaded;
+					ready = true;
+				} finally {
+					lock.writeLock().unlock();
+				}
+			} finally {
+				lock.writeLock().lock();
+				try {
+					missed = null;
+				} finally {
+					lock.writeLock().unlock();
+				}
+			}
+			log.info("Flight search index built with {} flights", loaded.all.size());
+		} finally {
+			rebuildLock.unlock();
+		}
+	}
+
+	// Keeps the index in step with saves, updates and deletes done through FlightService
+	@EventListener
+	@Order(1) // Indexes update first so caches evicted afterwards reload fresh data
+	public void onFlightChanged(FlightChangedEvent event) {
+		lock.writeLock().lock();
+		try {
+			postings.apply(event);
+			if (missed != null) {
+				missed.add(event); // A rebuild is reading; its lists get this change too
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	// Returns the IDs of flights matching every non-empty filter, in ascending ID order.
+	// A null airlineIds means "any airline"; an empty one matches nothing.
+	public int[] search(String source, String dest, Collection<Integer> airlineIds, AirlineClass className) {
+		lock.readLock().lock();
+		try {
+			List<IntPostings> required = new ArrayList<>(); // Lists that every result must appear in
+			if (!isBlank(source)) {
+				required.add(postings.bySource.getOrDefault(normalize(source), EMPTY));
+			}
+			if (!isBlank(dest)) {
+				required.add(postings.byDest.getOrDefault(normalize(dest), EMPTY));
+			}
+			if (className != null) {
+				required.add(postings.byClass.getOrDefault(className, EMPTY));
+			}
+
+			int[] result;
+			if (airlineIds != null) {
+				// Several airlines can share a name, so their lists are merged first
+				List<IntPostings> airlines = new ArrayList<>();
+				for (Integer id : airlineIds) {
+					IntPostings p = postings.byAirline.get(id);
+					if (p != null) {
+						airlines.add(p);
+					}
+				}
+				result = IntPostings.union(airlines);
+			} else if (required.isEmpty()) {
+				return postings.all.toArray(); // No filters at all
+			} else {
+				required.sort(Comparator.comparingInt(IntPostings::size));
+				result = required.remove(0).toArray(); // Start from the shortest list
+			}
+
+			for (IntPostings p : required) {
+				if (result.length == 0) {
+					break;
+				}
+				result = p.retainAll(result);
+			}
+			return result;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	// Removes an ID from one list and drops the list once it is empty
+	private static <K> void removeFrom(Map<K, IntPostings> map, K key, int id) {
+		IntPostings p = map.get(key);
+		if (p != null) {
+			p.remove(id);
+			if (p.isEmpty()) {
+				map.remove(key);
+			}
+		}
+	}
+
+	// Trims and lower-cases a key so lookups ignore case like the database does
+	static String normalize(String value) {
+		return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+	}
+
+	private static boolean isBlank(String value) {
+		return value == null || value.isBlank();
+	}
+
+	private static final IntPostings EMPTY = new IntPostings(); // Shared stand-in for unknown keys
+
+	// The postings lists and the keys each flight was indexed under. The lists searched are guarded
+	// by the index's lock; a rebuild fills a new instance on its own before swapping it in.
+	private static final class Postings {
+		final Map<String, IntPostings> bySource = new HashMap<>(); // Source city -> flight IDs
+		final Map<String, IntPostings> byDest = new HashMap<>(); // Destination city -> flight IDs
+		final Map<Integer, IntPostings> byAirline = new HashMap<>(); // Airline ID -> flight IDs
+		final Map<AirlineClass, IntPostings> byClass = new EnumMap<>(AirlineClass.class); // Class -> flight IDs
+		final IntPostings all = new IntPostings(); // Every indexed flight
+		final Map<Integer, Keys> keysById = new HashMap<>(); // Last indexed keys, needed to un-index
+
+		// Re-indexes a saved or edited flight, or un-indexes a deleted one
+		void apply(FlightChangedEvent event) {
+			remove(event.getFlightId());
+			if (!event.isDeleted()) {
+				Flight f = event.getFlight();
+				put(f.getFlightId(), new Keys(f.getSource(), f.getDestination(),
+						f.getAirline() != null ? f.getAirline().getAid() : 0, f.getClassName()));
+			}
+		}
+
+		// Adds one flight to every postings list it belongs to
+		private void put(int id, Keys keys) {
+			bySource.computeIfAbsent(keys.source, k -> new IntPostings()).add(id);
+			byDest.computeIfAbsent(keys.dest, k -> new IntPostings()).add(id);
+			byAirline.computeIfAbsent(keys.airlineId, k -> new IntPostings()).add(id);
+			if (keys.className != null) {
+				byClass.computeIfAbsent(keys.className, k -> new IntPostings()).add(id);
+			}
+			all.add(id);
+			keysById.put(id, keys);
+		}
+
+		// Removes one flight from the postings lists it was last indexed under
+		private void remove(int id) {
+			Keys keys = keysById.remove(id);
+			if (keys == null) {
+				return;
+			}
+			removeFrom(bySource, keys.source, id);
+			removeFrom(byDest, keys.dest, id);
+			removeFrom(byAirline, keys.airlineId, id);
+			if (keys.className != null) {
+				removeFrom(byClass, keys.className, id);
+			}
+			all.remove(id);
+		}
+	}
+
+	// The indexed keys of a single flight
+	private static final class Keys {
+		final String source;
+		final String dest;
+		final int airlineId;
+		final AirlineClass className;
+
+		Keys(String source, String dest, int airlineId, AirlineClass className) {
+			this.source = normalize(source);
+			this.dest = normalize(dest);
+			this.airlineId = airlineId;
+			this.className = className;
+		}
+	}
+}
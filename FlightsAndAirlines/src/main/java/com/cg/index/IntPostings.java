@@ -0,0 +1,113 @@
+package com.cg.index; // Defines the package for in-memory flight indexes
+
+import java.util.Arrays; // Utilities for growing and searching primitive arrays
+
+// A sorted, growable list of flight IDs backed by a plain int array.
+// Flight IDs come from an identity column, so new IDs are almost always appended at the end.
+// Not thread-safe on its own; callers guard it with their own lock.
+public final class IntPostings {
+
+	private int[] ids = new int[4]; // Sorted flight IDs; only the first 'size' slots are used
+	private int size; // Number of IDs currently stored
+
+	// Adds an ID, keeping the array sorted and free of duplicates
+	public void add(int id) {
+		if (size > 0 && ids[size - 1] >= id) {
+			int pos = Arrays.binarySearch(ids, 0, size, id);
+			if (pos >= 0) {
+				return; // Already present
+			}
+			insertAt(-pos - 1, id); // Out-of-order insert (rare)
+			return;
+		}
+		ensureCapacity(size + 1);
+		ids[size++] = id; // Common case: append
+	}
+
+	// Removes an ID if present
+	public void remove(int id) {
+		int pos = Arrays.binarySearch(ids, 0, size, id);
+		if (pos >= 0) {
+			System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+			size--;
+		}
+	}
+
+	// True when the ID is present
+	public boolean contains(int id) {
+		return Arrays.binarySearch(ids, 0, size, id) >= 0;
+	}
+
+	// Drops every ID but keeps the allocated array
+	public void clear() {
+		size = 0;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	// Returns a copy of the IDs in ascending order
+	public int[] toArray() {
+		return Arrays.copyOf(ids, size);
+	}
+
+	// Intersects a sorted ID array with this list, galloping through the larger side
+	public int[] retainAll(int[] candidates) {
+		int[] out = new int[Math.min(candidates.length, size)];
+		int n = 0;
+		int from = 0; // Search window start; both inputs are sorted so it only moves forward
+		for (int id : candidates) {
+			int pos = Arrays.binarySearch(ids, from, size, id);
+			if (pos >= 0) {
+				out[n++] = id;
+				from = pos + 1;
+			} else {
+				from = -pos - 1;
+			}
+			if (from >= size) {
+				break; // Nothing larger left to match
+			}
+		}
+		return Arrays.copyOf(out, n);
+	}
+
+	// Merges several sorted lists into one sorted array without duplicates
+	public static int[] union(Iterable<IntPostings> lists) {
+		int total = 0;
+		for (IntPostings p : lists) {
+			total += p.size;
+		}
+		int[] all = new int[total];
+		int n = 0;
+		for (IntPostings p : lists) {
+			System.arraycopy(p.ids, 0, all, n, p.size);
+			n += p.size;
+		}
+		Arrays.sort(all);
+		int unique = 0;
+		for (int i = 0; i < n; i++) {
+			if (unique == 0 || all[unique - 1] != all[i]) {
+				all[unique++] = all[i];
+			}
+		}
+		return Arrays.copyOf(all, unique);
+	}
+
+	private void insertAt(int pos, int id) {
+		ensureCapacity(size + 1);
+		System.arraycopy(ids, pos, ids, pos + 1, size - pos);
+		ids[pos] = id;
+		size++;
+	}
+
+	private void ensureCapacity(int needed) {
+		if (needed > ids.length) {
+			ids = Arrays.copyOf(ids, Math.max(needed, ids.length + (ids.length >> 1) + 1));
+		}
+	}
+}
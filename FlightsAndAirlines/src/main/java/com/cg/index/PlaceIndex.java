@@ -0,0 +1,346 @@
+package com.cg.index; // Defines the package for in-memory flight indexes
+
+import java.util.ArrayList; // Result list of one lookup
+import java.util.Arrays; // Binary search and array growth
+import java.util.HashMap; // Places each flight was last counted under
+import java.util.List; // Interface for ordered collections
+import java.util.Map; // Interface for key-value lookups
+import java.util.concurrent.locks.ReentrantLock; // Lets one rebuild run at a time
+import java.util.concurrent.locks.ReentrantReadWriteLock; // Lets many lookups run while writers wait
+
+import org.slf4j.Logger; // Interface for logging system messages
+import org.slf4j.LoggerFactory; // Factory to create logger instances
+import org.springframework.beans.factory.annotation.Autowired; // For automatic dependency injection
+import org.springframework.boot.context.event.ApplicationReadyEvent; // Fired once the application has started
+import org.springframework.context.event.EventListener; // Subscribes a method to application events
+import org.springframework.core.annotation.Order; // Runs this listener before caches built on top of it
+import org.springframework.jdbc.core.JdbcTemplate; // Lightweight row streaming without entity hydration
+import org.springframework.stereotype.Component; // Registers this class as a Spring bean
+
+import com.cg.dto.PlaceDTO; // Import for one suggestion
+import com.cg.entity.Flight; // Import for the Flight entity
+import com.cg.event.FlightChangedEvent; // Event published when a flight changes
+import com.cg.event.FlightsBulkChangedEvent; // Event published after bulk writes
+
+// Prefix lookup over every city used as a source or destination, ranked by how many flights
+// serve it. Places are kept in one array sorted by their normalized name, so the places starting
+// with a prefix are one contiguous slice found with two binary searches. Over the flight counts
+// sits a segment tree holding the busiest place of each subtree; the k busiest places of a slice
+// are taken from it best-first through a small heap, so a lookup costs O(k log^2 n) at most
+// whatever the prefix length.
+//
+// Flight changes only move counts (O(log n) each). A brand-new place is inserted into the sorted
+// array, which shifts it and rebuilds the tree (O(n), rare). Places whose count drops to zero stay
+// until the next full rebuild and are never suggested. Tens of thousands of places take a few
+// hundred KB; the per-flight map of counted places dominates memory.
+//
+// A full rebuild reads the flights table without holding the lock, so lookups and flight changes
+// carry on against the old index meanwhile. Changes made during the read are replayed onto the new
+// index when it is swapped in; replaying one the read already saw changes nothing.
+@Component // Tells Spring to create and manage a single shared instance
+public class PlaceIndex {
+
+	@Autowired // Injects the JdbcTemplate used to load the index at startup
+	JdbcTemplate jdbc;
+
+	// Initializes the logger to record application events
+	private static final Logger log = LoggerFactory.getLogger(PlaceIndex.class);
+
+	public static final int MAX_SUGGESTIONS = 20; // Upper bound for one lookup
+
+	private final ReentrantLock rebuildLock = new ReentrantLock(); // Serializes full rebuilds
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock(); // Guards all fields below
+	private String[] keys = new String[0]; // Normalized names, sorted
+	private String[] names = new String[0]; // Names as first seen, same order as keys
+	private int[] counts = new int[0]; // Flights serving each place, same order as keys
+	private int size; // Places in use
+	private int leaves = 1; // Leaf count of the tree, a power of two >= size
+	private int[] best = new int[2]; // Tree node -> position of its busiest place, -1 when empty
+	private Map<Integer, Route> routes = new HashMap<>(); // Flight ID -> places it was counted under
+	private List<FlightChangedEvent> missed; // Changes made while a rebuild reads, or null
+
+	// Loads every flight's source and destination at startup and after bulk writes
+	@EventListener({ ApplicationReadyEvent.class, FlightsBulkChangedEvent.class })
+	@Order(1) // Reloads before caches are dropped
+	public void rebuild() {
+		rebuildLock.lock();
+		try {
+			List<FlightChangedEvent> changes = new ArrayList<>();
+			lock.writeLock().lock();
+			try {
+				missed = changes; // From here on, changes are also kept for the new index
+			} finally {
+				lock.writeLock().unlock();
+			}
+			try {
+				Map<String, Place> places = new HashMap<>(); // Normalized name -> spelling and count
+				Map<Integer, Route> loaded = new HashMap<>();
+				jdbc.query("SELECT flight_id, source, destination FROM flights", rs -> {
+					loaded.put(rs.getInt(1), new Route(count(places, rs.getString(2)), count(places, rs.getString(3))));
+				});
+				String[] sorted = places.keySet().toArray(new String[0]); // The same instances the routes point at
+				Arrays.sort(sorted);
+				String[] spellings = new String[sorted.length];
+				int[] flights = new int[sorted.length];
+				for (int i = 0; i < sorted.length; i++) {
+					Place place = places.get(sorted[i]);
+					spellings[i] = place.name;
+					flights[i] = place.count;
+				}
+				lock.writeLock().lock();
+				try {
+					keys = sorted;
+					names = spellings;
+					counts = flights;
+					size = sorted.length;
+					routes = loaded;
+					buildTree();
+					changes.forEach(this::apply); // Brings the new index up to date
+				} finally {
+					lock.writeLock().unlock();
+				}
+			} finally {
+				lock.writeLock().lock();
+				try {
+					missed = null;
+				} finally {
+					lock.writeLock().unlock();
+				}
+			}
+			log.info("Place index built with {} places", size());
+		} finally {
+			rebuildLock.unlock();
+		}
+	}
+
+	// Moves the counts of a saved, edited or deleted flight
+	@EventListener
+	@Order(1) // Indexes update first so caches evicted afterwards reload fresh data
+	public void onFlightChanged(FlightChangedEvent event) {
+		lock.writeLock().lock();
+		try {
+			apply(event);
+			if (missed != null) {
+				missed.add(event); // A rebuild is reading; its index gets this change too
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	// Uncounts the places a flight was last counted under and counts its current ones; caller holds
+	// the write lock
+	private void apply(FlightChangedEvent event) {
+		Route old = routes.remove(event.getFlightId());
+		if (old != null) {
+			add(old.source, -1);
+			add(old.dest, -1);
+		}
+		if (!event.isDeleted()) {
+			Flight f = event.getFlight();
+			routes.put(event.getFlightId(), new Route(add(f.getSource(), 1), add(f.getDestination(), 1)));
+		}
+	}
+
+	// Returns up to 'limit' places starting with 'prefix' (case-insensitive), busiest first
+	public List<PlaceDTO> suggest(String prefix, int limit) {
+		String p = FlightSearchIndex.normalize(prefix);
+		int k = Math.max(1, Math.min(limit, MAX_SUGGESTIONS));
+		lock.readLock().lock();
+		try {
+			int from = lowerBound(p);
+			int to = p.isEmpty() ? size : lowerBound(p + Character.MAX_VALUE); // Past every key with the prefix
+			List<PlaceDTO> result = new ArrayList<>(k);
+			if (from >= to) {
+				return result;
+			}
+			// Max-heap of candidate subtrees, seeded with the O(log n) subtrees covering [from, to)
+			int[] heap = new int[(k + 2) * (Integer.numberOfTrailingZeros(leaves) + 1)];
+			int n = 0;
+			for (int l = from + leaves, r = to + leaves; l < r; l >>= 1, r >>= 1) {
+				if ((l & 1) == 1) {
+					n = push(heap, n, l++);
+				}
+				if ((r & 1) == 1) {
+					n = push(heap, n, --r);
+				}
+			}
+			while (result.size() < k && n > 0) {
+				int node = heap[0]; // Its busiest place is the busiest not yet taken
+				heap[0] = heap[--n];
+				siftDown(heap, n);
+				int place = best[node];
+				if (place < 0 || counts[place] <= 0) {
+					break; // Nothing left with flights
+				}
+				// Walks down to the place, keeping the halves it does not take as candidates
+				while (node < leaves) {
+					int left = 2 * node;
+					boolean inLeft = best[left] == place;
+					n = push(heap, n, inLeft ? left + 1 : left);
+					node = inLeft ? left : left + 1;
+				}
+				result.add(new PlaceDTO(names[place], counts[place]));
+			}
+			return result;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	// Adds a subtree to the candidate heap unless it holds no place; returns the new heap size
+	private int push(int[] heap, int n, int node) {
+		if (best[node] < 0) {
+			return n;
+		}
+		int i = n;
+		while (i > 0 && better(best[node], best[heap[(i - 1) >> 1]])) {
+			heap[i] = heap[(i - 1) >> 1];
+			i = (i - 1) >> 1;
+		}
+		heap[i] = node;
+		return n + 1;
+	}
+
+	// Restores the heap order after its top was replaced
+	private void siftDown(int[] heap, int n) {
+		if (n == 0) {
+			return;
+		}
+		int node = heap[0];
+		int i = 0;
+		while (2 * i + 1 < n) {
+			int child = 2 * i + 1;
+			if (child + 1 < n && better(best[heap[child + 1]], best[heap[child]])) {
+				child++;
+			}
+			if (!better(best[heap[child]], best[node])) {
+				break;
+			}
+			heap[i] = heap[child];
+			i = child;
+		}
+		heap[i] = node;
+	}
+
+	// Places with at least one flight
+	public int size() {
+		lock.readLock().lock();
+		try {
+			int live = 0;
+			for (int i = 0; i < size; i++) {
+				if (counts[i] > 0) {
+					live++;
+				}
+			}
+			return live;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	// Counts one flight for a place while loading; returns the shared key, or null for a blank place
+	private static String count(Map<String, Place> places, String place) {
+		String key = FlightSearchIndex.normalize(place);
+		if (key.isEmpty()) {
+			return null;
+		}
+		Place p = places.computeIfAbsent(key, k -> new Place(k, place.trim()));
+		p.count++;
+		return p.key;
+	}
+
+	// Changes a place's count, inserting the place when it is new; returns the shared key, or null
+	// for a blank place. Caller holds the write lock.
+	private String add(String place, int delta) {
+		String key = FlightSearchIndex.normalize(place);
+		if (key.isEmpty()) {
+			return null;
+		}
+		int i = Arrays.binarySearch(keys, 0, size, key);
+		if (i < 0) {
+			if (delta < 0) {
+				return null;
+			}
+			insert(-i - 1, key, place.trim());
+			i = -i - 1;
+		}
+		counts[i] += delta;
+		for (int node = (i + leaves) >> 1; node > 0; node >>= 1) {
+			best[node] = better(best[2 * node + 1], best[2 * node]) ? best[2 * node + 1] : best[2 * node];
+		}
+		return keys[i];
+	}
+
+	// Opens a zero-count slot for a new place at sorted position 'at'
+	private void insert(int at, String key, String name) {
+		if (size == keys.length) {
+			int capacity = Math.max(16, size * 2);
+			keys = Arrays.copyOf(keys, capacity);
+			names = Arrays.copyOf(names, capacity);
+			counts = Arrays.copyOf(counts, capacity);
+		}
+		System.arraycopy(keys, at, keys, at + 1, size - at);
+		System.arraycopy(names, at, names, at + 1, size - at);
+		System.arraycopy(counts, at, counts, at + 1, size - at);
+		keys[at] = key;
+		names[at] = name;
+		counts[at] = 0;
+		size++;
+		buildTree(); // Every position after 'at' moved
+	}
+
+	// Rebuilds the tree bottom-up over the first 'size' places
+	private void buildTree() {
+		leaves = Math.max(1, Integer.highestOneBit(Math.max(size, 1) - 1) << 1);
+		if (best.length != 2 * leaves) {
+			best = new int[2 * leaves];
+		}
+		for (int i = 0; i < leaves; i++) {
+			best[leaves + i] = i < size ? i : -1;
+		}
+		for (int node = leaves - 1; node > 0; node--) {
+			best[node] = better(best[2 * node + 1], best[2 * node]) ? best[2 * node + 1] : best[2 * node];
+		}
+	}
+
+	// True when place 'a' ranks before place 'b': more flights, then alphabetical; -1 is no place
+	private boolean better(int a, int b) {
+		if (a < 0) {
+			return false;
+		}
+		if (b < 0) {
+			return true;
+		}
+		return counts[a] > counts[b] || (counts[a] == counts[b] && a < b);
+	}
+
+	// First position whose key is >= 'key'
+	private int lowerBound(String key) {
+		int i = Arrays.binarySearch(keys, 0, size, key);
+		return i < 0 ? -i - 1 : i;
+	}
+
+	// A place being counted during a full load
+	private static final class Place {
+		final String key; // Normalized name, shared with the routes
+		final String name; // Spelling first seen
+		int count;
+
+		Place(String key, String name) {
+			this.key = key;
+			this.name = name;
+		}
+	}
+
+	// The two places a flight was counted under, as shared normalized keys (null when blank)
+	private static final class Route {
+		final String source;
+		final String dest;
+
+		Route(String source, String dest) {
+			this.source = source;
+			this.dest = dest;
+		}
+	}
+}
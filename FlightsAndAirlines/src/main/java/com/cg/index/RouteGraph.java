@@ -0,0 +1,505 @@
+package com.cg.index; // Defines the package for in-memory flight indexes
+
+import java.sql.Date; // JDBC date column type
+import java.sql.Time; // JDBC time column type
+import java.time.LocalDate; // Import for the travel date
+import java.time.LocalDateTime; // Import for leg departure and arrival moments
+import java.time.LocalTime; // Import for departure and arrival times
+import java.time.ZoneOffset; // Converts date-times to minute numbers without any time zone shift
+import java.util.ArrayList; // Resizable list for names and results
+import java.util.Arrays; // Utilities for growing, sorting and searching primitive arrays
+import java.util.BitSet; // Marks base edges removed since the last compaction
+import java.util.Collections; // Reverses legs collected from the end of a path
+import java.util.HashMap; // Hash table for airport and flight lookups
+import java.util.List; // Interface for ordered collections
+import java.util.Locale; // Locale-neutral lower casing of airport names
+import java.util.Map; // Interface for key-value lookups
+import java.util.PriorityQueue; // Orders partial trips by cost
+import java.util.concurrent.locks.ReentrantLock; // Lets one rebuild run at a time
+import java.util.concurrent.locks.ReentrantReadWriteLock; // Lets many queries run while writers wait
+
+import org.slf4j.Logger; // Interface for logging system messages
+import org.slf4j.LoggerFactory; // Factory to create logger instances
+import org.springframework.beans.factory.annotation.Autowired; // For automatic dependency injection
+import org.springframework.beans.factory.annotation.Value; // Reads settings from application.properties
+import org.springframework.boot.context.event.ApplicationReadyEvent; // Fired once the application has started
+import org.springframework.context.event.EventListener; // Subscribes a method to application events
+import org.springframework.core.annotation.Order; // Updates before caches built on top of flights
+import org.springframework.jdbc.core.JdbcTemplate; // Lightweight row streaming without entity hydration
+import org.springframework.stereotype.Component; // Registers this class as a Spring bean
+
+import com.cg.dto.ItineraryDTO; // Import for the returned trips
+import com.cg.entity.AirlineClass; // Import for the class price factor
+import com.cg.entity.Flight; // Import for the Flight entity
+import com.cg.event.FlightChangedEvent; // Event published when a flight changes
+import com.cg.event.FlightsBulkChangedEvent; // Event published after bulk writes
+
+// Connection finder over a graph whose nodes are airports and whose edges are dated flights.
+// Edges live in primitive arrays in compressed sparse row form: all flights leaving one airport
+// sit next to each other, sorted by departure minute, so the flights that fit a layover window
+// are found with one binary search. Changes go to a small delta list and tombstone bit set that
+// queries read alongside the arrays; once enough changes pile up the arrays are rebuilt from
+// memory, without going back to the database.
+//
+// A full rebuild reads the flights table into a new graph without holding the lock, so queries
+// and flight changes carry on against the old graph meanwhile. Changes made during the read are
+// replayed onto the new graph when it is swapped in; replaying one the read already saw changes
+// nothing.
+@Component // Tells Spring to create and manage a single shared instance
+public class RouteGraph {
+
+	// What the k best itineraries are ranked by
+	public enum SortBy {
+		PRICE, DURATION
+	}
+
+	@Autowired // Injects the JdbcTemplate used to load the graph at startup
+	JdbcTemplate jdbc;
+
+	// Initializes the logger to record application events
+	private static final Logger log = LoggerFactory.getLogger(RouteGraph.class);
+
+	@Value("${app.routes.max-layover-minutes:1440}") // Longest wait between two legs
+	int maxLayoverMinutes;
+
+	@Value("${app.routes.compact-threshold:1024}") // Pending changes that trigger an array rebuild
+	int compactThreshold;
+
+	private final ReentrantLock rebuildLock = new ReentrantLock(); // Serializes full rebuilds
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock(); // Guards the two fields below
+	private Graph graph = new Graph(); // Graph queried now
+	private List<FlightChangedEvent> missed; // Changes made while a rebuild reads, or null
+
+	private volatile boolean ready; // False until the first full load has finished
+
+	// True once the graph reflects the whole flights table
+	public boolean isReady() {
+		return ready;
+	}
+
+	// Loads every routable flight straight from the table at startup and after bulk writes
+	@EventListener({ ApplicationReadyEvent.class, FlightsBulkChangedEvent.class })
+	@Order(1) // Reloads before caches are dropped
+	public void rebuild() {
+		rebuildLock.lock();
+		try {
+			List<FlightChangedEvent> changes = new ArrayList<>();
+			lock.writeLock().lock();
+			try {
+				missed = changes; // From here on, changes are also kept for the new graph
+			} finally {
+				lock.writeLock().unlock();
+			}
+			Graph loaded = new Graph();
+			try {
+				jdbc.query("SELECT flight_id, source, destination, departure_date, departure_time, arrival_date, "
+						+ "arrival_time, duration, flight_price, class_name FROM flights", rs -> {
+							Date depDate = rs.getDate(4);
+							Time depTime = rs.getTime(5);
+							Date arrDate = rs.getDate(6);
+							Time arrTime = rs.getTime(7);
+							String cls = rs.getString(10);
+							loaded.addEdge(loaded.delta, rs.getInt(1), rs.getString(2), rs.getString(3),
+									depDate != null ? depDate.toLocalDate() : null,
+									depTime != null ? depTime.toLocalTime() : null,
+									arrDate != null ? arrDate.toLocalDate() : null,
+									arrTime != null ? arrTime.toLocalTime() : null, rs.getInt(8),
+									rs.getDouble(9) * (cls != null ? AirlineClass.valueOf(cls).getPriceFactor() : 1.0));
+						});
+				loaded.compact(); // Turns the loaded edges into the sorted arrays
+				lock.writeLock().lock();
+				try {
+					changes.forEach(event -> loaded.apply(event, compactThreshold)); // Brings the new graph up to date
+					graph = loaded;
+					ready = true;
+				} finally {
+					lock.writeLock().unlock();
+				}
+			} finally {
+				lock.writeLock().lock();
+				try {
+					missed = null;
+				} finally {
+					lock.writeLock().unlock();
+				}
+			}
+			log.info("Route graph built with {} airports and {} flights", loaded.airportNames.size(), loaded.to.length);
+		} finally {
+			rebuildLock.unlock();
+		}
+	}
+
+	// Keeps the graph in step with saves, updates and deletes done through FlightService
+	@EventListener
+	@Order(1) // Indexes update before caches that depend on them
+	public void onFlightChanged(FlightChangedEvent event) {
+		lock.writeLock().lock();
+		try {
+			graph.apply(event, compactThreshold);
+			if (missed != null) {
+				missed.add(event); // A rebuild is reading; its graph gets this change too
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	// Returns up to k itineraries from source to dest whose first leg departs on the given date.
+	// Each itinerary has at most maxConnections stops, and every stop leaves at least
+	// minLayoverMinutes (and at most app.routes.max-layover-minutes) between landing and takeoff.
+	public List<ItineraryDTO> findItineraries(String source, String dest, LocalDate date, int k,
+			int maxConnections, int minLayoverMinutes, SortBy sortBy) {
+		lock.readLock().lock();
+		try {
+			Graph g = graph;
+			Integer origin = g.airportIds.get(normalize(source));
+			Integer target = g.airportIds.get(normalize(dest));
+			List<ItineraryDTO> results = new ArrayList<>();
+			if (origin == null || target == null || origin.equals(target) || k <= 0) {
+				return results;
+			}
+			int maxLegs = maxConnections + 1;
+			int dayStart = toMinutes(date, LocalTime.MIDNIGHT);
+
+			// Best-first search: partial trips are expanded cheapest first, so trips reach the
+			// destination in ranking order. What may follow a partial trip depends only on where and
+			// when it lands, how many legs it has and which airports it visited; a trip is skipped
+			// once k cheaper ones agreeing on all of that were expanded, as none of its continuations
+			// could then make the top k.
+			PriorityQueue<Label> queue = new PriorityQueue<>();
+			Map<Long, List<Label>> expanded = new HashMap<>(); // (airport, legs, arrival) -> trips expanded
+			g.expand(queue, origin, dayStart, dayStart + 24 * 60 - 1, null, origin, sortBy);
+			while (!queue.isEmpty() && results.size() < k) {
+				Label label = queue.poll();
+				if (label.node == target) {
+					results.add(g.toItinerary(label));
+					continue;
+				}
+				if (label.legs >= maxLegs) {
+					continue; // No connections left
+				}
+				long slot = ((long) (label.node * maxLegs + label.legs) << 32) | (label.arr & 0xFFFFFFFFL);
+				List<Label> same = expanded.computeIfAbsent(slot, key -> new ArrayList<>());
+				if (countSameAirports(same, label) >= k) {
+					continue; // k cheaper trips with exactly these options were already tried
+				}
+				same.add(label);
+				g.expand(queue, label.node, label.arr + minLayoverMinutes, label.arr + maxLayoverMinutes, label,
+						origin, sortBy);
+			}
+			return results;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	// Number of the given trips that visited the same airports as 'label'. Trips are loop-free and
+	// have as many legs as 'label', so visiting a subset of its airports means visiting the same ones.
+	private static int countSameAirports(List<Label> trips, Label label) {
+		int count = 0;
+		for (Label trip : trips) {
+			boolean same = true;
+			for (Label p = trip; p != null && same; p = p.parent) {
+				same = visits(label, p.from);
+			}
+			if (same) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	// True when the trip ending with 'label' passes through the airport
+	private static boolean visits(Label label, int airport) {
+		for (Label p = label; p != null; p = p.parent) {
+			if (p.from == airport || p.node == airport) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	// Queues one leg unless it loops back to an airport already on the path
+	private static void offer(PriorityQueue<Label> queue, int from, int next, int depart, int arrive, int flightId,
+			double legFare, Label parent, int origin, SortBy sortBy) {
+		if (next == origin) {
+			return;
+		}
+		for (Label p = parent; p != null; p = p.parent) {
+			if (p.node == next) {
+				return;
+			}
+		}
+		queue.add(new Label(from, next, depart, arrive, flightId, legFare, parent, sortBy));
+	}
+
+	// First index in [from, to) whose value is >= key
+	private static int lowerBound(int[] values, int from, int to, int key) {
+		int lo = from;
+		int hi = to;
+		while (lo < hi) {
+			int mid = (lo + hi) >>> 1;
+			if (values[mid] < key) {
+				lo = mid + 1;
+			} else {
+				hi = mid;
+			}
+		}
+		return lo;
+	}
+
+	private static int toMinutes(LocalDate date, LocalTime time) {
+		return (int) (LocalDateTime.of(date, time).toEpochSecond(ZoneOffset.UTC) / 60);
+	}
+
+	private static LocalDateTime toDateTime(int minutes) {
+		return LocalDateTime.ofEpochSecond(minutes * 60L, 0, ZoneOffset.UTC);
+	}
+
+	private static String normalize(String value) {
+		return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+	}
+
+	// Airports and edges of one graph. The graph queried is guarded by the lock; a rebuild fills a
+	// new instance on its own before swapping it in.
+	private static final class Graph {
+		final Map<String, Integer> airportIds = new HashMap<>(); // Normalized name -> node number
+		final List<String> airportNames = new ArrayList<>(); // Node number -> display name
+
+		// Base edges in CSR form; edges of airport a are at [offsets[a], offsets[a + 1])
+		int[] offsets = new int[1];
+		int[] to = new int[0]; // Arrival airport
+		int[] dep = new int[0]; // Departure, in minutes since 1970-01-01T00:00
+		int[] arr = new int[0]; // Arrival, in minutes since 1970-01-01T00:00
+		int[] flightIds = new int[0]; // Flight behind each edge
+		double[] fare = new double[0]; // flightPrice x class price factor
+		final BitSet dead = new BitSet(); // Base edges removed since the last compaction
+		final Map<Integer, Integer> baseEdgeOf = new HashMap<>(); // Flight ID -> base edge index
+
+		final EdgeList delta = new EdgeList(); // Edges added since the last compaction
+
+		// Replaces the edge of a saved or edited flight, or removes a deleted one; compacts once
+		// 'compactThreshold' changes have piled up
+		void apply(FlightChangedEvent event, int compactThreshold) {
+			Integer base = baseEdgeOf.remove(event.getFlightId());
+			if (base != null) {
+				dead.set(base); // Tombstone; skipped by queries until the next compaction
+			} else {
+				delta.remove(event.getFlightId());
+			}
+			Flight f = event.getFlight();
+			if (f != null) {
+				double factor = f.getClassName() != null ? f.getClassName().getPriceFactor() : 1.0;
+				addEdge(delta, f.getFlightId(), f.getSource(), f.getDestination(), f.getDepartureDate(),
+						f.getDepartureTime(), f.getArrivalDate(), f.getArrivalTime(), f.getDuration(),
+						f.getFlightPrice() * factor);
+			}
+			if (delta.size + dead.cardinality() >= compactThreshold) {
+				compact();
+			}
+		}
+
+		// Queues every flight leaving 'node' between the two minutes
+		private void expand(PriorityQueue<Label> queue, int node, int earliest, int latest, Label parent, int origin,
+				SortBy sortBy) {
+			int end = offsets[node + 1];
+			for (int e = lowerBound(dep, offsets[node], end, earliest); e < end && dep[e] <= latest; e++) {
+				if (!dead.get(e)) {
+					offer(queue, node, to[e], dep[e], arr[e], flightIds[e], fare[e], parent, origin, sortBy);
+				}
+			}
+			for (int i = 0; i < delta.size; i++) {
+				if (delta.from[i] == node && delta.dep[i] >= earliest && delta.dep[i] <= latest) {
+					offer(queue, node, delta.to[i], delta.dep[i], delta.arr[i], delta.flightIds[i], delta.fare[i], parent,
+							origin, sortBy);
+				}
+			}
+		}
+
+		// Walks back from the final leg to build the returned itinerary
+		private ItineraryDTO toItinerary(Label last) {
+			List<ItineraryDTO.Leg> legs = new ArrayList<>(last.legs);
+			for (Label l = last; l != null; l = l.parent) {
+				legs.add(new ItineraryDTO.Leg(l.flightId, airportNames.get(l.from), airportNames.get(l.node),
+						toDateTime(l.dep), toDateTime(l.arr), l.fare));
+			}
+			Collections.reverse(legs);
+			return new ItineraryDTO(legs, last.totalFare, last.arr - last.firstDep);
+		}
+
+		// Appends a flight to an edge list if it has a usable departure
+		private void addEdge(EdgeList list, int flightId, String source, String dest, LocalDate depDate,
+				LocalTime depTime, LocalDate arrDate, LocalTime arrTime, int duration, double legFare) {
+			if (source == null || dest == null || depDate == null || depTime == null) {
+				return; // Not routable without a departure moment
+			}
+			int depart = toMinutes(depDate, depTime);
+			int arrive = (arrDate != null && arrTime != null) ? toMinutes(arrDate, arrTime) : depart + duration;
+			if (arrive < depart) {
+				arrive = depart + Math.max(duration, 0); // Inconsistent row: trust the duration
+			}
+			list.add(airport(source), airport(dest), depart, arrive, flightId, legFare);
+		}
+
+		// Rebuilds the CSR arrays from live base edges plus the delta
+		private void compact() {
+			int airports = airportNames.size();
+			EdgeList all = new EdgeList();
+			for (int a = 0; a + 1 < offsets.length; a++) {
+				for (int e = offsets[a]; e < offsets[a + 1]; e++) {
+					if (!dead.get(e)) {
+						all.add(a, to[e], dep[e], arr[e], flightIds[e], fare[e]);
+					}
+				}
+			}
+			all.addAll(delta);
+
+			// Counting sort by departure airport, then sort each airport's slice by departure minute
+			int m = all.size;
+			int[] newOffsets = new int[airports + 1];
+			for (int i = 0; i < m; i++) {
+				newOffsets[all.from[i] + 1]++;
+			}
+			for (int a = 0; a < airports; a++) {
+				newOffsets[a + 1] += newOffsets[a];
+			}
+			int[] fill = Arrays.copyOf(newOffsets, airports);
+			long[] keys = new long[m]; // Departure minute in the high half, source index in the low half
+			for (int i = 0; i < m; i++) {
+				keys[fill[all.from[i]]++] = ((long) all.dep[i] << 32) | i;
+			}
+			for (int a = 0; a < airports; a++) {
+				Arrays.sort(keys, newOffsets[a], newOffsets[a + 1]);
+			}
+
+			int[] newTo = new int[m];
+			int[] newDep = new int[m];
+			int[] newArr = new int[m];
+			int[] newIds = new int[m];
+			double[] newFare = new double[m];
+			baseEdgeOf.clear();
+			for (int pos = 0; pos < m; pos++) {
+				int i = (int) keys[pos]; // Low 32 bits
+				newTo[pos] = all.to[i];
+				newDep[pos] = all.dep[i];
+				newArr[pos] = all.arr[i];
+				newIds[pos] = all.flightIds[i];
+				newFare[pos] = all.fare[i];
+				baseEdgeOf.put(newIds[pos], pos);
+			}
+			offsets = newOffsets;
+			to = newTo;
+			dep = newDep;
+			arr = newArr;
+			flightIds = newIds;
+			fare = newFare;
+			dead.clear();
+			delta.clear();
+		}
+
+		// Returns the node number of an airport, adding it if new
+		private int airport(String name) {
+			String key = normalize(name);
+			Integer id = airportIds.get(key);
+			if (id == null) {
+				id = airportNames.size();
+				airportIds.put(key, id);
+				airportNames.add(name.trim());
+				offsets = Arrays.copyOf(offsets, offsets.length + 1); // New airport has no base edges yet
+				offsets[offsets.length - 1] = offsets[offsets.length - 2];
+			}
+			return id;
+		}
+	}
+
+	// A partial trip ending with one leg, linked to the trip it extends
+	private static final class Label implements Comparable<Label> {
+		final int from; // Departure airport of this leg
+		final int node; // Arrival airport of this leg
+		final int dep; // Departure minute of this leg
+		final int arr; // Arrival minute of this leg
+		final int flightId; // Flight flown on this leg
+		final double fare; // Fare of this leg
+		final Label parent; // Previous leg, or null for the first
+		final int legs; // Legs flown so far, including this one
+		final int firstDep; // Departure minute of the first leg
+		final double totalFare; // Fares of all legs so far
+		final double cost; // Ranking value: total fare or elapsed minutes
+
+		Label(int from, int node, int dep, int arr, int flightId, double fare, Label parent, SortBy sortBy) {
+			this.from = from;
+			this.node = node;
+			this.dep = dep;
+			this.arr = arr;
+			this.flightId = flightId;
+			this.fare = fare;
+			this.parent = parent;
+			this.legs = parent == null ? 1 : parent.legs + 1;
+			this.firstDep = parent == null ? dep : parent.firstDep;
+			this.totalFare = parent == null ? fare : parent.totalFare + fare;
+			this.cost = sortBy == SortBy.PRICE ? totalFare : arr - firstDep;
+		}
+
+		@Override
+		public int compareTo(Label other) {
+			int c = Double.compare(cost, other.cost);
+			return c != 0 ? c : Integer.compare(arr, other.arr); // Ties go to the earlier arrival
+		}
+	}
+
+	// Growable parallel primitive arrays of edges, used for the delta and while rebuilding
+	private static final class EdgeList {
+		int[] from = new int[16];
+		int[] to = new int[16];
+		int[] dep = new int[16];
+		int[] arr = new int[16];
+		int[] flightIds = new int[16];
+		double[] fare = new double[16];
+		int size;
+
+		void add(int f, int t, int d, int a, int id, double price) {
+			if (size == from.length) {
+				int cap = size * 2;
+				from = Arrays.copyOf(from, cap);
+				to = Arrays.copyOf(to, cap);
+				dep = Arrays.copyOf(dep, cap);
+				arr = Arrays.copyOf(arr, cap);
+				flightIds = Arrays.copyOf(flightIds, cap);
+				fare = Arrays.copyOf(fare, cap);
+			}
+			from[size] = f;
+			to[size] = t;
+			dep[size] = d;
+			arr[size] = a;
+			flightIds[size] = id;
+			fare[size] = price;
+			size++;
+		}
+
+		void addAll(EdgeList other) {
+			for (int i = 0; i < other.size; i++) {
+				add(other.from[i], other.to[i], other.dep[i], other.arr[i], other.flightIds[i], other.fare[i]);
+			}
+		}
+
+		// Removes a flight by moving the last edge into its slot; the delta is small, so a scan is fine
+		void remove(int flightId) {
+			for (int i = 0; i < size; i++) {
+				if (flightIds[i] == flightId) {
+					size--;
+					from[i] = from[size];
+					to[i] = to[size];
+					dep[i] = dep[size];
+					arr[i] = arr[size];
+					flightIds[i] = flightIds[size];
+					fare[i] = fare[size];
+					return;
+				}
+			}
+		}
+
+		void clear() {
+			size = 0;
+		}
+	}
+}
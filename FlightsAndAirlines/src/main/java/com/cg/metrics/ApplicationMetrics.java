@@ -0,0 +1,131 @@
+package com.cg.metrics; // Defines the package for application metrics
+
+import java.util.ArrayList; // Cache snapshots from all caches
+import java.util.List; // Interface for the cache snapshots
+import java.util.function.ToDoubleFunction; // Reads one number from a snapshot
+
+import org.springframework.beans.factory.ObjectProvider; // Routing exists only when replicas are configured
+import org.springframework.beans.factory.annotation.Autowired; // For automatic dependency injection
+import org.springframework.stereotype.Component; // Registers this class as a Spring bean
+
+import com.cg.cache.CacheStats; // Hit/miss counters of one cache
+import com.cg.cache.FlightSearchCache; // Search result cache
+import com.cg.datasource.ReadWriteRoutingDataSource; // Primary/replica connection counters
+import com.cg.dto.AuthStats; // Password hashing and throttling counters
+import com.cg.index.PlaceIndex; // Typeahead index size
+import com.cg.push.FlightUpdateHub; // Live update subscribers
+import com.cg.service.AirlineService; // Airline caches
+import com.cg.service.FlightAnalyticsService; // Analytics snapshot size
+import com.cg.service.LoginService; // Source of the login counters
+import com.cg.service.SeatHoldService; // Live seat holds
+
+import io.micrometer.core.instrument.FunctionCounter; // Monotonic counters read from our own LongAdders
+import io.micrometer.core.instrument.Gauge; // Current values
+import io.micrometer.core.instrument.MeterRegistry; // Where the meters are registered
+import io.micrometer.core.instrument.binder.MeterBinder; // Bound by Boot to every registry
+
+// Publishes the counters the admin page already shows (caches, login hashing and throttling)
+// plus seat holds, live update streams, the place index, the analytics snapshot and replica
+// routing. Nothing is counted twice: the meters read the existing counters when Prometheus scrapes.
+@Component // Tells Spring to create and manage a single shared instance
+public class ApplicationMetrics implements MeterBinder {
+
+	@Autowired // Injects the service holding the airline caches
+	AirlineService airlineService;
+
+	@Autowired // Injects the search result cache
+	FlightSearchCache searchCache;
+
+	@Autowired // Injects the service holding the login counters
+	LoginService loginService;
+
+	@Autowired // Injects the service holding the live seat holds
+	SeatHoldService seatHoldService;
+
+	@Autowired // Injects the typeahead index
+	PlaceIndex placeIndex;
+
+	@Autowired // Injects the service holding the analytics snapshot
+	FlightAnalyticsService analyticsService;
+
+	@Autowired // Injects the hub holding the live update streams
+	FlightUpdateHub updateHub;
+
+	@Autowired // Injects the routing data source when replicas are configured
+	ObjectProvider<ReadWriteRoutingDataSource> routing;
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		for (CacheStats cache : caches()) {
+			String name = cache.getName();
+			FunctionCounter.builder("cache.gets", this, m -> m.cache(name, CacheStats::getHits))
+					.description("Cache lookups").tags("cache", name, "result", "hit").register(registry);
+			FunctionCounter.builder("cache.gets", this, m -> m.cache(name, CacheStats::getMisses))
+					.description("Cache lookups").tags("cache", name, "result", "miss").register(registry);
+			FunctionCounter.builder("cache.evictions", this, m -> m.cache(name, CacheStats::getEvictions))
+					.description("Entries dropped for size or invalidation").tag("cache", name).register(registry);
+			Gauge.builder("cache.size", this, m -> m.cache(name, CacheStats::getSize))
+					.description("Entries currently cached").tag("cache", name).register(registry);
+		}
+
+		FunctionCounter.builder("auth.hashes", loginService, s -> s.getAuthStats().getHashes())
+				.description("BCrypt hashes computed").register(registry);
+		Gauge.builder("auth.hash.queued", loginService, s -> s.getAuthStats().getQueued())
+				.description("Hash jobs waiting for a thread").register(registry);
+		auth(registry, "busy", AuthStats::getRejectedBusy);
+		auth(registry, "timeout", AuthStats::getTimedOut);
+		auth(registry, "throttled-user", AuthStats::getThrottledUser);
+		auth(registry, "throttled-ip", AuthStats::getThrottledIp);
+
+		Gauge.builder("seat.holds.active", seatHoldService, SeatHoldService::getActiveHolds)
+				.description("Seat holds waiting for confirmation or expiry").register(registry);
+		Gauge.builder("push.subscribers", updateHub, FlightUpdateHub::getSubscribers)
+				.description("Open Server-Sent Event streams of flight updates").register(registry);
+		Gauge.builder("push.watched.flights", updateHub, FlightUpdateHub::getWatchedFlights)
+				.description("Flights with at least one live update subscriber").register(registry);
+		FunctionCounter.builder("push.subscribers.dropped", updateHub, FlightUpdateHub::getDropped)
+				.description("Live update streams closed because the client fell too far behind").register(registry);
+		FunctionCounter.builder("push.streams.refused", updateHub, FlightUpdateHub::getRefused)
+				.description("Live update streams refused over the per-client limit").register(registry);
+		Gauge.builder("places.indexed", placeIndex, PlaceIndex::size)
+				.description("Cities with at least one flight in the typeahead index").register(registry);
+		Gauge.builder("analytics.snapshot.flights", analyticsService, FlightAnalyticsService::getSnapshotFlights)
+				.description("Flights in the analytics snapshot").register(registry);
+
+		ReadWriteRoutingDataSource router = routing.getIfAvailable();
+		if (router != null) {
+			FunctionCounter.builder("datasource.routing.connections", router, ReadWriteRoutingDataSource::getPrimaryConnections)
+					.description("Connections handed out by the read/write split").tag("target", "primary")
+					.register(registry);
+			FunctionCounter.builder("datasource.routing.connections", router, ReadWriteRoutingDataSource::getReplicaConnections)
+					.description("Connections handed out by the read/write split").tag("target", "replica")
+					.register(registry);
+			FunctionCounter.builder("datasource.routing.guarded.reads", router, ReadWriteRoutingDataSource::getGuardedReads)
+					.description("Read-only connections kept on the primary after the user wrote").register(registry);
+		}
+	}
+
+	// Login attempts refused for one reason
+	private void auth(MeterRegistry registry, String reason, ToDoubleFunction<AuthStats> value) {
+		FunctionCounter.builder("auth.rejected", loginService, s -> value.applyAsDouble(s.getAuthStats()))
+				.description("Login attempts refused before checking the password").tag("reason", reason)
+				.register(registry);
+	}
+
+	// Snapshots of every cache
+	private List<CacheStats> caches() {
+		List<CacheStats> caches = new ArrayList<>(airlineService.getCacheStats());
+		caches.add(searchCache.stats());
+		return caches;
+	}
+
+	// One number of the named cache's current snapshot
+	private double cache(String name, ToDoubleFunction<CacheStats> value) {
+		for (CacheStats cache : caches()) {
+			if (cache.getName().equals(name)) {
+				return value.applyAsDouble(cache);
+			}
+		}
+		return Double.NaN;
+	}
+}
@@ -0,0 +1,106 @@
+package com.cg.metrics; // Defines the package for application metrics
+
+import java.lang.reflect.InvocationHandler; // Forwards JDBC calls to the real objects
+import java.lang.reflect.InvocationTargetException; // Unwraps exceptions thrown by the driver
+import java.lang.reflect.Method; // The JDBC method being forwarded
+import java.lang.reflect.Proxy; // Counting wrappers for connections, statements and result sets
+import java.sql.Connection; // Wrapped so its statements can be counted
+import java.sql.ResultSet; // Wrapped so its rows can be counted
+import java.sql.SQLException; // Thrown by the driver
+
+import javax.sql.DataSource; // The data source being counted
+
+import org.springframework.jdbc.datasource.DelegatingDataSource; // Keeps unwrap() working for pool metrics
+
+import io.micrometer.core.instrument.Counter; // Totals across all requests
+import io.micrometer.core.instrument.MeterRegistry; // Where the totals are registered
+
+// Counts the SQL statements sent and the result set rows read through the application's data
+// source, for Hibernate and JdbcTemplate alike. Every execute* call is one statement (a whole
+// JDBC batch included, as it is one round trip) and every successful ResultSet.next() is one row.
+// Totals go to the 'sql.statements' and 'sql.rows' counters, and to the current request's
+// RequestSqlCounts when one is open.
+//
+// The wrappers are JDK proxies: each JDBC call costs one reflective hop, tens of nanoseconds,
+// which is small next to a database round trip. Set app.metrics.sql-counts=false to remove them.
+public class CountingDataSource extends DelegatingDataSource {
+
+	private final Counter statements; // Statements across all threads
+	private final Counter rows; // Rows across all threads
+
+	public CountingDataSource(DataSource target, MeterRegistry registry) {
+		super(target);
+		this.statements = Counter.builder("sql.statements").description("SQL statements and batches executed")
+				.register(registry);
+		this.rows = Counter.builder("sql.rows").description("Result set rows read").register(registry);
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		return wrap(Connection.class, super.getConnection(), this::onConnectionCall);
+	}
+
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+		return wrap(Connection.class, super.getConnection(username, password), this::onConnectionCall);
+	}
+
+	// Statements created by a connection are wrapped with the interface the factory method returns
+	private Object onConnectionCall(Method method, Object result) {
+		String name = method.getName();
+		if (name.equals("createStatement") || name.equals("prepareStatement") || name.equals("prepareCall")) {
+			return wrap(method.getReturnType(), result, this::onStatementCall);
+		}
+		return result;
+	}
+
+	// Counts executions and wraps the result sets they return
+	private Object onStatementCall(Method method, Object result) {
+		if (method.getName().startsWith("execute")) {
+			statements.increment();
+			RequestSqlCounts.statement();
+		}
+		if (result instanceof ResultSet) {
+			return wrap(ResultSet.class, result, this::onResultSetCall);
+		}
+		return result;
+	}
+
+	// Counts each row a result set moves to
+	private Object onResultSetCall(Method method, Object result) {
+		if (Boolean.TRUE.equals(result) && method.getName().equals("next")) {
+			rows.increment();
+			RequestSqlCounts.row();
+		}
+		return result;
+	}
+
+	// Proxy forwarding every call to 'target' and passing the result through 'after'
+	private static <T> T wrap(Class<T> type, Object target, CallHook after) {
+		if (target == null) {
+			return null;
+		}
+		InvocationHandler handler = (proxy, method, args) -> {
+			switch (method.getName()) {
+			case "equals":
+				return proxy == args[0]; // Spring compares connections held by transactions by identity
+			case "hashCode":
+				return System.identityHashCode(proxy);
+			default:
+				try {
+					return after.apply(method, method.invoke(target, args));
+				} catch (InvocationTargetException ex) {
+					throw ex.getTargetException();
+				}
+			}
+		};
+		return type.cast(Proxy.newProxyInstance(CountingDataSource.class.getClassLoader(), new Class<?>[] { type },
+				handler));
+	}
+
+	// Inspects or replaces the value a forwarded call returned
+	@FunctionalInterface
+	private interface CallHook {
+		Object apply(Method method, Object result);
+	}
+}
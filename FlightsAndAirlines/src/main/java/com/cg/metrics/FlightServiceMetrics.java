@@ -0,0 +1,168 @@
+package com.cg.metrics; // Defines the package for application metrics
+
+import java.lang.reflect.Method; // The IFlightService method being timed
+import java.util.Collection; // Results counted by size
+import java.util.StringJoiner; // Builds the filter combination tag
+import java.util.concurrent.ConcurrentHashMap; // Timers already registered, by tag values
+import java.util.concurrent.TimeUnit; // Unit of the recorded durations
+
+import org.aopalliance.intercept.MethodInterceptor; // Wraps each call on the service proxy
+import org.aopalliance.intercept.MethodInvocation; // The call being wrapped
+import org.springframework.beans.factory.ObjectProvider; // Resolves the registry on first use
+
+import com.cg.dto.FlightPage; // Paged results counted by their rows
+import com.cg.dto.FlightRangeQuery; // Range criteria turned into a filter tag
+
+import io.micrometer.core.instrument.MeterRegistry; // Where the timers are registered
+import io.micrometer.core.instrument.Timer; // Latency histogram per method and search shape
+
+// Times every IFlightService call into the 'flight.service' timer, tagged with
+//   method     - the interface method
+//   filters    - which search criteria were given, e.g. "source+dest+class" ("none" otherwise)
+//   results    - size bucket of the returned rows: 0, 1, 2-10, 11-100, 101-1000, 1001+
+//   exception  - simple name of the exception thrown, or "none"
+// so slow search shapes show up as their own series. Every tag is always present, as Prometheus
+// requires, and every value comes from a fixed small set. Histogram buckets are configured with
+// management.metrics.distribution.slo.flight.service.
+//
+// Installed around the service's transactional proxy, so the time includes opening and
+// committing the transaction.
+public class FlightServiceMetrics implements MethodInterceptor {
+
+	public static final String TIMER = "flight.service"; // Exported as flight_service_seconds
+
+	// Tag values of searchFlight and getFlightsInRange criteria, by bit mask
+	private static final String[] SEARCH_FILTERS = combinations("source", "dest", "airline", "class");
+	private static final String[] RANGE_FILTERS = combinations("source", "dest", "class", "price", "date", "time");
+
+	private final ObjectProvider<MeterRegistry> registryProvider; // The registry is created after this interceptor
+	private volatile MeterRegistry registry; // Cached once resolved
+	private final ConcurrentHashMap<TimerKey, Timer> timers = new ConcurrentHashMap<>(); // Skips the registry lookup
+
+	public FlightServiceMetrics(ObjectProvider<MeterRegistry> registryProvider) {
+		this.registryProvider = registryProvider;
+	}
+
+	@Override
+	public Object invoke(MethodInvocation invocation) throws Throwable {
+		MeterRegistry meters = registry();
+		if (meters == null) {
+			return invocation.proceed(); // Called during startup, before metrics exist
+		}
+		long start = meters.config().clock().monotonicTime();
+		Object result = null;
+		Throwable failure = null;
+		try {
+			result = invocation.proceed();
+			return result;
+		} catch (Throwable ex) {
+			failure = ex;
+			throw ex;
+		} finally {
+			Method method = invocation.getMethod();
+			TimerKey key = new TimerKey(method.getName(), filters(method.getName(), invocation.getArguments()),
+					failure == null ? results(method, result) : "none",
+					failure == null ? "none" : failure.getClass().getSimpleName());
+			timers.computeIfAbsent(key, k -> register(meters, k))
+					.record(meters.config().clock().monotonicTime() - start, TimeUnit.NANOSECONDS);
+		}
+	}
+
+	// Registering goes through the registry's filters and ID map, which costs about a microsecond;
+	// the set of tag values is small, so each timer is looked up there once
+	private static Timer register(MeterRegistry meters, TimerKey key) {
+		return Timer.builder(TIMER)
+				.description("Time spent in IFlightService methods")
+				.tag("method", key.method())
+				.tag("filters", key.filters())
+				.tag("results", key.results())
+				.tag("exception", key.exception())
+				.register(meters);
+	}
+
+	// The registry, or null while the application is still starting
+	private MeterRegistry registry() {
+		MeterRegistry meters = registry;
+		if (meters == null) {
+			meters = registryProvider.getIfAvailable();
+			registry = meters;
+		}
+		return meters;
+	}
+
+	// Names of the criteria a search was given, in a fixed order
+	static String filters(String method, Object[] args) {
+		if ("searchFlight".equals(method)) {
+			return SEARCH_FILTERS[bit(args[0], 0) | bit(args[1], 1) | bit(args[2], 2) | bit(args[3], 3)];
+		}
+		if ("getFlightsInRange".equals(method) && args[0] instanceof FlightRangeQuery q) {
+			return RANGE_FILTERS[bit(q.getSource(), 0) | bit(q.getDestination(), 1) | bit(q.getClassName(), 2)
+					| bit(q.getMinPrice() != null ? q.getMinPrice() : q.getMaxPrice(), 3)
+					| bit(q.getFromDate() != null ? q.getFromDate() : q.getToDate(), 4)
+					| bit(q.getFromTime() != null ? q.getFromTime() : q.getToTime(), 5)];
+		}
+		return "none";
+	}
+
+	// Tag value for every subset of the criteria, indexed by bit mask, so calls build no strings
+	private static String[] combinations(String... names) {
+		String[] values = new String[1 << names.length];
+		for (int mask = 0; mask < values.length; mask++) {
+			StringJoiner given = new StringJoiner("+");
+			for (int i = 0; i < names.length; i++) {
+				if ((mask & (1 << i)) != 0) {
+					given.add(names[i]);
+				}
+			}
+			values[mask] = mask == 0 ? "none" : given.toString();
+		}
+		return values;
+	}
+
+	// The criterion's bit when it was given (not null and not blank)
+	private static int bit(Object value, int bit) {
+		return value == null || (value instanceof String s && s.isBlank()) ? 0 : 1 << bit;
+	}
+
+	// Size bucket of a returned list or page; single objects count as one row
+	static String results(Method method, Object result) {
+		if (method.getReturnType() == void.class) {
+			return "none";
+		}
+		int rows;
+		if (result == null) {
+			rows = 0;
+		} else if (result instanceof Collection<?> c) {
+			rows = c.size();
+		} else if (result instanceof FlightPage page) {
+			rows = page.getFlights().size();
+		} else {
+			rows = 1;
+		}
+		return bucket(rows);
+	}
+
+	// Bounded label for a row count
+	public static String bucket(long rows) {
+		if (rows <= 0) {
+			return "0";
+		}
+		if (rows == 1) {
+			return "1";
+		}
+		if (rows <= 10) {
+			return "2-10";
+		}
+		if (rows <= 100) {
+			return "11-100";
+		}
+		if (rows <= 1000) {
+			return "101-1000";
+		}
+		return "1001+";
+	}
+
+	// Tag values of one timer
+	private record TimerKey(String method, String filters, String results, String exception) {
+	}
+}
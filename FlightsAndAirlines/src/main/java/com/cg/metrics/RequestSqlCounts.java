@@ -0,0 +1,49 @@
+package com.cg.metrics; // Defines the package for application metrics
+
+// SQL statements sent and rows read by the current thread since start(). CountingDataSource adds
+// to it from the JDBC calls, and SqlRequestMetricsFilter opens one per HTTP request. Work done on
+// other threads (streamed exports, background tasks) is not part of any request's counts.
+public final class RequestSqlCounts {
+
+	private static final ThreadLocal<RequestSqlCounts> CURRENT = new ThreadLocal<>(); // Open counts of this thread
+
+	private long statements; // Statements and batches executed
+	private long rows; // Result set rows read
+
+	private RequestSqlCounts() {
+	}
+
+	// Starts counting on this thread
+	public static RequestSqlCounts start() {
+		RequestSqlCounts counts = new RequestSqlCounts();
+		CURRENT.set(counts);
+		return counts;
+	}
+
+	// Stops counting on this thread; the returned instance keeps its totals
+	public static void stop() {
+		CURRENT.remove();
+	}
+
+	static void statement() {
+		RequestSqlCounts counts = CURRENT.get();
+		if (counts != null) {
+			counts.statements++;
+		}
+	}
+
+	static void row() {
+		RequestSqlCounts counts = CURRENT.get();
+		if (counts != null) {
+			counts.rows++;
+		}
+	}
+
+	public long getStatements() {
+		return statements;
+	}
+
+	public long getRows() {
+		return rows;
+	}
+}
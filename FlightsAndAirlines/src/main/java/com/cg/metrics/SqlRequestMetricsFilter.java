@@ -0,0 +1,57 @@
+package com.cg.metrics; // Defines the package for application metrics
+
+import java.io.IOException; // Thrown by the filter chain
+
+import org.springframework.beans.factory.annotation.Autowired; // For automatic dependency injection
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty; // Off together with the JDBC counting
+import org.springframework.core.Ordered; // Filter ordering constants
+import org.springframework.core.annotation.Order; // Runs outside the security filters
+import org.springframework.stereotype.Component; // Registers this class as a Spring bean
+import org.springframework.web.filter.OncePerRequestFilter; // Runs once per request, not per dispatch
+import org.springframework.web.servlet.HandlerMapping; // Route pattern of the handled request
+
+import io.micrometer.core.instrument.DistributionSummary; // Per-request distributions
+import io.micrometer.core.instrument.MeterRegistry; // Where the summaries are registered
+import jakarta.servlet.FilterChain; // The rest of the request processing
+import jakarta.servlet.ServletException; // Thrown by the filter chain
+import jakarta.servlet.http.HttpServletRequest; // The incoming request
+import jakarta.servlet.http.HttpServletResponse; // The outgoing response
+
+// Records how many SQL statements and result set rows each HTTP request needed, as the
+// 'sql.request.statements' and 'sql.request.rows' summaries tagged with the HTTP method and the
+// route pattern (never the raw path, which would create a series per flight ID). Runs before the
+// security filters, so the login's user lookup is counted with its request.
+@Component // Tells Spring to create and manage a single shared instance
+@Order(Ordered.HIGHEST_PRECEDENCE + 10) // Just inside Boot's HTTP observation filter
+@ConditionalOnProperty(name = "app.metrics.sql-counts", havingValue = "true", matchIfMissing = true)
+public class SqlRequestMetricsFilter extends OncePerRequestFilter {
+
+	@Autowired // Injects the registry the summaries are kept in
+	MeterRegistry registry;
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+		RequestSqlCounts counts = RequestSqlCounts.start();
+		try {
+			chain.doFilter(request, response);
+		} finally {
+			RequestSqlCounts.stop();
+			Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+			String uri = pattern != null ? pattern.toString() : "UNKNOWN"; // Static files, redirects, 404s
+			String method = method(request);
+			DistributionSummary.builder("sql.request.statements").description("SQL statements per HTTP request")
+					.tag("method", method).tag("uri", uri).register(registry).record(counts.getStatements());
+			DistributionSummary.builder("sql.request.rows").description("Result set rows read per HTTP request")
+					.tag("method", method).tag("uri", uri).register(registry).record(counts.getRows());
+		}
+	}
+
+	// Standard HTTP methods as sent, anything else as OTHER so clients cannot create new series
+	private static String method(HttpServletRequest request) {
+		return switch (request.getMethod()) {
+		case "GET", "POST", "PUT", "PATCH", "DELETE", "HEAD", "OPTIONS" -> request.getMethod();
+		default -> "OTHER";
+		};
+	}
+}
@@ -0,0 +1,438 @@
+package com.cg.push; // Defines the package for live updates pushed to clients
+
+import java.io.IOException; // Thrown when a subscriber has gone away
+import java.time.Duration; // Push interval, heartbeat and connection lifetime
+import java.util.ArrayList; // Resizable lists of IDs and subscribers
+import java.util.Collection; // IDs to read in one query
+import java.util.Collections; // Placeholders of the IN list
+import java.util.HashMap; // States read from the database
+import java.util.Iterator; // Drains the pending changes
+import java.util.LinkedHashSet; // Requested IDs without duplicates, in order
+import java.util.List; // Interface for ordered collections
+import java.util.Map; // Interface for key-value lookups
+import java.util.Set; // Interface for the subscribers of one flight
+import java.util.concurrent.ArrayBlockingQueue; // Bounded queue of events per subscriber
+import java.util.concurrent.ConcurrentHashMap; // Watchers and pending changes shared with request threads
+import java.util.concurrent.ConcurrentLinkedQueue; // Subscribers waiting for their first state
+import java.util.concurrent.ExecutorService; // Pool of writer threads
+import java.util.concurrent.Executors; // Creates the sender and writer threads
+import java.util.concurrent.RejectedExecutionException; // Writers already stopped on shutdown
+import java.util.concurrent.ScheduledExecutorService; // Runs one push round per interval
+import java.util.concurrent.TimeUnit; // Units for the interval
+import java.util.concurrent.atomic.AtomicBoolean; // Whether a writer is draining a subscriber
+import java.util.concurrent.atomic.LongAdder; // Dropped and refused stream counters
+
+import org.slf4j.Logger; // Interface for logging system messages
+import org.slf4j.LoggerFactory; // Factory to create logger instances
+import org.springframework.beans.factory.DisposableBean; // Stops the sender and closes the streams on shutdown
+import org.springframework.beans.factory.annotation.Autowired; // For automatic dependency injection
+import org.springframework.beans.factory.annotation.Value; // Reads settings from application.properties
+import org.springframework.boot.context.event.ApplicationReadyEvent; // Fired once the app has started
+import org.springframework.context.event.EventListener; // Subscribes a method to application events
+import org.springframework.jdbc.core.JdbcTemplate; // Reads the state of flights whose values are not known
+import org.springframework.stereotype.Component; // Registers this class as a Spring bean
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter; // One open event stream
+
+import com.cg.dto.FlightUpdateDTO; // Import for the pushed values
+import com.cg.event.FlightChangedEvent; // Event published when a flight is edited or deleted
+import com.cg.event.FlightsBulkChangedEvent; // Event published after bulk writes
+import com.cg.event.SeatsChangedEvent; // Event published when seats are taken or given back
+import com.cg.exception.StreamLimitReached; // Thrown when a client already has its share of streams
+
+import tools.jackson.databind.ObjectMapper; // Spring's configured JSON mapper
+
+// Pushes seat counts and prices of watched flights to Server-Sent Event subscribers, so clients
+// stop polling the listing to see whether availSeat moved.
+//
+// Flight changes arrive as in-process events from FlightService, SeatHoldService and the bulk
+// writers. A change is only recorded when somebody watches that flight, and only the latest change
+// per flight is kept until the next push round, so a flight being booked hundreds of times a
+// second still sends at most one update per app.push.interval. Each round runs on one sender
+// thread: it serializes each changed flight once, queues it for that flight's subscribers and
+// skips flights whose values did not change since they were last sent. Values the event did not
+// carry (hold expiry, bulk writes) are read for all such flights with one query.
+//
+// The sender never writes to a socket itself. Each subscriber has a bounded queue that a small
+// pool of writer threads drains, one writer per subscriber at a time, so a client that reads
+// slowly only holds up its own queue. When the queue is full the client is too far behind: it is
+// dropped, and its EventSource reconnects and starts again from the current state.
+//
+// A subscriber is an async SseEmitter, so an idle connection holds a socket and its Tomcat buffers
+// but no thread; server.tomcat.max-connections bounds how many can be open in total and
+// app.push.max-streams-per-client how many one user or address may hold. New subscribers get the
+// current state of their flights in the next round, then only changes.
+@Component // Tells Spring to create and manage a single shared instance
+public class FlightUpdateHub implements DisposableBean {
+
+	@Autowired // Injects the JdbcTemplate used to read flight states
+	JdbcTemplate jdbc;
+
+	@Autowired // Injects the JSON mapper used to serialize each update once
+	ObjectMapper mapper;
+
+	@Value("${app.push.max-flights:100}") // Flights one subscriber may watch
+	int maxFlights;
+
+	@Value("${app.push.max-streams-per-client:10}") // Streams one user or address may hold open
+	int maxStreamsPerClient;
+
+	@Value("${app.push.queue:64}") // Events a subscriber may fall behind by, beyond one per watched flight
+	int queueSize;
+
+	// Initializes the logger to record application events
+	private static final Logger log = LoggerFactory.getLogger(FlightUpdateHub.class);
+
+	private static final String EVENT = "flight"; // SSE event name of an update
+	private static final int READ_CHUNK = 1000; // IDs per state query
+	static final State RELOAD = new State(SeatsChangedEvent.UNKNOWN, Double.NaN, false); // Read it again
+	static final State DELETED = new State(0, 0, true); // The flight no longer exists
+
+	private final long intervalMillis; // Time between push rounds
+	private final long heartbeatMillis; // Time between keep-alive comments
+	private final long timeoutMillis; // Lifetime of one connection; EventSource clients reconnect
+	private final ScheduledExecutorService sender; // Single thread doing every push round
+	private final ExecutorService writers; // Threads writing queued events to the streams
+	private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet(); // Open streams
+	private final ConcurrentHashMap<Integer, Set<Subscriber>> watchers = new ConcurrentHashMap<>(); // Flight ID -> streams
+	private final ConcurrentHashMap<Integer, State> pending = new ConcurrentHashMap<>(); // Latest unsent change per flight
+	private final ConcurrentHashMap<Integer, State> sent = new ConcurrentHashMap<>(); // Last state pushed per watched flight
+	private final ConcurrentLinkedQueue<Subscriber> joined = new ConcurrentLinkedQueue<>(); // Waiting for their first state
+	private final ConcurrentHashMap<String, Integer> streamsPerClient = new ConcurrentHashMap<>(); // Open streams per client
+	private final LongAdder dropped = new LongAdder(); // Subscribers dropped for falling behind
+	private final LongAdder refused = new LongAdder(); // Streams refused over the per-client limit
+	private long lastHeartbeat = System.currentTimeMillis(); // Only used by the sender thread
+
+	// Creates the sender and writer threads with the configured timings
+	public FlightUpdateHub(@Value("${app.push.interval:1s}") Duration interval,
+			@Value("${app.push.heartbeat:30s}") Duration heartbeat, @Value("${app.push.timeout:30m}") Duration timeout,
+			@Value("${app.push.writers:4}") int writerThreads) {
+		this.intervalMillis = interval.toMillis();
+		this.heartbeatMillis = heartbeat.toMillis();
+		this.timeoutMillis = timeout.toMillis();
+		this.sender = Executors.newSingleThreadScheduledExecutor(r -> {
+			Thread t = new Thread(r, "flight-push");
+			t.setDaemon(true);
+			return t;
+		});
+		this.writers = Executors.newFixedThreadPool(Math.max(1, writerThreads), r -> {
+			Thread t = new Thread(r, "flight-push-writer");
+			t.setDaemon(true);
+			return t;
+		});
+	}
+
+	// Opens a stream of updates for the given flights on behalf of 'client' (a user or an address);
+	// mapped to 400 when the list is empty or too long, and to 429 when the client has enough open
+	public SseEmitter subscribe(List<Integer> flightIds, String client) throws StreamLimitReached {
+		Set<Integer> ids = new LinkedHashSet<>(flightIds);
+		if (ids.isEmpty() || ids.size() > maxFlights) {
+			throw new IllegalArgumentException("Watch between 1 and " + maxFlights + " flights, not " + ids.size());
+		}
+		if (streamsPerClient.merge(client, 1, Integer::sum) > maxStreamsPerClient) {
+			release(client);
+			refused.increment();
+			throw new StreamLimitReached("At most " + maxStreamsPerClient + " live update streams may be open at once");
+		}
+		SseEmitter emitter = newEmitter(timeoutMillis);
+		Subscriber sub = new Subscriber(emitter, ids.stream().mapToInt(Integer::intValue).toArray(), client,
+				ids.size() + Math.max(1, queueSize));
+		emitter.onCompletion(() -> unsubscribe(sub));
+		emitter.onTimeout(() -> unsubscribe(sub));
+		emitter.onError(ex -> unsubscribe(sub));
+		subscribers.add(sub);
+		for (int id : sub.flightIds) {
+			// Added inside compute, so a concurrent unsubscribe cannot remove the set in between
+			watchers.compute(id, (key, subs) -> {
+				Set<Subscriber> set = subs != null ? subs : ConcurrentHashMap.newKeySet();
+				set.add(sub);
+				return set;
+			});
+		}
+		joined.add(sub); // Gets the current state in the next round
+		return emitter;
+	}
+
+	// Creates the emitter of a new stream
+	SseEmitter newEmitter(long timeout) {
+		return new SseEmitter(timeout);
+	}
+
+	// Streams currently open
+	public int getSubscribers() {
+		return subscribers.size();
+	}
+
+	// Subscribers dropped so far because they fell too far behind
+	public long getDropped() {
+		return dropped.sum();
+	}
+
+	// Streams refused so far because the client already had its share open
+	public long getRefused() {
+		return refused.sum();
+	}
+
+	// Flights with at least one subscriber
+	public int getWatchedFlights() {
+		return watchers.size();
+	}
+
+	// Bookings, holds and expiries: the seat count is usually known, the price has not changed
+	@EventListener
+	public void onSeatsChanged(SeatsChangedEvent event) {
+		if (watchers.containsKey(event.getFlightId())) {
+			State change = event.getAvailSeat() == SeatsChangedEvent.UNKNOWN ? RELOAD
+					: new State(event.getAvailSeat(), Double.NaN, false);
+			pending.merge(event.getFlightId(), change, State::then);
+		}
+	}
+
+	// Edits carry the whole flight; deletes end the flight's updates
+	@EventListener
+	public void onFlightChanged(FlightChangedEvent event) {
+		if (watchers.containsKey(event.getFlightId())) {
+			State change = event.isDeleted() ? DELETED
+					: new State(event.getFlight().getAvailSeat(), event.getFlight().getFlightPrice(), false);
+			pending.merge(event.getFlightId(), change, State::then);
+		}
+	}
+
+	// Bulk writes do not say which flights they touched, so every watched flight is read again
+	@EventListener(FlightsBulkChangedEvent.class)
+	public void onBulkChange() {
+		for (Integer id : watchers.keySet()) {
+			pending.put(id, RELOAD);
+		}
+	}
+
+	// Starts the push rounds
+	@EventListener(ApplicationReadyEvent.class)
+	public void start() {
+		sender.scheduleWithFixedDelay(this::push, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+	}
+
+	// One push round; must never throw, or the scheduler would stop running it
+	private void push() {
+		try {
+			List<Subscriber> newcomers = new ArrayList<>();
+			for (Subscriber sub; (sub = joined.poll()) != null;) {
+				newcomers.add(sub);
+			}
+			Map<Integer, State> changes = new HashMap<>();
+			for (Iterator<Map.Entry<Integer, State>> it = pending.entrySet().iterator(); it.hasNext();) {
+				Map.Entry<Integer, State> e = it.next();
+				changes.put(e.getKey(), e.getValue());
+				it.remove(); // A change arriving after this point waits for the next round
+			}
+			if (newcomers.isEmpty() && changes.isEmpty()) {
+				heartbeat();
+				return;
+			}
+
+			// Everything not known from the events is read in one go
+			Set<Integer> unknown = new LinkedHashSet<>();
+			for (Subscriber sub : newcomers) {
+				for (int id : sub.flightIds) {
+					if (!sent.containsKey(id)) {
+						unknown.add(id);
+					}
+				}
+			}
+			changes.forEach((id, state) -> {
+				State last = sent.get(id);
+				if (state == RELOAD || (Double.isNaN(state.flightPrice()) && (last == null || last.deleted()))) {
+					unknown.add(id);
+				}
+			});
+			Map<Integer, State> read = read(unknown);
+
+			// Newcomers first, so their first message is the state the changes below start from
+			for (Subscriber sub : newcomers) {
+				for (int id : sub.flightIds) {
+					State state = sent.computeIfAbsent(id, key -> read.getOrDefault(key, DELETED));
+					send(sub, json(id, state));
+				}
+			}
+			changes.forEach((id, change) -> {
+				Set<Subscriber> subs = watchers.get(id);
+				State last = sent.get(id);
+				State now = unknown.contains(id) ? read.getOrDefault(id, DELETED) : change.over(last);
+				if (subs == null || subs.isEmpty() || now.equals(last)) {
+					return; // Nobody watches it any more, or it ended where it started
+				}
+				sent.put(id, now);
+				String json = json(id, now);
+				for (Subscriber sub : subs) {
+					send(sub, json);
+				}
+			});
+			heartbeat();
+		} catch (RuntimeException ex) {
+			log.error("Flight push round failed", ex);
+		}
+	}
+
+	// Current seats and price of the given flights; flights missing from the result were deleted
+	private Map<Integer, State> read(Collection<Integer> ids) {
+		Map<Integer, State> states = new HashMap<>();
+		List<Integer> all = new ArrayList<>(ids);
+		for (int from = 0; from < all.size(); from += READ_CHUNK) {
+			List<Integer> chunk = all.subList(from, Math.min(from + READ_CHUNK, all.size()));
+			String marks = String.join(", ", Collections.nCopies(chunk.size(), "?"));
+			jdbc.query("SELECT flight_id, avail_seat, flight_price FROM flights WHERE flight_id IN (" + marks + ")",
+					rs -> {
+						states.put(rs.getInt(1), new State(rs.getInt(2), rs.getDouble(3), false));
+					}, chunk.toArray());
+		}
+		return states;
+	}
+
+	// Keeps idle connections open through proxies and finds clients that have gone away
+	private void heartbeat() {
+		long now = System.currentTimeMillis();
+		if (now - lastHeartbeat < heartbeatMillis) {
+			return;
+		}
+		lastHeartbeat = now;
+		for (Subscriber sub : subscribers) {
+			deliver(sub, SseEmitter.event().comment("keep-alive"));
+		}
+	}
+
+	private void send(Subscriber sub, String json) {
+		deliver(sub, SseEmitter.event().name(EVENT).data(json));
+	}
+
+	// Queues an event without waiting; a subscriber whose queue is full has fallen behind and is dropped
+	private void deliver(Subscriber sub, SseEmitter.SseEventBuilder event) {
+		if (sub.closing) {
+			return;
+		}
+		if (!sub.queue.offer(event)) {
+			dropped.increment();
+			unsubscribe(sub);
+			sub.closing = true; // The writer ends the stream, as completing waits for a write in progress
+		}
+		schedule(sub);
+	}
+
+	// Hands the subscriber to a writer unless one is already draining it
+	private void schedule(Subscriber sub) {
+		if (sub.draining.compareAndSet(false, true)) {
+			try {
+				writers.execute(() -> drain(sub));
+			} catch (RejectedExecutionException ex) {
+				sub.draining.set(false); // Shutting down; destroy() ends the stream
+			}
+		}
+	}
+
+	// Writes the subscriber's queued events; runs on a writer thread, never two at once per subscriber
+	private void drain(Subscriber sub) {
+		do {
+			for (SseEmitter.SseEventBuilder event; !sub.closing && (event = sub.queue.poll()) != null;) {
+				try {
+					sub.emitter.send(event);
+				} catch (IOException | IllegalStateException ex) {
+					unsubscribe(sub); // Client went away; Spring has already ended the stream
+					sub.closing = true;
+				}
+			}
+			if (sub.closing && !sub.completed) {
+				sub.completed = true;
+				sub.queue.clear();
+				sub.emitter.complete();
+			}
+			sub.draining.set(false);
+			// Events or a drop that arrived after the checks above found the flag still set; take them over
+		} while ((sub.closing ? !sub.completed : !sub.queue.isEmpty()) && sub.draining.compareAndSet(false, true));
+	}
+
+	private String json(int flightId, State state) {
+		return mapper.writeValueAsString(
+				new FlightUpdateDTO(flightId, state.availSeat(), state.flightPrice(), state.deleted()));
+	}
+
+	// Forgets a stream; flights nobody watches any more stop being tracked
+	private void unsubscribe(Subscriber sub) {
+		if (!subscribers.remove(sub)) {
+			return;
+		}
+		release(sub.client);
+		for (int id : sub.flightIds) {
+			watchers.computeIfPresent(id, (key, subs) -> {
+				subs.remove(sub);
+				if (!subs.isEmpty()) {
+					return subs;
+				}
+				// Under the key's lock, so a subscriber joining meanwhile keeps its state and changes
+				sent.remove(key);
+				pending.remove(key);
+				return null;
+			});
+		}
+	}
+
+	// Gives back one of the client's streams
+	private void release(String client) {
+		streamsPerClient.computeIfPresent(client, (key, open) -> open > 1 ? open - 1 : null);
+	}
+
+	// Stops the sender and writers and ends every stream when the application shuts down
+	@Override
+	public void destroy() {
+		sender.shutdownNow();
+		writers.shutdownNow();
+		for (Subscriber sub : subscribers) {
+			sub.emitter.complete();
+		}
+	}
+
+	// One open stream, the flights it watches and the events waiting to be written to it
+	private static final class Subscriber {
+		final SseEmitter emitter; // Where the updates are written
+		final int[] flightIds; // Watched flights, without duplicates
+		final String client; // User or address the stream counts against
+		final ArrayBlockingQueue<SseEmitter.SseEventBuilder> queue; // Events not yet written
+		final AtomicBoolean draining = new AtomicBoolean(); // A writer owns the queue
+		volatile boolean closing; // Dropped or gone; the writer ends the stream
+		volatile boolean completed; // The writer has ended the stream
+
+		Subscriber(SseEmitter emitter, int[] flightIds, String client, int capacity) {
+			this.emitter = emitter;
+			this.flightIds = flightIds;
+			this.client = client;
+			this.queue = new ArrayBlockingQueue<>(capacity);
+		}
+	}
+
+	// Values of a flight as pushed; a NaN price means "unchanged" in a pending change. Seat-only
+	// changes with a known count come from bookings and holds, which only ever lower it, while seats
+	// given back arrive as RELOAD or a full edit; so of two such counts the lower one is the later,
+	// even when concurrent bookings published their events out of order.
+	record State(int availSeat, double flightPrice, boolean deleted) {
+
+		// The later of two changes to the same flight within one round
+		State then(State later) {
+			if (later == RELOAD || later == DELETED || this == RELOAD) {
+				return this == RELOAD && later != DELETED ? RELOAD : later;
+			}
+			if (!Double.isNaN(later.flightPrice)) {
+				return later;
+			}
+			if (deleted) {
+				return RELOAD; // Seats of a flight deleted earlier in the round; ask the table
+			}
+			int seats = Double.isNaN(flightPrice) ? Math.min(availSeat, later.availSeat) : later.availSeat;
+			return new State(seats, flightPrice, false);
+		}
+
+		// This change applied to the last state sent; seat-only changes are read instead when there is none
+		State over(State last) {
+			if (deleted || !Double.isNaN(flightPrice)) {
+				return this;
+			}
+			return new State(Math.min(availSeat, last.availSeat), last.flightPrice, false);
+		}
+	}
+}
@@ -0,0 +1,12 @@
+package com.cg.repository; // Defines the package for data access layer interfaces
+
+import com.cg.dto.FlightPatch; // Import for the columns to change
+
+// Custom repository fragment for partial, version-checked flight updates
+public interface FlightPatchRepository {
+
+	// Applies the non-null fields of the patch in one UPDATE and bumps the version.
+	// Returns 1 when the row was updated, 0 when it does not exist or its version is no longer
+	// 'expectedVersion'.
+	int patch(int flightId, int expectedVersion, FlightPatch patch);
+}
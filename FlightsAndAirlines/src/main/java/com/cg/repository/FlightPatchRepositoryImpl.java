@@ -0,0 +1,57 @@
+package com.cg.repository; // Defines the package for data access layer interfaces
+
+import org.springframework.transaction.annotation.Transactional; // Runs the UPDATE inside a transaction
+
+import com.cg.dto.FlightPatch; // Import for the columns to change
+import com.cg.entity.Airline; // Import for the airline reference
+import com.cg.entity.Flight; // Import for the Flight entity
+
+import jakarta.persistence.EntityManager; // JPA entry point for the criteria update
+import jakarta.persistence.PersistenceContext; // Injects the shared, transaction-bound EntityManager
+import jakarta.persistence.criteria.CriteriaBuilder; // Builds the UPDATE statement
+import jakarta.persistence.criteria.CriteriaUpdate; // Typed UPDATE statement
+import jakarta.persistence.criteria.Root; // The flights row being updated
+
+// Builds "UPDATE flights SET <given columns>, version = version + 1 WHERE flight_id = ? AND version = ?".
+// Nothing is loaded first: no Flight, no Airline (it is set through a reference holding only its
+// ID), and no dirty checking.
+public class FlightPatchRepositoryImpl implements FlightPatchRepository {
+
+	@PersistenceContext // Injects the EntityManager of the current transaction
+	private EntityManager em;
+
+	@Override
+	@Transactional
+	public int patch(int flightId, int expectedVersion, FlightPatch patch) {
+		CriteriaBuilder cb = em.getCriteriaBuilder();
+		CriteriaUpdate<Flight> update = cb.createCriteriaUpdate(Flight.class);
+		Root<Flight> f = update.from(Flight.class);
+
+		set(update, f, "enterprise", patch.getEnterprise());
+		set(update, f, "flightPrice", patch.getFlightPrice());
+		set(update, f, "source", patch.getSource());
+		set(update, f, "destination", patch.getDestination());
+		set(update, f, "departureDate", patch.getDepartureDate());
+		set(update, f, "departureTime", patch.getDepartureTime());
+		set(update, f, "arrivalDate", patch.getArrivalDate());
+		set(update, f, "arrivalTime", patch.getArrivalTime());
+		set(update, f, "duration", patch.getDuration());
+		set(update, f, "totSeat", patch.getTotSeat());
+		set(update, f, "availSeat", patch.getAvailSeat());
+		set(update, f, "className", patch.getClassName());
+		if (patch.getAirlineId() != null) {
+			// A proxy carrying only the ID; binding it writes airline_id without selecting the airline
+			update.set(f.<Airline>get("airline"), em.getReference(Airline.class, patch.getAirlineId()));
+		}
+		update.set(f.<Integer>get("version"), cb.sum(f.<Integer>get("version"), 1));
+		update.where(cb.equal(f.get("flightId"), flightId), cb.equal(f.get("version"), expectedVersion));
+		return em.createQuery(update).executeUpdate();
+	}
+
+	// Adds "column = value" only when the patch changes that column
+	private static <T> void set(CriteriaUpdate<Flight> update, Root<Flight> f, String field, T value) {
+		if (value != null) {
+			update.set(f.<T>get(field), value);
+		}
+	}
+}
@@ -0,0 +1,14 @@
+package com.cg.repository; // Defines the package for data access layer interfaces
+
+import java.util.List; // Imports List for the rows of one page
+
+import com.cg.dto.FlightDTO; // Import for the read-only projection of a flight
+import com.cg.dto.FlightRangeQuery; // Import for the range criteria
+
+// Custom repository fragment for range searches read in price order
+public interface FlightRangeRepository {
+
+	// Returns up to 'limit' flights matching the query, ordered by (flightPrice, flightId) and
+	// starting after the (afterPrice, afterId) cursor when both are given
+	List<FlightDTO> findInRange(FlightRangeQuery query, Double afterPrice, Integer afterId, int limit);
+}
@@ -0,0 +1,81 @@
+package com.cg.repository; // Defines the package for data access layer interfaces
+
+import java.time.LocalDate; // Departure date bounds
+import java.time.LocalTime; // Departure time bounds
+import java.util.ArrayList; // Collects the predicates that apply
+import java.util.List; // Interface for predicates and result rows
+
+import com.cg.dto.FlightDTO; // Import for the read-only projection of a flight
+import com.cg.dto.FlightRangeQuery; // Import for the range criteria
+import com.cg.entity.Airline; // Import for the joined airline
+import com.cg.entity.Flight; // Import for the Flight entity
+
+import jakarta.persistence.EntityManager; // JPA entry point for the criteria query
+import jakarta.persistence.PersistenceContext; // Injects the shared, transaction-bound EntityManager
+import jakarta.persistence.criteria.CriteriaBuilder; // Builds the SELECT statement
+import jakarta.persistence.criteria.CriteriaQuery; // Typed SELECT statement
+import jakarta.persistence.criteria.Join; // LEFT JOIN to the airline for its name
+import jakarta.persistence.criteria.JoinType; // Keeps flights without an airline
+import jakarta.persistence.criteria.Predicate; // One WHERE condition
+import jakarta.persistence.criteria.Root; // The flights rows being read
+
+// Builds "SELECT <FlightDTO columns> FROM flights LEFT JOIN airlines WHERE <given filters> ORDER BY
+// flight_price, flight_id LIMIT n", with only the filters that were given, so the database sees
+// plain equality and range conditions it can match against the composite indexes on Flight.
+// Equality filters come first in those indexes and price last, which means the matching rows are
+// read already in price order and the LIMIT stops the scan; date and time are checked on the rows
+// walked. Paging uses the same (flightPrice, flightId) keyset cursor as the listing.
+public class FlightRangeRepositoryImpl implements FlightRangeRepository {
+
+	@PersistenceContext // Injects the EntityManager of the current transaction
+	private EntityManager em;
+
+	@Override
+	public List<FlightDTO> findInRange(FlightRangeQuery q, Double afterPrice, Integer afterId, int limit) {
+		CriteriaBuilder cb = em.getCriteriaBuilder();
+		CriteriaQuery<FlightDTO> query = cb.createQuery(FlightDTO.class);
+		Root<Flight> f = query.from(Flight.class);
+		Join<Flight, Airline> a = f.join("airline", JoinType.LEFT);
+		query.select(cb.construct(FlightDTO.class, f.get("flightId"), f.get("enterprise"), f.get("flightPrice"),
+				f.get("source"), f.get("destination"), f.get("departureDate"), f.get("departureTime"),
+				f.get("arrivalDate"), f.get("arrivalTime"), f.get("duration"), f.get("totSeat"),
+				f.get("availSeat"), f.get("className"), a.get("Aid"), a.get("AirName"), f.get("version")));
+
+		List<Predicate> where = new ArrayList<>();
+		if (q.getSource() != null && !q.getSource().isBlank()) {
+			where.add(cb.equal(f.get("source"), q.getSource().trim()));
+		}
+		if (q.getDestination() != null && !q.getDestination().isBlank()) {
+			where.add(cb.equal(f.get("destination"), q.getDestination().trim()));
+		}
+		if (q.getClassName() != null) {
+			where.add(cb.equal(f.get("className"), q.getClassName()));
+		}
+		if (q.getMinPrice() != null) {
+			where.add(cb.ge(f.<Double>get("flightPrice"), q.getMinPrice()));
+		}
+		if (q.getMaxPrice() != null) {
+			where.add(cb.le(f.<Double>get("flightPrice"), q.getMaxPrice()));
+		}
+		if (q.getFromDate() != null) {
+			where.add(cb.greaterThanOrEqualTo(f.<LocalDate>get("departureDate"), q.getFromDate()));
+		}
+		if (q.getToDate() != null) {
+			where.add(cb.lessThanOrEqualTo(f.<LocalDate>get("departureDate"), q.getToDate()));
+		}
+		if (q.getFromTime() != null) {
+			where.add(cb.greaterThanOrEqualTo(f.<LocalTime>get("departureTime"), q.getFromTime()));
+		}
+		if (q.getToTime() != null) {
+			where.add(cb.lessThanOrEqualTo(f.<LocalTime>get("departureTime"), q.getToTime()));
+		}
+		if (afterPrice != null && afterId != null) {
+			// Seeks past the last row of the previous page instead of skipping an OFFSET
+			where.add(cb.or(cb.gt(f.<Double>get("flightPrice"), afterPrice),
+					cb.and(cb.equal(f.get("flightPrice"), afterPrice), cb.gt(f.<Integer>get("flightId"), afterId))));
+		}
+		query.where(where.toArray(new Predicate[0]));
+		query.orderBy(cb.asc(f.get("flightPrice")), cb.asc(f.get("flightId")));
+		return em.createQuery(query).setMaxResults(limit).getResultList();
+	}
+}
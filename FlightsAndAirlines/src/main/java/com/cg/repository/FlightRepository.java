@@ -1,31 +1,91 @@
 package com.cg.repository; // Defines the package for data access layer interfaces
 
+import java.util.Collection; // IDs of the flights to load
 import java.util.List; // Imports List to handle multiple flight results
+import java.util.Optional; // Wraps single-column lookups that may find no row
 
+import org.springframework.data.domain.Limit; // Caps the number of rows a query returns
 import org.springframework.data.jpa.repository.JpaRepository; // Base interface for CRUD operations
+import org.springframework.data.jpa.repository.Modifying; // Marks a query as an UPDATE/DELETE statement
 import org.springframework.data.jpa.repository.Query; // Annotation for writing custom JPQL queries
 import org.springframework.data.repository.query.Param; // Annotation to bind method parameters to query variables
+import org.springframework.transaction.annotation.Transactional; // Transaction boundaries for writes and replica reads
 
+import com.cg.dto.FlightDTO; // Import for the read-only projection of a flight
 import com.cg.entity.AirlineClass; // Import for the AirlineClass enum filter
 import com.cg.entity.Flight; // Import for the Flight entity
 
 // Interface for Flight database operations, extending JpaRepository for built-in methods
-public interface FlightRepository extends JpaRepository<Flight, Integer>{
+public interface FlightRepository extends JpaRepository<Flight, Integer>, FlightPatchRepository,
+		FlightRangeRepository{
+
+	// Read paths select straight into FlightDTO: one joined query, no managed entities, no
+	// persistence-context snapshots and no extra select for the airline name
+	String DTO_SELECT = "SELECT new com.cg.dto.FlightDTO(f.flightId, f.enterprise, f.flightPrice, f.source, " +
+	           "f.destination, f.departureDate, f.departureTime, f.arrivalDate, f.arrivalTime, f.duration, " +
+	           "f.totSeat, f.availSeat, f.className, a.Aid, a.AirName, f.version) FROM Flight f LEFT JOIN f.airline a ";
          
 	// Custom JPQL query to perform dynamic searching based on multiple optional criteria
-	@Query("SELECT f FROM Flight f WHERE " +
+	// Read-write on purpose: the result is cached until the next change, so it must come from the
+	// primary, never from a replica that has not caught up with that change yet
+	@Transactional
+	@Query(DTO_SELECT + "WHERE " +
 	           // Checks if source is null/empty; if not, matches it with flight source
 	           "(:source IS NULL OR :source = '' OR f.source = :source) AND " +
 	           // Checks if destination is null/empty; if not, matches it with flight destination
 	           "(:dest IS NULL OR :dest = '' OR f.destination = :dest) AND " +
 	           // Filters by Airline Name through the nested Airline entity relationship
-	           "(:airline IS NULL OR :airline = '' OR f.airline.AirName = :airline) AND " +
+	           "(:airline IS NULL OR :airline = '' OR a.AirName = :airline) AND " +
 	           // Filters by the specific AirlineClass enum (Economy, Business, etc.)
 	           "(:className IS NULL OR f.className = :className)")
-	    List<Flight> searchFlights(
+	    List<FlightDTO> searchFlights(
 	        @Param("source") String source,      // Binds method 'source' to :source in query
 	        @Param("dest") String dest,          // Binds method 'dest' to :dest in query
 	        @Param("airline") String airline,    // Binds method 'airline' to :airline in query
 	        @Param("className") AirlineClass className // Binds enum to :className in query
 	        );
+
+	// Reads only the seat counter of a flight, used to prime the in-memory seat inventory.
+	// Read-write on purpose: the counter must come from the primary, never from a lagging replica.
+	@Transactional
+	@Query("SELECT f.availSeat FROM Flight f WHERE f.flightId = :id")
+	Optional<Integer> findAvailSeat(@Param("id") int id);
+
+	// Takes seats with a single conditional UPDATE; the row lock lasts only for this statement
+	// Returns 1 when the seats were taken and 0 when the flight does not have enough left
+	@Modifying
+	@Transactional
+	// Leaves the version alone: admin edits only write the seat count when they change it
+	@Query("UPDATE Flight f SET f.availSeat = f.availSeat - :seats " +
+	           "WHERE f.flightId = :id AND f.availSeat >= :seats")
+	int reserveSeats(@Param("id") int id, @Param("seats") int seats);
+
+	// First page of the listing, sorted by the database on the (flightPrice, flightId) index
+	@Query(DTO_SELECT + "ORDER BY f.flightPrice, f.flightId")
+	List<FlightDTO> findFirstPage(Limit limit);
+
+	// Next page of the listing: seeks past the cursor of the previous page instead of using OFFSET
+	@Query(DTO_SELECT + "WHERE " +
+	           "f.flightPrice > :price OR (f.flightPrice = :price AND f.flightId > :id) " +
+	           "ORDER BY f.flightPrice, f.flightId")
+	List<FlightDTO> findPageAfter(@Param("price") double price, @Param("id") int id, Limit limit);
+
+	// Search hits by ID, read as DTOs in one joined query
+	@Transactional // Read-write on purpose: cached like searchFlights, so read from the primary
+	@Query(DTO_SELECT + "WHERE f.flightId IN :ids")
+	List<FlightDTO> findDtosByIds(@Param("ids") Collection<Integer> ids);
+
+	// A single flight as a DTO, used to fill the update form
+	@Query(DTO_SELECT + "WHERE f.flightId = :id")
+	Optional<FlightDTO> findDtoById(@Param("id") int id);
+
+	// One chunk of an airline's flight IDs, used to delete a carrier's flights a bounded batch at a time
+	@Query("SELECT f.flightId FROM Flight f WHERE f.airline.Aid = :airlineId ORDER BY f.flightId")
+	List<Integer> findIdsByAirline(@Param("airlineId") int airlineId, Limit limit);
+
+	// Set-based delete of one chunk; runs in its own short transaction and never loads the entities
+	@Modifying
+	@Transactional
+	@Query("DELETE FROM Flight f WHERE f.flightId IN :ids")
+	int deleteAllByIdIn(@Param("ids") Collection<Integer> ids);
 }
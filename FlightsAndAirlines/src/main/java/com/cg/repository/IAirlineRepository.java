@@ -1,11 +1,34 @@
 package com.cg.repository;
 
+import java.util.List;
+import java.util.Optional;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.cg.entity.Airline;
 
 @Repository
 public interface IAirlineRepository extends JpaRepository<Airline, Integer>{
 
+	// Read-write on purpose so it always reads the primary: AirlineService caches the result until
+	// the next write, and a lagging replica would keep the airline it just saved out of the cache
+	@Override
+	@Transactional
+	List<Airline> findAll();
+
+	// Read-write on purpose, like findAll: loads the AirlineService ID cache
+	@Override
+	@Transactional
+	Optional<Airline> findById(Integer id);
+
+	// Deletes the airline row without loading it, so the cascade to its flights is not walked
+	@Modifying
+	@Transactional
+	@Query("DELETE FROM Airline a WHERE a.Aid = :id")
+	int deleteRowById(@Param("id") int id);
 }
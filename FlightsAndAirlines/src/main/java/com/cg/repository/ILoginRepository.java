@@ -3,12 +3,15 @@ package com.cg.repository;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.cg.entity.UserDetails;
 
 @Repository
 public interface ILoginRepository extends JpaRepository<UserDetails, Integer>{
         
+    // Read-write on purpose so it always reads the primary: users log in right after registering
+    @Transactional
     @Query("SELECT u FROM UserDetails u WHERE u.userName = ?1")
 	   public UserDetails checkUser(String user);
 }
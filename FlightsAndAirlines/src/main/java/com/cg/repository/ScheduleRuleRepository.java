@@ -0,0 +1,20 @@
+package com.cg.repository; // Defines the package for data access layer interfaces
+
+import org.springframework.data.jpa.repository.JpaRepository; // Provides CRUD operations
+import org.springframework.data.jpa.repository.Modifying; // Marks a query as a write
+import org.springframework.data.jpa.repository.Query; // Annotation to write custom JPQL
+import org.springframework.data.repository.query.Param; // Binds method parameters to query parameters
+import org.springframework.stereotype.Repository; // Marks this as a Spring Data Repository bean
+import org.springframework.transaction.annotation.Transactional; // Runs the delete inside a transaction
+
+import com.cg.entity.ScheduleRule; // Import for the ScheduleRule entity
+
+@Repository // Registers this interface as a bean for database interaction
+public interface ScheduleRuleRepository extends JpaRepository<ScheduleRule, Integer> {
+
+	// Deletes every rule of an airline with one statement, without loading them
+	@Modifying
+	@Transactional
+	@Query("DELETE FROM ScheduleRule r WHERE r.airlineId = :airlineId")
+	int deleteAllByAirlineId(@Param("airlineId") int airlineId);
+}
@@ -0,0 +1,105 @@
+package com.cg.schedule; // Defines the package for time-based scheduling
+
+import java.util.Arrays; // Grows bucket arrays and trims results
+
+// Hashed timing wheel for very many timeouts with the same coarse resolution. Time is cut into
+// ticks; a timeout due at tick t goes into bucket t % wheelSize, so scheduling is O(1) and each
+// tick only looks at one bucket. Timeouts more than one rotation away stay in their bucket and
+// are skipped until their tick comes round. Buckets are parallel primitive arrays (ID and due
+// tick), 16 bytes per timeout with no object per entry and no task per timeout.
+//
+// Cancelled timeouts are not removed: the owner ignores IDs it no longer tracks when they come
+// due. Scheduling and advancing share one lock; advance() is called by a single ticker thread.
+public class TimingWheel {
+
+	private final long tickMillis; // Length of one tick
+	private final int mask; // wheelSize - 1, wheelSize being a power of two
+	private final long[][] ids; // Timeout IDs per bucket
+	private final long[][] dueTicks; // Absolute tick each timeout is due at, per bucket
+	private final int[] sizes; // Entries used in each bucket
+	private long currentTick; // Last tick processed
+	private int pending; // Timeouts in the wheel, including cancelled ones not yet reached
+
+	// Creates an empty wheel whose first tick is the current time
+	public TimingWheel(long tickMillis, int wheelSize, long nowMillis) {
+		if (tickMillis <= 0 || wheelSize <= 0) {
+			throw new IllegalArgumentException("tickMillis and wheelSize must be positive");
+		}
+		int size = Integer.highestOneBit(wheelSize - 1) << 1; // Rounds up to a power of two
+		this.tickMillis = tickMillis;
+		this.mask = Math.max(size, 1) - 1;
+		this.ids = new long[mask + 1][];
+		this.dueTicks = new long[mask + 1][];
+		this.sizes = new int[mask + 1];
+		this.currentTick = nowMillis / tickMillis;
+	}
+
+	// Adds a timeout firing at the first tick at or after 'deadlineMillis'; overdue ones fire next tick
+	public synchronized void schedule(long id, long deadlineMillis) {
+		long due = Math.max((deadlineMillis + tickMillis - 1) / tickMillis, currentTick + 1);
+		int b = (int) (due & mask);
+		int n = sizes[b];
+		if (ids[b] == null) {
+			ids[b] = new long[8];
+			dueTicks[b] = new long[8];
+		} else if (n == ids[b].length) {
+			ids[b] = Arrays.copyOf(ids[b], n * 2);
+			dueTicks[b] = Arrays.copyOf(dueTicks[b], n * 2);
+		}
+		ids[b][n] = id;
+		dueTicks[b][n] = due;
+		sizes[b] = n + 1;
+		pending++;
+	}
+
+	// Processes every tick up to 'nowMillis' and returns the IDs that came due, in no particular order
+	public synchronized long[] advance(long nowMillis) {
+		long target = nowMillis / tickMillis;
+		if (target <= currentTick) {
+			return new long[0];
+		}
+		long[] due = new long[16];
+		int count = 0;
+		// After a long pause every bucket is visited once instead of once per missed tick
+		long from = target - currentTick > mask ? target - mask : currentTick + 1;
+		for (long tick = from; tick <= target; tick++) {
+			int b = (int) (tick & mask);
+			int n = sizes[b];
+			if (n == 0) {
+				continue;
+			}
+			long[] bucketIds = ids[b];
+			long[] bucketDue = dueTicks[b];
+			int kept = 0;
+			for (int i = 0; i < n; i++) {
+				if (bucketDue[i] <= target) {
+					if (count == due.length) {
+						due = Arrays.copyOf(due, count * 2);
+					}
+					due[count++] = bucketIds[i];
+				} else {
+					bucketIds[kept] = bucketIds[i]; // Later rotation: keep, compacting in place
+					bucketDue[kept] = bucketDue[i];
+					kept++;
+				}
+			}
+			sizes[b] = kept;
+			if (kept == 0 && bucketIds.length > 1024) {
+				ids[b] = null; // Releases a bucket that grew during a burst
+				dueTicks[b] = null;
+			}
+		}
+		currentTick = target;
+		pending -= count;
+		return Arrays.copyOf(due, count);
+	}
+
+	// Timeouts still in the wheel
+	public synchronized int size() {
+		return pending;
+	}
+
+	public long getTickMillis() {
+		return tickMillis;
+	}
+}
@@ -0,0 +1,139 @@
+package com.cg.security; // Defines the package for authentication support
+
+import java.time.Duration; // Refill interval of the buckets
+import java.util.Locale; // Case-folds usernames for the bucket key
+import java.util.concurrent.ConcurrentHashMap; // Buckets shared by all request threads
+import java.util.concurrent.atomic.AtomicLong; // Time of the last sweep
+import java.util.concurrent.atomic.LongAdder; // Contention-free counters
+
+import org.slf4j.Logger; // Interface for logging system messages
+import org.slf4j.LoggerFactory; // Factory to create logger instances
+import org.springframework.beans.factory.annotation.Value; // Reads settings from application.properties
+import org.springframework.stereotype.Component; // Registers this class as a Spring bean
+
+import com.cg.exception.LoginThrottled; // Thrown when a caller is over its budget
+
+// Token buckets limiting login attempts per client IP and per username. Each attempt takes one
+// token; tokens come back at a steady rate up to the bucket capacity. The IP is checked first, so
+// a client cycling through usernames runs out before it can create buckets for all of them.
+// Full buckets carry no information and are swept once too many keys are tracked.
+@Component // Tells Spring to create and manage a single shared instance
+public class LoginThrottle {
+
+	// Initializes the logger to record application events
+	private static final Logger log = LoggerFactory.getLogger(LoginThrottle.class);
+
+	private final ConcurrentHashMap<String, Bucket> buckets = new ConcurrentHashMap<>(); // "ip:..." and "u:..." keys
+	private final int userCapacity; // Burst of attempts allowed for one username
+	private final long userRefillNanos; // Time for one username token to come back
+	private final int ipCapacity; // Burst of attempts allowed from one address
+	private final long ipRefillNanos; // Time for one address token to come back
+	private final int maxKeys; // Tracked keys before full buckets are swept
+	private final AtomicLong lastSweep = new AtomicLong(); // Limits sweeps to one per second
+
+	private final LongAdder throttledUser = new LongAdder(); // Attempts refused for the username
+	private final LongAdder throttledIp = new LongAdder(); // Attempts refused for the address
+
+	// Creates the throttle with the configured budgets
+	public LoginThrottle(@Value("${app.auth.user.capacity:5}") int userCapacity,
+			@Value("${app.auth.user.refill:12s}") Duration userRefill,
+			@Value("${app.auth.ip.capacity:30}") int ipCapacity, @Value("${app.auth.ip.refill:2s}") Duration ipRefill,
+			@Value("${app.auth.max-tracked-keys:100000}") int maxKeys) {
+		this.userCapacity = userCapacity;
+		this.userRefillNanos = userRefill.toNanos();
+		this.ipCapacity = ipCapacity;
+		this.ipRefillNanos = ipRefill.toNanos();
+		this.maxKeys = maxKeys;
+	}
+
+	// Takes one token for the address and, when given, one for the username
+	public void acquire(String remoteAddr, String username) throws LoginThrottled {
+		long now = System.nanoTime();
+		if (!take("ip:" + remoteAddr, ipCapacity, ipRefillNanos, now)) {
+			throttledIp.increment();
+			throw new LoginThrottled("Too many attempts from your address, please wait and try again");
+		}
+		if (username != null && !take("u:" + username.trim().toLowerCase(Locale.ROOT), userCapacity, userRefillNanos,
+				now)) {
+			throttledUser.increment();
+			throw new LoginThrottled("Too many attempts for this account, please wait and try again");
+		}
+	}
+
+	// Takes a token from the key's bucket, creating it full on first use
+	private boolean take(String key, int capacity, long refillNanos, long now) {
+		Bucket bucket = buckets.get(key);
+		if (bucket == null) {
+			if (buckets.size() >= maxKeys && !sweep(now)) {
+				return true; // Table is full of active keys: let the attempt through rather than grow
+			}
+			bucket = buckets.computeIfAbsent(key, k -> new Bucket(capacity, refillNanos, now));
+		}
+		return bucket.take(now);
+	}
+
+	// Drops the buckets that have refilled completely; false when nothing could be freed
+	private boolean sweep(long now) {
+		long last = lastSweep.get();
+		if (now - last < 1_000_000_000L || !lastSweep.compareAndSet(last, now)) {
+			return buckets.size() < maxKeys;
+		}
+		int before = buckets.size();
+		buckets.values().removeIf(b -> b.isFull(now));
+		log.debug("Login throttle swept {} idle keys, {} left", before - buckets.size(), buckets.size());
+		if (buckets.size() >= maxKeys) {
+			log.warn("Login throttle is tracking {} active keys; new keys are not limited", buckets.size());
+			return false;
+		}
+		return true;
+	}
+
+	public long getThrottledUser() {
+		return throttledUser.sum();
+	}
+
+	public long getThrottledIp() {
+		return throttledIp.sum();
+	}
+
+	// Keys currently tracked
+	public int getTrackedKeys() {
+		return buckets.size();
+	}
+
+	// Tokens are kept in refill units, topped up lazily from the elapsed time on each attempt
+	private static final class Bucket {
+		private final int capacity;
+		private final long refillNanos;
+		private double tokens;
+		private long updated;
+
+		Bucket(int capacity, long refillNanos, long now) {
+			this.capacity = capacity;
+			this.refillNanos = refillNanos;
+			this.tokens = capacity;
+			this.updated = now;
+		}
+
+		synchronized boolean take(long now) {
+			refill(now);
+			if (tokens < 1) {
+				return false;
+			}
+			tokens -= 1;
+			return true;
+		}
+
+		synchronized boolean isFull(long now) {
+			refill(now);
+			return tokens >= capacity;
+		}
+
+		private void refill(long now) {
+			if (now > updated) {
+				tokens = Math.min(capacity, tokens + (double) (now - updated) / refillNanos);
+				updated = now;
+			}
+		}
+	}
+}
@@ -0,0 +1,148 @@
+package com.cg.security; // Defines the package for authentication support
+
+import java.time.Duration; // How long a request waits for its hash
+import java.util.concurrent.ArrayBlockingQueue; // Bounded queue of waiting hash jobs
+import java.util.concurrent.Callable; // One hash job
+import java.util.concurrent.ExecutionException; // Wraps a failure inside the job
+import java.util.concurrent.Future; // Result of a submitted job
+import java.util.concurrent.RejectedExecutionException; // Thrown when the queue is full
+import java.util.concurrent.ThreadPoolExecutor; // Fixed-size worker pool
+import java.util.concurrent.TimeUnit; // Units for the pool and the wait
+import java.util.concurrent.TimeoutException; // Thrown when the hash did not finish in time
+import java.util.concurrent.atomic.AtomicInteger; // Numbers the worker threads
+import java.util.concurrent.atomic.LongAccumulator; // Slowest hash seen
+import java.util.concurrent.atomic.LongAdder; // Contention-free counters
+
+import org.slf4j.Logger; // Interface for logging system messages
+import org.slf4j.LoggerFactory; // Factory to create logger instances
+import org.springframework.beans.factory.DisposableBean; // Stops the workers on shutdown
+import org.springframework.beans.factory.annotation.Value; // Reads settings from application.properties
+import org.springframework.security.crypto.password.PasswordEncoder; // BCrypt encoder doing the real work
+import org.springframework.stereotype.Component; // Registers this class as a Spring bean
+
+import com.cg.exception.LoginThrottled; // Thrown when hashing is saturated
+
+// Runs BCrypt on a small dedicated pool instead of the servlet thread. The pool has a fixed number
+// of threads (by default half the cores) and a bounded queue, so a burst of logins can use at most
+// that share of the CPU: once the queue is full further attempts are refused straight away, and a
+// caller that waited too long gives up and its queued job is cancelled before it runs.
+@Component // Tells Spring to create and manage a single shared instance
+public class PasswordHasher implements DisposableBean {
+
+	// Initializes the logger to record application events
+	private static final Logger log = LoggerFactory.getLogger(PasswordHasher.class);
+
+	private final PasswordEncoder encoder; // BCrypt encoder from SpringConfig
+	private final ThreadPoolExecutor pool; // Dedicated hashing threads
+	private final long timeoutNanos; // Longest a caller waits for a result
+
+	private final LongAdder hashes = new LongAdder(); // Hashes computed
+	private final LongAdder hashNanos = new LongAdder(); // CPU-side time spent hashing
+	private final LongAccumulator maxHashNanos = new LongAccumulator(Math::max, 0); // Slowest single hash
+	private final LongAdder waitNanos = new LongAdder(); // Time callers spent queued and hashing
+	private final LongAdder rejected = new LongAdder(); // Refused because the queue was full
+	private final LongAdder timedOut = new LongAdder(); // Callers that gave up waiting
+
+	// Creates the pool with the configured size, queue depth and wait limit
+	public PasswordHasher(PasswordEncoder encoder, @Value("${app.auth.hash-threads:0}") int threads,
+			@Value("${app.auth.hash-queue:64}") int queueSize, @Value("${app.auth.hash-timeout:2s}") Duration timeout) {
+		this.encoder = encoder;
+		int size = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+		AtomicInteger n = new AtomicInteger();
+		this.pool = new ThreadPoolExecutor(size, size, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueSize),
+				r -> {
+					Thread t = new Thread(r, "password-hash-" + n.incrementAndGet());
+					t.setDaemon(true);
+					return t;
+				}, new ThreadPoolExecutor.AbortPolicy());
+		this.timeoutNanos = timeout.toNanos();
+		log.info("Password hashing on {} threads, queue of {}, timeout {}", size, queueSize, timeout);
+	}
+
+	// Checks a raw password against its stored BCrypt hash
+	public boolean matches(String raw, String encoded) throws LoginThrottled {
+		return run(() -> encoder.matches(raw, encoded));
+	}
+
+	// Hashes a new password
+	public String encode(String raw) throws LoginThrottled {
+		return run(() -> encoder.encode(raw));
+	}
+
+	// Submits one job and waits for it within the time limit
+	private <T> T run(Callable<T> job) throws LoginThrottled {
+		long submitted = System.nanoTime();
+		Future<T> future;
+		try {
+			future = pool.submit(() -> {
+				long start = System.nanoTime();
+				try {
+					return job.call();
+				} finally {
+					long took = System.nanoTime() - start;
+					hashes.increment();
+					hashNanos.add(took);
+					maxHashNanos.accumulate(took);
+				}
+			});
+		} catch (RejectedExecutionException ex) {
+			rejected.increment();
+			throw new LoginThrottled("Too many logins in progress, please try again shortly");
+		}
+		try {
+			return future.get(timeoutNanos, TimeUnit.NANOSECONDS);
+		} catch (TimeoutException ex) {
+			future.cancel(false); // Still queued: it will never run. Already running: it finishes unused
+			timedOut.increment();
+			throw new LoginThrottled("Login is taking too long, please try again shortly");
+		} catch (InterruptedException ex) {
+			future.cancel(false);
+			Thread.currentThread().interrupt();
+			throw new LoginThrottled("Login was interrupted");
+		} catch (ExecutionException ex) {
+			Throwable cause = ex.getCause();
+			throw cause instanceof RuntimeException r ? r : new IllegalStateException(cause);
+		} finally {
+			waitNanos.add(System.nanoTime() - submitted);
+		}
+	}
+
+	public long getHashes() {
+		return hashes.sum();
+	}
+
+	// Average time one hash took on a worker, in milliseconds
+	public double getAvgHashMillis() {
+		long count = hashes.sum();
+		return count == 0 ? 0.0 : hashNanos.sum() / 1e6 / count;
+	}
+
+	public double getMaxHashMillis() {
+		return maxHashNanos.get() / 1e6;
+	}
+
+	// Average time a caller waited for its result (queueing plus hashing), in milliseconds
+	public double getAvgWaitMillis() {
+		long count = hashes.sum() + timedOut.sum();
+		return count == 0 ? 0.0 : waitNanos.sum() / 1e6 / count;
+	}
+
+	// Jobs currently waiting for a free hashing thread
+	public int getQueued() {
+		return pool.getQueue().size();
+	}
+
+	public long getRejected() {
+		return rejected.sum();
+	}
+
+	public long getTimedOut() {
+		return timedOut.sum();
+	}
+
+	// Stops the workers when the application shuts down
+	@Override
+	public void destroy() {
+		pool.shutdownNow();
+	}
+}
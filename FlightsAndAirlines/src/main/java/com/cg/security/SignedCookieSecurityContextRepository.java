@@ -0,0 +1,193 @@
+package com.cg.security; // Defines the package for authentication support
+
+import java.nio.charset.StandardCharsets; // UTF-8 encoding of usernames
+import java.security.GeneralSecurityException; // Thrown if HmacSHA256 is missing or rejects the key
+import java.security.MessageDigest; // Constant-time comparison of signatures
+import java.time.Duration; // Lifetime of a token
+import java.util.Base64; // URL-safe encoding of the username and the signature
+
+import javax.crypto.Mac; // HMAC-SHA256 from the JDK
+import javax.crypto.spec.SecretKeySpec; // Signing key
+
+import org.springframework.http.HttpHeaders; // Set-Cookie header name
+import org.springframework.http.ResponseCookie; // Builds the cookie with SameSite
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken; // Token for the logged-in user
+import org.springframework.security.core.Authentication; // Authentication being saved
+import org.springframework.security.core.authority.AuthorityUtils; // Users carry no roles
+import org.springframework.security.core.context.DeferredSecurityContext; // Context verified on first use
+import org.springframework.security.core.context.SecurityContext; // Container for the authentication
+import org.springframework.security.core.context.SecurityContextHolder; // Creates empty contexts
+import org.springframework.security.core.context.SecurityContextHolderStrategy; // Strategy for new contexts
+import org.springframework.security.web.context.HttpRequestResponseHolder; // Request/response pair of the old API
+import org.springframework.security.web.context.SecurityContextRepository; // Interface implemented here
+
+import jakarta.servlet.http.Cookie; // Cookies sent by the browser
+import jakarta.servlet.http.HttpServletRequest; // Request carrying the cookie
+import jakarta.servlet.http.HttpServletResponse; // Response the cookie is set on
+
+// Keeps the logged-in user in a signed, expiring cookie instead of the HTTP session, so any
+// instance can serve any request and nothing is stored on the server per user.
+//
+// The cookie value is "<base64url username>.<expiry epoch seconds>.<base64url HMAC-SHA256>",
+// signed over everything before the last dot. The HMAC comes from the JDK's javax.crypto.Mac,
+// one instance per thread since Mac is not thread-safe, and signatures are compared in constant
+// time. Tokens cannot be revoked before they expire; keep the TTL as short as the UX allows.
+public class SignedCookieSecurityContextRepository implements SecurityContextRepository {
+
+	private static final String ALGORITHM = "HmacSHA256";
+	private static final int SIG_CHARS = 43; // Unpadded base64url length of a 32-byte HMAC
+	private static final int MAX_TOKEN = 512; // Longer cookies are rejected unread
+	private static final Base64.Encoder BASE64URL = Base64.getUrlEncoder().withoutPadding();
+
+	private final String cookieName; // Name of the auth cookie
+	private final long ttlSeconds; // Lifetime of a new token
+	private final SecretKeySpec key; // HMAC key shared by every thread's Mac
+	private final ThreadLocal<Mac> macs; // Reused per request thread
+	private final SecurityContextHolderStrategy strategy = SecurityContextHolder.getContextHolderStrategy();
+
+	// Creates the repository; 'secret' must be the same on every instance that shares the cookie
+	public SignedCookieSecurityContextRepository(byte[] secret, String cookieName, Duration ttl) {
+		this.cookieName = cookieName;
+		this.ttlSeconds = ttl.toSeconds();
+		this.key = new SecretKeySpec(secret, ALGORITHM);
+		this.macs = ThreadLocal.withInitial(this::newMac);
+		newMac(); // Fails now rather than on the first request if the key or algorithm is unusable
+	}
+
+	@Override
+	@Deprecated
+	public SecurityContext loadContext(HttpRequestResponseHolder holder) {
+		return load(holder.getRequest());
+	}
+
+	// Defers verification until something actually asks for the user
+	@Override
+	public DeferredSecurityContext loadDeferredContext(HttpServletRequest request) {
+		return new DeferredSecurityContext() {
+			private SecurityContext context;
+			private boolean generated;
+
+			@Override
+			public SecurityContext get() {
+				if (context == null) {
+					context = load(request);
+					generated = context.getAuthentication() == null;
+				}
+				return context;
+			}
+
+			@Override
+			public boolean isGenerated() {
+				get();
+				return generated;
+			}
+		};
+	}
+
+	// Writes a fresh token for an authenticated context, or expires the cookie for an empty one
+	@Override
+	public void saveContext(SecurityContext context, HttpServletRequest request, HttpServletResponse response) {
+		Authentication auth = context.getAuthentication();
+		if (auth == null || !auth.isAuthenticated()) {
+			if (token(request) != null) {
+				response.addHeader(HttpHeaders.SET_COOKIE, cookie(request, "", Duration.ZERO));
+			}
+			return;
+		}
+		response.addHeader(HttpHeaders.SET_COOKIE,
+				cookie(request, issue(auth.getName(), epochSeconds() + ttlSeconds), Duration.ofSeconds(ttlSeconds)));
+	}
+
+	@Override
+	public boolean containsContext(HttpServletRequest request) {
+		return verify(token(request)) != null;
+	}
+
+	// Builds a signed token for 'username' that is valid until 'expiresAt' (epoch seconds)
+	String issue(String username, long expiresAt) {
+		String payload = BASE64URL.encodeToString(username.getBytes(StandardCharsets.UTF_8)) + "." + expiresAt;
+		return payload + "." + BASE64URL.encodeToString(sign(payload));
+	}
+
+	// HMAC-SHA256 of the payload
+	byte[] sign(String payload) {
+		return macs.get().doFinal(payload.getBytes(StandardCharsets.UTF_8));
+	}
+
+	// Returns the username of a valid, unexpired token, or null
+	String verify(String token) {
+		if (token == null || token.length() > MAX_TOKEN) {
+			return null;
+		}
+		int sigDot = token.lastIndexOf('.');
+		int expiryDot = sigDot > 0 ? token.lastIndexOf('.', sigDot - 1) : -1;
+		if (expiryDot <= 0 || token.length() - sigDot - 1 != SIG_CHARS || sigDot - expiryDot - 1 > 18) {
+			return null;
+		}
+		long expiresAt = 0;
+		for (int i = expiryDot + 1; i < sigDot; i++) {
+			char c = token.charAt(i);
+			if (c < '0' || c > '9') {
+				return null;
+			}
+			expiresAt = expiresAt * 10 + (c - '0');
+		}
+		// The encoded forms are compared, as a decoder ignores the spare bits of the last character.
+		// MessageDigest.isEqual takes the same time wherever the first difference is.
+		byte[] expected = BASE64URL.encode(sign(token.substring(0, sigDot)));
+		byte[] actual = token.substring(sigDot + 1).getBytes(StandardCharsets.US_ASCII);
+		if (!MessageDigest.isEqual(expected, actual) || expiresAt <= epochSeconds()) {
+			return null;
+		}
+		try {
+			return new String(Base64.getUrlDecoder().decode(token.substring(0, expiryDot)), StandardCharsets.UTF_8);
+		} catch (IllegalArgumentException ex) {
+			return null;
+		}
+	}
+
+	// Builds the context for the request's cookie, empty when it is missing, forged or expired
+	private SecurityContext load(HttpServletRequest request) {
+		SecurityContext context = strategy.createEmptyContext();
+		String username = verify(token(request));
+		if (username != null) {
+			context.setAuthentication(
+					UsernamePasswordAuthenticationToken.authenticated(username, null, AuthorityUtils.NO_AUTHORITIES));
+		}
+		return context;
+	}
+
+	// Value of the auth cookie, or null
+	private String token(HttpServletRequest request) {
+		Cookie[] cookies = request.getCookies();
+		if (cookies != null) {
+			for (Cookie cookie : cookies) {
+				if (cookieName.equals(cookie.getName())) {
+					return cookie.getValue();
+				}
+			}
+		}
+		return null;
+	}
+
+	// HttpOnly so scripts cannot read it, SameSite=Lax so other sites cannot post with it
+	private String cookie(HttpServletRequest request, String value, Duration maxAge) {
+		String path = request.getContextPath().isEmpty() ? "/" : request.getContextPath();
+		return ResponseCookie.from(cookieName, value).httpOnly(true).secure(request.isSecure()).sameSite("Lax")
+				.path(path).maxAge(maxAge).build().toString();
+	}
+
+	private static long epochSeconds() {
+		return System.currentTimeMillis() / 1000;
+	}
+
+	private Mac newMac() {
+		try {
+			Mac mac = Mac.getInstance(ALGORITHM);
+			mac.init(key);
+			return mac;
+		} catch (GeneralSecurityException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+}
@@ -1,38 +1,166 @@
 package com.cg.service; // Defines the package for business logic components
 
+import java.util.ArrayList; // Resizable list for collecting matching IDs
 import java.util.List; // Import for returning multiple airline records
 import java.util.Optional; // Import to handle cases where an airline might not exist (null-safety)
+import java.util.concurrent.atomic.AtomicLong; // Counts cache hits/misses and write generations
+import java.util.concurrent.atomic.LongAdder; // Low-contention hit/miss counters
 
+import org.slf4j.Logger; // Interface for logging system messages
+import org.slf4j.LoggerFactory; // Factory to create logger instances
 import org.springframework.beans.factory.annotation.Autowired; // For automatic dependency injection
+import org.springframework.beans.factory.annotation.Value; // Reads settings from application.properties
+import org.springframework.context.ApplicationEventPublisher; // Announces bulk flight deletes
+import org.springframework.data.domain.Limit; // Caps the size of each delete chunk
 import org.springframework.stereotype.Service; // Marks this class as a Service component in Spring
 
+import com.cg.cache.CacheStats; // Snapshot of cache hit/miss counters
+import com.cg.cache.CatalogVersion; // Version of the listing for HTTP caching
+import com.cg.cache.FlightSearchCache; // Search results that show airline names
+import com.cg.cache.LruCache; // Bounded least-recently-used cache
 import com.cg.entity.Airline; // Import for the Airline entity
+import com.cg.event.FlightsBulkChangedEvent; // Event that reloads flight indexes after bulk writes
+import com.cg.repository.FlightRepository; // Import for the Flight database repository
 import com.cg.repository.IAirlineRepository; // Import for the Airline database repository
+import com.cg.repository.ScheduleRuleRepository; // Import for the schedule rules generating the airline's flights
 
 @Service // Tells Spring that this class contains the business logic for Airlines
 public class AirlineService {
       
 	@Autowired // Automatically injects the implementation of IAirlineRepository
 	IAirlineRepository repo;
+
+	@Autowired // Injects the flight repository used to remove an airline's flights in chunks
+	FlightRepository flightRepo;
+
+	@Autowired // Injects the repository of schedule rules, which go with their airline
+	ScheduleRuleRepository ruleRepo;
+
+	@Autowired // Injects Spring's event publisher to announce bulk flight deletes
+	ApplicationEventPublisher events;
+
+	@Autowired // Injects the version counter used as the listing's HTTP validator
+	CatalogVersion catalogVersion;
+
+	@Autowired // Injects the search result cache, whose searches are keyed by airline name
+	FlightSearchCache searchCache;
+
+	@Value("${app.airline.delete-chunk:1000}") // Flights deleted per statement and transaction
+	int deleteChunk;
+
+	// Initializes the logger to record application events
+	private static final Logger log = LoggerFactory.getLogger(AirlineService.class);
+
+	// Airlines rarely change, so the full list and single lookups are served from memory.
+	// saveAir and deleteById are the only writers and invalidate exactly what they touch.
+	// The caches hold private copies without the flights collection, and callers get copies of
+	// those, so nothing a request does to an Airline it was given can reach another request.
+	private volatile List<Airline> allAirlines; // Cached result of findAll, or null when invalidated
+	private final AtomicLong listGeneration = new AtomicLong(); // Bumped by every write
+	private final LongAdder listEvictions = new LongAdder(); // Cached lists dropped by a write
+	private final LongAdder listHits = new LongAdder(); // getAllAirlines calls served from memory
+	private final LongAdder listMisses = new LongAdder(); // getAllAirlines calls that hit the database
+	private final LruCache<Integer, Airline> byId; // Bounded cache for findById
+
+	// Creates the ID cache with the configured maximum size
+	public AirlineService(@Value("${app.cache.airline.max-size:1000}") int maxSize) {
+		this.byId = new LruCache<>("airlineById", maxSize);
+	}
 	
 	// Method to fetch all airlines currently stored in the database
 	public List<Airline> getAllAirlines(){
-		return repo.findAll(); // Calls built-in JpaRepository method to get all records
+		return cachedAirlines().stream().map(AirlineService::copyOf).toList();
+	}
+
+	// The cached list itself, loaded on a miss; never handed out to callers
+	private List<Airline> cachedAirlines() {
+		List<Airline> cached = allAirlines;
+		if (cached != null) {
+			listHits.increment();
+			return cached; // Steady state: no database round trip
+		}
+		listMisses.increment();
+		long seen = listGeneration.get();
+		// Calls built-in JpaRepository method to get all records; always from the primary, as the result is cached
+		List<Airline> loaded = repo.findAll().stream().map(AirlineService::copyOf).toList();
+		if (listGeneration.get() == seen) {
+			allAirlines = loaded; // Only kept if no write happened while loading
+		}
+		return loaded;
 	}
 
 	// Method to save a new airline or update an existing one
 	public Airline saveAir(Airline air) {
-		return repo.save(air); // Persists the airline object to the database
+		// The old name, from the cache when possible; new airlines have none
+		String oldName = air.getAid() != 0 ? findById(air.getAid()).map(Airline::getAirName).orElse(null) : null;
+		Airline saved = repo.save(air); // Persists the airline object to the database
+		invalidate(saved.getAid()); // The list and this airline's entry are now stale
+		searchCache.evictAirline(oldName, saved.getAirName()); // Searches by name and rows showing the old one
+		return saved;
 	}
 
 	// Method to find a specific airline using its unique ID
 	public Optional<Airline> findById(int id) {
-		Optional<Airline> air = repo.findById(id); // Returns an Optional to prevent NullPointerExceptions
-		return air;
+		// Returns an Optional to prevent NullPointerExceptions; misses are not cached
+		return Optional.ofNullable(byId.get(id, key -> repo.findById(key).map(AirlineService::copyOf).orElse(null)))
+				.map(AirlineService::copyOf);
+	}
+
+	// Removes an airline and all of its flights, returning the number of flights deleted.
+	// Flights go in chunks of 'deleteChunk' IDs, one DELETE ... WHERE flight_id IN (...) and one short
+	// transaction per chunk, so no entity is loaded and row locks are held only briefly. A failure
+	// part-way leaves the airline and its remaining flights in place; calling again finishes the job.
+	// The airline's schedule rules go first so no new flights are generated for it meanwhile.
+	public int deleteById(int id) {
+		ruleRepo.deleteAllByAirlineId(id);
+		int removed = 0;
+		List<Integer> chunk;
+		while (!(chunk = flightRepo.findIdsByAirline(id, Limit.of(deleteChunk))).isEmpty()) {
+			removed += flightRepo.deleteAllByIdIn(chunk);
+			log.info("Deleting airline {}: {} flights removed so far", id, removed);
+		}
+		repo.deleteRowById(id); // Deletes the airline row itself
+		invalidate(id); // Drops the deleted airline from memory
+		if (removed > 0) {
+			// Indexes, search cache and seat counters drop the removed flights
+			events.publishEvent(new FlightsBulkChangedEvent("airline delete", removed));
+		}
+		log.info("Airline {} deleted with {} flights", id, removed);
+		return removed;
+	}
+
+	// Method to find the IDs of every airline with the given name, ignoring case and surrounding spaces
+	public List<Integer> findIdsByName(String name) {
+		String wanted = name.trim();
+		List<Integer> ids = new ArrayList<>();
+		for (Airline air : cachedAirlines()) {
+			if (air.getAirName() != null && air.getAirName().trim().equalsIgnoreCase(wanted)) {
+				ids.add(air.getAid());
+			}
+		}
+		return ids;
+	}
+
+	// Hit/miss counters of the airline list cache and the ID cache
+	public List<CacheStats> getCacheStats() {
+		List<Airline> cached = allAirlines;
+		return List.of(new CacheStats("airlineList", listHits.sum(), listMisses.sum(), listEvictions.sum(),
+				cached != null ? cached.size() : 0), byId.stats());
+	}
+
+	// Drops the cached list and one cached airline after a write
+	private void invalidate(int id) {
+		catalogVersion.bump(); // Airline names appear in the flight listing
+		listGeneration.incrementAndGet();
+		if (allAirlines != null) {
+			listEvictions.increment();
+		}
+		allAirlines = null;
+		byId.evict(id);
 	}
 
-	// Method to remove an airline record from the database by ID
-	public void deleteById(int id) {
-		repo.deleteById(id); // Deletes the record matching the provided ID
+	// Detached copy holding only the ID and the name
+	private static Airline copyOf(Airline air) {
+		return new Airline(air.getAid(), air.getAirName());
 	}
 }
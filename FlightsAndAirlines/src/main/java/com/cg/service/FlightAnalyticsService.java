@@ -0,0 +1,120 @@
+package com.cg.service; // Defines the package for business logic components
+
+import java.time.Duration; // Interval between snapshot refreshes
+import java.time.LocalDate; // Departure dates read from the table
+import java.util.concurrent.Executors; // Creates the refresh thread
+import java.util.concurrent.ScheduledExecutorService; // Runs the refresh periodically
+import java.util.concurrent.TimeUnit; // Units for the interval
+
+import org.slf4j.Logger; // Interface for logging system messages
+import org.slf4j.LoggerFactory; // Factory to create logger instances
+import org.springframework.beans.factory.DisposableBean; // Stops the refresh thread on shutdown
+import org.springframework.beans.factory.annotation.Autowired; // For automatic dependency injection
+import org.springframework.beans.factory.annotation.Value; // Reads settings from application.properties
+import org.springframework.boot.context.event.ApplicationReadyEvent; // Fired once the app has started
+import org.springframework.context.event.EventListener; // Subscribes a method to application events
+import org.springframework.jdbc.core.JdbcTemplate; // Streams the rows of the snapshot
+import org.springframework.stereotype.Service; // Marks this class as a Service component
+import org.springframework.transaction.PlatformTransactionManager; // Creates the read-only transaction
+import org.springframework.transaction.support.TransactionTemplate; // Runs the full scan as a read-only transaction
+
+import com.cg.analytics.FlightSnapshot; // Columnar copy of the flights table
+import com.cg.dto.AnalyticsQuery; // Import for the grouping and filter parameters
+import com.cg.dto.AnalyticsResult; // Import for the answer of a query
+
+// Revenue and load-factor analytics. Dashboards group by airline, route, class and day, which as
+// SQL would scan the whole flights table on every refresh of every dashboard. Instead the table is
+// read once per app.analytics.refresh-interval into a FlightSnapshot, and queries are answered
+// from that snapshot in memory; the figures are at most one interval old.
+//
+// The read runs in a read-only transaction, so it goes to a replica when replicas are configured,
+// and streams through a cursor with a bounded fetch size. The new snapshot replaces the old one
+// only when it is complete; queries keep using the old one meanwhile.
+@Service // Tells Spring this class manages the analytics snapshot
+public class FlightAnalyticsService implements DisposableBean {
+
+	@Autowired // Injects the JdbcTemplate whose data source the snapshot is read from
+	JdbcTemplate jdbc;
+
+	@Value("${app.analytics.fetch-size:1000}") // Rows the driver fetches per round trip
+	int fetchSize;
+
+	// Initializes the logger to record application events
+	private static final Logger log = LoggerFactory.getLogger(FlightAnalyticsService.class);
+
+	private static final String SNAPSHOT_SQL = "SELECT f.airline_id, a.air_name, f.source, f.destination, "
+			+ "f.class_name, f.departure_date, f.flight_price, f.tot_seat, f.avail_seat FROM flights f "
+			+ "LEFT JOIN airlines a ON a.aid = f.airline_id";
+
+	private final Duration interval; // Time between refreshes; zero refreshes only on startup and on demand
+	private final TransactionTemplate readOnly; // Read-only transaction around the full scan
+	private final ScheduledExecutorService refresher; // Single thread for the periodic refresh
+	private volatile FlightSnapshot snapshot = new FlightSnapshot.Builder(0).build(0); // Empty until the first read
+
+	// Creates the refresh thread with the configured interval
+	public FlightAnalyticsService(@Value("${app.analytics.refresh-interval:5m}") Duration interval,
+			PlatformTransactionManager transactionManager) {
+		this.interval = interval;
+		this.readOnly = new TransactionTemplate(transactionManager);
+		this.readOnly.setReadOnly(true);
+		this.refresher = Executors.newSingleThreadScheduledExecutor(r -> {
+			Thread t = new Thread(r, "analytics-refresh");
+			t.setDaemon(true);
+			return t;
+		});
+	}
+
+	// Groups the flights of the current snapshot; mapped to 400 by RestExceptionHandler for bad dimensions
+	public AnalyticsResult query(AnalyticsQuery query) {
+		return snapshot.aggregate(query);
+	}
+
+	// Reads the flights table into a new snapshot and switches queries over to it
+	public synchronized FlightSnapshot refresh() {
+		long start = System.currentTimeMillis();
+		FlightSnapshot.Builder builder = new FlightSnapshot.Builder(snapshot.size() + snapshot.size() / 8);
+		// A dedicated template so the fetch size applies to this query only; on MySQL it is honoured
+		// through a server-side cursor (useCursorFetch=true on the datasource URL)
+		JdbcTemplate cursor = new JdbcTemplate(jdbc.getDataSource());
+		cursor.setFetchSize(fetchSize);
+		readOnly.executeWithoutResult(status -> cursor.query(SNAPSHOT_SQL, rs -> {
+			builder.add(rs.getObject(1, Integer.class), rs.getString(2), rs.getString(3), rs.getString(4),
+					rs.getString(5), rs.getObject(6, LocalDate.class), rs.getDouble(7), rs.getInt(8), rs.getInt(9));
+		}));
+		FlightSnapshot fresh = builder.build(start);
+		snapshot = fresh;
+		log.info("Analytics snapshot of {} flights read in {} ms", fresh.size(), System.currentTimeMillis() - start);
+		return fresh;
+	}
+
+	// Flights in the current snapshot
+	public int getSnapshotFlights() {
+		return snapshot.size();
+	}
+
+	// Takes the first snapshot on startup, then refreshes it every interval
+	@EventListener(ApplicationReadyEvent.class)
+	public void start() {
+		long period = interval.toMillis();
+		if (period <= 0) {
+			refresher.execute(this::refreshQuietly);
+			return;
+		}
+		refresher.scheduleWithFixedDelay(this::refreshQuietly, 0, period, TimeUnit.MILLISECONDS);
+	}
+
+	// One periodic refresh; must never throw, or the scheduler would stop running it
+	private void refreshQuietly() {
+		try {
+			refresh();
+		} catch (RuntimeException ex) {
+			log.error("Analytics snapshot refresh failed, keeping the previous one", ex);
+		}
+	}
+
+	// Stops the refresh thread when the application shuts down
+	@Override
+	public void destroy() {
+		refresher.shutdownNow();
+	}
+}
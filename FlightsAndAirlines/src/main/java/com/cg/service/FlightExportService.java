@@ -0,0 +1,229 @@
+package com.cg.service; // Defines the package for flight-related business logic
+
+import java.io.BufferedWriter; // Buffers output so rows leave in large writes
+import java.io.IOException; // Thrown when the client stops reading
+import java.io.OutputStream; // Response body the export is written to
+import java.io.OutputStreamWriter; // Encodes the export as UTF-8
+import java.io.UncheckedIOException; // Carries write failures out of the row callback
+import java.io.Writer; // Character stream for CSV rows
+import java.nio.charset.StandardCharsets; // UTF-8 charset constant
+import java.sql.ResultSet; // Current row of the cursor
+import java.sql.SQLException; // Thrown by column reads
+import java.time.LocalDate; // Import for departure and arrival dates
+import java.time.LocalTime; // Import for departure and arrival times
+
+import org.slf4j.Logger; // Interface for logging system messages
+import org.slf4j.LoggerFactory; // Factory to create logger instances
+import org.springframework.beans.factory.annotation.Autowired; // For automatic dependency injection
+import org.springframework.beans.factory.annotation.Value; // Reads settings from application.properties
+import org.springframework.jdbc.core.JdbcTemplate; // Plain JDBC access with a row callback
+import org.springframework.stereotype.Service; // Marks this class as a Service component
+import org.springframework.transaction.annotation.Transactional; // Runs the export as a read-only transaction
+
+import tools.jackson.core.JsonGenerator; // Writes JSON tokens straight to the output
+import tools.jackson.databind.ObjectMapper; // Spring's configured JSON mapper
+
+// Streams the whole flights table, joined with the airline name (the shape of FlightDTO), as CSV
+// or NDJSON. Rows are read through a forward-only cursor with a bounded fetch size and written
+// as soon as they arrive, so heap use does not grow with the table and the client receives the
+// header before the query has finished. Nothing is collected into a list or loaded as an entity.
+@Service // Tells Spring this class manages business logic for exports
+public class FlightExportService {
+
+	@Autowired // Injects the JdbcTemplate the export queries are run through
+	JdbcTemplate jdbc;
+
+	@Autowired // Injects the JSON mapper used to create NDJSON generators
+	ObjectMapper mapper;
+
+	@Value("${app.export.fetch-size:1000}") // Rows the driver fetches per round trip
+	int fetchSize;
+
+	// Initializes the logger to record application events
+	private static final Logger log = LoggerFactory.getLogger(FlightExportService.class);
+
+	// Supported export formats
+	public enum Format {
+		CSV, NDJSON
+	}
+
+	// Column order of both formats; the names are accepted by FlightImportService
+	private static final String[] COLUMNS = { "flightId", "enterprise", "flightPrice", "source", "destination",
+			"departureDate", "departureTime", "arrivalDate", "arrivalTime", "duration", "totSeat", "availSeat",
+			"className", "airlineName" };
+
+	private static final String EXPORT_SQL = "SELECT f.flight_id, f.enterprise, f.flight_price, f.source, "
+			+ "f.destination, f.departure_date, f.departure_time, f.arrival_date, f.arrival_time, f.duration, "
+			+ "f.tot_seat, f.avail_seat, f.class_name, a.air_name FROM flights f "
+			+ "LEFT JOIN airlines a ON a.aid = f.airline_id ORDER BY f.flight_id";
+
+	// Writes every flight to 'out' and returns the number of rows written; 'out' is left open
+	@Transactional(readOnly = true) // The full scan runs on a replica when replicas are configured
+	public long export(Format format, OutputStream out) throws IOException {
+		long start = System.currentTimeMillis();
+		Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+		RowWriter rows = format == Format.NDJSON ? new NdjsonWriter(writer) : new CsvWriter(writer);
+		rows.flush(); // The CSV header reaches the client before the query starts
+
+		// A dedicated template so the fetch size applies to this query only; on MySQL it is honoured
+		// through a server-side cursor (useCursorFetch=true on the datasource URL)
+		JdbcTemplate cursor = new JdbcTemplate(jdbc.getDataSource());
+		cursor.setFetchSize(fetchSize);
+		long[] count = { 0 };
+		try {
+			cursor.query(EXPORT_SQL, rs -> {
+				try {
+					rows.write(rs);
+					if (++count[0] == 1) {
+						rows.flush(); // First row goes out while the cursor is still being read
+					}
+				} catch (IOException ex) {
+					throw new UncheckedIOException(ex); // Client went away; stops the query
+				}
+			});
+			if (count[0] > 0) {
+				rows.finish();
+			}
+			rows.flush();
+		} catch (UncheckedIOException ex) {
+			log.warn("Flight export aborted after {} rows: {}", count[0], ex.getCause().getMessage());
+			throw ex.getCause();
+		}
+		log.info("Exported {} flights as {} in {} ms", count[0], format, System.currentTimeMillis() - start);
+		return count[0];
+	}
+
+	// Serializes one row of the cursor
+	private interface RowWriter {
+		void write(ResultSet rs) throws SQLException, IOException;
+
+		// Pushes everything buffered so far to the client
+		void flush() throws IOException;
+
+		// Completes the document after the last row
+		default void finish() throws IOException {
+		}
+	}
+
+	// RFC 4180 CSV with a header row
+	private static final class CsvWriter implements RowWriter {
+		private final Writer out;
+
+		CsvWriter(Writer out) throws IOException {
+			this.out = out;
+			out.write(String.join(",", COLUMNS));
+			out.write("\r\n");
+		}
+
+		@Override
+		public void write(ResultSet rs) throws SQLException, IOException {
+			out.write(Integer.toString(rs.getInt(1)));
+			out.write(',');
+			text(rs.getString(2));
+			out.write(',');
+			out.write(Double.toString(rs.getDouble(3)));
+			out.write(',');
+			text(rs.getString(4));
+			out.write(',');
+			text(rs.getString(5));
+			out.write(',');
+			text(format(rs.getObject(6, LocalDate.class)));
+			out.write(',');
+			text(format(rs.getObject(7, LocalTime.class)));
+			out.write(',');
+			text(format(rs.getObject(8, LocalDate.class)));
+			out.write(',');
+			text(format(rs.getObject(9, LocalTime.class)));
+			out.write(',');
+			out.write(Integer.toString(rs.getInt(10)));
+			out.write(',');
+			out.write(Integer.toString(rs.getInt(11)));
+			out.write(',');
+			out.write(Integer.toString(rs.getInt(12)));
+			out.write(',');
+			text(rs.getString(13));
+			out.write(',');
+			text(rs.getString(14));
+			out.write("\r\n");
+		}
+
+		@Override
+		public void flush() throws IOException {
+			out.flush();
+		}
+
+		// Quotes a value only when it contains a separator, quote or line break
+		private void text(String value) throws IOException {
+			if (value == null) {
+				return; // Empty cell
+			}
+			boolean quote = false;
+			for (int i = 0; i < value.length() && !quote; i++) {
+				char ch = value.charAt(i);
+				quote = ch == ',' || ch == '"' || ch == '\n' || ch == '\r';
+			}
+			if (!quote) {
+				out.write(value);
+				return;
+			}
+			out.write('"');
+			out.write(value.replace("\"", "\"\""));
+			out.write('"');
+		}
+	}
+
+	// One JSON object per line, keyed like FlightDTO
+	private final class NdjsonWriter implements RowWriter {
+		private final Writer out;
+		private final JsonGenerator json;
+
+		NdjsonWriter(Writer out) {
+			this.out = out;
+			this.json = mapper.writer().withRootValueSeparator("\n").createGenerator(out);
+		}
+
+		@Override
+		public void write(ResultSet rs) throws SQLException {
+			json.writeStartObject();
+			json.writeNumberProperty(COLUMNS[0], rs.getInt(1));
+			string(COLUMNS[1], rs.getString(2));
+			json.writeNumberProperty(COLUMNS[2], rs.getDouble(3));
+			string(COLUMNS[3], rs.getString(4));
+			string(COLUMNS[4], rs.getString(5));
+			string(COLUMNS[5], format(rs.getObject(6, LocalDate.class)));
+			string(COLUMNS[6], format(rs.getObject(7, LocalTime.class)));
+			string(COLUMNS[7], format(rs.getObject(8, LocalDate.class)));
+			string(COLUMNS[8], format(rs.getObject(9, LocalTime.class)));
+			json.writeNumberProperty(COLUMNS[9], rs.getInt(10));
+			json.writeNumberProperty(COLUMNS[10], rs.getInt(11));
+			json.writeNumberProperty(COLUMNS[11], rs.getInt(12));
+			string(COLUMNS[12], rs.getString(13));
+			string(COLUMNS[13], rs.getString(14));
+			json.writeEndObject();
+		}
+
+		@Override
+		public void flush() throws IOException {
+			json.flush(); // Flushes the generator and the writer, leaving the response open
+		}
+
+		@Override
+		public void finish() throws IOException {
+			json.flush();
+			out.write('\n'); // Terminates the last line
+		}
+
+		private void string(String name, String value) {
+			if (value == null) {
+				json.writeNullProperty(name);
+			} else {
+				json.writeStringProperty(name, value);
+			}
+		}
+	}
+
+	// ISO date or time, or null
+	private static String format(Object value) {
+		return value == null ? null : value.toString();
+	}
+}
@@ -0,0 +1,445 @@
+package com.cg.service; // Defines the package for flight-related business logic
+
+import java.io.BufferedReader; // Reads the CSV feed one line at a time
+import java.io.IOException; // Thrown when the upload cannot be read
+import java.io.Reader; // Character stream of the uploaded feed
+import java.sql.PreparedStatement; // Statement the batch rows are bound to
+import java.sql.SQLException; // Thrown by JDBC parameter binding
+import java.sql.Types; // SQL types for NULL parameters
+import java.time.LocalDate; // Import for departure and arrival dates
+import java.time.LocalTime; // Import for departure and arrival times
+import java.time.format.DateTimeFormatter; // Parses 12-hour times such as "10:30 AM"
+import java.time.format.DateTimeFormatterBuilder; // Builds the case-insensitive 12-hour parser
+import java.time.format.DateTimeParseException; // Thrown for malformed dates and times
+import java.util.ArrayList; // Resizable list holding the current batch
+import java.util.HashMap; // Airline name lookup table
+import java.util.List; // Interface for ordered collections
+import java.util.Locale; // Locale-neutral case folding
+import java.util.Map; // Interface for key-value lookups
+import java.util.function.Consumer; // Receives progress after every batch
+
+import org.slf4j.Logger; // Interface for logging system messages
+import org.slf4j.LoggerFactory; // Factory to create logger instances
+import org.springframework.beans.factory.annotation.Autowired; // For automatic dependency injection
+import org.springframework.beans.factory.annotation.Value; // Reads settings from application.properties
+import org.springframework.context.ApplicationEventPublisher; // Announces the bulk write to indexes and caches
+import org.springframework.dao.DataAccessException; // Raised when a batch is rejected by the database
+import org.springframework.jdbc.core.BatchPreparedStatementSetter; // Binds one batch without boxing every value
+import org.springframework.jdbc.core.JdbcTemplate; // Plain JDBC access for batched inserts
+import org.springframework.stereotype.Service; // Marks this class as a Service component
+import org.springframework.transaction.support.TransactionTemplate; // One transaction per batch
+
+import com.cg.dto.ImportReport; // Import for the running totals and row errors
+import com.cg.entity.Airline; // Import for Airline entity
+import com.cg.entity.AirlineClass; // Import for AirlineClass enum
+import com.cg.entity.Flight; // Import for Flight entity
+import com.cg.event.FlightsBulkChangedEvent; // Event that reloads indexes after the import
+
+import tools.jackson.core.JacksonException; // Thrown for malformed JSON
+import tools.jackson.databind.JsonNode; // One parsed JSON record
+import tools.jackson.databind.MappingIterator; // Reads JSON records one at a time
+import tools.jackson.databind.ObjectMapper; // Spring's configured JSON mapper
+
+// Streams a CSV or JSON flight feed into the flights table in fixed-size batches.
+// Flight uses GenerationType.IDENTITY, which makes Hibernate insert rows one by one, so this path
+// bypasses JPA and sends each batch as a single JDBC batch (rewritten into multi-row INSERTs by
+// MySQL's rewriteBatchedStatements). Only one batch is held in memory, whatever the feed size.
+@Service // Tells Spring this class manages business logic for imports
+public class FlightImportService {
+
+	@Autowired // Injects the JdbcTemplate used for batched inserts
+	JdbcTemplate jdbc;
+
+	@Autowired // Injects the template that wraps each batch in its own transaction
+	TransactionTemplate transactions;
+
+	@Autowired // Injects the airline service whose cached list resolves airline names
+	AirlineService airlineService;
+
+	@Autowired // Injects the JSON mapper used for JSON feeds
+	ObjectMapper mapper;
+
+	@Autowired // Injects Spring's event publisher to announce the bulk write
+	ApplicationEventPublisher events;
+
+	@Value("${app.import.batch-size:1000}") // Rows per JDBC batch
+	int batchSize;
+
+	// Initializes the logger to record application events
+	private static final Logger log = LoggerFactory.getLogger(FlightImportService.class);
+
+	// Supported feed formats
+	public enum Format {
+		CSV, JSON
+	}
+
+	// Columns a feed may provide, matched case-insensitively and ignoring '_' and spaces
+	private enum Column {
+		ENTERPRISE, FLIGHTPRICE, SOURCE, DESTINATION, DEPARTUREDATE, DEPARTURETIME, ARRIVALDATE, ARRIVALTIME,
+		DURATION, TOTSEAT, AVAILSEAT, CLASSNAME, AIRLINE;
+
+		// Returns the column a header names, or null for unknown headers
+		static Column of(String header) {
+			String key = header.replaceAll("[\\s_\\-]", "").toUpperCase(Locale.ROOT);
+			switch (key) {
+			case "PRICE":
+				return FLIGHTPRICE;
+			case "CLASS":
+				return CLASSNAME;
+			case "AIRNAME":
+			case "AIRLINENAME":
+				return AIRLINE;
+			default:
+				for (Column c : values()) {
+					if (c.name().equals(key)) {
+						return c;
+					}
+				}
+				return null;
+			}
+		}
+	}
+
+	private static final int COLUMN_COUNT = Column.values().length; // Width of a parsed row
+
+	private static final String INSERT_SQL = "INSERT INTO flights (enterprise, flight_price, source, destination, "
+			+ "departure_date, departure_time, arrival_date, arrival_time, duration, tot_seat, avail_seat, class_name, "
+			+ "airline_id, version) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+
+	// Accepts "10:30 AM" as written by the Flight entity's JSON format
+	private static final DateTimeFormatter TWELVE_HOUR = new DateTimeFormatterBuilder().parseCaseInsensitive()
+			.appendPattern("h:mm a").toFormatter(Locale.ENGLISH);
+
+	private static final int AMBIGUOUS = -1; // Marker for airline names shared by several airlines
+
+	// Reads the whole feed, reporting progress after every batch, and returns the final totals
+	public ImportReport importFlights(Reader in, Format format, Consumer<ImportReport> progress) throws IOException {
+		long start = System.currentTimeMillis();
+		Batch batch = new Batch(airlineIndex(), new ImportReport(), progress, start);
+		ImportReport report = batch.report;
+		try {
+			if (format == Format.JSON) {
+				readJson(in, batch);
+			} else {
+				readCsv(in, batch);
+			}
+			batch.flush();
+		} finally {
+			report.setElapsedMillis(System.currentTimeMillis() - start);
+			log.info("Flight import finished: {}", report);
+			if (report.getImported() > 0) {
+				// Indexes, caches and seat counters never saw these rows, so they reload from the table;
+				// batches committed before a failed read count too
+				events.publishEvent(new FlightsBulkChangedEvent("import", (int) report.getImported()));
+			}
+		}
+		return report;
+	}
+
+	// CSV with a header row; quoted fields may contain commas and doubled quotes but not line breaks
+	private void readCsv(Reader in, Batch batch) throws IOException {
+		BufferedReader lines = in instanceof BufferedReader ? (BufferedReader) in : new BufferedReader(in);
+		String header = lines.readLine();
+		if (header == null) {
+			return; // Empty feed
+		}
+		if (header.startsWith("\uFEFF")) {
+			header = header.substring(1); // Byte order mark written by spreadsheet exports
+		}
+		List<String> names = splitCsv(header);
+		Column[] columns = new Column[names.size()];
+		for (int i = 0; i < columns.length; i++) {
+			columns[i] = Column.of(names.get(i));
+		}
+
+		long lineNo = 1;
+		String line;
+		while ((line = lines.readLine()) != null) {
+			lineNo++;
+			if (line.isBlank()) {
+				continue;
+			}
+			batch.report.rowRead();
+			String[] values = new String[COLUMN_COUNT];
+			List<String> cells = splitCsv(line);
+			for (int i = 0; i < cells.size() && i < columns.length; i++) {
+				if (columns[i] != null) {
+					values[columns[i].ordinal()] = cells.get(i);
+				}
+			}
+			batch.add(lineNo, values);
+		}
+	}
+
+	// A JSON array of flight objects, or one object per line (NDJSON)
+	private void readJson(Reader in, Batch batch) {
+		long record = 0;
+		try (MappingIterator<JsonNode> it = mapper.readerFor(JsonNode.class).readValues(in)) {
+			while (it.hasNextValue()) {
+				JsonNode node = it.nextValue();
+				record++;
+				batch.report.rowRead();
+				if (!node.isObject()) {
+					batch.report.rowFailed(record, "expected a JSON object");
+					continue;
+				}
+				String[] values = new String[COLUMN_COUNT];
+				for (Map.Entry<String, JsonNode> field : node.properties()) {
+					Column c = Column.of(field.getKey());
+					if (c != null && !field.getValue().isNull()) {
+						values[c.ordinal()] = field.getValue().asString();
+					}
+				}
+				batch.add(record, values);
+			}
+		} catch (JacksonException ex) {
+			// The parser cannot resynchronise after broken JSON, so the rest of the feed is skipped
+			batch.report.rowFailed(record + 1, "malformed JSON, import stopped: " + ex.getOriginalMessage());
+		}
+	}
+
+	// Lower-cased airline name -> airline ID, built once per import from the cached airline list
+	private Map<String, Integer> airlineIndex() {
+		Map<String, Integer> byName = new HashMap<>();
+		for (Airline air : airlineService.getAllAirlines()) {
+			if (air.getAirName() != null) {
+				byName.merge(air.getAirName().trim().toLowerCase(Locale.ROOT), air.getAid(), (a, b) -> AMBIGUOUS);
+			}
+		}
+		return byName;
+	}
+
+	// Splits one CSV line, honouring double quotes
+	static List<String> splitCsv(String line) {
+		List<String> cells = new ArrayList<>();
+		StringBuilder cell = new StringBuilder();
+		boolean quoted = false;
+		for (int i = 0; i < line.length(); i++) {
+			char ch = line.charAt(i);
+			if (quoted) {
+				if (ch == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+					cell.append('"');
+					i++;
+				} else if (ch == '"') {
+					quoted = false;
+				} else {
+					cell.append(ch);
+				}
+			} else if (ch == '"') {
+				quoted = true;
+			} else if (ch == ',') {
+				cells.add(cell.toString().trim());
+				cell.setLength(0);
+			} else {
+				cell.append(ch);
+			}
+		}
+		cells.add(cell.toString().trim());
+		return cells;
+	}
+
+	// The rows waiting to be written plus the running totals
+	private final class Batch {
+		final Map<String, Integer> airlines;
+		final ImportReport report;
+		final Consumer<ImportReport> progress;
+		final long start;
+		final List<Flight> rows = new ArrayList<>(batchSize);
+		final List<Long> lineNos = new ArrayList<>(batchSize);
+
+		Batch(Map<String, Integer> airlines, ImportReport report, Consumer<ImportReport> progress, long start) {
+			this.airlines = airlines;
+			this.report = report;
+			this.progress = progress;
+			this.start = start;
+		}
+
+		// Validates one row and queues it, flushing when the batch is full
+		void add(long lineNo, String[] values) {
+			Flight flight;
+			try {
+				flight = toFlight(values);
+			} catch (IllegalArgumentException ex) {
+				report.rowFailed(lineNo, ex.getMessage());
+				return;
+			}
+			rows.add(flight);
+			lineNos.add(lineNo);
+			if (rows.size() >= batchSize) {
+				flush();
+			}
+		}
+
+		// Writes the queued rows as one JDBC batch in one transaction
+		void flush() {
+			if (rows.isEmpty()) {
+				return;
+			}
+			try {
+				transactions.executeWithoutResult(status -> jdbc.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+					@Override
+					public void setValues(PreparedStatement ps, int i) throws SQLException {
+						bind(ps, rows.get(i));
+					}
+
+					@Override
+					public int getBatchSize() {
+						return rows.size();
+					}
+				}));
+				report.imported(rows.size());
+			} catch (DataAccessException ex) {
+				// The batch rolled back; retrying row by row pins the error on the rows that caused it
+				log.warn("Import batch of {} rows failed, retrying row by row: {}", rows.size(), ex.getMessage());
+				for (int i = 0; i < rows.size(); i++) {
+					Flight row = rows.get(i);
+					try {
+						jdbc.update(INSERT_SQL, ps -> bind(ps, row));
+						report.imported(1);
+					} catch (DataAccessException rowEx) {
+						report.rowFailed(lineNos.get(i), rowEx.getMostSpecificCause().getMessage());
+					}
+				}
+			}
+			report.batchWritten();
+			rows.clear();
+			lineNos.clear();
+			report.setElapsedMillis(System.currentTimeMillis() - start);
+			if (report.getBatches() % 10 == 0) {
+				log.info("Flight import progress: {}", report);
+			}
+			if (progress != null) {
+				progress.accept(report);
+			}
+		}
+
+		// Parses and validates one row; the message of the exception becomes the row error
+		private Flight toFlight(String[] v) {
+			Flight f = new Flight();
+			f.setSource(required(v, Column.SOURCE));
+			f.setDestination(required(v, Column.DESTINATION));
+			f.setEnterprise(v[Column.ENTERPRISE.ordinal()]);
+			f.setFlightPrice(number(v, Column.FLIGHTPRICE));
+			if (f.getFlightPrice() < 0) {
+				throw new IllegalArgumentException("flightPrice must not be negative");
+			}
+			f.setDepartureDate(date(v, Column.DEPARTUREDATE));
+			f.setDepartureTime(time(v, Column.DEPARTURETIME));
+			f.setArrivalDate(date(v, Column.ARRIVALDATE));
+			f.setArrivalTime(time(v, Column.ARRIVALTIME));
+			f.setDuration((int) number(v, Column.DURATION));
+			f.setTotSeat((int) number(v, Column.TOTSEAT));
+			f.setAvailSeat(isBlank(v[Column.AVAILSEAT.ordinal()]) ? f.getTotSeat() : (int) number(v, Column.AVAILSEAT));
+			if (f.getTotSeat() < 0 || f.getAvailSeat() < 0 || f.getAvailSeat() > f.getTotSeat()) {
+				throw new IllegalArgumentException("seat counts must satisfy 0 <= availSeat <= totSeat");
+			}
+			String cls = v[Column.CLASSNAME.ordinal()];
+			if (!isBlank(cls)) {
+				f.setClassName(airlineClass(cls));
+			}
+
+			String airName = required(v, Column.AIRLINE);
+			Integer airlineId = airlines.get(airName.trim().toLowerCase(Locale.ROOT));
+			if (airlineId == null) {
+				throw new IllegalArgumentException("unknown airline '" + airName + "'");
+			}
+			if (airlineId == AMBIGUOUS) {
+				throw new IllegalArgumentException("airline name '" + airName + "' matches several airlines");
+			}
+			Airline airline = new Airline();
+			airline.setAid(airlineId);
+			f.setAirline(airline);
+			return f;
+		}
+	}
+
+	// Binds one flight to the INSERT statement
+	private static void bind(PreparedStatement ps, Flight f) throws SQLException {
+		ps.setString(1, f.getEnterprise());
+		ps.setDouble(2, f.getFlightPrice());
+		ps.setString(3, f.getSource());
+		ps.setString(4, f.getDestination());
+		setNullable(ps, 5, f.getDepartureDate(), Types.DATE);
+		setNullable(ps, 6, f.getDepartureTime(), Types.TIME);
+		setNullable(ps, 7, f.getArrivalDate(), Types.DATE);
+		setNullable(ps, 8, f.getArrivalTime(), Types.TIME);
+		ps.setInt(9, f.getDuration());
+		ps.setInt(10, f.getTotSeat());
+		ps.setInt(11, f.getAvailSeat());
+		setNullable(ps, 12, f.getClassName() != null ? f.getClassName().name() : null, Types.VARCHAR);
+		ps.setInt(13, f.getAirline().getAid());
+	}
+
+	private static void setNullable(PreparedStatement ps, int index, Object value, int sqlType) throws SQLException {
+		if (value == null) {
+			ps.setNull(index, sqlType);
+		} else {
+			ps.setObject(index, value);
+		}
+	}
+
+	private static String required(String[] v, Column c) {
+		String value = v[c.ordinal()];
+		if (isBlank(value)) {
+			throw new IllegalArgumentException(c.name().toLowerCase(Locale.ROOT) + " is required");
+		}
+		return value.trim();
+	}
+
+	// Parses a numeric column; blank means 0
+	private static double number(String[] v, Column c) {
+		String value = v[c.ordinal()];
+		if (isBlank(value)) {
+			return 0;
+		}
+		try {
+			return Double.parseDouble(value.trim());
+		} catch (NumberFormatException ex) {
+			throw new IllegalArgumentException(c.name().toLowerCase(Locale.ROOT) + " is not a number: '" + value + "'");
+		}
+	}
+
+	// Parses an ISO date (2026-01-24); blank means no date
+	private static LocalDate date(String[] v, Column c) {
+		String value = v[c.ordinal()];
+		if (isBlank(value)) {
+			return null;
+		}
+		try {
+			return LocalDate.parse(value.trim());
+		} catch (DateTimeParseException ex) {
+			throw new IllegalArgumentException(c.name().toLowerCase(Locale.ROOT) + " is not a yyyy-MM-dd date: '" + value + "'");
+		}
+	}
+
+	// Parses "14:30", "14:30:00" or "2:30 PM"; blank means no time
+	private static LocalTime time(String[] v, Column c) {
+		String value = v[c.ordinal()];
+		if (isBlank(value)) {
+			return null;
+		}
+		String trimmed = value.trim();
+		try {
+			return trimmed.length() > 5 && Character.isLetter(trimmed.charAt(trimmed.length() - 1))
+					? LocalTime.parse(trimmed, TWELVE_HOUR)
+					: LocalTime.parse(trimmed);
+		} catch (DateTimeParseException ex) {
+			throw new IllegalArgumentException(c.name().toLowerCase(Locale.ROOT) + " is not a time: '" + value + "'");
+		}
+	}
+
+	// Accepts the enum name (PREMIUM_ECONOMY) or the display name (Premium Economy)
+	private static AirlineClass airlineClass(String value) {
+		String trimmed = value.trim();
+		for (AirlineClass c : AirlineClass.values()) {
+			if (c.name().equalsIgnoreCase(trimmed) || c.getClassName().equalsIgnoreCase(trimmed)) {
+				return c;
+			}
+		}
+		throw new IllegalArgumentException("unknown className '" + value + "'");
+	}
+
+	private static boolean isBlank(String value) {
+		return value == null || value.isBlank();
+	}
+}
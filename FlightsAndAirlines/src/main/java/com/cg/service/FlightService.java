@@ -1,5 +1,7 @@
 package com.cg.service; // Defines the package for flight-related business logic
 
+import java.time.LocalDate; // Import for the travel date of connection searches
+import java.util.ArrayList; // Resizable list used to load search hits in chunks
 import java.util.Comparator; // Import for defining sorting logic
 import java.util.List; // Import for handling collections of flights
 import java.util.Optional; // Import for null-safe object handling
@@ -7,25 +9,82 @@ import java.util.Optional; // Import for null-safe object handling
 import org.slf4j.Logger; // Interface for logging system messages
 import org.slf4j.LoggerFactory; // Factory to create logger instances
 import org.springframework.beans.factory.annotation.Autowired; // For automatic dependency injection
-import org.springframework.http.ResponseEntity; // Wrapper for HTTP responses
+import org.springframework.context.ApplicationEventPublisher; // Publishes flight change events
+import org.springframework.data.domain.Limit; // Caps the number of rows a query returns
 import org.springframework.stereotype.Service; // Marks this class as a Service component
+import org.springframework.transaction.annotation.Transactional; // Marks read-only service calls
 
+import com.cg.cache.FlightSearchCache; // Result cache for repeated searches
+import com.cg.cache.FlightSearchKey; // Normalized search criteria
+import com.cg.dto.FareCalendarDTO; // Import for the cheapest-fare calendar
 import com.cg.dto.FlightDTO; // Import for Data Transfer Object
+import com.cg.dto.FlightPage; // Import for one page of the sorted listing
+import com.cg.dto.FlightPatch; // Import for the columns a partial update changes
+import com.cg.dto.FlightRangeQuery; // Import for price and departure range criteria
+import com.cg.dto.ItineraryDTO; // Import for multi-leg trips
+import com.cg.dto.PlaceDTO; // Import for typeahead suggestions
 import com.cg.entity.Airline; // Import for Airline entity
 import com.cg.entity.AirlineClass; // Import for AirlineClass enum
 import com.cg.entity.Flight; // Import for Flight entity
+import com.cg.event.FlightChangedEvent; // Event that keeps in-memory indexes in sync
+import com.cg.event.SeatsChangedEvent; // Event announcing a new seat count
 import com.cg.exception.ResourceNotFound; // Custom exception for missing flights
+import com.cg.exception.StaleFlightUpdate; // Custom exception for edits of an outdated flight
+import com.cg.index.FareCalendar; // Incremental cheapest-fare aggregate
+import com.cg.index.FlightSearchIndex; // In-memory postings index for searches
+import com.cg.index.PlaceIndex; // In-memory prefix index of cities
+import com.cg.index.RouteGraph; // In-memory flight graph for connections
 import com.cg.repository.FlightRepository; // Interface for database operations
 
 @Service // Tells Spring this class manages business logic for flights
 public class FlightService implements IFlightService{
 	@Autowired // Injects the FlightRepository implementation
 	FlightRepository repo;
+
+	@Autowired // Injects the per-flight seat counters used for bookings
+	SeatInventory seatInventory;
+
+	@Autowired // Injects the in-memory search index
+	FlightSearchIndex searchIndex;
+
+	@Autowired // Injects the flight graph used to plan multi-leg trips
+	RouteGraph routeGraph;
+
+	@Autowired // Injects the cheapest-fare-per-day aggregate
+	FareCalendar fareCalendar;
+
+	@Autowired // Injects the city index behind the search form's typeahead
+	PlaceIndex placeIndex;
+
+	@Autowired // Injects the cache of recent search results
+	FlightSearchCache searchCache;
+
+	@Autowired // Injects the airline service used to resolve airline names for searches
+	AirlineService airlineService;
+
+	@Autowired // Injects Spring's event publisher to announce flight changes
+	ApplicationEventPublisher events;
+
+	// Number of IDs loaded per findAllById call, keeping the IN list small
+	private static final int LOAD_CHUNK = 1000;
+
+	// Largest page the listing will return, whatever the client asks for
+	public static final int MAX_PAGE_SIZE = 200;
+
+	// Upper bounds for connection searches
+	public static final int MAX_ITINERARIES = 20;
+	public static final int MAX_CONNECTIONS = 3;
+
+	// Longest fare calendar a single request can ask for
+	public static final int MAX_CALENDAR_DAYS = 366;
 	
 	// Initializes the logger to record application events
 	private static final Logger log = LoggerFactory.getLogger(FlightService.class);
 	
-	// Retrieves all flights and sorts them by price in ascending order using Java Streams
+	// Retrieves all flights and sorts them by price in ascending order using Java Streams; kept as
+	// the baseline of the listing benchmark, callers page with getFlightPage instead
+	@Deprecated
+	@Transactional(readOnly = true) // Served by a replica when replicas are configured
 	public List<Flight> getAllFlights(){
 		log.info("Getting the all flightss....."); // Logs the start of the retrieval process
 		return repo.findAll().stream() // Converts list to stream
@@ -33,29 +92,88 @@ public class FlightService implements IFlightService{
 				.toList(); // Converts stream back to a list
 	}
 
+	// Reads one page of flights sorted by price in the database, starting after the given cursor
+	@Override
+	@Transactional(readOnly = true) // Served by a replica when replicas are configured
+	public FlightPage getFlightPage(Double afterPrice, Integer afterId, int size) {
+		int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE)); // Keeps memory per request bounded
+		Limit limit = Limit.of(pageSize + 1); // One extra row tells us whether a next page exists
+		List<FlightDTO> rows = (afterPrice == null || afterId == null)
+				? repo.findFirstPage(limit)
+				: repo.findPageAfter(afterPrice, afterId, limit);
+		boolean hasNext = rows.size() > pageSize;
+		return new FlightPage(hasNext ? rows.subList(0, pageSize) : rows, pageSize, hasNext);
+	}
+
+	// Reads one page of flights matching the range query, in price order straight from a composite index
+	@Override
+	@Transactional(readOnly = true) // Served by a replica when replicas are configured
+	public FlightPage getFlightsInRange(FlightRangeQuery query, Double afterPrice, Integer afterId, int size) {
+		int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+		List<FlightDTO> rows = repo.findInRange(query, afterPrice, afterId, pageSize + 1); // One extra row for hasNext
+		boolean hasNext = rows.size() > pageSize;
+		return new FlightPage(hasNext ? rows.subList(0, pageSize) : rows, pageSize, hasNext);
+	}
+
 	// Associates a flight with an airline and saves it to the database
 	public Flight saveFlight(Flight flight, Airline airline) {
 		log.info("Saving the New Flight"); // Logs the save operation
 		flight.setAirline(airline); // Sets the relationship between flight and airline
-		return repo.save(flight); // Persists flight to database
+		Flight saved = repo.save(flight); // Persists flight to database
+		events.publishEvent(FlightChangedEvent.saved(saved)); // Lets indexes pick up the new flight
+		return saved;
 	}
 	
 	// Finds a flight by ID; throws a custom exception if not found using a lambda expression
 	public Flight findIdByFlight(int id) throws ResourceNotFound{
-		log.info("Searching for the flight with ID{} "+id); // Logs the search attempt
+		log.debug("Searching for the flight with ID {}", id); // Parameterized, so nothing is built unless debug is on
 		 return repo.findById(id).orElseThrow(()-> new ResourceNotFound("Flight not find by id :"+id));
 	}
 
+	// Reads a flight as a DTO in one joined query, without loading the entity or its airline
+	@Override
+	@Transactional(readOnly = true) // Served by a replica when replicas are configured
+	public FlightDTO findDtoById(int id) throws ResourceNotFound {
+		return repo.findDtoById(id).orElseThrow(() -> new ResourceNotFound("Flight not find by id :" + id));
+	}
+
 	@Override // Overrides the delete method from the interface
 	public void deleteById(int id) {
 		log.info("Admin Warning : Flight was Deleting...."); // Logs the deletion warning
 		 repo.deleteById(id); // Removes the flight record by ID
+		 events.publishEvent(FlightChangedEvent.deleted(id)); // Lets indexes drop the flight
 	}
 	
 	@Override // Overrides the search method from the interface
-	public List<Flight> searchFlight(String source, String dest, String airline, AirlineClass className) {
-		// Calls the custom query method defined in the repository
-		return repo.searchFlights(source, dest, airline, className);
+	public List<FlightDTO> searchFlight(String source, String dest, String airline, AirlineClass className) {
+		// Repeated criteria are answered from the result cache; only misses query the primary
+		return searchCache.get(new FlightSearchKey(source, dest, airline, className),
+				() -> searchUncached(source, dest, airline, className));
+	}
+
+	// Runs a search against the index (or the database while the index is loading)
+	private List<FlightDTO> searchUncached(String source, String dest, String airline, AirlineClass className) {
+		if (!searchIndex.isReady()) {
+			// Index still loading at startup: fall back to the custom query method in the repository
+			return repo.searchFlights(source, dest, airline, className);
+		}
+		List<Integer> airlineIds = null; // Null means the airline filter is not used
+		if (airline != null && !airline.isBlank()) {
+			airlineIds = airlineService.findIdsByName(airline);
+			if (airlineIds.isEmpty()) {
+				return List.of(); // Unknown airline name
+			}
+		}
+		int[] ids = searchIndex.search(source, dest, airlineIds, className); // Intersects postings lists
+		List<FlightDTO> flights = new ArrayList<>(ids.length);
+		for (int from = 0; from < ids.length; from += LOAD_CHUNK) {
+			List<Integer> chunk = new ArrayList<>(LOAD_CHUNK);
+			for (int i = from; i < Math.min(from + LOAD_CHUNK, ids.length); i++) {
+				chunk.add(ids[i]);
+			}
+			flights.addAll(repo.findDtosByIds(chunk)); // Primary-key lookups joined with the airline name
+		}
+		return flights;
 	}
 	
 	// Maps Flight entity data to a FlightDTO for transferring to the UI/API
@@ -75,28 +193,81 @@ public class FlightService implements IFlightService{
 				flight.getTotSeat(),
 				flight.getAvailSeat(),
 				flight.getClassName(),
-				flight.getAirline().getAirName() // Flattens airline name into the DTO
+				flight.getAirline().getAid(), // Sent back by the update form
+				flight.getAirline().getAirName(), // Flattens airline name into the DTO
+				flight.getVersion() // Lets an edit of this DTO detect concurrent changes
 				 );
 	}
 
-	@Override // Overrides the update method to modify existing flight details
-	public ResponseEntity<Flight> updateFlight(Flight existFlight, FlightDTO flightdto, Airline air) {
-                // Updates fields of the existing entity with values from the DTO
-                existFlight.setEnterprise(flightdto.getEnterprise());
-                existFlight.setSource(flightdto.getSource());
-                existFlight.setDepartureDate(flightdto.getDepartureDate());
-                existFlight.setDepartureTime(flightdto.getDepartureTime());
-                existFlight.setDestination(flightdto.getDestination());
-                existFlight.setArrivalDate(flightdto.getArrivalDate());
-                existFlight.setArrivalTime(flightdto.getArrivalTime());
-                existFlight.setAvailSeat(flightdto.getAvailSeat());
-                existFlight.setTotSeat(flightdto.getTotSeat());
-                existFlight.setDuration(flightdto.getDuration());
-                existFlight.setFlightPrice(flightdto.getFlightPrice());
-                existFlight.setClassName(flightdto.getClassName());
-                existFlight.setAirline(air); // Updates the associated airline
-                
-             // Saves updated entity and returns it with an HTTP 200 OK status
-             return ResponseEntity.ok(repo.save(existFlight));
-	}
-}
+	@Override // Overrides the partial update method from the interface
+	public Flight patchFlight(int id, int expectedVersion, FlightPatch patch)
+			throws ResourceNotFound, StaleFlightUpdate {
+		// Callers without the values the edit was based on pay one read for them
+		return patchFlight(id, expectedVersion, findDtoById(id), patch);
+	}
+
+	@Override // Overrides the partial update method from the interface
+	public Flight patchFlight(int id, int expectedVersion, FlightDTO loaded, FlightPatch patch)
+			throws ResourceNotFound, StaleFlightUpdate {
+		if (patch.isEmpty()) {
+			return toFlight(id, expectedVersion, loaded, patch); // Nothing to write or announce
+		}
+		// One UPDATE ... WHERE flightId = ? AND version = ?; nothing is loaded before or after
+		if (repo.patch(id, expectedVersion, patch) == 0) {
+			if (!repo.existsById(id)) {
+				throw new ResourceNotFound("Flight not find by id :" + id);
+			}
+			throw new StaleFlightUpdate("Flight " + id + " was changed by someone else; reload it and try again");
+		}
+		// The version matched, so the row is 'loaded' with the patch applied and the version bumped
+		Flight saved = toFlight(id, expectedVersion + 1, loaded, patch);
+		events.publishEvent(FlightChangedEvent.updated(saved)); // Lets indexes re-file the flight
+		return saved;
+	}
+
+	// The flight 'loaded' turns into with the patch applied. Bookings move the seat count without a
+	// version bump, so unless the patch sets it, it comes from the seat counter when one is held
+	private Flight toFlight(int id, int version, FlightDTO loaded, FlightPatch patch) {
+		int seats = seatInventory.available(id);
+		int airlineId = patch.getAirlineId() != null ? patch.getAirlineId() : loaded.getAirlineId();
+		Airline airline = patch.getAirlineId() == null
+				? (airlineId != 0 ? new Airline(airlineId, loaded.getAirlineName()) : null)
+				: airlineService.findById(airlineId).orElseGet(() -> new Airline(airlineId, null)); // From memory
+		Flight flight = new Flight(id, or(patch.getEnterprise(), loaded.getEnterprise()),
+				or(patch.getFlightPrice(), loaded.getFlightPrice()), or(patch.getSource(), loaded.getSource()),
+				or(patch.getDestination(), loaded.getDestination()),
+				or(patch.getDepartureDate(), loaded.getDepartureDate()),
+				or(patch.getDepartureTime(), loaded.getDepartureTime()),
+				or(patch.getArrivalDate(), loaded.getArrivalDate()),
+				or(patch.getArrivalTime(), loaded.getArrivalTime()), or(patch.getDuration(), loaded.getDuration()),
+				or(patch.getTotSeat(), loaded.getTotSeat()),
+				or(patch.getAvailSeat(), seats != SeatsChangedEvent.UNKNOWN ? seats : loaded.getAvailSeat()),
+				or(patch.getClassName(), loaded.getClassName()), airline);
+		flight.setVersion(version);
+		return flight;
+	}
+
+	// The patched value when the patch sets one, otherwise the loaded one
+	private static <T> T or(T patched, T loaded) {
+		return patched != null ? patched : loaded;
+	}
+
+	@Override // Overrides the connection finder from the interface
+	public List<ItineraryDTO> findConnections(String source, String dest, LocalDate date, int k,
+			int maxConnections, int minLayoverMinutes, RouteGraph.SortBy sortBy) {
+		// Clamps the inputs so a single request cannot explode the search
+		return routeGraph.findItineraries(source, dest, date, Math.min(Math.max(k, 1), MAX_ITINERARIES),
+				Math.min(Math.max(maxConnections, 0), MAX_CONNECTIONS), Math.max(minLayoverMinutes, 0), sortBy);
+	}
+
+	@Override // Overrides the fare calendar lookup from the interface
+	public FareCalendarDTO getFareCalendar(String source, String dest, LocalDate from, int days) {
+		// Served from the in-memory aggregate: one array read per day and class
+		return fareCalendar.calendar(source, dest, from, Math.min(Math.max(days, 1), MAX_CALENDAR_DAYS));
+	}
+
+	@Override // Overrides the typeahead lookup from the interface
+	public List<PlaceDTO> suggestPlaces(String prefix, int limit) {
+		return placeIndex.suggest(prefix, limit); // Binary search plus a walk of the count tree
+	}
+}
\ No newline at end of file
@@ -1,19 +1,28 @@
 package com.cg.service; // Defines the package for service layer interfaces
 
+import java.time.LocalDate; // Import for the travel date of connection searches
 import java.util.List; // Imports List for handling collections of flight records
 
-import org.springframework.http.ResponseEntity; // Wrapper to return HTTP status codes and flight data
-
-import com.cg.dto.FlightDTO; // Import for the Data Transfer Object used in updates
+import com.cg.dto.FareCalendarDTO; // Import for the cheapest-fare calendar
+import com.cg.dto.FlightDTO; // Import for the Data Transfer Object used in reads
+import com.cg.dto.FlightPage; // Import for one page of the sorted flight listing
+import com.cg.dto.FlightPatch; // Import for the columns a partial update changes
+import com.cg.dto.FlightRangeQuery; // Import for price and departure range criteria
+import com.cg.dto.ItineraryDTO; // Import for multi-leg trips
+import com.cg.dto.PlaceDTO; // Import for typeahead suggestions
 import com.cg.entity.Airline; // Import for the Airline entity association
 import com.cg.entity.AirlineClass; // Import for the enum used in flight searching
 import com.cg.entity.Flight; // Import for the core Flight entity
 import com.cg.exception.ResourceNotFound; // Custom exception for handling missing records
+import com.cg.exception.StaleFlightUpdate; // Custom exception for edits of an outdated flight
+import com.cg.index.RouteGraph; // Import for the itinerary ranking options
 
 // Interface defining the contract for Flight-related business operations
 public interface IFlightService {
        
-       // Abstract method to retrieve a list of all flights (sorted by implementation)
+       // Abstract method to retrieve a list of all flights (sorted by implementation). Loads the whole
+       // table; use getFlightPage, which reads one price-sorted page through the keyset queries
+       @Deprecated
        public List<Flight> getAllFlights();
        
        // Abstract method to save a new flight and link it to a specific airline
@@ -22,12 +31,36 @@ public interface IFlightService {
        // Abstract method to fetch a flight by ID, throwing an exception if not found
        public Flight findIdByFlight(int id) throws ResourceNotFound;
        
+       // Abstract method to read a flight straight into a DTO, throwing an exception if not found
+       public FlightDTO findDtoById(int id) throws ResourceNotFound;
+
        // Abstract method to remove a flight record from the database by its ID
        public void deleteById(int id);
        
-       // Abstract method to update an existing flight's details using DTO data
-       public ResponseEntity<Flight> updateFlight(Flight flight, FlightDTO flightdto, Airline air);
-       
+       // Abstract method to apply a partial update in one statement, rejecting edits of an outdated version
+       public Flight patchFlight(int id, int expectedVersion, FlightPatch patch) throws ResourceNotFound, StaleFlightUpdate;
+
+       // Same, for an edit of the values in 'loaded' (read at expectedVersion); the change is announced
+       // from those values and the patch, without reading the flight
+       public Flight patchFlight(int id, int expectedVersion, FlightDTO loaded, FlightPatch patch)
+                     throws ResourceNotFound, StaleFlightUpdate;
+
        // Abstract method to perform a dynamic search based on various optional filters
-       public List<Flight> searchFlight(String source, String dest, String airline, AirlineClass className);
+       public List<FlightDTO> searchFlight(String source, String dest, String airline, AirlineClass className);
+
+       // Abstract method to read one price-sorted page of flights after the given (price, id) cursor
+       public FlightPage getFlightPage(Double afterPrice, Integer afterId, int size);
+
+       // Abstract method to read one price-sorted page of flights matching route, price and departure ranges
+       public FlightPage getFlightsInRange(FlightRangeQuery query, Double afterPrice, Integer afterId, int size);
+
+       // Abstract method to find the k best multi-leg trips between two cities on a given date
+       public List<ItineraryDTO> findConnections(String source, String dest, LocalDate date, int k,
+                     int maxConnections, int minLayoverMinutes, RouteGraph.SortBy sortBy);
+
+       // Abstract method to read the cheapest fare per day and class for a route
+       public FareCalendarDTO getFareCalendar(String source, String dest, LocalDate from, int days);
+
+       // Abstract method to suggest cities starting with a prefix, busiest first
+       public List<PlaceDTO> suggestPlaces(String prefix, int limit);
 }
@@ -3,23 +3,58 @@ package com.cg.service; // Defines the package for security and login business l
 import org.springframework.beans.factory.annotation.Autowired; // For automatic dependency injection
 import org.springframework.stereotype.Service; // Marks this class as a Service component in Spring
 
+import com.cg.dto.AuthStats; // Snapshot of login load counters
 import com.cg.entity.UserDetails; // Import for the UserDetails entity class
+import com.cg.exception.LoginThrottled; // Thrown when an attempt is refused to protect the server
 import com.cg.repository.ILoginRepository; // Import for the user login database repository
+import com.cg.security.LoginThrottle; // Per-address and per-username attempt budgets
+import com.cg.security.PasswordHasher; // Bounded pool that runs BCrypt
 
 @Service // Tells Spring that this class manages the login and registration logic
 public class LoginService {
 
         @Autowired // Automatically injects the implementation of ILoginRepository
         ILoginRepository repo;
+
+        @Autowired // Injects the pool that hashes and verifies passwords off the request thread
+        PasswordHasher hasher;
+
+        @Autowired // Injects the token buckets that limit attempts
+        LoginThrottle throttle;
         
        // Method to register and persist a new user into the database
        public void saveUser(UserDetails user) {
     	   repo.save(user); // Calls JpaRepository's save method to store user credentials
        }
+
+       // Hashes the new user's password on the hashing pool and saves the user
+       public void register(UserDetails user, String remoteAddr) throws LoginThrottled {
+    	   throttle.acquire(remoteAddr, null); // Registration is limited per address only
+    	   user.setPassword(hasher.encode(user.getPassword()));
+    	   saveUser(user);
+       }
       
        // Method to retrieve user details based on a unique username
        public UserDetails checkUser(String user) {
     	    // Calls a custom repository method to find the user for authentication
     	    return repo.checkUser(user);
        }
+
+       // Returns the user when the password matches, or null. The attempt is charged to the address
+       // and username before the database is touched, and BCrypt runs on the bounded hashing pool.
+       public UserDetails authenticate(String username, String password, String remoteAddr) throws LoginThrottled {
+    	   throttle.acquire(remoteAddr, username);
+    	   UserDetails user = checkUser(username);
+    	   if (user != null && hasher.matches(password, user.getPassword())) {
+    		   return user;
+    	   }
+    	   return null;
+       }
+
+       // Current hashing and throttling counters
+       public AuthStats getAuthStats() {
+    	   return new AuthStats(hasher.getHashes(), hasher.getAvgHashMillis(), hasher.getMaxHashMillis(),
+    			   hasher.getAvgWaitMillis(), hasher.getQueued(), hasher.getRejected(), hasher.getTimedOut(),
+    			   throttle.getThrottledUser(), throttle.getThrottledIp(), throttle.getTrackedKeys());
+       }
 }
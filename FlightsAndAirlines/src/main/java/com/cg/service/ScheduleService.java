@@ -0,0 +1,460 @@
+package com.cg.service; // Defines the package for business logic components
+
+import java.time.Duration; // Interval between scheduled expansions
+import java.time.LocalDate; // Departure dates
+import java.time.LocalDateTime; // Departure and arrival moments
+import java.time.LocalTime; // Departure and arrival times
+import java.util.ArrayList; // Resizable lists of rows to write
+import java.util.HashMap; // Existing flights by date
+import java.util.List; // Interface for ordered collections
+import java.util.Map; // Interface for existing flights by date
+import java.util.Objects; // Null-safe comparisons
+import java.util.concurrent.Executors; // Creates the expansion thread
+import java.util.concurrent.ScheduledExecutorService; // Runs the expansion periodically
+import java.util.concurrent.TimeUnit; // Units for the interval
+import java.util.concurrent.locks.ReentrantLock; // One expansion at a time
+
+import org.slf4j.Logger; // Interface for logging system messages
+import org.slf4j.LoggerFactory; // Factory to create logger instances
+import org.springframework.beans.factory.DisposableBean; // Stops the expansion thread on shutdown
+import org.springframework.beans.factory.annotation.Autowired; // For automatic dependency injection
+import org.springframework.beans.factory.annotation.Value; // Reads settings from application.properties
+import org.springframework.boot.context.event.ApplicationReadyEvent; // Fired once the app has started
+import org.springframework.context.ApplicationEventPublisher; // Announces the generated flights
+import org.springframework.context.event.EventListener; // Subscribes a method to application events
+import org.springframework.dao.DataAccessException; // Failure of one rule's writes
+import org.springframework.dao.DuplicateKeyException; // A date already generated outside the recorded state
+import org.springframework.jdbc.core.JdbcTemplate; // Batched flight writes and the per-rule diff query
+import org.springframework.stereotype.Service; // Marks this class as a Service component
+import org.springframework.transaction.support.TransactionTemplate; // One transaction per rule
+
+import com.cg.dto.ExpansionReport; // Totals of an expansion
+import com.cg.entity.ScheduleRule; // Import for the ScheduleRule entity
+import com.cg.event.FlightsBulkChangedEvent; // Event that reloads flight indexes after bulk writes
+import com.cg.exception.ResourceNotFound; // Custom exception for missing rules
+import com.cg.repository.ScheduleRuleRepository; // Interface for rule rows
+
+// Recurring schedules. Each ScheduleRule is expanded into one Flight row per operating day from
+// today to the horizon (app.schedule.horizon-days), written with batched JDBC inserts in one
+// transaction per rule together with the rule's new expansion state.
+//
+// Expansion is idempotent and incremental. A rule whose revision was already expanded only gets
+// the dates between its expandedThrough and the new horizon end, which is what the periodic run
+// does for almost every rule. An edited rule is compared with its future flights instead: missing
+// dates are inserted, flights that differ are updated in place (their sold seats are kept), and
+// dates the rule no longer covers are deleted unless seats were already sold or held there. Past
+// flights are never touched. An edit that would cut a covered flight's capacity below the seats
+// already sold on it is rejected; a flight that sells past the new capacity while the edit is
+// being applied keeps its old attributes and is counted as oversold in the report. A unique index on (schedule_rule_id, departure_date) keeps a date
+// from being generated twice whatever happens.
+@Service // Tells Spring this class manages the schedule rules
+public class ScheduleService implements DisposableBean {
+
+	@Autowired // Injects the repository for rule rows
+	ScheduleRuleRepository ruleRepo;
+
+	@Autowired // Injects the airline service used to check a rule's airline
+	AirlineService airlineService;
+
+	@Autowired // Injects the JdbcTemplate used for batched flight writes
+	JdbcTemplate jdbc;
+
+	@Autowired // Injects the TransactionTemplate that groups each rule's writes into one transaction
+	TransactionTemplate transactions;
+
+	@Autowired // Injects Spring's event publisher to announce the generated flights
+	ApplicationEventPublisher events;
+
+	@Value("${app.schedule.horizon-days:180}") // Days ahead flights are generated for
+	int horizonDays;
+
+	@Value("${app.schedule.batch-size:1000}") // Rows per JDBC batch
+	int batchSize;
+
+	// Initializes the logger to record application events
+	private static final Logger log = LoggerFactory.getLogger(ScheduleService.class);
+
+	private static final String INSERT_SQL = "INSERT INTO flights (enterprise, flight_price, source, destination, "
+			+ "departure_date, departure_time, arrival_date, arrival_time, duration, tot_seat, avail_seat, class_name, "
+			+ "airline_id, schedule_rule_id, version) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+
+	// Seats already sold stay sold when the capacity changes; avail_seat is assigned first because
+	// MySQL evaluates SET clauses left to right. A flight with more seats sold than the new capacity
+	// is not updated, so no flight ever ends up with more seats sold than it has.
+	private static final String UPDATE_SQL = "UPDATE flights SET enterprise = ?, flight_price = ?, source = ?, "
+			+ "destination = ?, departure_time = ?, arrival_date = ?, arrival_time = ?, duration = ?, class_name = ?, "
+			+ "airline_id = ?, avail_seat = avail_seat + ? - tot_seat, tot_seat = ?, "
+			+ "version = version + 1 WHERE flight_id = ? AND tot_seat - avail_seat <= ?";
+
+	// Future flights of a rule, within a date range, with more seats sold than a given capacity
+	private static final String OVERSOLD_SQL = "SELECT departure_date FROM flights WHERE schedule_rule_id = ? "
+			+ "AND departure_date BETWEEN ? AND ? AND tot_seat - avail_seat > ? ORDER BY departure_date";
+
+	// Only flights with every seat still available are removed; the check is repeated in the statement
+	// so a booking made after the comparison is never lost
+	private static final String DELETE_SQL = "DELETE FROM flights WHERE flight_id = ? AND avail_seat = tot_seat";
+
+	private static final String EXISTING_SQL = "SELECT flight_id, departure_date, enterprise, flight_price, source, "
+			+ "destination, departure_time, arrival_date, arrival_time, duration, tot_seat, avail_seat, class_name, "
+			+ "airline_id FROM flights WHERE schedule_rule_id = ? AND departure_date >= ?";
+
+	private static final String STATE_SQL = "UPDATE schedule_rules SET expanded_revision = ?, expanded_through = ? "
+			+ "WHERE rule_id = ?";
+
+	private final Duration interval; // Time between periodic expansions; zero turns them off
+	private final ScheduledExecutorService expander; // Single thread for the periodic expansion
+	private final ReentrantLock expansionLock = new ReentrantLock(); // Edits and the periodic run take turns
+
+	// Creates the expansion thread with the configured interval
+	public ScheduleService(@Value("${app.schedule.expand-interval:6h}") Duration interval) {
+		this.interval = interval;
+		this.expander = Executors.newSingleThreadScheduledExecutor(r -> {
+			Thread t = new Thread(r, "schedule-expansion");
+			t.setDaemon(true);
+			return t;
+		});
+	}
+
+	// Method to fetch every schedule rule
+	public List<ScheduleRule> getAllRules() {
+		return ruleRepo.findAll();
+	}
+
+	// Method to find a rule by its ID, or throw when it does not exist
+	public ScheduleRule findRule(int id) throws ResourceNotFound {
+		return ruleRepo.findById(id).orElseThrow(() -> new ResourceNotFound("Schedule rule not found by id :" + id));
+	}
+
+	// Saves a new rule and generates its flights right away
+	public ScheduleRule createRule(ScheduleRule rule) {
+		validate(rule);
+		rule.setRuleId(0); // Always a new row
+		rule.setRevision(0);
+		rule.setExpandedRevision(-1);
+		rule.setExpandedThrough(null);
+		ScheduleRule saved = ruleRepo.save(rule);
+		log.info("Schedule rule {} created: {} to {}", saved.getRuleId(), saved.getSource(), saved.getDestination());
+		expand(List.of(saved));
+		return saved;
+	}
+
+	// Replaces a rule's attributes and brings its future flights in line with them
+	public ScheduleRule updateRule(int id, ScheduleRule changes) throws ResourceNotFound {
+		validate(changes);
+		ScheduleRule rule = findRule(id);
+		rejectOversold(id, changes);
+		rule.setAirlineId(changes.getAirlineId());
+		rule.setEnterprise(changes.getEnterprise());
+		rule.setFlightPrice(changes.getFlightPrice());
+		rule.setSource(changes.getSource());
+		rule.setDestination(changes.getDestination());
+		rule.setDepartureTime(changes.getDepartureTime());
+		rule.setDuration(changes.getDuration());
+		rule.setTotSeat(changes.getTotSeat());
+		rule.setClassName(changes.getClassName());
+		rule.setDaysOfWeek(changes.getDaysOfWeek());
+		rule.setValidFrom(changes.getValidFrom());
+		rule.setValidTo(changes.getValidTo());
+		ScheduleRule saved = ruleRepo.save(rule); // Bumps the revision only if something changed
+		log.info("Schedule rule {} updated to revision {}", id, saved.getRevision());
+		expand(List.of(saved));
+		return saved;
+	}
+
+	// Deletes a rule with its unbooked future flights; flights with sold seats and past flights stay
+	// as ordinary flights without a rule
+	public ExpansionReport deleteRule(int id) throws ResourceNotFound {
+		ScheduleRule rule = findRule(id);
+		long start = System.currentTimeMillis();
+		ExpansionReport report = new ExpansionReport();
+		expansionLock.lock();
+		try {
+			LocalDate today = LocalDate.now();
+			transactions.executeWithoutResult(status -> {
+				Changes changes = compare(rule, today, null, null); // No date is wanted any more
+				write(changes, report);
+				jdbc.update("UPDATE flights SET schedule_rule_id = NULL WHERE schedule_rule_id = ?", id);
+				jdbc.update("DELETE FROM schedule_rules WHERE rule_id = ?", id);
+			});
+		} finally {
+			expansionLock.unlock();
+		}
+		report.setElapsedMillis(System.currentTimeMillis() - start);
+		log.info("Schedule rule {} deleted: {}", id, report);
+		announce(report);
+		return report;
+	}
+
+	// Expands every rule up to the horizon; this is what the periodic run calls
+	public ExpansionReport expandAll() {
+		expansionLock.lock();
+		try {
+			// Read in a read-write transaction so the rules come from the primary, never a lagging replica
+			List<ScheduleRule> rules = transactions.execute(status -> ruleRepo.findAll());
+			return expand(rules);
+		} finally {
+			expansionLock.unlock();
+		}
+	}
+
+	// Expands the given rules one transaction each; a rule that fails is logged and retried next run
+	private ExpansionReport expand(List<ScheduleRule> rules) {
+		long start = System.currentTimeMillis();
+		ExpansionReport report = new ExpansionReport();
+		expansionLock.lock();
+		try {
+			LocalDate today = LocalDate.now();
+			LocalDate horizonEnd = today.plusDays(horizonDays);
+			for (ScheduleRule rule : rules) {
+				if (airlineService.findById(rule.getAirlineId()).isEmpty()) {
+					report.ruleSkipped(); // Its airline was deleted; nothing can be generated for it
+					continue;
+				}
+				try {
+					try {
+						expandRule(rule, today, horizonEnd, report, true);
+					} catch (DuplicateKeyException ex) {
+						// Some dates exist beyond the recorded state; comparing with the table sorts it out
+						expandRule(rule, today, horizonEnd, report, false);
+					}
+				} catch (DataAccessException ex) { // Either attempt; the other rules still run
+					log.warn("Could not expand schedule rule {}, retrying next run: {}", rule.getRuleId(),
+							ex.getMostSpecificCause().getMessage());
+				}
+			}
+		} finally {
+			expansionLock.unlock();
+		}
+		report.setElapsedMillis(System.currentTimeMillis() - start);
+		log.info("Schedule expansion finished: {}", report);
+		announce(report);
+		return report;
+	}
+
+	// Writes one rule's flights and its new state in one transaction. 'incremental' allows the fast
+	// path for rules whose current revision is already expanded.
+	private void expandRule(ScheduleRule rule, LocalDate today, LocalDate horizonEnd, ExpansionReport report,
+			boolean incremental) {
+		LocalDate from = later(today, rule.getValidFrom());
+		LocalDate to = lastDate(rule, horizonEnd);
+		int revision = rule.getRevision();
+		boolean unchanged = incremental && rule.getExpandedRevision() == revision && rule.getExpandedThrough() != null;
+		LocalDate through = rule.getExpandedThrough() == null || to.isAfter(rule.getExpandedThrough()) ? to
+				: rule.getExpandedThrough();
+		if (unchanged && !to.isAfter(rule.getExpandedThrough())) {
+			report.ruleExpanded(); // Already expanded to the horizon
+			return;
+		}
+		transactions.executeWithoutResult(status -> {
+			Changes changes;
+			if (unchanged) {
+				changes = new Changes();
+				LocalDate first = later(from, rule.getExpandedThrough().plusDays(1));
+				for (LocalDate date = first; !date.isAfter(to); date = date.plusDays(1)) {
+					if (rule.operatesOn(date.getDayOfWeek())) {
+						changes.inserts.add(insertRow(rule, date));
+					}
+				}
+			} else {
+				changes = compare(rule, today, from, to);
+			}
+			write(changes, report);
+			jdbc.update(STATE_SQL, revision, through, rule.getRuleId());
+		});
+		// The entity may still be managed by the request's persistence context; these fields are
+		// excluded from its optimistic lock, so a later flush writes the same values harmlessly
+		rule.setExpandedRevision(revision);
+		rule.setExpandedThrough(through);
+		report.ruleExpanded();
+	}
+
+	// Compares the rule's flights from today on with the dates from..to it should operate on
+	// (none when 'from' is null) and returns the writes that make the table match
+	private Changes compare(ScheduleRule rule, LocalDate today, LocalDate from, LocalDate to) {
+		Map<LocalDate, Existing> existing = new HashMap<>();
+		jdbc.query(EXISTING_SQL, rs -> {
+			Existing e = new Existing(rs.getInt(1), rs.getObject(3, String.class), rs.getDouble(4), rs.getString(5),
+					rs.getString(6), rs.getObject(7, LocalTime.class), rs.getObject(8, LocalDate.class),
+					rs.getObject(9, LocalTime.class), rs.getInt(10), rs.getInt(11), rs.getInt(12), rs.getString(13),
+					rs.getInt(14));
+			existing.put(rs.getObject(2, LocalDate.class), e);
+		}, rule.getRuleId(), today);
+		Changes changes = new Changes();
+		if (from != null) {
+			for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+				if (!rule.operatesOn(date.getDayOfWeek())) {
+					continue;
+				}
+				Existing e = existing.remove(date);
+				if (e == null) {
+					changes.inserts.add(insertRow(rule, date));
+				} else if (e.totSeat() - e.availSeat() > rule.getTotSeat()) {
+					changes.oversold++; // Sold past the rule's capacity; left as it is
+				} else if (!e.matches(rule, date)) {
+					changes.updates.add(updateRow(rule, date, e.flightId()));
+				}
+			}
+		}
+		for (Existing e : existing.values()) { // Dates the rule no longer covers
+			if (e.availSeat() == e.totSeat()) {
+				changes.deletes.add(new Object[] { e.flightId() });
+			} else {
+				changes.keptBooked++;
+			}
+		}
+		return changes;
+	}
+
+	// Runs the batched writes inside the caller's transaction and adds them to the report
+	private void write(Changes changes, ExpansionReport report) {
+		batch(INSERT_SQL, changes.inserts);
+		int updated = batch(UPDATE_SQL, changes.updates);
+		int deleted = batch(DELETE_SQL, changes.deletes);
+		int booked = changes.keptBooked + changes.deletes.size() - deleted; // Booked since they were read
+		int oversold = changes.oversold + changes.updates.size() - updated; // Sold past capacity since then
+		if (oversold > 0) {
+			log.warn("{} flight(s) have more seats sold than their rule's capacity and were left unchanged", oversold);
+		}
+		report.add(changes.inserts.size(), updated, deleted, booked, oversold);
+	}
+
+	// Sends the rows in batches of 'batchSize' and returns the number of rows affected
+	private int batch(String sql, List<Object[]> rows) {
+		int affected = 0;
+		for (int from = 0; from < rows.size(); from += batchSize) {
+			for (int count : jdbc.batchUpdate(sql, rows.subList(from, Math.min(from + batchSize, rows.size())))) {
+				affected += count < 0 ? 1 : count; // Drivers may report SUCCESS_NO_INFO for rewritten batches
+			}
+		}
+		return affected;
+	}
+
+	// Indexes, caches and seat counters reload once after all rules are written
+	private void announce(ExpansionReport report) {
+		if (report.getChanged() > 0) {
+			events.publishEvent(new FlightsBulkChangedEvent("schedule expansion", (int) report.getChanged()));
+		}
+	}
+
+	// Parameters of INSERT_SQL for the rule's flight on 'date'
+	private static Object[] insertRow(ScheduleRule rule, LocalDate date) {
+		LocalDateTime arrival = date.atTime(rule.getDepartureTime()).plusMinutes(rule.getDuration());
+		return new Object[] { rule.getEnterprise(), rule.getFlightPrice(), rule.getSource(), rule.getDestination(),
+				date, rule.getDepartureTime(), arrival.toLocalDate(), arrival.toLocalTime(), rule.getDuration(),
+				rule.getTotSeat(), rule.getTotSeat(), rule.getClassName().name(), rule.getAirlineId(),
+				rule.getRuleId() };
+	}
+
+	// Parameters of UPDATE_SQL that give flight 'flightId' on 'date' the rule's attributes
+	private static Object[] updateRow(ScheduleRule rule, LocalDate date, int flightId) {
+		LocalDateTime arrival = date.atTime(rule.getDepartureTime()).plusMinutes(rule.getDuration());
+		return new Object[] { rule.getEnterprise(), rule.getFlightPrice(), rule.getSource(), rule.getDestination(),
+				rule.getDepartureTime(), arrival.toLocalDate(), arrival.toLocalTime(), rule.getDuration(),
+				rule.getClassName().name(), rule.getAirlineId(), rule.getTotSeat(), rule.getTotSeat(), flightId,
+				rule.getTotSeat() };
+	}
+
+	private static LocalDate later(LocalDate a, LocalDate b) {
+		return b != null && b.isAfter(a) ? b : a;
+	}
+
+	// Last date the rule generates flights for: its validTo, capped at the horizon
+	private static LocalDate lastDate(ScheduleRule rule, LocalDate horizonEnd) {
+		return rule.getValidTo() == null || rule.getValidTo().isAfter(horizonEnd) ? horizonEnd : rule.getValidTo();
+	}
+
+	// Rejects an edit whose capacity is below the seats already sold on a future flight it still
+	// covers; flights on dates it no longer covers are kept as they are anyway
+	private void rejectOversold(int id, ScheduleRule changes) {
+		LocalDate today = LocalDate.now();
+		List<LocalDate> oversold = jdbc.queryForList(OVERSOLD_SQL, LocalDate.class, id,
+				later(today, changes.getValidFrom()), lastDate(changes, today.plusDays(horizonDays)),
+				changes.getTotSeat()).stream().filter(date -> changes.operatesOn(date.getDayOfWeek())).toList();
+		if (!oversold.isEmpty()) {
+			throw new IllegalArgumentException("totSeat " + changes.getTotSeat() + " is below the seats already sold on "
+					+ oversold.size() + " future flight(s), the first on " + oversold.get(0));
+		}
+	}
+
+	// Rejects rules that cannot generate valid flights; mapped to 400 by RestExceptionHandler
+	private void validate(ScheduleRule rule) {
+		if (airlineService.findById(rule.getAirlineId()).isEmpty()) {
+			throw new IllegalArgumentException("Airline " + rule.getAirlineId() + " does not exist");
+		}
+		if (isBlank(rule.getSource()) || isBlank(rule.getDestination())) {
+			throw new IllegalArgumentException("source and destination are required");
+		}
+		if (rule.getSource().trim().equalsIgnoreCase(rule.getDestination().trim())) {
+			throw new IllegalArgumentException("source and destination must differ");
+		}
+		if (rule.getDepartureTime() == null || rule.getClassName() == null || rule.getValidFrom() == null) {
+			throw new IllegalArgumentException("departureTime, className and validFrom are required");
+		}
+		if (rule.getDaysOfWeek() == 0) {
+			throw new IllegalArgumentException("days must name at least one weekday");
+		}
+		if (rule.getDuration() <= 0 || rule.getTotSeat() <= 0 || rule.getFlightPrice() < 0) {
+			throw new IllegalArgumentException("duration and totSeat must be positive and flightPrice not negative");
+		}
+		if (rule.getValidTo() != null && rule.getValidTo().isBefore(rule.getValidFrom())) {
+			throw new IllegalArgumentException("validTo is before validFrom");
+		}
+		rule.setSource(rule.getSource().trim());
+		rule.setDestination(rule.getDestination().trim());
+	}
+
+	private static boolean isBlank(String s) {
+		return s == null || s.isBlank();
+	}
+
+	// Catches up on startup, then keeps the horizon rolling forward
+	@EventListener(ApplicationReadyEvent.class)
+	public void start() {
+		if (interval.isZero() || interval.isNegative()) {
+			log.info("Periodic schedule expansion is off; rules are expanded when they are saved");
+			return;
+		}
+		expander.scheduleWithFixedDelay(this::expandQuietly, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+	}
+
+	// One periodic run; must never throw, or the scheduler would stop running it
+	private void expandQuietly() {
+		try {
+			expandAll();
+		} catch (RuntimeException ex) {
+			log.error("Schedule expansion failed", ex);
+		}
+	}
+
+	// Stops the expansion thread when the application shuts down
+	@Override
+	public void destroy() {
+		expander.shutdownNow();
+	}
+
+	// Writes that bring one rule's flights in line with it
+	private static final class Changes {
+		final List<Object[]> inserts = new ArrayList<>(); // INSERT_SQL parameters
+		final List<Object[]> updates = new ArrayList<>(); // UPDATE_SQL parameters
+		final List<Object[]> deletes = new ArrayList<>(); // DELETE_SQL parameters
+		int keptBooked; // Uncovered dates with sold or held seats
+		int oversold; // Covered dates with more seats sold than the rule's capacity
+	}
+
+	// A generated flight as stored, for comparison with its rule
+	private record Existing(int flightId, String enterprise, double flightPrice, String source, String destination,
+			LocalTime departureTime, LocalDate arrivalDate, LocalTime arrivalTime, int duration, int totSeat,
+			int availSeat, String className, int airlineId) {
+
+		// True when the flight on 'date' already has every attribute the rule gives it
+		boolean matches(ScheduleRule rule, LocalDate date) {
+			LocalDateTime arrival = date.atTime(rule.getDepartureTime()).plusMinutes(rule.getDuration());
+			return Objects.equals(enterprise, rule.getEnterprise()) && flightPrice == rule.getFlightPrice()
+					&& Objects.equals(source, rule.getSource()) && Objects.equals(destination, rule.getDestination())
+					&& rule.getDepartureTime().equals(departureTime) && arrival.toLocalDate().equals(arrivalDate)
+					&& arrival.toLocalTime().equals(arrivalTime) && duration == rule.getDuration()
+					&& totSeat == rule.getTotSeat() && rule.getClassName().name().equals(className)
+					&& airlineId == rule.getAirlineId();
+		}
+	}
+}
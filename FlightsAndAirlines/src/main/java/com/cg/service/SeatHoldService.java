@@ -0,0 +1,272 @@
+package com.cg.service; // Defines the package for flight-related business logic
+
+import java.time.Duration; // Length of a hold and of a wheel tick
+import java.util.ArrayList; // Holds due in one tick
+import java.util.Collections; // Placeholders for the IN lists
+import java.util.HashMap; // Seats to return per flight
+import java.util.HashSet; // Hold rows found under lock
+import java.util.List; // Interface for batches of holds
+import java.util.Map; // Interface for seats per flight
+import java.util.Set; // Interface for hold rows found under lock
+import java.util.concurrent.ConcurrentHashMap; // Live holds shared by requests and the ticker
+import java.util.concurrent.Executors; // Creates the ticker thread
+import java.util.concurrent.ScheduledExecutorService; // Runs one tick per interval
+import java.util.concurrent.TimeUnit; // Units for the tick interval
+
+import org.slf4j.Logger; // Interface for logging system messages
+import org.slf4j.LoggerFactory; // Factory to create logger instances
+import org.springframework.beans.factory.DisposableBean; // Stops the ticker on shutdown
+import org.springframework.beans.factory.annotation.Autowired; // For automatic dependency injection
+import org.springframework.beans.factory.annotation.Value; // Reads settings from application.properties
+import org.springframework.boot.context.event.ApplicationReadyEvent; // Fired once the app has started
+import org.springframework.context.ApplicationEventPublisher; // Announces seats taken and returned
+import org.springframework.context.event.EventListener; // Subscribes a method to application events
+import org.springframework.jdbc.core.JdbcTemplate; // Batched seat returns and the startup scan
+import org.springframework.stereotype.Service; // Marks this class as a Service component
+import org.springframework.transaction.support.TransactionTemplate; // Groups writes into one transaction
+
+import com.cg.cache.CatalogVersion; // Version of the listing for HTTP caching
+import com.cg.entity.SeatHold; // Import for the persisted hold
+import com.cg.event.SeatsChangedEvent; // Event announcing a new seat count
+import com.cg.exception.HoldExpired; // Thrown for holds that are gone
+import com.cg.exception.ResourceNotFound; // Custom exception for missing flights
+import com.cg.exception.SeatUnavailable; // Custom exception for sold-out flights
+import com.cg.repository.SeatHoldRepository; // Interface for hold rows
+import com.cg.schedule.TimingWheel; // Expiry scheduler for all holds
+
+// Temporary seat holds. Placing a hold takes the seats from availSeat (through SeatInventory, so
+// it can never oversell) and records a seat_holds row in the same transaction. Confirming
+// deletes the row and keeps the seats; otherwise the hold expires after app.hold.window and the
+// seats go back to the flight.
+//
+// Expiry runs on one timing wheel for every hold instead of one scheduled task each. A single
+// ticker thread collects the holds due in each tick and returns their seats in one transaction:
+// the hold rows are deleted first (locked and deleted per chunk), then one batched UPDATE per
+// affected flight returns the seats of the rows this transaction actually deleted. A hold whose
+// row is already gone was confirmed or returned by another instance, and its seats are left
+// alone. On startup the live holds are reloaded from seat_holds, and those that expired while the
+// app was down are returned on the first tick.
+@Service // Tells Spring this class manages the seat hold logic
+public class SeatHoldService implements DisposableBean {
+
+	@Autowired // Injects the seat counters that guard against overselling
+	SeatInventory seatInventory;
+
+	@Autowired // Injects the repository for hold rows
+	SeatHoldRepository holdRepo;
+
+	@Autowired // Injects the JdbcTemplate used for batched seat returns
+	JdbcTemplate jdbc;
+
+	@Autowired // Injects the TransactionTemplate that groups each batch into one transaction
+	TransactionTemplate transactions;
+
+	@Autowired // Injects the version counter used as the listing's HTTP validator
+	CatalogVersion catalogVersion;
+
+	@Autowired // Injects Spring's event publisher to announce seat count changes
+	ApplicationEventPublisher events;
+
+	// Initializes the logger to record application events
+	private static final Logger log = LoggerFactory.getLogger(SeatHoldService.class);
+
+	// Gives seats back without exceeding the current capacity; like a booking, leaves the version alone
+	private static final String RELEASE_SQL = "UPDATE flights SET avail_seat = LEAST(avail_seat + ?, tot_seat) "
+			+ "WHERE flight_id = ?";
+
+	private static final int DELETE_CHUNK = 1000; // Hold rows locked and removed per statement
+
+	private final long windowMillis; // How long a hold lasts
+	private final TimingWheel wheel; // Expiry times of all live holds
+	private final ScheduledExecutorService ticker; // Single thread advancing the wheel
+	private final ConcurrentHashMap<Long, SeatHold> holds = new ConcurrentHashMap<>(); // Live holds by ID
+
+	// Creates the wheel with the configured hold window and resolution
+	public SeatHoldService(@Value("${app.hold.window:10m}") Duration window,
+			@Value("${app.hold.tick:1s}") Duration tick, @Value("${app.hold.wheel-size:1024}") int wheelSize) {
+		this.windowMillis = window.toMillis();
+		this.wheel = new TimingWheel(tick.toMillis(), wheelSize, System.currentTimeMillis());
+		this.ticker = Executors.newSingleThreadScheduledExecutor(r -> {
+			Thread t = new Thread(r, "seat-hold-expiry");
+			t.setDaemon(true);
+			return t;
+		});
+	}
+
+	// Takes 'seats' seats on a flight for 'userName' until the hold window ends
+	public SeatHold hold(int flightId, int seats, String userName) throws ResourceNotFound, SeatUnavailable {
+		SeatHold hold = new SeatHold(flightId, seats, userName, System.currentTimeMillis() + windowMillis);
+		int[] left = { SeatsChangedEvent.UNKNOWN }; // Seats left after the hold
+		try {
+			transactions.executeWithoutResult(status -> {
+				try {
+					left[0] = seatInventory.reserve(flightId, seats); // Joins this transaction
+				} catch (ResourceNotFound | SeatUnavailable ex) {
+					throw new Refused(ex);
+				}
+				holdRepo.save(hold); // Rolled back with the seats if anything fails
+			});
+		} catch (Refused ex) {
+			if (ex.getCause() instanceof SeatUnavailable unavailable) {
+				throw unavailable;
+			}
+			throw (ResourceNotFound) ex.getCause();
+		} catch (RuntimeException ex) {
+			seatInventory.evict(flightId); // The counter was decremented for seats that were rolled back
+			throw ex;
+		}
+		holds.put(hold.getHoldId(), hold);
+		wheel.schedule(hold.getHoldId(), hold.getExpiresAt());
+		catalogVersion.bump(); // The listing shows seat counts
+		events.publishEvent(new SeatsChangedEvent(flightId, left[0])); // Live subscribers get the new count
+		log.debug("Held {} seat(s) on flight {} for {} as hold {}", seats, flightId, userName, hold.getHoldId());
+		return hold;
+	}
+
+	// Returns a live hold of this user, or throws when it has expired or belongs to someone else
+	public SeatHold find(long holdId, String userName) throws HoldExpired {
+		SeatHold hold = holds.get(holdId);
+		if (hold == null || !hold.getUserName().equals(userName)
+				|| hold.getExpiresAt() <= System.currentTimeMillis()) {
+			throw new HoldExpired("Hold " + holdId + " has expired or does not exist");
+		}
+		return hold;
+	}
+
+	// Turns the hold into a booking: the seats stay taken and the hold row is deleted
+	public SeatHold confirm(long holdId, String userName) throws HoldExpired {
+		SeatHold hold = find(holdId, userName);
+		if (!holds.remove(holdId, hold)) {
+			throw new HoldExpired("Hold " + holdId + " has expired"); // The ticker got there first
+		}
+		int deleted;
+		try {
+			deleted = holdRepo.deleteHold(holdId);
+		} catch (RuntimeException ex) {
+			holds.put(holdId, hold); // Still held; the ticker may have consumed its timeout meanwhile
+			wheel.schedule(holdId, hold.getExpiresAt());
+			throw ex;
+		}
+		if (deleted == 0) {
+			// Another instance returned the seats after a restart reloaded the same hold
+			throw new HoldExpired("Hold " + holdId + " has expired");
+		}
+		log.info("Hold {} confirmed: {} seat(s) on flight {}", holdId, hold.getSeats(), hold.getFlightId());
+		return hold;
+	}
+
+	// Gives the seats back now instead of waiting for the hold to expire
+	public void release(long holdId, String userName) throws HoldExpired {
+		find(holdId, userName);
+		expire(new long[] { holdId });
+	}
+
+	// Live holds, including those waiting for their expiry tick
+	public int getActiveHolds() {
+		return holds.size();
+	}
+
+	// Reloads unconfirmed holds from seat_holds and starts the ticker
+	@EventListener(ApplicationReadyEvent.class)
+	public void start() {
+		jdbc.query("SELECT hold_id, flight_id, seats, user_name, expires_at FROM seat_holds", rs -> {
+			SeatHold hold = new SeatHold(rs.getInt(2), rs.getInt(3), rs.getString(4), rs.getLong(5));
+			hold.setHoldId(rs.getLong(1));
+			holds.put(hold.getHoldId(), hold);
+			wheel.schedule(hold.getHoldId(), hold.getExpiresAt()); // Overdue ones fire on the first tick
+		});
+		log.info("Seat hold expiry started with {} hold(s) restored", holds.size());
+		long tick = wheel.getTickMillis();
+		ticker.scheduleAtFixedRate(this::tick, tick, tick, TimeUnit.MILLISECONDS);
+	}
+
+	// One tick of the wheel; must never throw, or the scheduler would stop running it
+	private void tick() {
+		try {
+			long[] due = wheel.advance(System.currentTimeMillis());
+			if (due.length > 0) {
+				expire(due);
+			}
+		} catch (RuntimeException ex) {
+			log.error("Seat hold expiry tick failed", ex);
+		}
+	}
+
+	// Returns the seats of the given holds in one transaction; IDs already confirmed are skipped
+	private void expire(long[] ids) {
+		List<SeatHold> due = new ArrayList<>(ids.length);
+		for (long id : ids) {
+			SeatHold hold = holds.remove(id); // Whoever removes it (confirm or expiry) owns it
+			if (hold != null) {
+				due.add(hold);
+			}
+		}
+		if (due.isEmpty()) {
+			return;
+		}
+		Map<Integer, Integer> seatsByFlight = new HashMap<>(); // Seats returned, per flight
+		int[] returned = { 0 }; // Holds whose rows this transaction deleted
+		try {
+			transactions.executeWithoutResult(status -> {
+				seatsByFlight.clear();
+				returned[0] = 0;
+				for (int from = 0; from < due.size(); from += DELETE_CHUNK) {
+					for (SeatHold hold : deleteRows(due.subList(from, Math.min(from + DELETE_CHUNK, due.size())))) {
+						seatsByFlight.merge(hold.getFlightId(), hold.getSeats(), Integer::sum);
+						returned[0]++;
+					}
+				}
+				List<Object[]> releases = new ArrayList<>(seatsByFlight.size());
+				seatsByFlight.forEach((flightId, seats) -> releases.add(new Object[] { seats, flightId }));
+				jdbc.batchUpdate(RELEASE_SQL, releases);
+			});
+		} catch (RuntimeException ex) {
+			// Nothing was written: keep the holds and try again on the next tick
+			for (SeatHold hold : due) {
+				holds.put(hold.getHoldId(), hold);
+				wheel.schedule(hold.getHoldId(), 0);
+			}
+			log.warn("Could not return seats of {} expired hold(s), retrying: {}", due.size(), ex.getMessage());
+			return;
+		}
+		if (returned[0] < due.size()) {
+			log.debug("{} hold(s) were already confirmed or returned elsewhere", due.size() - returned[0]);
+		}
+		if (seatsByFlight.isEmpty()) {
+			return;
+		}
+		seatsByFlight.keySet().forEach(seatInventory::evict); // Counters reload the returned seats
+		catalogVersion.bump(); // The listing shows seat counts
+		for (int flightId : seatsByFlight.keySet()) {
+			// The new counts were computed by the database; subscribers' values are read again
+			events.publishEvent(new SeatsChangedEvent(flightId, SeatsChangedEvent.UNKNOWN));
+		}
+		log.debug("Returned seats of {} hold(s) on {} flight(s)", returned[0], seatsByFlight.size());
+	}
+
+	// Locks the rows of the given holds, deletes them and returns the holds whose rows existed
+	private List<SeatHold> deleteRows(List<SeatHold> chunk) {
+		Object[] ids = chunk.stream().map(SeatHold::getHoldId).toArray();
+		String marks = String.join(", ", Collections.nCopies(ids.length, "?"));
+		Set<Long> found = new HashSet<>(jdbc.queryForList(
+				"SELECT hold_id FROM seat_holds WHERE hold_id IN (" + marks + ") FOR UPDATE", Long.class, ids));
+		if (found.isEmpty()) {
+			return List.of();
+		}
+		jdbc.update("DELETE FROM seat_holds WHERE hold_id IN (" + marks + ")", ids);
+		return chunk.stream().filter(hold -> found.contains(hold.getHoldId())).toList();
+	}
+
+	// Stops the ticker when the application shuts down
+	@Override
+	public void destroy() {
+		ticker.shutdownNow();
+	}
+
+	// Carries the checked refusals of SeatInventory out of the transaction callback
+	private static final class Refused extends RuntimeException {
+		Refused(Exception cause) {
+			super(cause);
+		}
+	}
+}
@@ -0,0 +1,106 @@
+package com.cg.service; // Defines the package for flight-related business logic
+
+import java.util.concurrent.ConcurrentHashMap; // Thread-safe map holding one counter per flight
+import java.util.concurrent.atomic.AtomicInteger; // Lock-free seat counter
+
+import org.slf4j.Logger; // Interface for logging system messages
+import org.slf4j.LoggerFactory; // Factory to create logger instances
+import org.springframework.beans.factory.annotation.Autowired; // For automatic dependency injection
+import org.springframework.context.event.EventListener; // Subscribes a method to application events
+import org.springframework.stereotype.Component; // Registers this class as a Spring bean
+
+import com.cg.event.FlightChangedEvent; // Event published when a flight changes
+import com.cg.event.FlightsBulkChangedEvent; // Event published after bulk writes
+import com.cg.event.SeatsChangedEvent; // Marker for a seat count not held in memory
+import com.cg.exception.ResourceNotFound; // Custom exception for missing flights
+import com.cg.exception.SeatUnavailable; // Custom exception for sold-out flights
+import com.cg.repository.FlightRepository; // Interface for database operations
+
+// Keeps an in-memory seat counter per flight so bookings never oversell.
+// Each booking claims seats on its flight's counter with a compare-and-set loop and then writes
+// through to the flights table with a conditional UPDATE, which only locks that one row.
+// Sold-out flights are rejected from memory without a database round trip.
+@Component // Tells Spring to create and manage a single shared instance
+public class SeatInventory {
+
+	@Autowired // Injects the FlightRepository implementation
+	FlightRepository repo;
+
+	// Initializes the logger to record application events
+	private static final Logger log = LoggerFactory.getLogger(SeatInventory.class);
+
+	// One counter per flight ID; flights are loaded lazily on their first booking
+	private final ConcurrentHashMap<Integer, AtomicInteger> counters = new ConcurrentHashMap<>();
+
+	// Reserves the given number of seats and returns how many seats are left afterwards
+	public int reserve(int flightId, int seats) throws ResourceNotFound, SeatUnavailable {
+		if (seats <= 0) {
+			throw new IllegalArgumentException("Seats to book must be positive: " + seats);
+		}
+		AtomicInteger counter = counterFor(flightId); // Shared counter for this flight only
+
+		// Claims the seats in memory; only one thread can move the counter from a given value
+		int current;
+		do {
+			current = counter.get();
+			if (current < seats) {
+				throw new SeatUnavailable("Only " + current + " seat(s) left on flight " + flightId);
+			}
+		} while (!counter.compareAndSet(current, current - seats));
+
+		// Writes the claim through to the database; the WHERE clause is the final oversell guard
+		int updated;
+		try {
+			updated = repo.reserveSeats(flightId, seats);
+		} catch (RuntimeException ex) {
+			counter.addAndGet(seats); // Gives the seats back if the write never happened
+			throw ex;
+		}
+		if (updated == 0) {
+			// The row changed behind our back (e.g. an admin edit); reload it on the next booking
+			counters.remove(flightId, counter);
+			log.warn("Seat counter for flight {} was stale and has been dropped", flightId);
+			throw new SeatUnavailable("Not enough seats left on flight " + flightId);
+		}
+		return current - seats;
+	}
+
+	// Seats left as counted in memory, or SeatsChangedEvent.UNKNOWN when the flight has no counter
+	// yet; counters write through, so a known count is the table's without reading it
+	public int available(int flightId) {
+		AtomicInteger counter = counters.get(flightId);
+		return counter != null ? counter.get() : SeatsChangedEvent.UNKNOWN;
+	}
+
+	// Forgets the cached counter so it is reloaded from the database next time
+	public void evict(int flightId) {
+		counters.remove(flightId);
+	}
+
+	// Edits and deletes may change the seat count, so the counter is reloaded on the next booking
+	@EventListener
+	public void onFlightChanged(FlightChangedEvent event) {
+		if (event.getType() != FlightChangedEvent.Type.SAVED) {
+			evict(event.getFlightId());
+		}
+	}
+
+	// Bulk writes bypass FlightChangedEvent, so every counter is reloaded on its next booking
+	@EventListener(FlightsBulkChangedEvent.class)
+	public void clear() {
+		counters.clear();
+	}
+
+	// Returns the counter for a flight, loading the current seat count from the database if needed
+	private AtomicInteger counterFor(int flightId) throws ResourceNotFound {
+		AtomicInteger counter = counters.get(flightId);
+		if (counter != null) {
+			return counter; // Fast path: no database access once the flight is warm
+		}
+		int avail = repo.findAvailSeat(flightId)
+				.orElseThrow(() -> new ResourceNotFound("Flight not find by id :" + flightId));
+		AtomicInteger loaded = new AtomicInteger(avail);
+		AtomicInteger raced = counters.putIfAbsent(flightId, loaded); // Keeps whichever thread won
+		return raced != null ? raced : loaded;
+	}
+}
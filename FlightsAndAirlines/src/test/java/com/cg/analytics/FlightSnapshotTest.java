@@ -0,0 +1,214 @@
+package com.cg.analytics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import com.cg.dto.AnalyticsQuery;
+import com.cg.dto.AnalyticsResult;
+import com.cg.dto.AnalyticsRow;
+import com.cg.entity.AirlineClass;
+
+// Builds a snapshot from random flights in H2 and compares every grouping, with and without
+// filters, against the same GROUP BY in SQL. Enough rows are loaded that the scan runs in parallel
+// chunks whose group tables are merged, and the finest groupings make the tables grow.
+public class FlightSnapshotTest {
+
+    private static final int FLIGHTS = 140_000;
+    private static final String[] PLACES = { "Hyd", "Del", "Bom", "Goa", "Pune", " Kochi", null };
+    private static final LocalDate FIRST = LocalDate.of(2026, 12, 1);
+    private static final String SELECT = "SELECT f.airline_id, a.air_name, f.source, f.destination, f.class_name, "
+            + "f.departure_date, f.flight_price, f.tot_seat, f.avail_seat FROM flights f "
+            + "LEFT JOIN airlines a ON a.aid = f.airline_id";
+
+    private static EmbeddedDatabase db;
+    private static JdbcTemplate jdbc;
+    private static FlightSnapshot snapshot;
+
+    @BeforeAll
+    static void setUp() {
+        db = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true).build();
+        jdbc = new JdbcTemplate(db);
+        jdbc.execute("CREATE TABLE airlines (aid INT PRIMARY KEY, air_name VARCHAR(50))");
+        jdbc.execute("CREATE TABLE flights (flight_id INT PRIMARY KEY, airline_id INT, source VARCHAR(50), "
+                + "destination VARCHAR(50), class_name VARCHAR(20), departure_date DATE, flight_price DOUBLE, "
+                + "tot_seat INT, avail_seat INT)");
+        jdbc.batchUpdate("INSERT INTO airlines VALUES (?, ?)",
+                List.of(new Object[] { 1, "Indigo" }, new Object[] { 2, "Vistara" }, new Object[] { 3, "Akasa " }));
+
+        // Airline 9 has no row, some classes are unknown and some dates missing
+        Random random = new Random(24);
+        String[] classes = { "ECONOMY", "PREMIUM_ECONOMY", "BUSINESS", "FIRST_CLASS", "STEERAGE", null };
+        List<Object[]> rows = new ArrayList<>(FLIGHTS);
+        for (int id = 1; id <= FLIGHTS; id++) {
+            int seats = 1 + random.nextInt(300);
+            rows.add(new Object[] { id, random.nextInt(20) == 0 ? 9 : 1 + random.nextInt(3),
+                    PLACES[random.nextInt(PLACES.length)], PLACES[random.nextInt(PLACES.length)],
+                    classes[random.nextInt(classes.length)],
+                    random.nextInt(50) == 0 ? null : FIRST.plusDays(random.nextInt(90)),
+                    (double) (500 + random.nextInt(20_000)), seats, random.nextInt(seats + 1) });
+        }
+        jdbc.batchUpdate("INSERT INTO flights VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+
+        FlightSnapshot.Builder builder = new FlightSnapshot.Builder(16);
+        jdbc.query(SELECT, rs -> {
+            builder.add(rs.getObject(1, Integer.class), rs.getString(2), rs.getString(3), rs.getString(4),
+                    rs.getString(5), rs.getObject(6, LocalDate.class), rs.getDouble(7), rs.getInt(8), rs.getInt(9));
+        });
+        snapshot = builder.build(0);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        db.shutdown();
+    }
+
+    private static AnalyticsQuery query(Set<Dimension> dims) {
+        AnalyticsQuery query = new AnalyticsQuery();
+        query.setGroupBy(dims.stream().map(d -> d.name().toLowerCase(Locale.ROOT)).collect(Collectors.joining(",")));
+        query.setLimit(Integer.MAX_VALUE);
+        return query;
+    }
+
+    // Groups of the snapshot as "airline|source|destination|class|date" -> flights, seats, sold, revenue
+    private static Map<String, double[]> fromSnapshot(AnalyticsQuery query) {
+        AnalyticsResult result = snapshot.aggregate(query);
+        Map<String, double[]> groups = new HashMap<>();
+        for (AnalyticsRow row : result.getRows()) {
+            String key = row.getAirline() + "|" + row.getSource() + "|" + row.getDestination() + "|"
+                    + row.getClassName() + "|" + row.getDate();
+            groups.put(key, new double[] { row.getFlights(), row.getSeats(), row.getSoldSeats(),
+                    row.getRevenuePotential() });
+        }
+        assertEquals(groups.size(), result.getGroups());
+        return groups;
+    }
+
+    // The same groups computed by the database
+    private static Map<String, double[]> fromSql(Set<Dimension> dims, AnalyticsQuery query) {
+        String knownClass = EnumSet.allOf(AirlineClass.class).stream().map(c -> "'" + c.name() + "'")
+                .collect(Collectors.joining(", "));
+        StringBuilder factor = new StringBuilder("CASE f.class_name");
+        for (AirlineClass cls : AirlineClass.values()) {
+            factor.append(" WHEN '").append(cls.name()).append("' THEN ").append(cls.getPriceFactor());
+        }
+        factor.append(" ELSE 1 END");
+        String airline = dims.contains(Dimension.AIRLINE) ? "a.air_name" : "NULL";
+        String source = dims.contains(Dimension.ROUTE) ? "f.source" : "NULL";
+        String destination = dims.contains(Dimension.ROUTE) ? "f.destination" : "NULL";
+        String cls = dims.contains(Dimension.CLASS) ? "CASE WHEN f.class_name IN (" + knownClass
+                + ") THEN f.class_name END" : "NULL";
+        String date = dims.contains(Dimension.DAY) ? "f.departure_date" : "NULL";
+
+        List<Object> args = new ArrayList<>();
+        StringBuilder where = new StringBuilder(" WHERE 1 = 1");
+        if (query.getAirline() != null) {
+            where.append(" AND LOWER(TRIM(a.air_name)) = ?");
+            args.add(query.getAirline().trim().toLowerCase(Locale.ROOT));
+        }
+        if (query.getSource() != null) {
+            where.append(" AND LOWER(TRIM(f.source)) = ?");
+            args.add(query.getSource().trim().toLowerCase(Locale.ROOT));
+        }
+        if (query.getClassName() != null) {
+            where.append(" AND f.class_name = ?");
+            args.add(query.getClassName().name());
+        }
+        if (query.getFromDate() != null) {
+            where.append(" AND f.departure_date >= ?");
+            args.add(query.getFromDate());
+        }
+        if (query.getToDate() != null) {
+            where.append(" AND f.departure_date <= ?");
+            args.add(query.getToDate());
+        }
+        String sql = "SELECT " + airline + ", " + source + ", " + destination + ", " + cls + ", " + date
+                + ", COUNT(*), SUM(f.tot_seat), SUM(f.tot_seat - f.avail_seat), SUM(f.flight_price * " + factor
+                + " * (f.tot_seat - f.avail_seat)) FROM flights f LEFT JOIN airlines a ON a.aid = f.airline_id"
+                + where + " GROUP BY " + (dims.contains(Dimension.AIRLINE) ? "f.airline_id, a.air_name, " : "")
+                + source + ", " + destination + ", " + cls + ", " + date;
+        Map<String, double[]> groups = new HashMap<>();
+        jdbc.query(sql, rs -> {
+            String key = rs.getString(1) + "|" + rs.getString(2) + "|" + rs.getString(3) + "|" + rs.getString(4)
+                    + "|" + rs.getObject(5, LocalDate.class);
+            groups.put(key, new double[] { rs.getLong(6), rs.getLong(7), rs.getLong(8), rs.getDouble(9) });
+        }, args.toArray());
+        groups.values().removeIf(sums -> sums[0] == 0); // A grand total over no rows is still one SQL row
+        return groups;
+    }
+
+    private static void assertSameGroups(Map<String, double[]> expected, Map<String, double[]> actual, String what) {
+        assertEquals(expected.keySet(), actual.keySet(), what);
+        expected.forEach((key, sums) -> {
+            double[] got = actual.get(key);
+            for (int k = 0; k < 3; k++) {
+                assertEquals(sums[k], got[k], what + " " + key);
+            }
+            assertEquals(sums[3], got[3], Math.abs(sums[3]) * 1e-9, what + " " + key);
+        });
+    }
+
+    @Test
+    void testAggregate_EveryGroupingMatchesSqlGroupBy() {
+        for (int mask = 0; mask < 16; mask++) {
+            // Arrange
+            EnumSet<Dimension> dims = EnumSet.noneOf(Dimension.class);
+            for (Dimension dim : Dimension.values()) {
+                if ((mask & (1 << dim.ordinal())) != 0) {
+                    dims.add(dim);
+                }
+            }
+            AnalyticsQuery query = query(dims);
+
+            // Act
+            Map<String, double[]> actual = fromSnapshot(query);
+
+            // Assert
+            assertSameGroups(fromSql(dims, query), actual, dims.toString());
+        }
+    }
+
+    @Test
+    void testAggregate_FilteredGroupingsMatchSqlGroupBy() {
+        // Arrange: names differ in case and spacing from the stored ones
+        EnumSet<Dimension> dims = EnumSet.of(Dimension.ROUTE, Dimension.DAY);
+        AnalyticsQuery byAirline = query(dims);
+        byAirline.setAirline(" akasa");
+        byAirline.setFromDate(FIRST.plusDays(10));
+        byAirline.setToDate(FIRST.plusDays(40));
+        AnalyticsQuery bySource = query(EnumSet.of(Dimension.AIRLINE, Dimension.CLASS));
+        bySource.setSource("KOCHI");
+        bySource.setClassName(AirlineClass.BUSINESS);
+        AnalyticsQuery outside = query(dims);
+        outside.setFromDate(FIRST.plusDays(200));
+
+        // Act
+        Map<String, double[]> airline = fromSnapshot(byAirline);
+        Map<String, double[]> source = fromSnapshot(bySource);
+        Map<String, double[]> none = fromSnapshot(outside);
+
+        // Assert
+        assertTrue(airline.size() > 100);
+        assertSameGroups(fromSql(dims, byAirline), airline, "airline filter");
+        assertSameGroups(fromSql(EnumSet.of(Dimension.AIRLINE, Dimension.CLASS), bySource), source, "source filter");
+        assertTrue(none.isEmpty());
+    }
+}
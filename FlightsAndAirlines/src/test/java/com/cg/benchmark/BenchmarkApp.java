@@ -0,0 +1,108 @@
+package com.cg.benchmark;
+
+import java.sql.Date;
+import java.sql.Time;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.cg.DemoApplication;
+import com.cg.entity.AirlineClass;
+import com.cg.event.FlightsBulkChangedEvent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Starts the application on an in-memory H2 database filled with a synthetic schedule, for the
+// JMH benchmarks. The data is deterministic: the same size always gives the same flights, so
+// results of different runs can be compared.
+public final class BenchmarkApp {
+
+    public static final int CITIES = 60;
+    public static final int AIRLINES = 40;
+
+    private static final int BATCH = 10_000;
+    private static final AirlineClass[] CLASSES = AirlineClass.values();
+
+    // Counters of the last application started, read by SqlCountProfiler in the same JVM. They
+    // stay readable after the trial's teardown, which runs before the last iteration is profiled.
+    private static volatile Counter statements;
+    private static volatile Counter rows;
+
+    private BenchmarkApp() {
+    }
+
+    // Boots the application and loads 'flights' flights spread over CITIES cities and AIRLINES airlines
+    public static ConfigurableApplicationContext start(int flights) {
+        // Command-line arguments, so they win over application.properties
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(DemoApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:bench;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_ON_EXIT=FALSE",
+                        "--spring.datasource.username=sa", "--spring.datasource.password=",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.main.banner-mode=off",
+                        "--logging.level.root=WARN");
+        load(context.getBean(JdbcTemplate.class), flights);
+        context.publishEvent(new FlightsBulkChangedEvent("benchmark load", flights)); // Rebuilds the indexes
+        MeterRegistry registry = context.getBean(MeterRegistry.class);
+        statements = registry.get("sql.statements").counter();
+        rows = registry.get("sql.rows").counter();
+        return context;
+    }
+
+    public static void stop(ConfigurableApplicationContext context) {
+        context.close();
+    }
+
+    // SQL statements run so far, or NaN before an application has started
+    static double statements() {
+        Counter counter = statements;
+        return counter != null ? counter.count() : Double.NaN;
+    }
+
+    // Result set rows read so far, or NaN before an application has started
+    static double rows() {
+        Counter counter = rows;
+        return counter != null ? counter.count() : Double.NaN;
+    }
+
+    public static String city(int i) {
+        return "City" + i;
+    }
+
+    private static void load(JdbcTemplate jdbc, int flights) {
+        List<Object[]> airlines = new ArrayList<>();
+        for (int a = 1; a <= AIRLINES; a++) {
+            airlines.add(new Object[] { a, "Airline " + a });
+        }
+        jdbc.batchUpdate("INSERT INTO airlines (aid, air_name) VALUES (?, ?)", airlines);
+
+        SplittableRandom random = new SplittableRandom(42);
+        List<Object[]> batch = new ArrayList<>(BATCH);
+        for (int i = 0; i < flights; i++) {
+            int source = random.nextInt(CITIES);
+            int dest = (source + 1 + random.nextInt(CITIES - 1)) % CITIES;
+            Date departure = Date.valueOf(LocalDate.of(2026, 12, 1).plusDays(random.nextInt(180)));
+            Time time = Time.valueOf(LocalTime.of(random.nextInt(24), 5 * random.nextInt(12)));
+            int seats = 60 + 30 * random.nextInt(8);
+            batch.add(new Object[] { "E", 1000 + random.nextInt(9000), city(source), city(dest), departure, time,
+                    60 + random.nextInt(600), seats, random.nextInt(seats + 1),
+                    CLASSES[random.nextInt(CLASSES.length)].name(), 1 + random.nextInt(AIRLINES) });
+            if (batch.size() == BATCH || i == flights - 1) {
+                jdbc.batchUpdate("INSERT INTO flights (enterprise, flight_price, source, destination, departure_date, "
+                        + "departure_time, duration, tot_seat, avail_seat, class_name, airline_id, version) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)", batch);
+                batch.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.cg.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+// Performance gate run by the 'benchmark' Maven profile. Runs FlightServiceBenchmark with the GC
+// and SQL count profilers and compares each benchmark's bytes allocated and SQL statements per
+// operation with benchmark-baseline.properties. Both depend on the code rather than the machine,
+// so a change that adds a query or doubles allocation fails on any computer; throughput is
+// reported for reading but not gated.
+//
+// Arguments: the build directory for jmh-result.json and benchmark-baseline.properties (the
+// measured values, to copy over the checked-in baseline after an intended change).
+// -Dbenchmark.flights=10000,100000 picks the dataset sizes.
+public final class BenchmarkGate {
+
+    private static final String ALLOCATION = "gc.alloc.rate.norm";
+    private static final double ALLOCATION_TOLERANCE = 0.25; // Allowed growth of bytes per operation
+    private static final double ALLOCATION_SLACK = 64; // Absolute bytes on top, for JIT noise on tiny operations
+    private static final double STATEMENT_TOLERANCE = 0.5; // Allowed extra statements per operation
+
+    private BenchmarkGate() {
+    }
+
+    public static void main(String[] args) throws RunnerException, IOException {
+        Path out = Path.of(args.length > 0 ? args[0] : "target");
+        Files.createDirectories(out);
+        String[] sizes = System.getProperty("benchmark.flights", "10000").split(",");
+        Options options = new OptionsBuilder()
+                .include(FlightServiceBenchmark.class.getName())
+                .param("flights", sizes)
+                .addProfiler(GCProfiler.class)
+                .addProfiler(SqlCountProfiler.class)
+                .shouldFailOnError(true)
+                .resultFormat(ResultFormatType.JSON)
+                .result(out.resolve("jmh-result.json").toString())
+                .build();
+        Collection<RunResult> results = new Runner(options).run();
+
+        Properties baseline = new Properties();
+        try (InputStream in = BenchmarkGate.class.getResourceAsStream("/benchmark-baseline.properties")) {
+            if (in != null) {
+                baseline.load(in);
+            }
+        }
+        Map<String, String> measured = new TreeMap<>();
+        List<String> failures = new ArrayList<>();
+        for (RunResult run : results) {
+            String name = run.getParams().getBenchmark();
+            String key = name.substring(name.lastIndexOf('.') + 1) + "." + run.getParams().getParam("flights");
+            Map<String, Result> secondary = run.getSecondaryResults();
+            double bytes = score(secondary, ALLOCATION);
+            double statements = score(secondary, SqlCountProfiler.STATEMENTS);
+            System.out.printf(Locale.ROOT, "%-32s %14.1f ops/s %12.0f B/op %8.2f statements/op %10.1f rows/op%n", key,
+                    run.getPrimaryResult().getScore(), bytes, statements, score(secondary, SqlCountProfiler.ROWS));
+            measured.put(key + ".bytes", String.format(Locale.ROOT, "%.0f", bytes));
+            measured.put(key + ".statements", String.format(Locale.ROOT, "%.2f", statements));
+
+            String allowedBytes = baseline.getProperty(key + ".bytes");
+            if (allowedBytes != null
+                    && bytes > Double.parseDouble(allowedBytes) * (1 + ALLOCATION_TOLERANCE) + ALLOCATION_SLACK) {
+                failures.add(key + ": " + Math.round(bytes) + " B/op, baseline " + allowedBytes);
+            }
+            String allowedStatements = baseline.getProperty(key + ".statements");
+            if (allowedStatements != null
+                    && statements > Double.parseDouble(allowedStatements) + STATEMENT_TOLERANCE) {
+                failures.add(String.format(Locale.ROOT, "%s: %.2f statements/op, baseline %s", key, statements,
+                        allowedStatements));
+            }
+            if (allowedBytes == null || allowedStatements == null) {
+                System.out.println(key + ": no baseline, not gated");
+            }
+        }
+
+        List<String> lines = new ArrayList<>();
+        lines.add("# Measured by BenchmarkGate: bytes allocated and SQL statements per operation");
+        measured.forEach((key, value) -> lines.add(key + "=" + value));
+        Files.write(out.resolve("benchmark-baseline.properties"), lines);
+        if (!failures.isEmpty()) {
+            failures.forEach(failure -> System.err.println("Regression: " + failure));
+            System.exit(1);
+        }
+    }
+
+    private static double score(Map<String, Result> secondary, String label) {
+        Result result = secondary.get(label);
+        return result != null ? result.getScore() : Double.NaN;
+    }
+}
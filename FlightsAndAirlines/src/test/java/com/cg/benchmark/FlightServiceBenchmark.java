@@ -0,0 +1,117 @@
+package com.cg.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+
+import com.cg.cache.FlightSearchCache;
+import com.cg.dto.FlightDTO;
+import com.cg.entity.AirlineClass;
+import com.cg.entity.Flight;
+import com.cg.repository.FlightRepository;
+import com.cg.service.FlightService;
+
+// Service-layer benchmarks on H2 with 10k to 1M synthetic flights. Run them through
+// BenchmarkGate (mvn -Pbenchmark -DskipTests verify), which adds the GC and SQL count profilers,
+// or directly with org.openjdk.jmh.Main on the test classpath.
+//
+//   getAllFlights         - full listing: every entity loaded, then sorted by price in a stream
+//   convertToDTO          - entity to DTO mapping of one flight
+//   searchRoute           - source + destination search answered by the result cache
+//   searchRouteUncached   - the same search through the index and the DTO query, cache cleared first
+//   searchSourceUncached  - source-only search, the widest common shape
+//   classFares            - AirlineClass price factors applied to a sample of flights
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xms1g", "-Xmx3g" })
+@State(Scope.Benchmark)
+public class FlightServiceBenchmark {
+
+    private static final int SAMPLE = 1024;
+    private static final int CLASSES = AirlineClass.values().length;
+
+    @Param({ "10000" })
+    public int flights;
+
+    private ConfigurableApplicationContext context;
+    private FlightService flightService;
+    private FlightSearchCache searchCache;
+    private List<Flight> sample;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = BenchmarkApp.start(flights);
+        flightService = context.getBean(FlightService.class);
+        searchCache = context.getBean(FlightSearchCache.class);
+        sample = context.getBean(FlightRepository.class).findAll(PageRequest.of(0, SAMPLE)).getContent();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        BenchmarkApp.stop(context);
+    }
+
+    @Benchmark
+    @SuppressWarnings("deprecation") // The baseline the paged listing is measured against
+    public List<Flight> getAllFlights() {
+        return flightService.getAllFlights();
+    }
+
+    @Benchmark
+    public FlightDTO convertToDTO() {
+        return flightService.convertToDTO(sample.get(next++ & (SAMPLE - 1)));
+    }
+
+    @Benchmark
+    public List<FlightDTO> searchRoute() {
+        return flightService.searchFlight(BenchmarkApp.city(1), BenchmarkApp.city(2), null, null);
+    }
+
+    @Benchmark
+    public List<FlightDTO> searchRouteUncached() {
+        searchCache.clear();
+        return flightService.searchFlight(BenchmarkApp.city(1), BenchmarkApp.city(2), null, null);
+    }
+
+    @Benchmark
+    public List<FlightDTO> searchSourceUncached() {
+        searchCache.clear();
+        return flightService.searchFlight(BenchmarkApp.city(3), null, null, null);
+    }
+
+    // Cheapest fare per class over the sample, as the fare calendar and route graph compute fares
+    @Benchmark
+    public double classFares() {
+        double[] cheapest = new double[CLASSES];
+        for (Flight flight : sample) {
+            AirlineClass cls = flight.getClassName();
+            double fare = flight.getFlightPrice() * cls.getPriceFactor();
+            if (cheapest[cls.ordinal()] == 0 || fare < cheapest[cls.ordinal()]) {
+                cheapest[cls.ordinal()] = fare;
+            }
+        }
+        double sum = 0;
+        for (double fare : cheapest) {
+            sum += fare;
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,49 @@
+package com.cg.benchmark;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.profile.InternalProfiler;
+import org.openjdk.jmh.results.AggregationPolicy;
+import org.openjdk.jmh.results.IterationResult;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.ScalarResult;
+
+// JMH profiler reporting SQL statements and result set rows per benchmark operation, read from the
+// application's sql.statements and sql.rows counters. Use with -prof com.cg.benchmark.SqlCountProfiler.
+public class SqlCountProfiler implements InternalProfiler {
+
+    public static final String STATEMENTS = "sql.statements.norm";
+    public static final String ROWS = "sql.rows.norm";
+
+    private double statements;
+    private double rows;
+
+    @Override
+    public String getDescription() {
+        return "SQL statements and rows read per operation";
+    }
+
+    @Override
+    public void beforeIteration(BenchmarkParams benchmarkParams, IterationParams iterationParams) {
+        statements = BenchmarkApp.statements();
+        rows = BenchmarkApp.rows();
+    }
+
+    @Override
+    public Collection<? extends Result> afterIteration(BenchmarkParams benchmarkParams,
+            IterationParams iterationParams, IterationResult result) {
+        long ops = result.getMetadata() != null ? result.getMetadata().getAllOps() : 0;
+        double statementsNow = BenchmarkApp.statements();
+        double rowsNow = BenchmarkApp.rows();
+        // NaN before the application has first started, i.e. in the first warm-up iteration
+        if (ops == 0 || Double.isNaN(statements) || Double.isNaN(statementsNow)) {
+            return List.of();
+        }
+        return List.of(
+                new ScalarResult(STATEMENTS, (statementsNow - statements) / ops, "statements/op", AggregationPolicy.AVG),
+                new ScalarResult(ROWS, (rowsNow - rows) / ops, "rows/op", AggregationPolicy.AVG));
+    }
+}
@@ -0,0 +1,123 @@
+package com.cg.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.cg.dto.FlightDTO;
+import com.cg.entity.Airline;
+import com.cg.entity.AirlineClass;
+import com.cg.entity.Flight;
+import com.cg.event.FlightChangedEvent;
+import com.cg.event.SeatsChangedEvent;
+
+// Fills the cache with a few searches and checks that each kind of change evicts exactly the
+// searches it can affect, and keeps the rest.
+public class FlightSearchCacheTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 12, 1);
+
+    private FlightSearchCache cache;
+    private final Map<String, FlightSearchKey> keys = new LinkedHashMap<>(); // Name -> cached search
+
+    @BeforeEach
+    void setUp() {
+        cache = new FlightSearchCache(100, Duration.ofMinutes(10));
+        // Flight 1 is Indigo Hyd-Del, flight 2 Vistara Goa-Bom
+        cache("hydDel", new FlightSearchKey("Hyd", "Del", null, null), dto(1, "Hyd", "Del", "Indigo"));
+        cache("fromGoa", new FlightSearchKey(" goa ", null, null, null), dto(2, "Goa", "Bom", "Vistara"));
+        cache("vistara", new FlightSearchKey(null, null, "Vistara", null), dto(2, "Goa", "Bom", "Vistara"));
+        cache("toGoa", new FlightSearchKey(null, "Goa", null, null));
+        cache("puneBusiness", new FlightSearchKey("Pune", null, null, AirlineClass.BUSINESS));
+        cache("akasa", new FlightSearchKey(null, null, "AKASA", null));
+        cache("airVistara", new FlightSearchKey(null, null, "Air Vistara", null));
+    }
+
+    private void cache(String name, FlightSearchKey key, FlightDTO... flights) {
+        keys.put(name, key);
+        cache.get(key, () -> List.of(flights));
+    }
+
+    private static FlightDTO dto(int id, String source, String dest, String airline) {
+        return new FlightDTO(id, "E", 4000, source, dest, DAY, LocalTime.of(10, 0), DAY, LocalTime.of(12, 0), 120,
+                100, 100, AirlineClass.ECONOMY, airline);
+    }
+
+    private static Flight flight(int id, String source, String dest, String airline, AirlineClass cls) {
+        return new Flight(id, "E", 4000, source, dest, DAY, LocalTime.of(10, 0), DAY, LocalTime.of(12, 0), 120, 100,
+                100, cls, new Airline(id, airline));
+    }
+
+    // Names of the searches no longer cached, in setup order; looking them up caches them again
+    private List<String> evicted() {
+        List<String> gone = new ArrayList<>();
+        keys.forEach((name, key) -> cache.get(key, () -> {
+            gone.add(name);
+            return List.of();
+        }));
+        return gone;
+    }
+
+    @Test
+    void testOnFlightChanged_UpdateEvictsResultsWithItAndSearchesItNowMatches() {
+        // Act: flight 1 now flies Hyd-Goa
+        cache.onFlightChanged(FlightChangedEvent.updated(flight(1, "Hyd", "Goa", "Indigo", AirlineClass.ECONOMY)));
+
+        // Assert
+        assertEquals(List.of("hydDel", "toGoa"), evicted());
+    }
+
+    @Test
+    void testOnFlightChanged_NewFlightEvictsOnlySearchesItMatches() {
+        // Act
+        cache.onFlightChanged(FlightChangedEvent.saved(flight(3, "pune", "Bom", "Akasa", AirlineClass.BUSINESS)));
+
+        // Assert
+        assertEquals(List.of("puneBusiness", "akasa"), evicted());
+    }
+
+    @Test
+    void testOnFlightChanged_DeleteEvictsResultsWithIt() {
+        // Act
+        cache.onFlightChanged(FlightChangedEvent.deleted(2));
+
+        // Assert
+        assertEquals(List.of("fromGoa", "vistara"), evicted());
+    }
+
+    @Test
+    void testOnSeatsChanged_EvictsResultsShowingTheFlight() {
+        // Act
+        cache.onSeatsChanged(new SeatsChangedEvent(1, 90));
+
+        // Assert
+        assertEquals(List.of("hydDel"), evicted());
+    }
+
+    @Test
+    void testEvictAirline_RenameEvictsSearchesByEitherNameAndRowsShowingTheOld() {
+        // Act
+        cache.evictAirline("vistara ", "Air Vistara");
+
+        // Assert: fromGoa only shows a Vistara flight, it does not filter by airline
+        assertEquals(List.of("fromGoa", "vistara", "airVistara"), evicted());
+    }
+
+    @Test
+    void testEvictAirline_NewAirlineEvictsOnlySearchesByItsName() {
+        // Act
+        cache.evictAirline(null, "Akasa");
+
+        // Assert
+        assertEquals(List.of("akasa"), evicted());
+    }
+}
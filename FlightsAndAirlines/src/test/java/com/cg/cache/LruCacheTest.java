@@ -0,0 +1,127 @@
+package com.cg.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+public class LruCacheTest {
+
+    @Test
+    void testGet_LoadsOnceThenServesFromMemory() {
+        // Arrange
+        LruCache<Integer, String> cache = new LruCache<>("test", 10);
+        AtomicInteger loads = new AtomicInteger();
+
+        // Act
+        String first = cache.get(1, key -> "v" + key + "/" + loads.incrementAndGet());
+        String second = cache.get(1, key -> "v" + key + "/" + loads.incrementAndGet());
+
+        // Assert
+        assertEquals("v1/1", first);
+        assertEquals("v1/1", second);
+        CacheStats stats = cache.stats();
+        assertEquals(1, stats.getHits());
+        assertEquals(1, stats.getMisses());
+        assertEquals(1, stats.getSize());
+    }
+
+    @Test
+    void testGet_DropsLeastRecentlyUsedWhenFull() {
+        // Arrange
+        LruCache<Integer, String> cache = new LruCache<>("test", 2);
+        cache.get(1, key -> "a");
+        cache.get(2, key -> "b");
+        cache.get(1, key -> "unused"); // 1 is now the most recently used
+
+        // Act
+        cache.get(3, key -> "c");
+
+        // Assert: 2 was evicted, 1 and 3 are still cached
+        assertEquals("a", cache.get(1, key -> "reloaded"));
+        assertEquals("reloaded", cache.get(2, key -> "reloaded"));
+        assertEquals(2, cache.stats().getEvictions()); // 2, then 3 when 2 came back
+    }
+
+    @Test
+    void testGet_NullIsNotCached() {
+        // Arrange
+        LruCache<Integer, String> cache = new LruCache<>("test", 10);
+
+        // Act
+        String missing = cache.get(1, key -> null);
+
+        // Assert
+        assertNull(missing);
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void testGet_ExpiredEntryIsReloaded() throws Exception {
+        // Arrange
+        LruCache<Integer, String> cache = new LruCache<>("test", 10, Duration.ofMillis(20));
+        cache.get(1, key -> "old");
+
+        // Act
+        Thread.sleep(40);
+        String value = cache.get(1, key -> "new");
+
+        // Assert
+        assertEquals("new", value);
+        assertEquals(1, cache.stats().getEvictions());
+    }
+
+    @Test
+    void testEvict_DuringLoadKeepsTheStaleValueOut() {
+        // Arrange
+        LruCache<Integer, String> cache = new LruCache<>("test", 10);
+
+        // Act: a write invalidates the key while its old value is being loaded
+        String loaded = cache.get(1, key -> {
+            cache.evict(key);
+            return "stale";
+        });
+
+        // Assert: the caller gets what it loaded, but the cache does not keep it
+        assertEquals("stale", loaded);
+        assertEquals("fresh", cache.get(1, key -> "fresh"));
+    }
+
+    @Test
+    void testEvictIf_RemovesMatchingEntriesOnly() {
+        // Arrange
+        LruCache<Integer, String> cache = new LruCache<>("test", 10);
+        for (int i = 1; i <= 6; i++) {
+            int n = i;
+            cache.get(i, key -> "v" + n);
+        }
+
+        // Act
+        int removed = cache.evictIf((key, value) -> key % 2 == 0);
+
+        // Assert
+        assertEquals(3, removed);
+        assertEquals(3, cache.size());
+        assertEquals("v1", cache.get(1, key -> "reloaded"));
+        assertEquals("reloaded", cache.get(2, key -> "reloaded"));
+        assertEquals(3, cache.stats().getEvictions());
+    }
+
+    @Test
+    void testClear_CountsEveryEntryAsEvicted() {
+        // Arrange
+        LruCache<Integer, String> cache = new LruCache<>("test", 10);
+        cache.get(1, key -> "a");
+        cache.get(2, key -> "b");
+
+        // Act
+        cache.clear();
+
+        // Assert
+        assertEquals(0, cache.size());
+        assertEquals(2, cache.stats().getEvictions());
+    }
+}
@@ -0,0 +1,81 @@
+package com.cg.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Base64;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+
+public class SpringConfigTest {
+
+    @Test
+    void testCookieKey_RejectsSecretsShorterThan32Bytes() {
+        // Arrange
+        String shortSecret = Base64.getEncoder().encodeToString(new byte[31]);
+        String secret = Base64.getEncoder().encodeToString(new byte[32]);
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> SpringConfig.cookieKey(shortSecret));
+        assertEquals(32, SpringConfig.cookieKey(" " + secret + " ").length);
+        assertEquals(32, SpringConfig.cookieKey("").length); // Random key when none is configured
+    }
+
+    private static boolean granted(AuthorizationManager<RequestAuthorizationContext> manager, String remoteAddr) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/actuator/prometheus");
+        request.setRemoteAddr(remoteAddr);
+        return manager.authorize(() -> null, new RequestAuthorizationContext(request)).isGranted();
+    }
+
+    @Test
+    void testFromAddresses_GrantsOnlyListedClients() {
+        // Arrange
+        AuthorizationManager<RequestAuthorizationContext> local = SpringConfig.fromAddresses(List.of("127.0.0.1", "::1"));
+        AuthorizationManager<RequestAuthorizationContext> network = SpringConfig.fromAddresses(List.of(" 10.0.0.0/8 ", ""));
+        AuthorizationManager<RequestAuthorizationContext> nobody = SpringConfig.fromAddresses(List.of());
+
+        // Act & Assert
+        assertTrue(granted(local, "127.0.0.1"));
+        assertTrue(granted(local, "0:0:0:0:0:0:0:1"));
+        assertFalse(granted(local, "203.0.113.9"));
+        assertTrue(granted(network, "10.20.30.40"));
+        assertFalse(granted(network, "11.0.0.1"));
+        assertFalse(granted(nobody, "127.0.0.1"));
+    }
+
+    private static boolean granted(AuthorizationManager<RequestAuthorizationContext> manager, Authentication auth) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/analytics");
+        return manager.authorize(() -> auth, new RequestAuthorizationContext(request)).isGranted();
+    }
+
+    private static Authentication user(String name) {
+        return UsernamePasswordAuthenticationToken.authenticated(name, null, AuthorityUtils.NO_AUTHORITIES);
+    }
+
+    @Test
+    void testForUsers_GrantsOnlyListedLoggedInUsers() {
+        // Arrange
+        AuthorizationManager<RequestAuthorizationContext> ops = SpringConfig.forUsers(List.of("admin", " Ops ", ""));
+        AuthorizationManager<RequestAuthorizationContext> nobody = SpringConfig.forUsers(List.of());
+        Authentication anonymous = new AnonymousAuthenticationToken("key", "admin",
+                AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS"));
+
+        // Act & Assert
+        assertTrue(granted(ops, user("admin")));
+        assertTrue(granted(ops, user("OPS")));
+        assertFalse(granted(ops, user("alice")));
+        assertFalse(granted(ops, anonymous));
+        assertFalse(granted(ops, (Authentication) null));
+        assertFalse(granted(nobody, user("admin")));
+    }
+}
@@ -0,0 +1,22 @@
+package com.cg.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+import com.cg.service.FlightImportService.Format;
+
+public class FlightControllerTest {
+
+    @Test
+    void testFormatOf_ParameterThenContentTypeThenFileName() {
+        // Act & Assert
+        assertEquals(Format.JSON, FlightController.formatOf(" json ", "text/csv", "flights.csv"));
+        assertEquals(Format.CSV, FlightController.formatOf("Csv", "application/json", null));
+        assertEquals(Format.JSON, FlightController.formatOf(null, "Application/JSON; charset=UTF-8", null));
+        assertEquals(Format.JSON, FlightController.formatOf("", "application/octet-stream", "FLIGHTS.NDJSON"));
+        assertEquals(Format.CSV, FlightController.formatOf(null, null, null));
+        assertThrows(IllegalArgumentException.class, () -> FlightController.formatOf("xml", null, null));
+    }
+}
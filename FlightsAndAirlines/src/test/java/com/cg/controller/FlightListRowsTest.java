@@ -0,0 +1,115 @@
+package com.cg.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.cg.cache.CatalogVersion;
+import com.cg.entity.Airline;
+import com.cg.entity.AirlineClass;
+import com.cg.entity.Flight;
+import com.cg.service.AirlineService;
+import com.cg.service.FlightService;
+
+// Calls the infinite-scroll endpoint /api/list/rows over HTTP and checks the rendered fragment,
+// the link to the next page, and the catalog-version ETag: 304 while it matches, 200 after a bump.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:flightrows;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.username=sa", "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false" })
+public class FlightListRowsTest {
+
+    private static final Pattern NEXT = Pattern.compile("data-next=\"([^\"]*)\"");
+
+    @Value("${local.server.port}")
+    private int port;
+
+    @Autowired
+    private FlightService flightService;
+
+    @Autowired
+    private AirlineService airlineService;
+
+    @Autowired
+    private CatalogVersion catalogVersion;
+
+    private final HttpClient http = HttpClient.newHttpClient();
+
+    @BeforeEach
+    void setUp() {
+        if (!airlineService.getAllAirlines().isEmpty()) {
+            return;
+        }
+        Airline indigo = airlineService.saveAir(new Airline(0, "Indigo"));
+        for (double price : new double[] { 4000, 1800, 2500 }) {
+            flightService.saveFlight(new Flight(0, "E", price, "Hyd", "Del", LocalDate.of(2026, 12, 1),
+                    LocalTime.of(10, 30), LocalDate.of(2026, 12, 1), LocalTime.of(12, 30), 120, 100, 100,
+                    AirlineClass.ECONOMY, null), indigo);
+        }
+    }
+
+    private HttpResponse<String> get(String path, String ifNoneMatch) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path));
+        if (ifNoneMatch != null) {
+            request.header("If-None-Match", ifNoneMatch);
+        }
+        return http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    @Test
+    void testGetFlightRows_RendersOnePageAndLinksTheNext() throws Exception {
+        // Act
+        HttpResponse<String> first = get("/api/list/rows?size=2", null);
+        Matcher next = NEXT.matcher(first.body());
+        assertTrue(next.find(), first.body());
+        HttpResponse<String> second = get(next.group(1).replace("&amp;", "&"), null);
+
+        // Assert: only table rows, cheapest first, and the last page has no link onwards
+        assertEquals(200, first.statusCode());
+        assertFalse(first.body().contains("<html"));
+        assertTrue(first.body().indexOf("1,800.00") < first.body().indexOf("2,500.00"));
+        assertFalse(first.body().contains("4,000.00"));
+        assertEquals("no-cache", first.headers().firstValue("Cache-Control").orElseThrow());
+        assertEquals(200, second.statusCode());
+        assertTrue(second.body().contains("4,000.00"));
+        assertFalse(second.body().contains("2,500.00"));
+        assertFalse(second.body().contains("data-next"));
+    }
+
+    @Test
+    void testGetFlightRows_NotModifiedUntilTheCatalogChanges() throws Exception {
+        // Arrange
+        HttpResponse<String> first = get("/api/list/rows?size=2", null);
+        String etag = first.headers().firstValue("ETag").orElseThrow();
+
+        // Act
+        HttpResponse<String> unchanged = get("/api/list/rows?size=2", etag);
+        catalogVersion.bump();
+        HttpResponse<String> changed = get("/api/list/rows?size=2", etag);
+
+        // Assert
+        assertEquals(304, unchanged.statusCode());
+        assertEquals("", unchanged.body());
+        assertEquals(200, changed.statusCode());
+        assertTrue(changed.body().contains("1,800.00"));
+        assertNotEquals(etag, changed.headers().firstValue("ETag").orElseThrow());
+    }
+}
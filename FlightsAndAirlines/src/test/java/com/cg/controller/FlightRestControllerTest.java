@@ -0,0 +1,195 @@
+package com.cg.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.cg.entity.Airline;
+import com.cg.entity.AirlineClass;
+import com.cg.entity.Flight;
+import com.cg.service.AirlineService;
+import com.cg.service.FlightService;
+
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+// Calls the /api/v1 endpoints over HTTP and checks paging, field selection, search filters,
+// 404 and 400 answers, conditional GETs and the limit on live update streams.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:flightrest;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.username=sa", "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false", "app.push.max-streams-per-client=1" })
+public class FlightRestControllerTest {
+
+    @Value("${local.server.port}")
+    private int port;
+
+    @Autowired
+    private FlightService flightService;
+
+    @Autowired
+    private AirlineService airlineService;
+
+    @Autowired
+    private ObjectMapper mapper;
+
+    private final HttpClient http = HttpClient.newHttpClient();
+
+    @BeforeEach
+    void setUp() {
+        if (!airlineService.getAllAirlines().isEmpty()) {
+            return;
+        }
+        Airline indigo = airlineService.saveAir(new Airline(0, "Indigo"));
+        Airline vistara = airlineService.saveAir(new Airline(0, "Vistara"));
+        double[] prices = { 4000, 2500, 4000, 3100, 1800 };
+        for (int i = 0; i < prices.length; i++) {
+            AirlineClass cls = i % 2 == 0 ? AirlineClass.ECONOMY : AirlineClass.BUSINESS;
+            flightService.saveFlight(new Flight(0, "E", prices[i], "Hyd", "Del", LocalDate.of(2026, 12, 1),
+                    LocalTime.of(10, 30), LocalDate.of(2026, 12, 1), LocalTime.of(12, 30), 120, 100, 100, cls, null),
+                    i < 3 ? indigo : vistara);
+        }
+    }
+
+    private HttpResponse<String> get(String path, String ifNoneMatch) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path));
+        if (ifNoneMatch != null) {
+            request.header("If-None-Match", ifNoneMatch);
+        }
+        return http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private JsonNode json(String path) throws Exception {
+        HttpResponse<String> response = get(path, null);
+        assertEquals(200, response.statusCode(), response.body());
+        return mapper.readTree(response.body());
+    }
+
+    private static List<Double> prices(JsonNode flights) {
+        List<Double> prices = new ArrayList<>();
+        flights.forEach(f -> prices.add(f.get("flightPrice").asDouble()));
+        return prices;
+    }
+
+    @Test
+    void testGetFlights_CursorWalksEveryFlightCheapestFirst() throws Exception {
+        // Act
+        JsonNode first = json("/api/v1/flights?size=3");
+        JsonNode second = json("/api/v1/flights?size=3&afterPrice=" + first.get("nextPrice").asDouble()
+                + "&afterId=" + first.get("nextId").asInt());
+
+        // Assert: the two 4000 flights are split across pages by id
+        assertEquals(List.of(1800.0, 2500.0, 3100.0), prices(first.get("flights")));
+        assertTrue(first.get("hasNext").asBoolean());
+        assertEquals(List.of(4000.0, 4000.0), prices(second.get("flights")));
+        assertFalse(second.get("hasNext").asBoolean());
+        assertTrue(second.get("flights").get(0).get("flightId").asInt()
+                < second.get("flights").get(1).get("flightId").asInt());
+    }
+
+    @Test
+    void testGetFlights_FieldsKeepOnlyRequestedProperties() throws Exception {
+        // Act
+        JsonNode page = json("/api/v1/flights?size=1&fields=flightId,%20flightPrice,");
+        HttpResponse<String> unknown = get("/api/v1/flights?fields=flightId,secret", null);
+
+        // Assert
+        assertEquals(Set.of("flightId", "flightPrice"), page.get("flights").get(0).propertyNames());
+        assertEquals(400, unknown.statusCode());
+        assertTrue(mapper.readTree(unknown.body()).get("message").asString().startsWith("Unknown field 'secret'"));
+    }
+
+    @Test
+    void testSearchFlights_ClassNameIsCaseInsensitiveAndValidated() throws Exception {
+        // Act
+        JsonNode business = json("/api/v1/flights/search?source=hyd&dest=DEL&className=business");
+        JsonNode vistara = json("/api/v1/flights/search?airline=Vistara&offset=1&size=1");
+        HttpResponse<String> bogus = get("/api/v1/flights/search?className=steerage", null);
+
+        // Assert
+        assertEquals(2, business.get("total").asInt());
+        business.get("flights").forEach(f -> assertEquals("BUSINESS", f.get("className").asString()));
+        assertEquals(2, vistara.get("total").asInt());
+        assertEquals(1, vistara.get("flights").size());
+        assertEquals("Vistara", vistara.get("flights").get(0).get("airlineName").asString());
+        assertEquals(400, bogus.statusCode());
+    }
+
+    @Test
+    void testGetFlight_FoundAndMissing() throws Exception {
+        // Arrange
+        int id = json("/api/v1/flights?size=1").get("flights").get(0).get("flightId").asInt();
+
+        // Act
+        JsonNode flight = json("/api/v1/flights/" + id);
+        HttpResponse<String> missing = get("/api/v1/flights/999999", null);
+
+        // Assert
+        assertEquals(id, flight.get("flightId").asInt());
+        assertEquals(1800.0, flight.get("flightPrice").asDouble());
+        assertEquals("Vistara", flight.get("airlineName").asString());
+        assertEquals(404, missing.statusCode());
+    }
+
+    @Test
+    void testConditionalGet_CurrentEtagReturns304() throws Exception {
+        // Arrange
+        HttpResponse<String> first = get("/api/v1/airlines", null);
+        String etag = first.headers().firstValue("ETag").orElseThrow();
+
+        // Act
+        HttpResponse<String> again = get("/api/v1/airlines", etag);
+        HttpResponse<String> stale = get("/api/v1/airlines", "\"stale\"");
+
+        // Assert
+        assertEquals(200, first.statusCode());
+        assertEquals(List.of("Indigo", "Vistara"),
+                mapper.readTree(first.body()).findValuesAsString("airName"));
+        assertEquals(304, again.statusCode());
+        assertTrue(again.body().isEmpty());
+        assertEquals(200, stale.statusCode());
+    }
+
+    @Test
+    void testStreamFlights_SecondStreamFromSameAddressIsRefused() throws Exception {
+        // Arrange
+        int id = json("/api/v1/flights?size=1").get("flights").get(0).get("flightId").asInt();
+        HttpRequest stream = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/flights/stream?ids=" + id))
+                .header("Accept", "text/event-stream").build();
+
+        // Act
+        HttpResponse<InputStream> open = http.send(stream, HttpResponse.BodyHandlers.ofInputStream());
+        HttpResponse<String> refused;
+        try (InputStream events = open.body()) {
+            refused = http.send(stream, HttpResponse.BodyHandlers.ofString());
+        }
+        HttpResponse<String> empty = http.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port
+                + "/api/v1/flights/stream?ids=")).header("Accept", "text/event-stream").build(),
+                HttpResponse.BodyHandlers.ofString());
+
+        // Assert
+        assertEquals(200, open.statusCode());
+        assertEquals(429, refused.statusCode());
+        assertTrue(mapper.readTree(refused.body()).get("message").asString().startsWith("At most 1 live update"));
+        assertEquals(400, empty.statusCode());
+    }
+}
@@ -0,0 +1,139 @@
+package com.cg.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+// Drives the JSON API and the HTML listing over real HTTP with concurrent clients and compares
+// their bytes on the wire for the same page of flights. Both read the same FlightDTO projection;
+// the HTML path additionally renders the Thymeleaf page on every call. Tagged "benchmark": runs
+// only with -Pbenchmark.
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:restload;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.username=sa", "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false" })
+public class FlightRestLoadTest {
+
+    private static final int FLIGHTS = 5000;
+    private static final int AIRLINES = 40;
+    private static final int PAGE = 50;
+    private static final int CLIENTS = 8;
+    private static final int WARMUP = 300;
+    private static final int REQUESTS = 2000;
+
+    @Value("${local.server.port}")
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    private final HttpClient http = HttpClient.newHttpClient();
+
+    @BeforeEach
+    void setUp() {
+        if (jdbc.queryForObject("SELECT COUNT(*) FROM flights", Integer.class) > 0) {
+            return;
+        }
+        List<Object[]> airlines = new ArrayList<>();
+        for (int a = 1; a <= AIRLINES; a++) {
+            airlines.add(new Object[] { a, "Airline " + a });
+        }
+        jdbc.batchUpdate("INSERT INTO airlines (aid, air_name) VALUES (?, ?)", airlines);
+        List<Object[]> flights = new ArrayList<>();
+        for (int i = 1; i <= FLIGHTS; i++) {
+            flights.add(new Object[] { "E", 1000 + (i * 37) % 9000, "City" + i % 20, "City" + (i + 7) % 20,
+                    java.sql.Date.valueOf("2026-12-01"), java.sql.Time.valueOf("10:30:00"), 120, 180, 90,
+                    "ECONOMY", 1 + i % AIRLINES });
+        }
+        jdbc.batchUpdate("INSERT INTO flights (enterprise, flight_price, source, destination, departure_date, "
+                + "departure_time, duration, tot_seat, avail_seat, class_name, airline_id, version) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)", flights);
+    }
+
+    @Test
+    void testJsonPage_SmallerThanHtmlPageUnderLoad() throws Exception {
+        // Act
+        long html = load("/api/list?size=" + PAGE);
+        long json = load("/api/v1/flights?size=" + PAGE);
+        long fields = load("/api/v1/flights?size=" + PAGE + "&fields=flightId,flightPrice,source,destination");
+
+        // Assert
+        assertTrue(json < html);
+        assertTrue(fields < json);
+    }
+
+    @Test
+    void testConditionalRequest_Returns304WithoutBody() throws Exception {
+        // Arrange
+        HttpResponse<byte[]> first = get("/api/v1/flights?size=" + PAGE, null);
+        String etag = first.headers().firstValue("ETag").orElseThrow();
+
+        // Act
+        HttpResponse<byte[]> second = get("/api/v1/flights?size=" + PAGE, etag);
+
+        // Assert
+        assertEquals(200, first.statusCode());
+        assertEquals(304, second.statusCode());
+        assertEquals(0, second.body().length);
+    }
+
+    // Sends WARMUP, then REQUESTS gzip-accepting GETs from CLIENTS threads; returns the bytes per response
+    private long load(String path) throws Exception {
+        run(path, WARMUP, new AtomicLong());
+        AtomicLong bytes = new AtomicLong();
+        run(path, REQUESTS, bytes);
+        return bytes.get() / REQUESTS;
+    }
+
+    private void run(String path, int requests, AtomicLong bytes) throws Exception {
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        try {
+            List<Future<?>> done = new ArrayList<>();
+            for (int c = 0; c < CLIENTS; c++) {
+                done.add(clients.submit(() -> {
+                    for (int i = 0; i < requests / CLIENTS; i++) {
+                        HttpResponse<byte[]> response = get(path, null);
+                        assertEquals(200, response.statusCode());
+                        bytes.addAndGet(response.body().length);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> f : done) {
+                f.get();
+            }
+        } finally {
+            clients.shutdown();
+        }
+    }
+
+    private HttpResponse<byte[]> get(String path, String ifNoneMatch) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Accept-Encoding", "gzip");
+        if (ifNoneMatch != null) {
+            request.header("If-None-Match", ifNoneMatch);
+        }
+        return http.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+}
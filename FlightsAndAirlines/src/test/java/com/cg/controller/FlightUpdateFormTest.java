@@ -0,0 +1,126 @@
+package com.cg.controller;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.cg.dto.FlightDTO;
+import com.cg.entity.Airline;
+import com.cg.entity.AirlineClass;
+import com.cg.entity.Flight;
+import com.cg.index.FlightSearchIndex;
+import com.cg.service.AirlineService;
+import com.cg.service.FlightService;
+
+// Logs in, loads the update form over HTTP and posts it back the way a browser would, so the hidden
+// fields holding the rendered values are checked to bind back to what the form showed.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:flightupdateform;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.username=sa", "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false" })
+public class FlightUpdateFormTest {
+
+    private static final Pattern INPUT = Pattern.compile("<input[^>]*>");
+    private static final Pattern NAME = Pattern.compile("\\sname=\"([^\"]*)\"");
+    private static final Pattern VALUE = Pattern.compile("\\svalue=\"([^\"]*)\"");
+
+    @Value("${local.server.port}")
+    private int port;
+
+    @Autowired
+    private FlightService flightService;
+
+    @Autowired
+    private AirlineService airlineService;
+
+    @Autowired
+    private FlightSearchIndex searchIndex;
+
+    private final HttpClient http = HttpClient.newBuilder().cookieHandler(new CookieManager())
+            .followRedirects(HttpClient.Redirect.NEVER).build();
+
+    private HttpResponse<String> post(String path, Map<String, String> form) throws Exception {
+        StringJoiner body = new StringJoiner("&");
+        form.forEach((name, value) -> body.add(URLEncoder.encode(name, StandardCharsets.UTF_8) + "="
+                + URLEncoder.encode(value, StandardCharsets.UTF_8)));
+        return http.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(body.toString())).build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+
+    // Name and value of every input of the page, in page order
+    private static Map<String, String> inputs(String html) {
+        Map<String, String> fields = new LinkedHashMap<>();
+        Matcher input = INPUT.matcher(html);
+        while (input.find()) {
+            Matcher name = NAME.matcher(input.group());
+            Matcher value = VALUE.matcher(input.group());
+            if (name.find()) {
+                fields.put(name.group(1), value.find() ? value.group(1) : "");
+            }
+        }
+        return fields;
+    }
+
+    @Test
+    void testUpdateForm_PostedBackWritesTheEditAndReIndexesIt() throws Exception {
+        // Arrange: a logged-in admin opens the form of a flight
+        Airline indigo = airlineService.saveAir(new Airline(0, "Indigo"));
+        Airline spicejet = airlineService.saveAir(new Airline(0, "SpiceJet"));
+        Flight flight = flightService.saveFlight(new Flight(0, "E", 4500, "Hyd", "Del", LocalDate.of(2026, 12, 1),
+                LocalTime.of(10, 30), LocalDate.of(2026, 12, 1), LocalTime.of(12, 30), 120, 180, 180,
+                AirlineClass.ECONOMY, null), indigo);
+        post("/register", Map.of("userName", "admin", "password", "secret-pass"));
+        assertEquals("/api/list", URI.create(post("/login", Map.of("username", "admin", "password", "secret-pass"))
+                .headers().firstValue("Location").orElseThrow()).getPath());
+        HttpResponse<String> page = http.send(HttpRequest.newBuilder(
+                URI.create("http://localhost:" + port + "/api/update/" + flight.getFlightId())).build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, page.statusCode());
+        Map<String, String> form = inputs(page.body());
+        assertEquals("4500.0", form.get("loaded.flightPrice"));
+        assertEquals(Integer.toString(indigo.getAid()), form.get("loaded.airlineId"));
+
+        // Act: the price and the airline are changed, everything else is posted as shown
+        form.put("flightPrice", "5200");
+        form.put("enterprise", Integer.toString(spicejet.getAid()));
+        HttpResponse<String> saved = post("/api/update", form);
+
+        // Assert: only the edit was written, and the index moved the flight to the new airline
+        assertEquals(302, saved.statusCode());
+        assertTrue(saved.headers().firstValue("Location").orElseThrow().endsWith("/api/list"));
+        FlightDTO row = flightService.findDtoById(flight.getFlightId());
+        assertEquals(5200.0, row.getFlightPrice());
+        assertEquals("SpiceJet", row.getAirlineName());
+        assertEquals(LocalTime.of(10, 30), row.getDepartureTime());
+        assertEquals(AirlineClass.ECONOMY, row.getClassName());
+        assertEquals(180, row.getAvailSeat());
+        assertEquals(flight.getVersion() + 1, row.getVersion());
+        assertArrayEquals(new int[] { flight.getFlightId() },
+                searchIndex.search("hyd", null, List.of(spicejet.getAid()), null));
+    }
+}
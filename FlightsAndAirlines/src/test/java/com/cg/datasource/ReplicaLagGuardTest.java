@@ -0,0 +1,90 @@
+package com.cg.datasource;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.TransactionExecution;
+
+public class ReplicaLagGuardTest {
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private static void login(String user) {
+        SecurityContextHolder.getContext()
+                .setAuthentication(new UsernamePasswordAuthenticationToken(user, "pw", List.of()));
+    }
+
+    private static TransactionExecution transaction(boolean readOnly) {
+        TransactionExecution transaction = mock(TransactionExecution.class);
+        when(transaction.isReadOnly()).thenReturn(readOnly);
+        return transaction;
+    }
+
+    @Test
+    void testMustReadPrimary_OnlyTheUserWhoWroteIsHeldBack() {
+        // Arrange
+        ReplicaLagGuard guard = new ReplicaLagGuard(Duration.ofMinutes(1));
+        login("asha");
+
+        // Act
+        guard.afterCommit(transaction(false), null);
+
+        // Assert
+        assertTrue(guard.mustReadPrimary());
+        login("ravi");
+        assertFalse(guard.mustReadPrimary());
+        SecurityContextHolder.getContext().setAuthentication(new AnonymousAuthenticationToken("key", "anonymous",
+                AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS")));
+        assertFalse(guard.mustReadPrimary());
+        SecurityContextHolder.clearContext();
+        assertFalse(guard.mustReadPrimary());
+    }
+
+    @Test
+    void testAfterCommit_IgnoresReadsFailuresAndAnonymousWrites() {
+        // Arrange
+        ReplicaLagGuard guard = new ReplicaLagGuard(Duration.ofMinutes(1));
+
+        // Act
+        guard.afterCommit(transaction(false), null); // Background work, nobody logged in
+        login("asha");
+        guard.afterCommit(transaction(true), null);
+        guard.afterCommit(transaction(false), new IllegalStateException("commit failed"));
+
+        // Assert
+        assertFalse(guard.mustReadPrimary());
+    }
+
+    @Test
+    void testMustReadPrimary_EndsWithTheWindow() throws Exception {
+        // Arrange
+        ReplicaLagGuard guard = new ReplicaLagGuard(Duration.ofMillis(200));
+        ReplicaLagGuard off = new ReplicaLagGuard(Duration.ZERO);
+        login("asha");
+
+        // Act
+        guard.afterCommit(transaction(false), null);
+        off.afterCommit(transaction(false), null);
+        boolean during = guard.mustReadPrimary();
+        Thread.sleep(300);
+
+        // Assert
+        assertTrue(during);
+        assertFalse(guard.mustReadPrimary());
+        assertFalse(off.mustReadPrimary());
+    }
+}
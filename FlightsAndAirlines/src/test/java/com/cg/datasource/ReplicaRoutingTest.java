@@ -0,0 +1,119 @@
+package com.cg.datasource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.cg.dto.FlightDTO;
+import com.cg.entity.Airline;
+import com.cg.entity.AirlineClass;
+import com.cg.entity.Flight;
+import com.cg.service.AirlineService;
+import com.cg.service.FlightService;
+
+// Runs against a primary and a replica that is an empty copy of its schema and never catches up,
+// so every read shows which database served it.
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.username=sa", "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false",
+        "app.datasource.replica-urls=" + ReplicaRoutingTest.REPLICA_URL,
+        "app.datasource.read-your-writes=1m" })
+public class ReplicaRoutingTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private AirlineService airlineService;
+
+    @Autowired
+    private FlightService flightService;
+
+    @Autowired
+    private ReadWriteRoutingDataSource routing;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    private final JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+
+    @BeforeEach
+    void setUp() {
+        replica.execute("DROP ALL OBJECTS");
+        for (String statement : jdbc.queryForList("SCRIPT NODATA", String.class)) {
+            replica.execute(statement);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private static void login(String user) {
+        SecurityContextHolder.getContext()
+                .setAuthentication(new UsernamePasswordAuthenticationToken(user, "pw", List.of()));
+    }
+
+    private Flight saveFlight(Airline airline, String source) {
+        return flightService.saveFlight(new Flight(0, "E", 4500, source, "Del", LocalDate.of(2026, 12, 1),
+                LocalTime.of(10, 30), LocalDate.of(2026, 12, 1), LocalTime.of(12, 30), 120, 100, 100,
+                AirlineClass.ECONOMY, null), airline);
+    }
+
+    @Test
+    void testCacheReloadsAfterWrites_ReadThePrimary() {
+        // Arrange: every write below empties the cache it touches
+        Airline airline = airlineService.saveAir(new Airline(0, "Routed Air"));
+        Flight flight = saveFlight(airline, "Hyd");
+
+        // Act
+        List<Airline> airlines = airlineService.getAllAirlines();
+        String byId = airlineService.findById(airline.getAid()).orElseThrow().getAirName();
+        List<FlightDTO> found = flightService.searchFlight("Hyd", "Del", "Routed Air", null);
+
+        // Assert
+        assertTrue(airlines.stream().anyMatch(a -> a.getAid() == airline.getAid()));
+        assertEquals("Routed Air", byId);
+        assertEquals(List.of(flight.getFlightId()), found.stream().map(FlightDTO::getFlightId).toList());
+    }
+
+    @Test
+    void testReadOnlyTransactions_GoToReplicaUnlessTheUserJustWrote() {
+        // Arrange: the flight exists on the primary only
+        Airline airline = airlineService.saveAir(new Airline(0, "Lagging Air"));
+        saveFlight(airline, "Goa");
+        long replicaBefore = routing.getReplicaConnections();
+        long guardedBefore = routing.getGuardedReads();
+
+        // Act
+        int anonymous = flightService.getFlightPage(null, null, 10).getFlights().size();
+        login("asha");
+        saveFlight(airline, "Bom"); // asha's write
+        int writer = flightService.getFlightPage(null, null, 10).getFlights().size();
+        login("ravi");
+        int otherUser = flightService.getFlightPage(null, null, 10).getFlights().size();
+
+        // Assert
+        assertEquals(0, anonymous);
+        assertTrue(writer >= 2);
+        assertEquals(0, otherUser);
+        assertEquals(2, routing.getReplicaConnections() - replicaBefore);
+        assertEquals(1, routing.getGuardedReads() - guardedBefore);
+    }
+}
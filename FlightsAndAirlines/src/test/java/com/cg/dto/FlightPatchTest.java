@@ -0,0 +1,70 @@
+package com.cg.dto;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import org.junit.jupiter.api.Test;
+
+import com.cg.entity.AirlineClass;
+
+public class FlightPatchTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 12, 1);
+
+    private static FlightDTO loaded() {
+        return new FlightDTO(7, "E", 4500, "Hyd", "Del", DAY, LocalTime.of(10, 30), DAY, LocalTime.of(12, 30), 120,
+                180, 100, AirlineClass.ECONOMY, 3, "Indigo", 5);
+    }
+
+    private static FlightDTO form(double price, int totSeat, int availSeat) {
+        return new FlightDTO(7, null, price, "Hyd", "Del", DAY, LocalTime.of(10, 30), DAY, LocalTime.of(12, 30), 120,
+                totSeat, availSeat, AirlineClass.ECONOMY, "Indigo");
+    }
+
+    @Test
+    void testFromForm_UnchangedFormIsEmpty() {
+        // Arrange: the form is posted as it was shown
+        FlightDTO untouched = form(4500, 180, 100);
+
+        // Act
+        FlightPatch patch = FlightPatch.fromForm(untouched, 3, loaded());
+
+        // Assert
+        assertTrue(patch.isEmpty());
+    }
+
+    @Test
+    void testFromForm_OnlyEditedColumnsAreSet() {
+        // Arrange
+        FlightDTO edited = form(5000, 200, 100);
+
+        // Act
+        FlightPatch patch = FlightPatch.fromForm(edited, 4, loaded());
+
+        // Assert
+        assertEquals(5000.0, patch.getFlightPrice());
+        assertEquals(200, patch.getTotSeat());
+        assertEquals(4, patch.getAirlineId());
+        assertNull(patch.getAvailSeat());
+        assertNull(patch.getSource());
+        assertNull(patch.getDepartureTime());
+        assertNull(patch.getClassName());
+        assertNull(patch.getEnterprise());
+    }
+
+    @Test
+    void testFromForm_EditedSeatCountIsWrittenEvenIfItMatchesTheCurrentOne() {
+        // Arrange: the admin typed 97 over the 100 shown, whatever bookings did since
+        FlightDTO edited = form(4500, 180, 97);
+
+        // Act
+        FlightPatch patch = FlightPatch.fromForm(edited, 3, loaded());
+
+        // Assert
+        assertEquals(97, patch.getAvailSeat());
+    }
+}
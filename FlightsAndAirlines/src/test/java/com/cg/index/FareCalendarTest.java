@@ -0,0 +1,153 @@
+package com.cg.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import com.cg.dto.FareCalendarDTO;
+import com.cg.entity.AirlineClass;
+import com.cg.entity.Flight;
+import com.cg.event.FlightChangedEvent;
+
+public class FareCalendarTest {
+
+    private static final LocalDate TODAY = LocalDate.now();
+
+    private FareCalendar calendar;
+
+    @BeforeEach
+    void setUp() {
+        calendar = new FareCalendar();
+        calendar.windowDays = 30;
+    }
+
+    private void save(int id, String from, String to, LocalDate date, double price, AirlineClass cls) {
+        calendar.onFlightChanged(FlightChangedEvent.saved(new Flight(id, "E", price, from, to, date,
+                LocalTime.of(9, 0), date, LocalTime.of(11, 0), 120, 100, 100, cls, null)));
+    }
+
+    private Map<AirlineClass, Double> faresOn(LocalDate date) {
+        return calendar.calendar("Hyd", "Del", date, 1).getDays().get(0).getFares();
+    }
+
+    @Test
+    void testCalendar_CheapestPerDayAndClassSurvivesDeletes() {
+        // Arrange
+        save(1, "Hyd", "Del", TODAY.plusDays(2), 5000, AirlineClass.ECONOMY);
+        save(2, "HYD", "del", TODAY.plusDays(2), 4000, AirlineClass.ECONOMY);
+        save(3, "Hyd", "Del", TODAY.plusDays(2), 3000, AirlineClass.BUSINESS);
+
+        // Act
+        FareCalendarDTO week = calendar.calendar("Hyd", "Del", TODAY, 7);
+        calendar.onFlightChanged(FlightChangedEvent.deleted(2));
+
+        // Assert
+        assertEquals(7, week.getDays().size());
+        assertTrue(week.getDays().get(1).getFares().isEmpty());
+        assertEquals(Map.of(AirlineClass.ECONOMY, 4000.0, AirlineClass.BUSINESS, 6000.0),
+                week.getDays().get(2).getFares());
+        assertEquals(5000.0, faresOn(TODAY.plusDays(2)).get(AirlineClass.ECONOMY));
+    }
+
+    @Test
+    void testCalendar_DatesOutsideWindowAreAnsweredFromBags() {
+        // Arrange: a past day, a far-off day and one just past the window, next to one inside it
+        LocalDate farPast = LocalDate.of(1, 1, 1);
+        LocalDate farFuture = LocalDate.of(9999, 12, 31);
+        save(1, "Hyd", "Del", farPast, 1000, AirlineClass.ECONOMY);
+        save(2, "Hyd", "Del", farFuture, 2000, AirlineClass.ECONOMY);
+        save(3, "Hyd", "Del", TODAY.plusDays(30), 3000, AirlineClass.ECONOMY);
+        save(4, "Hyd", "Del", TODAY.plusDays(29), 4000, AirlineClass.ECONOMY);
+
+        // Act
+        List<FareCalendarDTO.Day> edge = calendar.calendar("Hyd", "Del", TODAY.plusDays(28), 4).getDays();
+
+        // Assert
+        assertEquals(1000.0, faresOn(farPast).get(AirlineClass.ECONOMY));
+        assertEquals(2000.0, faresOn(farFuture).get(AirlineClass.ECONOMY));
+        assertTrue(edge.get(0).getFares().isEmpty());
+        assertEquals(4000.0, edge.get(1).getFares().get(AirlineClass.ECONOMY));
+        assertEquals(3000.0, edge.get(2).getFares().get(AirlineClass.ECONOMY));
+        assertTrue(edge.get(3).getFares().isEmpty());
+    }
+
+    @Test
+    void testOnFlightChanged_MovingInAndOutOfWindowKeepsMinimums() {
+        // Arrange
+        save(1, "Hyd", "Del", TODAY.plusDays(5), 1000, AirlineClass.FIRST_CLASS);
+        save(2, "Hyd", "Del", TODAY.plusDays(5), 2000, AirlineClass.FIRST_CLASS);
+
+        // Act: the cheapest flight moves far ahead, then back to another day of the window
+        save(1, "Hyd", "Del", TODAY.plusYears(50), 1000, AirlineClass.FIRST_CLASS);
+        Map<AirlineClass, Double> afterMove = faresOn(TODAY.plusDays(5));
+        Map<AirlineClass, Double> farAhead = faresOn(TODAY.plusYears(50));
+        save(1, "Hyd", "Del", TODAY.plusDays(6), 1000, AirlineClass.FIRST_CLASS);
+
+        // Assert
+        assertEquals(8000.0, afterMove.get(AirlineClass.FIRST_CLASS));
+        assertEquals(4000.0, farAhead.get(AirlineClass.FIRST_CLASS));
+        assertTrue(faresOn(TODAY.plusYears(50)).isEmpty());
+        assertEquals(4000.0, faresOn(TODAY.plusDays(6)).get(AirlineClass.FIRST_CLASS));
+    }
+
+    @Test
+    void testRebuild_LookupsRunAndChangesSurviveDuringTheRead() throws Exception {
+        // Arrange: the table has two economy fares on day 2; the calendar in memory only knows an old
+        // one. While the rebuild reads, another thread looks up day 2, one flight is deleted and one added.
+        save(1, "Hyd", "Del", TODAY.plusDays(2), 7000, AirlineClass.ECONOMY);
+        EmbeddedDatabase db = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true).build();
+        JdbcTemplate table = new JdbcTemplate(db);
+        table.execute("CREATE TABLE flights (flight_id INT PRIMARY KEY, source VARCHAR(50), "
+                + "destination VARCHAR(50), departure_date DATE, flight_price DOUBLE, class_name VARCHAR(20))");
+        table.update("INSERT INTO flights VALUES (1, 'Hyd', 'Del', ?, 5000, 'ECONOMY'), "
+                + "(2, 'Hyd', 'Del', ?, 4000, 'ECONOMY')", TODAY.plusDays(2), TODAY.plusDays(2));
+        List<Map<AirlineClass, Double>> seen = new ArrayList<>();
+        calendar.jdbc = new JdbcTemplate(db) {
+            @Override
+            public void query(String sql, RowCallbackHandler rch) {
+                super.query(sql, (ResultSet rs) -> {
+                    rch.processRow(rs);
+                    if (seen.isEmpty()) {
+                        try {
+                            seen.add(CompletableFuture.supplyAsync(() -> faresOn(TODAY.plusDays(2)))
+                                    .get(5, TimeUnit.SECONDS));
+                        } catch (Exception ex) {
+                            throw new IllegalStateException(ex);
+                        }
+                        calendar.onFlightChanged(FlightChangedEvent.deleted(2));
+                        save(3, "Hyd", "Del", TODAY.plusDays(3), 3500, AirlineClass.ECONOMY);
+                    }
+                });
+            }
+        };
+
+        // Act
+        try {
+            calendar.rebuild();
+        } finally {
+            db.shutdown();
+        }
+
+        // Assert: the lookup was answered from the old calendar, and the new one has the table plus the changes
+        assertEquals(Map.of(AirlineClass.ECONOMY, 7000.0), seen.get(0));
+        assertEquals(Map.of(AirlineClass.ECONOMY, 5000.0), faresOn(TODAY.plusDays(2)));
+        assertEquals(Map.of(AirlineClass.ECONOMY, 3500.0), faresOn(TODAY.plusDays(3)));
+    }
+}
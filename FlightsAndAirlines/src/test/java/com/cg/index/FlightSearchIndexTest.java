@@ -0,0 +1,183 @@
+package com.cg.index;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import com.cg.dto.FlightDTO;
+import com.cg.dto.FlightPatch;
+import com.cg.entity.Airline;
+import com.cg.entity.AirlineClass;
+import com.cg.entity.Flight;
+import com.cg.repository.FlightRepository;
+import com.cg.service.AirlineService;
+import com.cg.service.FlightService;
+
+// Checks the postings index against the repository's searchFlights query, which it replaces, for
+// every combination of filters: after the startup load, after single-flight changes and after a
+// rebuild. IGNORECASE makes H2 compare like MySQL's default collation, as the index does.
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:searchindex;MODE=MySQL;DATABASE_TO_LOWER=TRUE;IGNORECASE=TRUE",
+        "spring.datasource.username=sa", "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false" })
+public class FlightSearchIndexTest {
+
+    private static final String[] CITIES = { "Hyd", "DEL", "bom", "Goa", "Pune" };
+    private static final String[] AIRLINES = { "Indigo", "INDIGO", "Vistara", "Akasa" };
+    private static final LocalDate DAY = LocalDate.of(2026, 12, 1);
+
+    @Autowired
+    private FlightSearchIndex index;
+
+    @Autowired
+    private FlightRepository repo;
+
+    @Autowired
+    private FlightService flightService;
+
+    @Autowired
+    private AirlineService airlineService;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    private final Random random = new Random(7);
+
+    @BeforeEach
+    void setUp() {
+        if (jdbc.queryForObject("SELECT COUNT(*) FROM flights", Integer.class) > 0) {
+            return;
+        }
+        List<Airline> airlines = new ArrayList<>();
+        for (String name : AIRLINES) {
+            airlines.add(airlineService.saveAir(new Airline(0, name)));
+        }
+        for (int i = 0; i < 400; i++) {
+            flightService.saveFlight(randomFlight(), airlines.get(random.nextInt(airlines.size())));
+        }
+    }
+
+    @Test
+    void testSearch_MatchesRepositoryQuery() {
+        // Act & Assert
+        assertTrue(index.isReady());
+        assertMatchesRepository();
+    }
+
+    @Test
+    void testSearch_FollowsSavesPatchesAndDeletes() throws Exception {
+        // Arrange
+        List<Integer> ids = jdbc.queryForList("SELECT flight_id FROM flights ORDER BY flight_id", Integer.class);
+        Airline airline = airlineService.getAllAirlines().get(0);
+
+        // Act: move, reclassify and re-home some flights, delete others and add new ones
+        for (int i = 0; i < 60; i++) {
+            int id = ids.get(random.nextInt(ids.size()));
+            FlightPatch patch = new FlightPatch();
+            patch.setSource(CITIES[random.nextInt(CITIES.length)]);
+            patch.setClassName(AirlineClass.values()[random.nextInt(AirlineClass.values().length)]);
+            patch.setAirlineId(airlineService.getAllAirlines().get(random.nextInt(AIRLINES.length)).getAid());
+            flightService.patchFlight(id, flightService.findIdByFlight(id).getVersion(), patch);
+        }
+        for (int i = 0; i < 40; i++) {
+            flightService.deleteById(ids.get(i * 7));
+        }
+        for (int i = 0; i < 30; i++) {
+            flightService.saveFlight(randomFlight(), airline);
+        }
+
+        // Assert: kept in step, and a full reload gives the same answers
+        assertMatchesRepository();
+        index.rebuild();
+        assertMatchesRepository();
+    }
+
+    @Test
+    void testRebuild_SearchesRunAndChangesSurviveDuringTheRead() throws Exception {
+        // Arrange: while the rebuild reads, another thread searches and a flight is moved
+        int id = jdbc.queryForObject("SELECT MIN(flight_id) FROM flights", Integer.class);
+        int[] before = index.search(null, null, null, null);
+        int[][] seen = new int[1][];
+        JdbcTemplate tableJdbc = index.jdbc;
+        index.jdbc = new JdbcTemplate(tableJdbc.getDataSource()) {
+            @Override
+            public void query(String sql, RowCallbackHandler rch) {
+                super.query(sql, (ResultSet rs) -> {
+                    rch.processRow(rs);
+                    if (seen[0] == null) {
+                        try {
+                            seen[0] = CompletableFuture.supplyAsync(() -> index.search(null, null, null, null))
+                                    .get(5, TimeUnit.SECONDS);
+                            FlightPatch patch = new FlightPatch();
+                            patch.setSource("Nowhere");
+                            flightService.patchFlight(id, flightService.findIdByFlight(id).getVersion(), patch);
+                        } catch (Exception ex) {
+                            throw new IllegalStateException(ex);
+                        }
+                    }
+                });
+            }
+        };
+
+        // Act
+        try {
+            index.rebuild();
+        } finally {
+            index.jdbc = tableJdbc;
+        }
+
+        // Assert: the search was answered from the old lists, and the move reached the new ones
+        assertArrayEquals(before, seen[0]);
+        assertEquals(1, index.search("nowhere", null, null, null).length);
+        assertMatchesRepository();
+    }
+
+    // Compares every combination of filters, including unknown values
+    private void assertMatchesRepository() {
+        List<String> cities = new ArrayList<>(Arrays.asList(CITIES));
+        cities.add(null);
+        cities.add("Nowhere");
+        List<String> airlines = new ArrayList<>(Arrays.asList("indigo", "Vistara", "Akasa", "Unknown"));
+        airlines.add(null);
+        List<AirlineClass> classes = new ArrayList<>(Arrays.asList(AirlineClass.values()));
+        classes.add(null);
+        for (String source : cities) {
+            for (String dest : cities) {
+                for (String airline : airlines) {
+                    for (AirlineClass cls : classes) {
+                        int[] expected = repo.searchFlights(source, dest, airline, cls).stream()
+                                .mapToInt(FlightDTO::getFlightId).sorted().toArray();
+                        int[] actual = index.search(source, dest,
+                                airline != null ? airlineService.findIdsByName(airline) : null, cls);
+                        assertArrayEquals(expected, actual, source + "/" + dest + "/" + airline + "/" + cls);
+                    }
+                }
+            }
+        }
+    }
+
+    private Flight randomFlight() {
+        return new Flight(0, "E", 1000 + random.nextInt(9000), CITIES[random.nextInt(CITIES.length)],
+                CITIES[random.nextInt(CITIES.length)], DAY, LocalTime.of(10, 0), DAY, LocalTime.of(12, 0), 120, 180,
+                180, AirlineClass.values()[random.nextInt(AirlineClass.values().length)], null);
+    }
+}
@@ -0,0 +1,107 @@
+package com.cg.index;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Test;
+
+public class IntPostingsTest {
+
+    @Test
+    void testAdd_KeepsIdsSortedAndUnique() {
+        // Arrange
+        IntPostings postings = new IntPostings();
+
+        // Act: appends, an out-of-order insert and duplicates
+        for (int id : new int[] { 5, 9, 12, 7, 9, 1, 12, 20 }) {
+            postings.add(id);
+        }
+
+        // Assert
+        assertArrayEquals(new int[] { 1, 5, 7, 9, 12, 20 }, postings.toArray());
+        assertEquals(6, postings.size());
+        assertTrue(postings.contains(7));
+        assertFalse(postings.contains(8));
+    }
+
+    @Test
+    void testRemove_DropsOnlyThatId() {
+        // Arrange
+        IntPostings postings = of(1, 2, 3, 4);
+
+        // Act
+        postings.remove(2);
+        postings.remove(42); // Not present
+        postings.remove(4);
+
+        // Assert
+        assertArrayEquals(new int[] { 1, 3 }, postings.toArray());
+    }
+
+    @Test
+    void testClear_EmptiesTheList() {
+        // Arrange
+        IntPostings postings = of(3, 1, 2);
+
+        // Act
+        postings.clear();
+        postings.add(8);
+
+        // Assert
+        assertArrayEquals(new int[] { 8 }, postings.toArray());
+    }
+
+    @Test
+    void testRetainAll_MatchesSetIntersection() {
+        // Arrange: random lists of very different sizes, compared with a TreeSet intersection
+        Random random = new Random(42);
+        for (int round = 0; round < 200; round++) {
+            TreeSet<Integer> left = new TreeSet<>();
+            TreeSet<Integer> right = new TreeSet<>();
+            int range = 1 + random.nextInt(5000);
+            for (int i = random.nextInt(2000); i > 0; i--) {
+                left.add(random.nextInt(range));
+            }
+            for (int i = random.nextInt(50); i > 0; i--) {
+                right.add(random.nextInt(range));
+            }
+            IntPostings postings = new IntPostings();
+            left.forEach(postings::add);
+            int[] candidates = right.stream().mapToInt(Integer::intValue).toArray();
+
+            // Act
+            int[] both = postings.retainAll(candidates);
+
+            // Assert
+            TreeSet<Integer> expected = new TreeSet<>(left);
+            expected.retainAll(right);
+            assertArrayEquals(expected.stream().mapToInt(Integer::intValue).toArray(), both);
+        }
+    }
+
+    @Test
+    void testUnion_MergesWithoutDuplicates() {
+        // Arrange
+        List<IntPostings> lists = List.of(of(1, 4, 9), of(), of(2, 4, 10), of(9));
+
+        // Act
+        int[] merged = IntPostings.union(lists);
+
+        // Assert
+        assertArrayEquals(new int[] { 1, 2, 4, 9, 10 }, merged);
+    }
+
+    private static IntPostings of(int... ids) {
+        IntPostings postings = new IntPostings();
+        for (int id : ids) {
+            postings.add(id);
+        }
+        return postings;
+    }
+}
@@ -0,0 +1,179 @@
+package com.cg.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import com.cg.dto.PlaceDTO;
+import com.cg.entity.AirlineClass;
+import com.cg.entity.Flight;
+import com.cg.event.FlightChangedEvent;
+
+// Compares suggestions with a brute-force ranking (most flights first, then alphabetical) over the
+// same flights, after random saves, moves and deletes and after full rebuilds from a table.
+public class PlaceIndexTest {
+
+    private static final String[] PLACES = { "Hyderabad", "HYD", "Hubli", "Delhi", "Dehradun", "Goa", "Gaya",
+            "Guwahati", "Bengaluru", "Bhopal", "Bhuj", "Pune", "Patna", "  Kochi ", "kolkata" };
+
+    private EmbeddedDatabase db;
+    private PlaceIndex index;
+    private final Map<Integer, String[]> flights = new HashMap<>(); // The index's expected content
+
+    @BeforeEach
+    void setUp() {
+        db = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true).build();
+        new JdbcTemplate(db).execute("CREATE TABLE flights (flight_id INT PRIMARY KEY, source VARCHAR(50), "
+                + "destination VARCHAR(50))");
+        index = new PlaceIndex();
+        index.jdbc = new JdbcTemplate(db);
+    }
+
+    @AfterEach
+    void tearDown() {
+        db.shutdown();
+    }
+
+    private void save(int id, String source, String dest) {
+        flights.put(id, new String[] { source, dest });
+        index.onFlightChanged(FlightChangedEvent.saved(new Flight(id, "E", 100, source, dest, LocalDate.of(2026, 12, 1),
+                LocalTime.of(9, 0), LocalDate.of(2026, 12, 1), LocalTime.of(11, 0), 120, 10, 10, AirlineClass.ECONOMY,
+                null)));
+    }
+
+    private void delete(int id) {
+        flights.remove(id);
+        index.onFlightChanged(FlightChangedEvent.deleted(id));
+    }
+
+    // Normalized name and flight count of each suggestion
+    private static List<String> ranked(List<PlaceDTO> places) {
+        return places.stream().map(p -> p.getName().trim().toLowerCase(Locale.ROOT) + "=" + p.getFlights()).toList();
+    }
+
+    // Counts every place over 'flights' and ranks those starting with the prefix
+    private List<String> bruteForce(String prefix, int limit) {
+        String p = prefix.trim().toLowerCase(Locale.ROOT);
+        Map<String, Integer> counts = new TreeMap<>();
+        for (String[] route : flights.values()) {
+            for (String place : route) {
+                String key = place == null ? "" : place.trim().toLowerCase(Locale.ROOT);
+                if (!key.isEmpty()) {
+                    counts.merge(key, 1, Integer::sum);
+                }
+            }
+        }
+        return counts.entrySet().stream().filter(e -> e.getKey().startsWith(p))
+                .sorted(Map.Entry.<String, Integer>comparingByValue(Comparator.reverseOrder())
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .limit(Math.max(1, Math.min(limit, PlaceIndex.MAX_SUGGESTIONS)))
+                .map(e -> e.getKey() + "=" + e.getValue()).toList();
+    }
+
+    private void assertMatchesBruteForce() {
+        for (String prefix : new String[] { "", "h", "HY", "hyd", "d", "de", "g", "b", "bh", " k", "x", "pun" }) {
+            for (int limit : new int[] { 0, 1, 3, 20, 50 }) {
+                assertEquals(bruteForce(prefix, limit), ranked(index.suggest(prefix, limit)),
+                        "prefix '" + prefix + "', limit " + limit);
+            }
+        }
+    }
+
+    private String randomPlace(Random random) {
+        return random.nextInt(20) == 0 ? " " : PLACES[random.nextInt(PLACES.length)];
+    }
+
+    @Test
+    void testSuggest_RandomChangesMatchBruteForce() {
+        // Arrange
+        Random random = new Random(19);
+
+        // Act & Assert: saves, moves and deletes, checking every prefix along the way
+        for (int step = 0; step < 2000; step++) {
+            int id = random.nextInt(300);
+            if (random.nextInt(4) == 0) {
+                delete(id);
+            } else {
+                save(id, randomPlace(random), randomPlace(random));
+            }
+            if (step % 100 == 0) {
+                assertMatchesBruteForce();
+            }
+        }
+        assertMatchesBruteForce();
+    }
+
+    @Test
+    void testRebuild_LoadsTableAndDropsPlacesWithoutFlights() {
+        // Arrange
+        Random random = new Random(7);
+        List<Object[]> rows = new ArrayList<>();
+        for (int id = 0; id < 500; id++) {
+            String[] route = { randomPlace(random), randomPlace(random) };
+            flights.put(id, route);
+            rows.add(new Object[] { id, route[0], route[1] });
+        }
+        index.jdbc.batchUpdate("INSERT INTO flights VALUES (?, ?, ?)", rows);
+        save(900, "Shimla", "Leh");
+        flights.remove(900); // Not in the table, so the rebuild forgets it
+
+        // Act
+        index.rebuild();
+
+        // Assert
+        assertMatchesBruteForce();
+        assertEquals(List.of(), index.suggest("shi", 5));
+    }
+
+    @Test
+    void testRebuild_ChangesDuringTheReadReachTheNewIndex() {
+        // Arrange: a flight is added, one edited and one deleted while the rebuild reads the table
+        index.jdbc.update("INSERT INTO flights VALUES (1, 'Hyd', 'Goa'), (2, 'Pune', 'Goa')");
+        save(1, "Hyd", "Goa");
+        save(2, "Pune", "Goa");
+        DataSource source = index.jdbc.getDataSource();
+        boolean[] fired = { false };
+        index.jdbc = new JdbcTemplate(source) {
+            @Override
+            public void query(String sql, RowCallbackHandler rch) {
+                super.query(sql, (ResultSet rs) -> {
+                    rch.processRow(rs);
+                    if (!fired[0]) {
+                        fired[0] = true;
+                        save(3, "Patna", "Goa"); // Committed after the read started
+                        save(2, "Pune", "Bhuj");
+                        delete(1);
+                    }
+                });
+            }
+        };
+
+        // Act
+        index.rebuild();
+
+        // Assert
+        assertMatchesBruteForce();
+        assertEquals(List.of("bhuj=1", "goa=1", "patna=1", "pune=1"), ranked(index.suggest("", 20)));
+    }
+}
@@ -0,0 +1,274 @@
+package com.cg.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import com.cg.dto.ItineraryDTO;
+import com.cg.entity.AirlineClass;
+import com.cg.entity.Flight;
+import com.cg.event.FlightChangedEvent;
+
+public class RouteGraphTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 11, 2);
+
+    private RouteGraph graph;
+
+    @BeforeEach
+    void setUp() {
+        graph = new RouteGraph();
+        graph.maxLayoverMinutes = 24 * 60;
+        graph.compactThreshold = 1024;
+    }
+
+    private void add(int id, String from, String to, LocalDate date, LocalTime dep, int minutes, double price,
+            AirlineClass cls) {
+        LocalTime arr = dep.plusMinutes(minutes);
+        LocalDate arrDate = arr.isBefore(dep) ? date.plusDays(1) : date;
+        graph.onFlightChanged(FlightChangedEvent.saved(
+                new Flight(id, "E", price, from, to, date, dep, arrDate, arr, minutes, 100, 100, cls, null)));
+    }
+
+    @Test
+    void testFindItineraries_RanksByPriceAndRespectsLayover() {
+        // Arrange: direct HYD->DEL, and a cheaper HYD->BOM->DEL with a 60 minute stop
+        add(1, "Hyd", "Del", DAY, LocalTime.of(9, 0), 120, 9000, AirlineClass.ECONOMY);
+        add(2, "Hyd", "Bom", DAY, LocalTime.of(6, 0), 90, 2000, AirlineClass.ECONOMY);
+        add(3, "Bom", "Del", DAY, LocalTime.of(8, 30), 120, 2500, AirlineClass.ECONOMY);
+        add(4, "Bom", "Del", DAY, LocalTime.of(7, 40), 120, 1000, AirlineClass.ECONOMY); // Only 10 min layover
+
+        // Act
+        List<ItineraryDTO> cheapest = graph.findItineraries("hyd", "DEL", DAY, 3, 1, 45, RouteGraph.SortBy.PRICE);
+        List<ItineraryDTO> fastest = graph.findItineraries("Hyd", "Del", DAY, 1, 1, 45, RouteGraph.SortBy.DURATION);
+
+        // Assert
+        assertEquals(2, cheapest.size());
+        assertEquals(4500.0, cheapest.get(0).getTotalFare());
+        assertEquals(1, cheapest.get(0).getConnections());
+        assertEquals(9000.0, cheapest.get(1).getTotalFare());
+        assertEquals(120, fastest.get(0).getTotalMinutes());
+    }
+
+    @Test
+    void testOnFlightChanged_UpdatesAndDeletesAreSeen() {
+        // Arrange
+        add(1, "Hyd", "Del", DAY, LocalTime.of(9, 0), 120, 1000, AirlineClass.BUSINESS);
+
+        // Act & Assert: price factor applied, then the flight is moved to another day and removed
+        assertEquals(2000.0, graph.findItineraries("Hyd", "Del", DAY, 1, 0, 0, RouteGraph.SortBy.PRICE)
+                .get(0).getTotalFare());
+        add(1, "Hyd", "Del", DAY.plusDays(1), LocalTime.of(9, 0), 120, 1000, AirlineClass.BUSINESS);
+        assertTrue(graph.findItineraries("Hyd", "Del", DAY, 1, 0, 0, RouteGraph.SortBy.PRICE).isEmpty());
+        graph.onFlightChanged(FlightChangedEvent.deleted(1));
+        assertTrue(graph.findItineraries("Hyd", "Del", DAY.plusDays(1), 1, 0, 0, RouteGraph.SortBy.PRICE).isEmpty());
+    }
+
+    @Test
+    void testFindItineraries_CheapestArrivalWithNoOnwardFlightDoesNotHideLaterOne() {
+        // Arrange: the cheap HYD->BOM lands too late for BOM->DEL, the dearer one connects
+        graph.maxLayoverMinutes = 6 * 60;
+        add(1, "Hyd", "Bom", DAY, LocalTime.of(14, 0), 90, 1000, AirlineClass.ECONOMY);
+        add(2, "Hyd", "Bom", DAY, LocalTime.of(6, 0), 90, 3000, AirlineClass.ECONOMY);
+        add(3, "Bom", "Del", DAY, LocalTime.of(9, 0), 120, 2000, AirlineClass.ECONOMY);
+
+        // Act
+        List<ItineraryDTO> trips = graph.findItineraries("Hyd", "Del", DAY, 1, 1, 45, RouteGraph.SortBy.PRICE);
+
+        // Assert
+        assertEquals(1, trips.size());
+        assertEquals(5000.0, trips.get(0).getTotalFare());
+        assertEquals(2, trips.get(0).getLegs().get(0).getFlightId());
+    }
+
+    @Test
+    void testFindItineraries_SmallGraphsMatchBruteForce() {
+        // Arrange: dense graphs with short layover windows, where arrival times decide what connects
+        Random random = new Random(7);
+        for (int round = 0; round < 20; round++) {
+            setUp();
+            graph.maxLayoverMinutes = 60 + random.nextInt(6 * 60);
+            List<Leg> legs = addRandomFlights(random, 1 + round, 8, 300, 3);
+
+            for (int q = 0; q < 30; q++) {
+                int from = random.nextInt(8);
+                int to = (from + 1 + random.nextInt(7)) % 8;
+                int day = random.nextInt(3);
+                int k = 1 + random.nextInt(6);
+                int maxConnections = random.nextInt(4);
+                int minLayover = 30 + random.nextInt(60);
+                RouteGraph.SortBy sortBy = RouteGraph.SortBy.values()[q % 2];
+
+                // Act
+                List<ItineraryDTO> trips = graph.findItineraries("A" + from, "A" + to, DAY.plusDays(day), k,
+                        maxConnections, minLayover, sortBy);
+
+                // Assert
+                assertEquals(bruteForce(legs, "A" + from, "A" + to, day, k, maxConnections, minLayover,
+                        graph.maxLayoverMinutes, sortBy), costs(trips, sortBy));
+            }
+        }
+    }
+
+    @Test
+    void testFindItineraries_HundredThousandFlightsMatchBruteForce() {
+        // Arrange: 100k flights over 200 airports and 30 days
+        Random random = new Random(42);
+        List<Leg> legs = addRandomFlights(random, 1, 200, 100_000, 30);
+
+        for (int i = 0; i < 200; i++) {
+            String from = "A" + (i % 200);
+            String to = "A" + ((i * 7 + 3) % 200);
+            RouteGraph.SortBy sortBy = i % 2 == 0 ? RouteGraph.SortBy.PRICE : RouteGraph.SortBy.DURATION;
+
+            // Act
+            List<ItineraryDTO> trips = graph.findItineraries(from, to, DAY.plusDays(i % 28), 5, 2, 45, sortBy);
+
+            // Assert
+            assertEquals(bruteForce(legs, from, to, i % 28, 5, 2, 45, graph.maxLayoverMinutes, sortBy),
+                    costs(trips, sortBy));
+        }
+    }
+
+    @Test
+    void testRebuild_SearchesRunAndChangesSurviveDuringTheRead() throws Exception {
+        // Arrange: the table has HYD->DEL and BOM->DEL; the graph in memory only knows an old HYD->DEL.
+        // While the rebuild reads, another thread searches and a HYD->BOM flight is added.
+        add(1, "Hyd", "Del", DAY, LocalTime.of(9, 0), 120, 7000, AirlineClass.ECONOMY);
+        EmbeddedDatabase db = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true).build();
+        new JdbcTemplate(db).execute("CREATE TABLE flights (flight_id INT PRIMARY KEY, source VARCHAR(50), "
+                + "destination VARCHAR(50), departure_date DATE, departure_time TIME, arrival_date DATE, "
+                + "arrival_time TIME, duration INT, flight_price DOUBLE, class_name VARCHAR(20))");
+        new JdbcTemplate(db).update("INSERT INTO flights VALUES "
+                + "(1, 'Hyd', 'Del', DATE '2026-11-02', TIME '09:00:00', DATE '2026-11-02', TIME '11:00:00', 120, 5000, 'ECONOMY'), "
+                + "(2, 'Bom', 'Del', DATE '2026-11-02', TIME '10:00:00', DATE '2026-11-02', TIME '12:00:00', 120, 1000, 'ECONOMY')");
+        List<List<ItineraryDTO>> seen = new ArrayList<>();
+        graph.jdbc = new JdbcTemplate(db) {
+            @Override
+            public void query(String sql, RowCallbackHandler rch) {
+                super.query(sql, (ResultSet rs) -> {
+                    rch.processRow(rs);
+                    if (seen.isEmpty()) {
+                        try {
+                            seen.add(CompletableFuture.supplyAsync(() -> graph.findItineraries("Hyd", "Del", DAY,
+                                    3, 1, 45, RouteGraph.SortBy.PRICE)).get(5, TimeUnit.SECONDS));
+                        } catch (Exception ex) {
+                            throw new IllegalStateException(ex);
+                        }
+                        add(3, "Hyd", "Bom", DAY, LocalTime.of(7, 0), 90, 2000, AirlineClass.ECONOMY);
+                    }
+                });
+            }
+        };
+
+        // Act
+        try {
+            graph.rebuild();
+        } finally {
+            db.shutdown();
+        }
+
+        // Assert: the search was answered from the old graph, and the new one has the table plus the change
+        assertEquals(1, seen.get(0).size());
+        assertEquals(7000.0, seen.get(0).get(0).getTotalFare());
+        List<ItineraryDTO> trips = graph.findItineraries("Hyd", "Del", DAY, 3, 1, 45, RouteGraph.SortBy.PRICE);
+        assertEquals(2, trips.size());
+        assertEquals(3000.0, trips.get(0).getTotalFare());
+        assertEquals(5000.0, trips.get(1).getTotalFare());
+    }
+
+    // One flight as minutes from midnight of DAY, for the brute-force reference
+    private record Leg(String from, String to, int dep, int arr, double fare) {
+    }
+
+    private List<Leg> addRandomFlights(Random random, int firstId, int airports, int count, int days) {
+        List<Leg> legs = new ArrayList<>();
+        for (int id = firstId; id < firstId + count; id++) {
+            int from = random.nextInt(airports);
+            int to = (from + 1 + random.nextInt(airports - 1)) % airports;
+            int day = random.nextInt(days);
+            LocalTime dep = LocalTime.of(random.nextInt(24), random.nextInt(60));
+            int minutes = 60 + random.nextInt(300);
+            double price = 1000 + random.nextInt(9000);
+            AirlineClass cls = AirlineClass.values()[random.nextInt(4)];
+            add(id, "A" + from, "A" + to, DAY.plusDays(day), dep, minutes, price, cls);
+            int depart = day * 24 * 60 + dep.getHour() * 60 + dep.getMinute();
+            legs.add(new Leg("A" + from, "A" + to, depart, depart + minutes, price * cls.getPriceFactor()));
+        }
+        return legs;
+    }
+
+    // Ranking values of the k best loop-free trips, found by trying every one
+    private static List<Double> bruteForce(List<Leg> legs, String from, String to, int day, int k,
+            int maxConnections, int minLayover, int maxLayover, RouteGraph.SortBy sortBy) {
+        Map<String, List<Leg>> byFrom = new HashMap<>();
+        for (Leg leg : legs) {
+            byFrom.computeIfAbsent(leg.from(), key -> new ArrayList<>()).add(leg);
+        }
+        List<double[]> found = new ArrayList<>(); // {cost, arrival}
+        for (Leg first : byFrom.getOrDefault(from, List.of())) {
+            if (first.dep() >= day * 24 * 60 && first.dep() < (day + 1) * 24 * 60) {
+                List<String> visited = new ArrayList<>(List.of(from));
+                walk(byFrom, first, first.dep(), 0, visited, to, maxConnections + 1, minLayover, maxLayover, sortBy,
+                        found);
+            }
+        }
+        found.sort(Comparator.<double[]>comparingDouble(t -> t[0]).thenComparingDouble(t -> t[1]));
+        List<Double> costs = new ArrayList<>();
+        for (int i = 0; i < Math.min(k, found.size()); i++) {
+            costs.add(found.get(i)[0]);
+        }
+        return costs;
+    }
+
+    private static void walk(Map<String, List<Leg>> byFrom, Leg leg, int firstDep, double fareSoFar,
+            List<String> visited, String to, int legsLeft, int minLayover, int maxLayover, RouteGraph.SortBy sortBy,
+            List<double[]> found) {
+        if (visited.contains(leg.to())) {
+            return;
+        }
+        double fare = fareSoFar + leg.fare();
+        if (leg.to().equals(to)) {
+            found.add(new double[] { sortBy == RouteGraph.SortBy.PRICE ? fare : leg.arr() - firstDep, leg.arr() });
+            return;
+        }
+        if (legsLeft == 1) {
+            return;
+        }
+        visited.add(leg.to());
+        for (Leg next : byFrom.getOrDefault(leg.to(), List.of())) {
+            if (next.dep() >= leg.arr() + minLayover && next.dep() <= leg.arr() + maxLayover) {
+                walk(byFrom, next, firstDep, fare, visited, to, legsLeft - 1, minLayover, maxLayover, sortBy, found);
+            }
+        }
+        visited.remove(visited.size() - 1);
+    }
+
+    private static List<Double> costs(List<ItineraryDTO> trips, RouteGraph.SortBy sortBy) {
+        List<Double> costs = new ArrayList<>();
+        for (ItineraryDTO trip : trips) {
+            costs.add(sortBy == RouteGraph.SortBy.PRICE ? trip.getTotalFare() : (double) trip.getTotalMinutes());
+        }
+        return costs;
+    }
+}
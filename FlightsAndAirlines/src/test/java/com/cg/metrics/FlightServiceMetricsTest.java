@@ -0,0 +1,97 @@
+package com.cg.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.lang.reflect.Method;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.cg.dto.FlightDTO;
+import com.cg.dto.FlightPage;
+import com.cg.dto.FlightRangeQuery;
+import com.cg.entity.AirlineClass;
+import com.cg.service.IFlightService;
+
+public class FlightServiceMetricsTest {
+
+    private static Method method(String name) {
+        for (Method m : IFlightService.class.getMethods()) {
+            if (m.getName().equals(name)) {
+                return m;
+            }
+        }
+        throw new IllegalArgumentException(name);
+    }
+
+    @Test
+    void testFilters_SearchCriteriaGivenInFixedOrder() {
+        // Act & Assert: blank strings count as not given
+        assertEquals("none", FlightServiceMetrics.filters("searchFlight", new Object[] { null, " ", "", null }));
+        assertEquals("source+dest", FlightServiceMetrics.filters("searchFlight", new Object[] { "Hyd", "Del", null, null }));
+        assertEquals("dest+airline+class", FlightServiceMetrics.filters("searchFlight",
+                new Object[] { "", "Del", "Indigo", AirlineClass.BUSINESS }));
+        assertEquals("source+dest+airline+class", FlightServiceMetrics.filters("searchFlight",
+                new Object[] { "Hyd", "Del", "Indigo", AirlineClass.ECONOMY }));
+        assertEquals("none", FlightServiceMetrics.filters("getFlightPage", new Object[] { null, null, 50 }));
+    }
+
+    @Test
+    void testFilters_RangeBoundsCountOncePerDimension() {
+        // Arrange
+        FlightRangeQuery empty = new FlightRangeQuery();
+        FlightRangeQuery upperBounds = new FlightRangeQuery();
+        upperBounds.setMaxPrice(5000.0);
+        upperBounds.setToDate(LocalDate.of(2026, 12, 31));
+        upperBounds.setToTime(LocalTime.NOON);
+        FlightRangeQuery everything = new FlightRangeQuery();
+        everything.setSource("Hyd");
+        everything.setDestination("Del");
+        everything.setClassName(AirlineClass.FIRST_CLASS);
+        everything.setMinPrice(1000.0);
+        everything.setMaxPrice(5000.0);
+        everything.setFromDate(LocalDate.of(2026, 12, 1));
+        everything.setFromTime(LocalTime.of(8, 0));
+
+        // Act & Assert
+        assertEquals("none", FlightServiceMetrics.filters("getFlightsInRange", new Object[] { empty, null, null, 50 }));
+        assertEquals("price+date+time",
+                FlightServiceMetrics.filters("getFlightsInRange", new Object[] { upperBounds, null, null, 50 }));
+        assertEquals("source+dest+class+price+date+time",
+                FlightServiceMetrics.filters("getFlightsInRange", new Object[] { everything, null, null, 50 }));
+    }
+
+    @Test
+    void testResults_CountsListsPagesAndSingleObjects() {
+        // Arrange
+        List<FlightDTO> eleven = Collections.nCopies(11, new FlightDTO());
+
+        // Act & Assert
+        assertEquals("none", FlightServiceMetrics.results(method("deleteById"), null));
+        assertEquals("0", FlightServiceMetrics.results(method("searchFlight"), List.of()));
+        assertEquals("11-100", FlightServiceMetrics.results(method("searchFlight"), eleven));
+        assertEquals("2-10", FlightServiceMetrics.results(method("getFlightPage"),
+                new FlightPage(eleven.subList(0, 10), 10, true)));
+        assertEquals("1", FlightServiceMetrics.results(method("findDtoById"), new FlightDTO()));
+        assertEquals("0", FlightServiceMetrics.results(method("findDtoById"), null));
+    }
+
+    @Test
+    void testBucket_Boundaries() {
+        // Act & Assert
+        assertEquals("0", FlightServiceMetrics.bucket(-1));
+        assertEquals("0", FlightServiceMetrics.bucket(0));
+        assertEquals("1", FlightServiceMetrics.bucket(1));
+        assertEquals("2-10", FlightServiceMetrics.bucket(2));
+        assertEquals("2-10", FlightServiceMetrics.bucket(10));
+        assertEquals("11-100", FlightServiceMetrics.bucket(11));
+        assertEquals("11-100", FlightServiceMetrics.bucket(100));
+        assertEquals("101-1000", FlightServiceMetrics.bucket(101));
+        assertEquals("101-1000", FlightServiceMetrics.bucket(1000));
+        assertEquals("1001+", FlightServiceMetrics.bucket(1001));
+        assertEquals("1001+", FlightServiceMetrics.bucket(Long.MAX_VALUE));
+    }
+}
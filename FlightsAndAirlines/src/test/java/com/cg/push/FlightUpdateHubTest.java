@@ -0,0 +1,199 @@
+package com.cg.push;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.cg.event.SeatsChangedEvent;
+import com.cg.exception.StreamLimitReached;
+import com.cg.push.FlightUpdateHub.State;
+
+import tools.jackson.databind.json.JsonMapper;
+
+// Checks how changes to one flight within a round are coalesced, and runs the hub against an H2
+// flights table with recording emitters to see per-client limits and slow subscribers dropped.
+public class FlightUpdateHubTest {
+
+    private static final State RELOAD = FlightUpdateHub.RELOAD;
+    private static final State DELETED = FlightUpdateHub.DELETED;
+
+    private EmbeddedDatabase db;
+    private TestHub hub;
+
+    // Hands out the emitters the test prepared, in order
+    private static final class TestHub extends FlightUpdateHub {
+        final List<RecordingEmitter> emitters = Collections.synchronizedList(new ArrayList<>());
+
+        TestHub() {
+            super(Duration.ofMillis(10), Duration.ofHours(1), Duration.ofMinutes(30), 2);
+        }
+
+        @Override
+        SseEmitter newEmitter(long timeout) {
+            return emitters.remove(0);
+        }
+    }
+
+    // Keeps what was sent; a blocked emitter waits in its first send until released, like a client
+    // that stopped reading
+    private static final class RecordingEmitter extends SseEmitter {
+        final List<String> events = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch release;
+        volatile boolean completed;
+
+        RecordingEmitter(boolean blocked) {
+            release = new CountDownLatch(blocked ? 1 : 0);
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            StringBuilder text = new StringBuilder();
+            for (ResponseBodyEmitter.DataWithMediaType data : builder.build()) {
+                text.append(data.getData());
+            }
+            try {
+                release.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            events.add(text.toString());
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        db = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true).build();
+        JdbcTemplate jdbc = new JdbcTemplate(db);
+        jdbc.execute("CREATE TABLE flights (flight_id INT PRIMARY KEY, avail_seat INT, flight_price DOUBLE)");
+        jdbc.update("INSERT INTO flights VALUES (1, 100, 4000), (2, 50, 2500)");
+        hub = new TestHub();
+        hub.jdbc = jdbc;
+        hub.mapper = JsonMapper.builder().build();
+        hub.maxFlights = 10;
+        hub.maxStreamsPerClient = 2;
+        hub.queueSize = 2;
+    }
+
+    @AfterEach
+    void tearDown() {
+        hub.destroy();
+        db.shutdown();
+    }
+
+    private static State seats(int availSeat) {
+        return new State(availSeat, Double.NaN, false);
+    }
+
+    private static State edit(int availSeat, double price) {
+        return new State(availSeat, price, false);
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "timed out");
+            Thread.sleep(5);
+        }
+    }
+
+    private RecordingEmitter subscribe(String client, boolean blocked, Integer... ids) throws StreamLimitReached {
+        RecordingEmitter emitter = new RecordingEmitter(blocked);
+        hub.emitters.add(emitter);
+        assertSame(emitter, hub.subscribe(List.of(ids), client));
+        return emitter;
+    }
+
+    @Test
+    void testThen_KeepsTheLaterChangeOfOneRound() {
+        // Act & Assert: bookings published out of order still end at the lowest count
+        assertEquals(seats(7), seats(9).then(seats(7)));
+        assertEquals(seats(7), seats(7).then(seats(9)));
+        // A full edit replaces earlier changes; later bookings count down from it, keeping its price
+        assertEquals(edit(80, 4000), seats(7).then(edit(80, 4000)));
+        assertEquals(edit(78, 4000), edit(80, 4000).then(seats(78)));
+        // Reading the flight again wins over anything it does not end
+        assertSame(RELOAD, seats(7).then(RELOAD));
+        assertSame(RELOAD, RELOAD.then(seats(7)));
+        assertSame(RELOAD, RELOAD.then(edit(80, 4000)));
+        assertSame(DELETED, RELOAD.then(DELETED));
+        assertSame(DELETED, edit(80, 4000).then(DELETED));
+        // A seat count after a delete is not trusted
+        assertSame(RELOAD, DELETED.then(seats(7)));
+    }
+
+    @Test
+    void testOver_AppliesSeatCountsToTheLastSentState() {
+        // Arrange
+        State last = edit(50, 2500);
+
+        // Act & Assert
+        assertEquals(edit(40, 2500), seats(40).over(last));
+        assertEquals(edit(50, 2500), seats(60).over(last)); // Seats come back only through RELOAD or an edit
+        assertEquals(edit(60, 3000), edit(60, 3000).over(last));
+        assertSame(DELETED, DELETED.over(last));
+    }
+
+    @Test
+    void testSubscribe_LimitsOpenStreamsPerClient() throws Exception {
+        // Arrange
+        subscribe("ip:10.0.0.1", false, 1);
+        subscribe("ip:10.0.0.1", false, 2);
+
+        // Act & Assert
+        assertThrows(StreamLimitReached.class, () -> hub.subscribe(List.of(1), "ip:10.0.0.1"));
+        assertNotNull(subscribe("user:alice", false, 1));
+        assertThrows(IllegalArgumentException.class, () -> hub.subscribe(List.of(), "user:bob"));
+        assertEquals(3, hub.getSubscribers());
+        assertEquals(1, hub.getRefused());
+    }
+
+    @Test
+    void testPush_SlowSubscriberIsDroppedWithoutHoldingUpOthers() throws Exception {
+        // Arrange: the slow client never returns from its first write
+        RecordingEmitter slow = subscribe("ip:10.0.0.2", true, 1);
+        RecordingEmitter fast = subscribe("ip:10.0.0.3", false, 1, 2);
+        hub.start();
+        await(() -> fast.events.size() == 2);
+
+        // Act: one booking per round, more than the slow client's queue holds
+        for (int sold = 1; sold <= 6; sold++) {
+            hub.onSeatsChanged(new SeatsChangedEvent(1, 100 - sold));
+            int expected = 2 + sold;
+            await(() -> fast.events.size() == expected);
+        }
+        await(() -> hub.getDropped() == 1);
+        slow.release.countDown();
+        await(() -> slow.completed);
+
+        // Assert
+        assertEquals(1, hub.getSubscribers());
+        assertTrue(fast.events.get(fast.events.size() - 1).contains("\"availSeat\":94"));
+        assertEquals(1, slow.events.size()); // Only the write it was stuck in
+        assertNotNull(subscribe("ip:10.0.0.2", false, 1)); // Its stream was given back
+        assertEquals(2, hub.getWatchedFlights());
+    }
+}
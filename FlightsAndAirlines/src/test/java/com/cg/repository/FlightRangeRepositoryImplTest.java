@@ -0,0 +1,192 @@
+package com.cg.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.cg.dto.FlightDTO;
+import com.cg.dto.FlightPage;
+import com.cg.dto.FlightRangeQuery;
+import com.cg.entity.AirlineClass;
+import com.cg.service.FlightService;
+
+// Pages through range searches with the (flightPrice, flightId) cursor and compares the flights
+// seen with a hand-written SQL query over the same rows. Prices repeat a lot, so many pages
+// start in the middle of a run of equal prices.
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:flightrange;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.username=sa", "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false" })
+public class FlightRangeRepositoryImplTest {
+
+    private static final String[] CITIES = { "Hyd", "Del", "Bom", "Goa" };
+    private static final AirlineClass[] CLASSES = AirlineClass.values();
+    private static final LocalDate FIRST_DAY = LocalDate.of(2026, 12, 1);
+
+    @Autowired
+    private FlightService flightService;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @BeforeEach
+    void setUp() {
+        if (jdbc.queryForObject("SELECT COUNT(*) FROM flights", Integer.class) > 0) {
+            return;
+        }
+        jdbc.update("INSERT INTO airlines (aid, air_name) VALUES (1, 'Indigo')");
+        Random random = new Random(18);
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < 600; i++) {
+            rows.add(new Object[] { 1000 + 250 * random.nextInt(12), CITIES[random.nextInt(CITIES.length)],
+                    CITIES[random.nextInt(CITIES.length)], java.sql.Date.valueOf(FIRST_DAY.plusDays(random.nextInt(10))),
+                    java.sql.Time.valueOf(LocalTime.of(random.nextInt(24), 15 * random.nextInt(4))),
+                    CLASSES[random.nextInt(CLASSES.length)].name(), random.nextInt(5) == 0 ? null : 1 });
+        }
+        jdbc.batchUpdate("INSERT INTO flights (enterprise, flight_price, source, destination, departure_date, "
+                + "departure_time, duration, tot_seat, avail_seat, class_name, airline_id, version) "
+                + "VALUES ('E', ?, ?, ?, ?, ?, 60, 100, 100, ?, ?, 0)", rows);
+    }
+
+    // Follows nextPrice/nextId until the last page and returns the flight IDs in order
+    private List<Integer> walk(FlightRangeQuery query, int size) {
+        List<Integer> ids = new ArrayList<>();
+        Double afterPrice = null;
+        Integer afterId = null;
+        FlightPage page;
+        do {
+            page = flightService.getFlightsInRange(query, afterPrice, afterId, size);
+            assertTrue(page.getFlights().size() <= size);
+            assertTrue(!page.isHasNext() || page.getFlights().size() == size);
+            page.getFlights().stream().map(FlightDTO::getFlightId).forEach(ids::add);
+            afterPrice = page.getNextPrice();
+            afterId = page.getNextId();
+        } while (page.isHasNext());
+        return ids;
+    }
+
+    // The same search written directly in SQL
+    private List<Integer> reference(FlightRangeQuery q) {
+        StringBuilder sql = new StringBuilder("SELECT flight_id FROM flights WHERE 1 = 1");
+        List<Object> args = new ArrayList<>();
+        if (q.getSource() != null) {
+            sql.append(" AND source = ?");
+            args.add(q.getSource());
+        }
+        if (q.getDestination() != null) {
+            sql.append(" AND destination = ?");
+            args.add(q.getDestination());
+        }
+        if (q.getClassName() != null) {
+            sql.append(" AND class_name = ?");
+            args.add(q.getClassName().name());
+        }
+        if (q.getMinPrice() != null) {
+            sql.append(" AND flight_price >= ?");
+            args.add(q.getMinPrice());
+        }
+        if (q.getMaxPrice() != null) {
+            sql.append(" AND flight_price <= ?");
+            args.add(q.getMaxPrice());
+        }
+        if (q.getFromDate() != null) {
+            sql.append(" AND departure_date >= ?");
+            args.add(java.sql.Date.valueOf(q.getFromDate()));
+        }
+        if (q.getToDate() != null) {
+            sql.append(" AND departure_date <= ?");
+            args.add(java.sql.Date.valueOf(q.getToDate()));
+        }
+        if (q.getFromTime() != null) {
+            sql.append(" AND departure_time >= ?");
+            args.add(java.sql.Time.valueOf(q.getFromTime()));
+        }
+        if (q.getToTime() != null) {
+            sql.append(" AND departure_time <= ?");
+            args.add(java.sql.Time.valueOf(q.getToTime()));
+        }
+        sql.append(" ORDER BY flight_price, flight_id");
+        return jdbc.queryForList(sql.toString(), Integer.class, args.toArray());
+    }
+
+    @Test
+    void testFindInRange_UnfilteredPagesCoverEveryFlightOnce() {
+        // Act
+        List<Integer> ids = walk(new FlightRangeQuery(), 7);
+
+        // Assert: flights without an airline are kept by the LEFT JOIN
+        assertEquals(600, ids.size());
+        assertEquals(reference(new FlightRangeQuery()), ids);
+    }
+
+    @Test
+    void testFindInRange_RandomFiltersMatchReferenceQuery() {
+        // Arrange
+        Random random = new Random(42);
+        for (int run = 0; run < 60; run++) {
+            FlightRangeQuery query = new FlightRangeQuery();
+            if (random.nextBoolean()) {
+                query.setSource(CITIES[random.nextInt(CITIES.length)]);
+            }
+            if (random.nextInt(3) == 0) {
+                query.setDestination(CITIES[random.nextInt(CITIES.length)]);
+            }
+            if (random.nextInt(3) == 0) {
+                query.setClassName(CLASSES[random.nextInt(CLASSES.length)]);
+            }
+            if (random.nextBoolean()) {
+                query.setMinPrice(1000.0 + 250 * random.nextInt(6));
+            }
+            if (random.nextBoolean()) {
+                query.setMaxPrice(2000.0 + 250 * random.nextInt(8));
+            }
+            if (random.nextBoolean()) {
+                query.setFromDate(FIRST_DAY.plusDays(random.nextInt(5)));
+            }
+            if (random.nextBoolean()) {
+                query.setToDate(FIRST_DAY.plusDays(4 + random.nextInt(6)));
+            }
+            if (random.nextBoolean()) {
+                query.setFromTime(LocalTime.of(random.nextInt(12), 15));
+                query.setToTime(LocalTime.of(12 + random.nextInt(12), 0));
+            }
+            int size = 1 + random.nextInt(10);
+
+            // Act
+            List<Integer> ids = walk(query, size);
+
+            // Assert
+            assertEquals(reference(query), ids, "run " + run + ", page size " + size);
+        }
+    }
+
+    @Test
+    void testFindInRange_CursorPastLastFlightReturnsEmptyPage() {
+        // Arrange
+        Integer lastId = jdbc.queryForObject(
+                "SELECT flight_id FROM flights ORDER BY flight_price DESC, flight_id DESC LIMIT 1", Integer.class);
+        Double lastPrice = jdbc.queryForObject("SELECT flight_price FROM flights WHERE flight_id = ?", Double.class,
+                lastId);
+
+        // Act
+        FlightPage page = flightService.getFlightsInRange(new FlightRangeQuery(), lastPrice, lastId, 10);
+
+        // Assert
+        assertTrue(page.getFlights().isEmpty());
+        assertFalse(page.isHasNext());
+    }
+}
@@ -0,0 +1,102 @@
+package com.cg.schedule;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+public class TimingWheelTest {
+
+    private static long[] sorted(long[] ids) {
+        long[] copy = ids.clone();
+        Arrays.sort(copy);
+        return copy;
+    }
+
+    @Test
+    void testAdvance_TimeoutsFireAtTheirTickAndNotBefore() {
+        // Arrange: 100 ms ticks starting at t = 1000
+        TimingWheel wheel = new TimingWheel(100, 8, 1000);
+        wheel.schedule(1, 1250);
+        wheel.schedule(2, 1300);
+        wheel.schedule(3, 1300);
+
+        // Act
+        long[] early = wheel.advance(1299);
+        long[] onTime = wheel.advance(1300);
+        long[] again = wheel.advance(1300);
+
+        // Assert: 1250 rounds up to the tick at 1300
+        assertArrayEquals(new long[0], early);
+        assertArrayEquals(new long[] { 1, 2, 3 }, sorted(onTime));
+        assertArrayEquals(new long[0], again);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void testAdvance_TimeoutsSeveralRotationsAwayWaitForTheirTick() {
+        // Arrange: 4 buckets, so ticks 2, 6 and 10 share a bucket
+        TimingWheel wheel = new TimingWheel(10, 4, 0);
+        wheel.schedule(10, 20);
+        wheel.schedule(60, 60);
+        wheel.schedule(100, 100);
+
+        // Act
+        long[] first = wheel.advance(20);
+        long[] second = wheel.advance(59);
+        long[] third = wheel.advance(60);
+        int left = wheel.size();
+        long[] fourth = wheel.advance(100);
+
+        // Assert
+        assertArrayEquals(new long[] { 10 }, first);
+        assertArrayEquals(new long[0], second);
+        assertArrayEquals(new long[] { 60 }, third);
+        assertEquals(1, left);
+        assertArrayEquals(new long[] { 100 }, fourth);
+    }
+
+    @Test
+    void testSchedule_OverdueDeadlinesFireOnNextTick() {
+        // Arrange
+        TimingWheel wheel = new TimingWheel(100, 16, 5000);
+        wheel.schedule(7, 0);
+        wheel.schedule(8, 5000);
+
+        // Act
+        long[] due = wheel.advance(5100);
+
+        // Assert
+        assertArrayEquals(new long[] { 7, 8 }, sorted(due));
+    }
+
+    @Test
+    void testAdvance_LongPauseReturnsEverythingDueOnce() {
+        // Arrange: more timeouts than a bucket starts with, spread over many rotations
+        TimingWheel wheel = new TimingWheel(1, 8, 0);
+        for (long id = 1; id <= 1000; id++) {
+            wheel.schedule(id, id);
+        }
+        wheel.schedule(5000, 5000);
+
+        // Act
+        long[] due = wheel.advance(4999);
+
+        // Assert
+        long[] expected = new long[1000];
+        Arrays.setAll(expected, i -> i + 1);
+        assertArrayEquals(expected, sorted(due));
+        assertEquals(1, wheel.size());
+        assertArrayEquals(new long[] { 5000 }, wheel.advance(5000));
+    }
+
+    @Test
+    void testConstructor_RejectsNonPositiveSettings() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new TimingWheel(0, 8, 0));
+        assertThrows(IllegalArgumentException.class, () -> new TimingWheel(10, 0, 0));
+    }
+}
@@ -0,0 +1,96 @@
+package com.cg.security;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+import com.cg.exception.LoginThrottled;
+
+public class LoginThrottleTest {
+
+    private static LoginThrottle throttle(int userCapacity, Duration userRefill, int ipCapacity, Duration ipRefill,
+            int maxKeys) {
+        return new LoginThrottle(userCapacity, userRefill, ipCapacity, ipRefill, maxKeys);
+    }
+
+    @Test
+    void testAcquire_UsernameBucketEmptiesAndIsSharedAcrossCase() throws LoginThrottled {
+        // Arrange
+        LoginThrottle throttle = throttle(3, Duration.ofMinutes(1), 100, Duration.ofMinutes(1), 1000);
+        throttle.acquire("10.0.0.1", "Alice");
+        throttle.acquire("10.0.0.2", " alice ");
+        throttle.acquire("10.0.0.3", "ALICE");
+
+        // Act & Assert
+        assertThrows(LoginThrottled.class, () -> throttle.acquire("10.0.0.4", "alice"));
+        assertDoesNotThrow(() -> throttle.acquire("10.0.0.4", "bob"));
+        assertEquals(1, throttle.getThrottledUser());
+        assertEquals(0, throttle.getThrottledIp());
+    }
+
+    @Test
+    void testAcquire_TokensComeBackAtTheRefillRate() throws Exception {
+        // Arrange: two attempts, then one token back every 200 ms
+        LoginThrottle throttle = throttle(2, Duration.ofMillis(200), 100, Duration.ofMinutes(1), 1000);
+        throttle.acquire("10.0.0.1", "alice");
+        throttle.acquire("10.0.0.1", "alice");
+        assertThrows(LoginThrottled.class, () -> throttle.acquire("10.0.0.1", "alice"));
+
+        // Act
+        Thread.sleep(250);
+
+        // Assert: exactly one token has come back
+        assertDoesNotThrow(() -> throttle.acquire("10.0.0.1", "alice"));
+        assertThrows(LoginThrottled.class, () -> throttle.acquire("10.0.0.1", "alice"));
+    }
+
+    @Test
+    void testAcquire_AddressIsCheckedBeforeUsername() throws LoginThrottled {
+        // Arrange: one client cycling through usernames
+        LoginThrottle throttle = throttle(5, Duration.ofMinutes(1), 3, Duration.ofMinutes(1), 1000);
+        for (int i = 0; i < 3; i++) {
+            throttle.acquire("10.0.0.9", "user" + i);
+        }
+
+        // Act & Assert: refused before a bucket is made for the next username
+        assertThrows(LoginThrottled.class, () -> throttle.acquire("10.0.0.9", "user3"));
+        assertEquals(1, throttle.getThrottledIp());
+        assertEquals(4, throttle.getTrackedKeys()); // One address and three usernames
+    }
+
+    @Test
+    void testAcquire_FullBucketsAreSweptWhenTooManyKeys() throws Exception {
+        // Arrange: buckets refill within a millisecond, so they are full again by the sweep
+        LoginThrottle throttle = throttle(5, Duration.ofMillis(1), 5, Duration.ofMillis(1), 3);
+        throttle.acquire("10.0.0.1", null);
+        throttle.acquire("10.0.0.2", null);
+        throttle.acquire("10.0.0.3", null);
+        Thread.sleep(1100); // Sweeps run at most once a second
+
+        // Act
+        throttle.acquire("10.0.0.4", null);
+
+        // Assert
+        assertEquals(1, throttle.getTrackedKeys());
+    }
+
+    @Test
+    void testAcquire_SaturatedTableLetsNewKeysThroughWithoutGrowing() throws Exception {
+        // Arrange: two busy addresses fill the table and never refill
+        LoginThrottle throttle = throttle(5, Duration.ofHours(1), 2, Duration.ofHours(1), 2);
+        throttle.acquire("10.0.0.1", null);
+        throttle.acquire("10.0.0.2", null);
+        Thread.sleep(1100);
+
+        // Act & Assert: a third address is not limited and not tracked
+        for (int i = 0; i < 10; i++) {
+            throttle.acquire("10.0.0.3", null);
+        }
+        assertEquals(2, throttle.getTrackedKeys());
+        assertEquals(0, throttle.getThrottledIp());
+    }
+}
@@ -0,0 +1,134 @@
+package com.cg.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.cg.exception.LoginThrottled;
+
+public class PasswordHasherTest {
+
+    // Encoder whose hashes block until released, counting the jobs that actually ran
+    private static final class BlockingEncoder implements PasswordEncoder {
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch started = new CountDownLatch(1);
+        final AtomicInteger runs = new AtomicInteger();
+
+        @Override
+        public String encode(CharSequence raw) {
+            runs.incrementAndGet();
+            started.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            return "hash:" + raw;
+        }
+
+        @Override
+        public boolean matches(CharSequence raw, String encoded) {
+            return encoded.equals(encode(raw));
+        }
+    }
+
+    @Test
+    void testEncodeAndMatches_RunOnThePool() throws LoginThrottled {
+        // Arrange
+        PasswordHasher hasher = new PasswordHasher(new BCryptPasswordEncoder(4), 2, 4, Duration.ofSeconds(5));
+
+        // Act
+        String hash = hasher.encode("secret");
+        boolean good = hasher.matches("secret", hash);
+        boolean bad = hasher.matches("Secret", hash);
+
+        // Assert
+        assertTrue(good);
+        assertFalse(bad);
+        assertEquals(3, hasher.getHashes());
+        assertTrue(hasher.getAvgHashMillis() > 0);
+        hasher.destroy();
+    }
+
+    @Test
+    void testEncode_FullQueueIsRefusedStraightAway() throws Exception {
+        // Arrange: one worker busy, one job queued
+        BlockingEncoder encoder = new BlockingEncoder();
+        PasswordHasher hasher = new PasswordHasher(encoder, 1, 1, Duration.ofSeconds(10));
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encodeUnchecked(hasher, "a"));
+        encoder.started.await(5, TimeUnit.SECONDS);
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encodeUnchecked(hasher, "b"));
+        while (hasher.getQueued() == 0) {
+            Thread.sleep(5);
+        }
+
+        // Act & Assert
+        assertThrows(LoginThrottled.class, () -> hasher.encode("c"));
+        assertEquals(1, hasher.getRejected());
+        encoder.release.countDown();
+        assertEquals("hash:a", running.get(5, TimeUnit.SECONDS));
+        assertEquals("hash:b", queued.get(5, TimeUnit.SECONDS));
+        hasher.destroy();
+    }
+
+    @Test
+    void testEncode_CallerGivesUpAndQueuedJobNeverRuns() throws Exception {
+        // Arrange: the only worker is stuck on the first job
+        BlockingEncoder encoder = new BlockingEncoder();
+        PasswordHasher hasher = new PasswordHasher(encoder, 1, 4, Duration.ofMillis(100));
+
+        // Act & Assert: both callers time out; the queued second job is cancelled
+        assertThrows(LoginThrottled.class, () -> hasher.encode("a"));
+        assertThrows(LoginThrottled.class, () -> hasher.encode("b"));
+        encoder.release.countDown();
+        while (hasher.getHashes() == 0) {
+            Thread.sleep(5);
+        }
+        Thread.sleep(50);
+        assertEquals(1, encoder.runs.get());
+        assertEquals(2, hasher.getTimedOut());
+        assertEquals(0, hasher.getQueued());
+        hasher.destroy();
+    }
+
+    @Test
+    void testMatches_EncoderFailureReachesTheCaller() {
+        // Arrange
+        PasswordEncoder failing = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence raw) {
+                throw new IllegalStateException("encoder down");
+            }
+
+            @Override
+            public boolean matches(CharSequence raw, String encoded) {
+                throw new IllegalStateException("encoder down");
+            }
+        };
+        PasswordHasher hasher = new PasswordHasher(failing, 1, 1, Duration.ofSeconds(5));
+
+        // Act & Assert: the worker's exception is rethrown as is, not wrapped
+        IllegalStateException ex = assertThrows(IllegalStateException.class, () -> hasher.matches("a", "b"));
+        assertEquals("encoder down", ex.getMessage());
+        hasher.destroy();
+    }
+
+    private static String encodeUnchecked(PasswordHasher hasher, String raw) {
+        try {
+            return hasher.encode(raw);
+        } catch (LoginThrottled ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.cg.security;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HexFormat;
+
+import org.junit.jupiter.api.Test;
+
+public class SignedCookieSecurityContextRepositoryTest {
+
+    private static final byte[] SECRET = "0123456789abcdef0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    private final SignedCookieSecurityContextRepository repo = new SignedCookieSecurityContextRepository(SECRET,
+            "FA_AUTH", Duration.ofHours(1));
+
+    private static long inOneHour() {
+        return System.currentTimeMillis() / 1000 + 3600;
+    }
+
+    private static byte[] repeat(int value, int times) {
+        byte[] bytes = new byte[times];
+        Arrays.fill(bytes, (byte) value);
+        return bytes;
+    }
+
+    private static void assertHmac(byte[] key, String data, String expectedHex) {
+        SignedCookieSecurityContextRepository signer = new SignedCookieSecurityContextRepository(key, "c",
+                Duration.ofHours(1));
+        assertArrayEquals(HexFormat.of().parseHex(expectedHex), signer.sign(data));
+    }
+
+    @Test
+    void testSign_MatchesRfc4231KnownAnswers() {
+        // Act & Assert: test cases 1, 2 and 6 (short, text and larger-than-block keys)
+        assertHmac(repeat(0x0b, 20), "Hi There",
+                "b0344c61d8db38535ca8afceaf0bf12b881dc200c9833da726e9376c2e32cff7");
+        assertHmac("Jefe".getBytes(StandardCharsets.US_ASCII), "what do ya want for nothing?",
+                "5bdcc146bf60754e6a042426089575c75a003f089d2739839dec58b964ec3843");
+        assertHmac(repeat(0xaa, 131), "Test Using Larger Than Block-Size Key - Hash Key First",
+                "60e431591ee0b67f0d8a26aacbf5b77f8e0bc6213728c5140546040f0ee37f54");
+    }
+
+    @Test
+    void testVerify_RoundTripsUsernames() {
+        // Act & Assert
+        assertEquals("alice", repo.verify(repo.issue("alice", inOneHour())));
+        assertEquals("zoë.o'brien@example.com", repo.verify(repo.issue("zoë.o'brien@example.com", inOneHour())));
+    }
+
+    @Test
+    void testVerify_RejectsEveryAlteredCharacter() {
+        // Arrange
+        String token = repo.issue("alice", inOneHour());
+
+        // Act & Assert: username, expiry, dots and signature, including the spare bits of its last character
+        for (int i = 0; i < token.length(); i++) {
+            char c = token.charAt(i);
+            for (char replacement : new char[] { c == 'A' ? 'B' : 'A', c == '9' ? '8' : '9', (char) (c + 1) }) {
+                String altered = token.substring(0, i) + replacement + token.substring(i + 1);
+                if (!altered.equals(token)) {
+                    assertNull(repo.verify(altered), "accepted " + altered);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testVerify_RejectsForeignExpiredAndMalformedTokens() {
+        // Arrange
+        SignedCookieSecurityContextRepository other = new SignedCookieSecurityContextRepository(
+                "fedcba9876543210fedcba9876543210".getBytes(StandardCharsets.US_ASCII), "FA_AUTH",
+                Duration.ofHours(1));
+        String valid = repo.issue("alice", inOneHour());
+
+        // Act & Assert
+        assertNull(repo.verify(other.issue("alice", inOneHour())));
+        assertNull(repo.verify(repo.issue("alice", System.currentTimeMillis() / 1000 - 1)));
+        assertNull(repo.verify(null));
+        assertNull(repo.verify(""));
+        assertNull(repo.verify("no-dots"));
+        assertNull(repo.verify(valid.substring(0, valid.length() - 1)));
+        assertNull(repo.verify(valid + "A"));
+        assertNull(repo.verify("x".repeat(600)));
+    }
+}
@@ -0,0 +1,104 @@
+package com.cg.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import com.cg.entity.Airline;
+import com.cg.entity.AirlineClass;
+import com.cg.entity.Flight;
+import com.cg.entity.ScheduleRule;
+import com.cg.event.FlightsBulkChangedEvent;
+import com.cg.index.FlightSearchIndex;
+import com.cg.repository.ScheduleRuleRepository;
+
+// Deletes an airline with more flights than one delete chunk on H2 and checks that its rules,
+// flights and row go, other airlines' flights stay, and the indexes hear about it once.
+@RecordApplicationEvents
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:airlinedelete;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.username=sa", "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false",
+        "app.schedule.expand-interval=0", "app.airline.delete-chunk=4" })
+public class AirlineServiceTest {
+
+    @Autowired
+    private AirlineService airlineService;
+
+    @Autowired
+    private FlightService flightService;
+
+    @Autowired
+    private ScheduleRuleRepository ruleRepo;
+
+    @Autowired
+    private FlightSearchIndex searchIndex;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    private Flight flight(Airline airline, int n) {
+        return flightService.saveFlight(new Flight(0, "E", 3000 + n, "Hyd", "Del", LocalDate.of(2026, 12, 1),
+                LocalTime.of(6, 0).plusMinutes(n), LocalDate.of(2026, 12, 1), LocalTime.of(8, 0).plusMinutes(n), 120,
+                100, 100, AirlineClass.ECONOMY, null), airline);
+    }
+
+    private int count(String table, String where, Object... args) {
+        return jdbc.queryForObject("SELECT COUNT(*) FROM " + table + " WHERE " + where, Integer.class, args);
+    }
+
+    @Test
+    void testDeleteById_RemovesRulesFlightsAndAirlineInChunks() {
+        // Arrange: 10 flights are three chunks of 4; the other airline keeps its 2
+        Airline doomed = airlineService.saveAir(new Airline(0, "Kingfisher"));
+        Airline kept = airlineService.saveAir(new Airline(0, "Indigo"));
+        for (int n = 0; n < 10; n++) {
+            flight(doomed, n);
+        }
+        int[] keptIds = { flight(kept, 0).getFlightId(), flight(kept, 1).getFlightId() };
+        ScheduleRule rule = new ScheduleRule();
+        rule.setAirlineId(doomed.getAid());
+        rule.setEnterprise("E");
+        rule.setSource("Hyd");
+        rule.setDestination("Del");
+        rule.setDepartureTime(LocalTime.of(23, 0));
+        rule.setDuration(120);
+        rule.setTotSeat(100);
+        rule.setClassName(AirlineClass.ECONOMY);
+        rule.setDays(List.of(DayOfWeek.MONDAY));
+        rule.setValidFrom(LocalDate.of(2026, 12, 1));
+        ruleRepo.save(rule);
+
+        // Act
+        int removed = airlineService.deleteById(doomed.getAid());
+
+        // Assert
+        assertEquals(10, removed);
+        assertEquals(0, count("flights", "airline_id = ?", doomed.getAid()));
+        assertEquals(0, count("schedule_rules", "airline_id = ?", doomed.getAid()));
+        assertEquals(0, count("airlines", "aid = ?", doomed.getAid()));
+        assertTrue(airlineService.findById(doomed.getAid()).isEmpty());
+        assertEquals(2, count("flights", "airline_id = ?", kept.getAid()));
+        List<FlightsBulkChangedEvent> bulk = events.stream(FlightsBulkChangedEvent.class).toList();
+        assertEquals(1, bulk.size());
+        assertEquals(10, bulk.get(0).getRows());
+        assertArrayEquals(keptIds, searchIndex.search("hyd", "del", null, null)); // Reloaded without the deleted ones
+    }
+}
@@ -0,0 +1,96 @@
+package com.cg.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.cg.entity.Airline;
+
+// Streams the flights table of an H2 database as CSV and checks what the client receives: the
+// header before any row, the column order, RFC 4180 quoting, and one line per flight in ID order.
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:flightexport;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.username=sa", "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false" })
+public class FlightExportServiceTest {
+
+    private static final String HEADER = "flightId,enterprise,flightPrice,source,destination,departureDate,"
+            + "departureTime,arrivalDate,arrivalTime,duration,totSeat,availSeat,className,airlineName\r\n";
+
+    @Autowired
+    private FlightExportService exportService;
+
+    @Autowired
+    private AirlineService airlineService;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    private int airlineId;
+
+    @BeforeEach
+    void setUp() {
+        jdbc.update("DELETE FROM flights");
+        if (airlineService.getAllAirlines().isEmpty()) {
+            airlineService.saveAir(new Airline(0, "Air \"Blue\""));
+        }
+        airlineId = jdbc.queryForObject("SELECT MIN(aid) FROM airlines", Integer.class);
+        exportService.fetchSize = 100;
+    }
+
+    // Response body that remembers what had been written at every flush
+    private static final class RecordingStream extends ByteArrayOutputStream {
+        final List<String> flushed = new ArrayList<>();
+
+        @Override
+        public void flush() {
+            flushed.add(toString(StandardCharsets.UTF_8));
+        }
+    }
+
+    private void insert(String enterprise, double price, String source, String dest) {
+        jdbc.update("INSERT INTO flights (enterprise, flight_price, source, destination, departure_date, "
+                + "departure_time, arrival_date, arrival_time, duration, tot_seat, avail_seat, class_name, "
+                + "airline_id, version) VALUES (?, ?, ?, ?, DATE '2026-12-01', TIME '09:30:00', DATE '2026-12-01', "
+                + "TIME '11:00:00', 90, 180, 150, 'ECONOMY', ?, 0)", enterprise, price, source, dest, airlineId);
+    }
+
+    @Test
+    void testExport_CsvHeaderFirstQuotedFieldsAndEveryRow() throws IOException {
+        // Arrange: one flight whose fields need quoting, then enough flights for several fetches
+        insert("Jet, \"Express\"", 4500, "Goa, North", "Del");
+        for (int i = 0; i < 1_250; i++) {
+            insert("E" + i, 1000 + i, "Hyd", "Bom");
+        }
+        List<Integer> ids = jdbc.queryForList("SELECT flight_id FROM flights ORDER BY flight_id", Integer.class);
+        RecordingStream out = new RecordingStream();
+
+        // Act
+        long written = exportService.export(FlightExportService.Format.CSV, out);
+
+        // Assert: the header was flushed on its own before the query ran
+        assertEquals(HEADER, out.flushed.get(0));
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\r\n", -1);
+        assertEquals(1_251, written);
+        assertEquals(1_253, lines.length); // Header, every flight and the empty tail after the last CRLF
+        assertEquals("", lines[lines.length - 1]);
+        assertEquals(ids.get(0) + ",\"Jet, \"\"Express\"\"\",4500.0,\"Goa, North\",Del,2026-12-01,09:30,"
+                + "2026-12-01,11:00,90,180,150,ECONOMY,\"Air \"\"Blue\"\"\"", lines[1]);
+        for (int i = 1; i < ids.size(); i++) {
+            assertEquals(ids.get(i) + ",E" + (i - 1) + "," + (1000.0 + i - 1) + ",Hyd,Bom,2026-12-01,09:30,"
+                    + "2026-12-01,11:00,90,180,150,ECONOMY,\"Air \"\"Blue\"\"\"", lines[i + 1]);
+        }
+    }
+}
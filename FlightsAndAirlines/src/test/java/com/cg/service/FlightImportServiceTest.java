@@ -0,0 +1,186 @@
+package com.cg.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.cg.dto.ImportReport;
+import com.cg.entity.Airline;
+import com.cg.entity.AirlineClass;
+import com.cg.index.FareCalendar;
+
+// Feeds CSV and JSON imports through the real batch writer on H2 and checks what reached the
+// flights table, which rows were rejected with which line number, and how batches were flushed.
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:flightimport;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.username=sa", "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false" })
+public class FlightImportServiceTest {
+
+    @Autowired
+    private FlightImportService importService;
+
+    @Autowired
+    private AirlineService airlineService;
+
+    @Autowired
+    private FareCalendar fareCalendar;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @BeforeEach
+    void setUp() {
+        jdbc.update("DELETE FROM flights");
+        if (airlineService.getAllAirlines().isEmpty()) {
+            for (String name : new String[] { "Indigo", "Vistara", "Akasa", "akasa " }) {
+                airlineService.saveAir(new Airline(0, name));
+            }
+        }
+        importService.batchSize = 2;
+    }
+
+    @Test
+    void testImportFlights_CsvWritesValidRowsAndReportsBadOnes() throws IOException {
+        // Arrange: byte order mark, header aliases, quoted comma, 12-hour time and one bad row per rule
+        String csv = "\uFEFFSource,Destination,Price,Departure_Date,Departure Time,arrivalTime,duration,totSeat,"
+                + "availSeat,class,airName\n"
+                + "Hyd,Del,4500,2026-12-01,10:30 AM,12:30,120,180,,Premium Economy,indigo\n"
+                + "\"Goa, North\",Bom,3000,2026-12-02,06:00,07:15,75,100,90,BUSINESS,Vistara\n"
+                + "\n"
+                + "Hyd,Del,-1,2026-12-01,10:00,12:00,120,180,180,ECONOMY,Indigo\n"
+                + "Hyd,Del,100,2026-13-01,10:00,12:00,120,180,180,ECONOMY,Indigo\n"
+                + "Hyd,Del,100,2026-12-01,10:00,12:00,120,180,180,ECONOMY,Unknown Air\n"
+                + "Hyd,Del,100,2026-12-01,10:00,12:00,120,180,180,ECONOMY,Akasa\n"
+                + "Hyd,Del,100,2026-12-01,10:00,12:00,120,10,20,ECONOMY,Indigo\n"
+                + "Pune,Goa,2000,2026-12-03,21:00,22:10,70,60,60,ECONOMY,Indigo\n";
+        List<Long> progress = new ArrayList<>();
+
+        // Act
+        ImportReport report = importService.importFlights(new StringReader(csv), FlightImportService.Format.CSV,
+                r -> progress.add(r.getImported()));
+
+        // Assert
+        assertEquals(8, report.getRowsRead());
+        assertEquals(3, report.getImported());
+        assertEquals(5, report.getFailed());
+        assertEquals(2, report.getBatches());
+        assertEquals(List.of(2L, 3L), progress);
+        assertEquals(List.of("line 5: flightPrice must not be negative",
+                "line 6: departuredate is not a yyyy-MM-dd date: '2026-13-01'",
+                "line 7: unknown airline 'Unknown Air'",
+                "line 8: airline name 'Akasa' matches several airlines",
+                "line 9: seat counts must satisfy 0 <= availSeat <= totSeat"), report.getErrors());
+        Map<String, Object> hyd = jdbc.queryForMap(
+                "SELECT departure_time, avail_seat, class_name FROM flights WHERE source = 'Hyd'");
+        assertEquals("10:30:00", hyd.get("departure_time").toString());
+        assertEquals(180, ((Number) hyd.get("avail_seat")).intValue());
+        assertEquals("PREMIUM_ECONOMY", hyd.get("class_name"));
+        assertEquals(1, jdbc.queryForObject("SELECT COUNT(*) FROM flights WHERE source = 'Goa, North'", Integer.class));
+    }
+
+    @Test
+    void testImportFlights_JsonArrayNdjsonAndMalformedFeeds() throws IOException {
+        // Arrange
+        String array = "[{\"source\":\"Hyd\",\"destination\":\"Del\",\"flight_price\":1500,\"departureDate\":"
+                + "\"2026-12-05\",\"totSeat\":50,\"className\":\"ECONOMY\",\"airline\":\"Vistara\"},"
+                + "{\"source\":\"Hyd\",\"destination\":\"Del\",\"airline\":\"Nobody\"}]";
+        String ndjson = "{\"source\":\"Bom\",\"destination\":\"Goa\",\"totSeat\":10,\"airline\":\"Indigo\"}\n"
+                + "42\n"
+                + "{\"source\":\"Goa\",\"destination\":\"Bom\",\"totSeat\":10,\"airline\":\"Indigo\"}\n";
+        String broken = "{\"source\":\"Del\",\"destination\":\"Hyd\",\"airline\":\"Indigo\"}\n{\"source\": }\n"
+                + "{\"source\":\"Del\",\"destination\":\"Goa\",\"airline\":\"Indigo\"}\n";
+
+        // Act
+        ImportReport fromArray = importService.importFlights(new StringReader(array), FlightImportService.Format.JSON,
+                null);
+        ImportReport fromLines = importService.importFlights(new StringReader(ndjson), FlightImportService.Format.JSON,
+                null);
+        ImportReport fromBroken = importService.importFlights(new StringReader(broken),
+                FlightImportService.Format.JSON, null);
+
+        // Assert
+        assertEquals(1, fromArray.getImported());
+        assertEquals(List.of("line 2: unknown airline 'Nobody'"), fromArray.getErrors());
+        assertEquals(2, fromLines.getImported());
+        assertEquals(List.of("line 2: expected a JSON object"), fromLines.getErrors());
+        assertEquals(1, fromBroken.getImported());
+        assertEquals(1, fromBroken.getFailed());
+        assertTrue(fromBroken.getErrors().get(0).startsWith("line 2: malformed JSON, import stopped"));
+        assertEquals(4, jdbc.queryForObject("SELECT COUNT(*) FROM flights", Integer.class));
+        assertEquals(1500.0, fareCalendar.calendar("hyd", "del", LocalDate.of(2026, 12, 5), 1).getDays().get(0)
+                .getFares().get(AirlineClass.ECONOMY)); // Indexes reloaded after the import
+    }
+
+    @Test
+    void testImportFlights_RejectedBatchIsRetriedRowByRow() throws IOException {
+        // Arrange: the middle row passes validation but is too long for the enterprise column
+        importService.batchSize = 3;
+        String csv = "enterprise,source,destination,totSeat,airline\n"
+                + "E1,Hyd,Del,10,Indigo\n"
+                + "E" + "x".repeat(300) + ",Hyd,Bom,10,Indigo\n"
+                + "E3,Hyd,Goa,10,Indigo\n";
+
+        // Act
+        ImportReport report = importService.importFlights(new StringReader(csv), FlightImportService.Format.CSV,
+                null);
+
+        // Assert
+        assertEquals(2, report.getImported());
+        assertEquals(1, report.getFailed());
+        assertTrue(report.getErrors().get(0).startsWith("line 3: "));
+        assertEquals(List.of("Del", "Goa"),
+                jdbc.queryForList("SELECT destination FROM flights ORDER BY destination", String.class));
+    }
+
+    @Test
+    void testImportFlights_FeedFailingMidwayStillRefreshesIndexes() {
+        // Arrange: the connection drops after three rows; with batches of two the first two are committed
+        String csv = "source,destination,price,departureDate,class,totSeat,airline\n"
+                + "Hyd,Del,1200,2026-12-07,ECONOMY,10,Indigo\n"
+                + "Hyd,Del,1800,2026-12-07,ECONOMY,10,Indigo\n"
+                + "Hyd,Goa,900,2026-12-07,ECONOMY,10,Indigo\n";
+        Reader dropping = new Reader() {
+            private final StringReader rows = new StringReader(csv);
+
+            @Override
+            public int read(char[] buf, int off, int len) throws IOException {
+                int n = rows.read(buf, off, len);
+                if (n < 0) {
+                    throw new IOException("connection reset");
+                }
+                return n;
+            }
+
+            @Override
+            public void close() {
+                rows.close();
+            }
+        };
+
+        // Act
+        assertThrows(IOException.class,
+                () -> importService.importFlights(dropping, FlightImportService.Format.CSV, null));
+
+        // Assert: the committed rows are in the table and the fare calendar reloaded them
+        assertEquals(2, jdbc.queryForObject("SELECT COUNT(*) FROM flights", Integer.class));
+        assertEquals(1200.0, fareCalendar.calendar("hyd", "del", LocalDate.of(2026, 12, 7), 1).getDays().get(0)
+                .getFares().get(AirlineClass.ECONOMY));
+    }
+}
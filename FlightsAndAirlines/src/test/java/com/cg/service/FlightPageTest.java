@@ -0,0 +1,125 @@
+package com.cg.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.cg.dto.FlightDTO;
+import com.cg.dto.FlightPage;
+import com.cg.entity.Airline;
+import com.cg.entity.AirlineClass;
+import com.cg.entity.Flight;
+
+// Walks the price-sorted listing page by page on H2: the first page, pages that start in the middle
+// of a run of equal prices, and the last page, checking that no flight is skipped or repeated.
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:flightpage;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.username=sa", "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false" })
+public class FlightPageTest {
+
+    private static final double[] PRICES = { 4000, 2500, 4000, 3100, 1800, 4000, 2500 };
+
+    @Autowired
+    private FlightService flightService;
+
+    @Autowired
+    private AirlineService airlineService;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    private final List<Integer> ids = new ArrayList<>(); // Flight IDs in PRICES order
+
+    @BeforeEach
+    void setUp() {
+        jdbc.update("DELETE FROM flights");
+        if (airlineService.getAllAirlines().isEmpty()) {
+            airlineService.saveAir(new Airline(0, "Indigo"));
+        }
+        Airline airline = airlineService.getAllAirlines().get(0);
+        for (double price : PRICES) {
+            ids.add(flightService.saveFlight(new Flight(0, "E", price, "Hyd", "Del", LocalDate.of(2026, 12, 1),
+                    LocalTime.of(10, 0), LocalDate.of(2026, 12, 1), LocalTime.of(12, 0), 120, 100, 100,
+                    AirlineClass.ECONOMY, null), airline).getFlightId());
+        }
+    }
+
+    private static List<Integer> idsOf(FlightPage page) {
+        return page.getFlights().stream().map(FlightDTO::getFlightId).toList();
+    }
+
+    private static List<Double> pricesOf(FlightPage page) {
+        return page.getFlights().stream().map(FlightDTO::getFlightPrice).toList();
+    }
+
+    @Test
+    void testGetFlightPage_FirstPageIsCheapestWithCursorOnLastRow() {
+        // Act
+        FlightPage first = flightService.getFlightPage(null, null, 3);
+
+        // Assert: equal prices are ordered by ID
+        assertEquals(List.of(1800.0, 2500.0, 2500.0), pricesOf(first));
+        assertEquals(List.of(ids.get(4), ids.get(1), ids.get(6)), idsOf(first));
+        assertTrue(first.isHasNext());
+        assertEquals(2500.0, first.getNextPrice());
+        assertEquals(ids.get(6), first.getNextId());
+    }
+
+    @Test
+    void testGetFlightPage_NextPageStartsInsideATieOnPrice() {
+        // Act: the cursor sits on the first of two 2500 flights, then on the first of three 4000 ones
+        FlightPage afterFirst2500 = flightService.getFlightPage(2500.0, ids.get(1), 2);
+        FlightPage afterFirst4000 = flightService.getFlightPage(4000.0, ids.get(0), 5);
+
+        // Assert
+        assertEquals(List.of(ids.get(6), ids.get(3)), idsOf(afterFirst2500));
+        assertTrue(afterFirst2500.isHasNext());
+        assertEquals(List.of(ids.get(2), ids.get(5)), idsOf(afterFirst4000));
+        assertFalse(afterFirst4000.isHasNext());
+    }
+
+    @Test
+    void testGetFlightPage_WalkEndsOnAFullLastPageWithoutAnEmptyOne() {
+        // Arrange
+        List<Integer> walked = new ArrayList<>();
+        List<Integer> pageSizes = new ArrayList<>();
+
+        // Act
+        FlightPage page = flightService.getFlightPage(null, null, 7);
+        FlightPage small = flightService.getFlightPage(null, null, 2);
+        while (true) {
+            walked.addAll(idsOf(small));
+            pageSizes.add(small.getFlights().size());
+            if (!small.isHasNext()) {
+                break;
+            }
+            small = flightService.getFlightPage(small.getNextPrice(), small.getNextId(), 2);
+        }
+        FlightPage pastEnd = flightService.getFlightPage(small.getNextPrice(), small.getNextId(), 2);
+
+        // Assert
+        assertEquals(7, page.getFlights().size());
+        assertFalse(page.isHasNext());
+        assertEquals(idsOf(page), walked);
+        assertEquals(List.of(2, 2, 2, 1), pageSizes);
+        assertTrue(pastEnd.getFlights().isEmpty());
+        assertFalse(pastEnd.isHasNext());
+        assertNull(pastEnd.getNextPrice());
+        assertEquals(1, flightService.getFlightPage(null, null, 0).getFlights().size()); // Clamped to one row
+    }
+}
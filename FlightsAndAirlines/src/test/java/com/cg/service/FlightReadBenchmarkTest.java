@@ -0,0 +1,147 @@
+package com.cg.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.cg.dto.FlightDTO;
+import com.cg.entity.Flight;
+import com.cg.repository.FlightRepository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+// Compares the entity read path (load managed Flights, then convertToDTO) with the JPQL
+// constructor projections, counting SQL statements and bytes allocated per page on H2.
+// Tagged "benchmark": runs only with -Pbenchmark.
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:readbench;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.username=sa", "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true" })
+public class FlightReadBenchmarkTest {
+
+    private static final int FLIGHTS = 5000;
+    private static final int AIRLINES = 40;
+    private static final int PAGE = 50;
+    private static final int WARMUP = 200;
+    private static final int RUNS = 500;
+
+    @Autowired
+    private FlightRepository repo;
+
+    @Autowired
+    private FlightService flightService;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private TransactionTemplate transactions;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private EntityManagerFactory emf;
+
+    private Statistics stats;
+
+    @BeforeEach
+    void setUp() {
+        stats = emf.unwrap(SessionFactory.class).getStatistics();
+        if (repo.count() > 0) {
+            return;
+        }
+        List<Object[]> airlines = new ArrayList<>();
+        for (int a = 1; a <= AIRLINES; a++) {
+            airlines.add(new Object[] { a, "Airline " + a });
+        }
+        jdbc.batchUpdate("INSERT INTO airlines (aid, air_name) VALUES (?, ?)", airlines);
+        List<Object[]> flights = new ArrayList<>();
+        for (int i = 1; i <= FLIGHTS; i++) {
+            flights.add(new Object[] { "E", 1000 + (i * 37) % 9000, "City" + i % 20, "City" + (i + 7) % 20,
+                    java.sql.Date.valueOf("2026-12-01"), 120, 180, 90, "ECONOMY", 1 + i % AIRLINES });
+        }
+        jdbc.batchUpdate("INSERT INTO flights (enterprise, flight_price, source, destination, departure_date, "
+                + "duration, tot_seat, avail_seat, class_name, airline_id, version) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)",
+                flights);
+    }
+
+    @Test
+    void testPageRender_ProjectionUsesFewerStatementsAndLessAllocation() {
+        // Arrange: the entity path: managed Flights in a persistence context (as with open-in-view), then convertToDTO
+        Supplier<List<FlightDTO>> entities = () -> transactions.execute(status -> em
+                .createQuery("SELECT f FROM Flight f ORDER BY f.flightPrice, f.flightId", Flight.class)
+                .setMaxResults(PAGE).getResultList().stream().map(flightService::convertToDTO).toList());
+        // Arrange: the projection path, one joined query straight into FlightDTO
+        Supplier<List<FlightDTO>> projection = () -> repo.findFirstPage(Limit.of(PAGE));
+
+        // Act
+        Result before = measure(entities);
+        Result after = measure(projection);
+
+        // Assert
+        assertEquals(1.0, after.statements);
+        assertTrue(after.statements < before.statements);
+        assertTrue(after.bytes < before.bytes);
+    }
+
+    @Test
+    void testSearchHits_ProjectionUsesFewerStatementsAndLessAllocation() {
+        // Arrange
+        List<Integer> ids = new ArrayList<>();
+        for (int id = 1; id <= FLIGHTS; id += FLIGHTS / PAGE) {
+            ids.add(id);
+        }
+        Supplier<List<FlightDTO>> entities = () -> transactions.execute(
+                status -> repo.findAllById(ids).stream().map(flightService::convertToDTO).toList());
+        Supplier<List<FlightDTO>> projection = () -> repo.findDtosByIds(ids);
+
+        // Act
+        Result before = measure(entities);
+        Result after = measure(projection);
+
+        // Assert
+        assertEquals(1.0, after.statements);
+        assertTrue(after.statements < before.statements);
+        assertTrue(after.bytes < before.bytes);
+    }
+
+    // Runs the read path RUNS times after a warm-up and returns the per-call averages
+    private Result measure(Supplier<List<FlightDTO>> read) {
+        for (int i = 0; i < WARMUP; i++) {
+            assertEquals(PAGE, read.get().size());
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory
+                .getThreadMXBean();
+        stats.clear();
+        long bytes = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < RUNS; i++) {
+            read.get();
+        }
+        bytes = threads.getCurrentThreadAllocatedBytes() - bytes;
+        return new Result((double) stats.getPrepareStatementCount() / RUNS, bytes / RUNS);
+    }
+
+    private record Result(double statements, long bytes) {
+    }
+}
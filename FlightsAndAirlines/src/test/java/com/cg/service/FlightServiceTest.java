@@ -3,6 +3,7 @@ package com.cg.service;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -16,9 +17,11 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import com.cg.entity.Airline;
 import com.cg.entity.Flight;
+import com.cg.event.FlightChangedEvent;
 import com.cg.exception.ResourceNotFound;
 import com.cg.repository.FlightRepository;
 
@@ -28,6 +31,12 @@ public class FlightServiceTest {
 	@Mock
     private FlightRepository repo;
 
+	@Mock
+    private SeatInventory seatInventory;
+
+	@Mock
+    private ApplicationEventPublisher events;
+
     @InjectMocks
     private FlightService flightService;
 
@@ -59,6 +68,7 @@ public class FlightServiceTest {
     }
 
     @Test
+    @SuppressWarnings("deprecation")
     void testGetAllFlights_SortedByPrice() {
         // Arrange
         Flight f1 = new Flight(); f1.setFlightPrice(500.0);
@@ -81,6 +91,7 @@ public class FlightServiceTest {
 
         // Assert
         verify(repo, times(1)).deleteById(101);
+        verify(events, times(1)).publishEvent(any(FlightChangedEvent.class));
     }
 
     @Test
@@ -97,5 +108,6 @@ public class FlightServiceTest {
         assertNotNull(saved);
         assertEquals(airline, saved.getAirline());
         verify(repo, times(1)).save(flight);
+        verify(events, times(1)).publishEvent(any(FlightChangedEvent.class));
     }
 }
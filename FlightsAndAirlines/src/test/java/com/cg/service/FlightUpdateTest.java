@@ -0,0 +1,123 @@
+package com.cg.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.cg.dto.FlightDTO;
+import com.cg.dto.FlightPatch;
+import com.cg.entity.Airline;
+import com.cg.entity.AirlineClass;
+import com.cg.entity.Flight;
+import com.cg.exception.StaleFlightUpdate;
+import com.cg.index.FlightSearchIndex;
+
+// Runs the update form's path (diff against the rendered values, version-checked UPDATE, change event
+// built without reading the flight back) against H2 with bookings in between.
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:flightupdate;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.username=sa", "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false" })
+public class FlightUpdateTest {
+
+    @Autowired
+    private FlightService flightService;
+
+    @Autowired
+    private AirlineService airlineService;
+
+    @Autowired
+    private FlightSearchIndex searchIndex;
+
+    @Autowired
+    private SeatHoldService holdService;
+
+    // What POST /api/update does with a form rendered from 'loaded'
+    private Flight submit(FlightDTO loaded, FlightDTO form, int airlineId) throws Exception {
+        return flightService.patchFlight(form.getFlightId(), form.getVersion(), loaded,
+                FlightPatch.fromForm(form, airlineId, loaded));
+    }
+
+    // The announced flight agrees with the row it describes
+    private void assertMatchesTable(Flight announced) throws Exception {
+        FlightDTO row = flightService.findDtoById(announced.getFlightId());
+        assertEquals(row.getFlightPrice(), announced.getFlightPrice());
+        assertEquals(row.getDuration(), announced.getDuration());
+        assertEquals(row.getAvailSeat(), announced.getAvailSeat());
+        assertEquals(row.getAirlineId(), announced.getAirline().getAid());
+        assertEquals(row.getAirlineName(), announced.getAirline().getAirName());
+        assertEquals(row.getVersion(), announced.getVersion());
+    }
+
+    @Test
+    void testPatchFlight_BookingsDoNotStaleOrRevertAnEdit() throws Exception {
+        // Arrange: the form is loaded, then seats are sold before it is submitted
+        Airline airline = airlineService.saveAir(new Airline(0, "Vistara"));
+        Flight flight = flightService.saveFlight(new Flight(0, "E", 4500, "Hyd", "Del", LocalDate.of(2026, 12, 1),
+                LocalTime.of(10, 30), LocalDate.of(2026, 12, 1), LocalTime.of(12, 30), 120, 100, 100,
+                AirlineClass.ECONOMY, null), airline);
+        FlightDTO loaded = flightService.findDtoById(flight.getFlightId());
+        FlightDTO form = flightService.findDtoById(flight.getFlightId());
+        holdService.confirm(holdService.hold(flight.getFlightId(), 3, "asha").getHoldId(), "asha");
+        form.setFlightPrice(5200);
+
+        // Act
+        Flight saved = submit(loaded, form, airline.getAid());
+
+        // Assert
+        assertEquals(5200.0, saved.getFlightPrice());
+        assertEquals(97, saved.getAvailSeat());
+        assertEquals(form.getVersion() + 1, saved.getVersion());
+        assertMatchesTable(saved);
+    }
+
+    @Test
+    void testPatchFlight_AirlineChangeIsAnnouncedWithTheNewAirline() throws Exception {
+        // Arrange
+        Airline from = airlineService.saveAir(new Airline(0, "Indigo"));
+        Airline to = airlineService.saveAir(new Airline(0, "SpiceJet"));
+        Flight flight = flightService.saveFlight(new Flight(0, "E", 2000, "Pune", "Goa", LocalDate.of(2026, 12, 3),
+                LocalTime.of(8, 0), LocalDate.of(2026, 12, 3), LocalTime.of(9, 10), 70, 60, 60,
+                AirlineClass.ECONOMY, null), from);
+        FlightDTO loaded = flightService.findDtoById(flight.getFlightId());
+        FlightDTO form = flightService.findDtoById(flight.getFlightId());
+
+        // Act
+        Flight saved = submit(loaded, form, to.getAid());
+
+        // Assert: the index re-filed the flight under the new airline from the event alone
+        assertEquals("SpiceJet", saved.getAirline().getAirName());
+        assertMatchesTable(saved);
+        assertArrayEquals(new int[] { flight.getFlightId() }, searchIndex.search("pune", null, List.of(to.getAid()), null));
+        assertArrayEquals(new int[0], searchIndex.search("pune", null, List.of(from.getAid()), null));
+    }
+
+    @Test
+    void testPatchFlight_SecondEditFromSameFormIsRejected() throws Exception {
+        // Arrange: two admins load the same version
+        Airline airline = airlineService.saveAir(new Airline(0, "Akasa"));
+        Flight flight = flightService.saveFlight(new Flight(0, "E", 3000, "Bom", "Goa", LocalDate.of(2026, 12, 2),
+                LocalTime.of(6, 0), LocalDate.of(2026, 12, 2), LocalTime.of(7, 15), 75, 50, 50,
+                AirlineClass.BUSINESS, null), airline);
+        FlightDTO loaded = flightService.findDtoById(flight.getFlightId());
+        FlightDTO first = flightService.findDtoById(flight.getFlightId());
+        FlightDTO second = flightService.findDtoById(flight.getFlightId());
+        first.setDuration(80);
+        second.setAvailSeat(40);
+
+        // Act & Assert: the first edit bumps the version, so the second is refused and changes nothing
+        assertMatchesTable(submit(loaded, first, airline.getAid()));
+        assertThrows(StaleFlightUpdate.class, () -> submit(loaded, second, airline.getAid()));
+        assertEquals(50, flightService.findIdByFlight(flight.getFlightId()).getAvailSeat());
+    }
+}
@@ -0,0 +1,221 @@
+package com.cg.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import com.cg.dto.ExpansionReport;
+import com.cg.entity.Airline;
+import com.cg.entity.AirlineClass;
+import com.cg.entity.ScheduleRule;
+import com.cg.event.FlightsBulkChangedEvent;
+
+// Expands rules into flights on H2 and checks how edits are diffed against the generated flights:
+// updates in place, deletes of unbooked dates, flights kept for their bookings, capacity cuts
+// below sold seats, and rules whose expansion fails.
+@RecordApplicationEvents
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:schedule;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.username=sa", "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false",
+        "app.schedule.expand-interval=0", "app.schedule.horizon-days=30", "app.schedule.batch-size=4" })
+public class ScheduleServiceTest {
+
+    private static final LocalDate TODAY = LocalDate.now();
+    private static final Set<DayOfWeek> WEEKDAYS = EnumSet.range(DayOfWeek.MONDAY, DayOfWeek.FRIDAY);
+
+    @Autowired
+    private ScheduleService scheduleService;
+
+    @Autowired
+    private AirlineService airlineService;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    private int airlineId;
+
+    @BeforeEach
+    void setUp() {
+        jdbc.update("DELETE FROM flights");
+        jdbc.update("DELETE FROM schedule_rules");
+        if (airlineService.getAllAirlines().isEmpty()) {
+            airlineService.saveAir(new Airline(0, "Indigo"));
+        }
+        airlineId = airlineService.getAllAirlines().get(0).getAid();
+    }
+
+    // Daily Hyd-Del rule from tomorrow; 'validTo' null means up to the 30-day horizon
+    private ScheduleRule rule(int totSeat, LocalDate validTo, Set<DayOfWeek> days) {
+        ScheduleRule rule = new ScheduleRule();
+        rule.setAirlineId(airlineId);
+        rule.setEnterprise("E");
+        rule.setFlightPrice(4000);
+        rule.setSource("Hyd");
+        rule.setDestination("Del");
+        rule.setDepartureTime(LocalTime.of(23, 0));
+        rule.setDuration(120);
+        rule.setTotSeat(totSeat);
+        rule.setClassName(AirlineClass.ECONOMY);
+        rule.setDays(List.copyOf(days));
+        rule.setValidFrom(TODAY.plusDays(1));
+        rule.setValidTo(validTo);
+        return rule;
+    }
+
+    // First date after tomorrow falling on 'day'
+    private static LocalDate next(DayOfWeek day) {
+        LocalDate date = TODAY.plusDays(2);
+        while (date.getDayOfWeek() != day) {
+            date = date.plusDays(1);
+        }
+        return date;
+    }
+
+    private void sell(int ruleId, LocalDate date, int seats) {
+        jdbc.update("UPDATE flights SET avail_seat = avail_seat - ? WHERE schedule_rule_id = ? AND departure_date = ?",
+                seats, ruleId, date);
+    }
+
+    private int[] seats(int ruleId, LocalDate date) {
+        return jdbc.queryForObject("SELECT tot_seat, avail_seat FROM flights WHERE schedule_rule_id = ? "
+                + "AND departure_date = ?", (rs, n) -> new int[] { rs.getInt(1), rs.getInt(2) }, ruleId, date);
+    }
+
+    private int count(String where, Object... args) {
+        return jdbc.queryForObject("SELECT COUNT(*) FROM flights WHERE " + where, Integer.class, args);
+    }
+
+    @Test
+    void testExpansion_GeneratesOperatingDaysOnceAndIsIdempotent() {
+        // Arrange
+        ScheduleRule rule = rule(100, TODAY.plusDays(28), WEEKDAYS);
+        long weekdays = TODAY.plusDays(1).datesUntil(TODAY.plusDays(29))
+                .filter(d -> WEEKDAYS.contains(d.getDayOfWeek())).count();
+
+        // Act
+        int ruleId = scheduleService.createRule(rule).getRuleId();
+        ExpansionReport again = scheduleService.expandAll();
+
+        // Assert: the overnight flight lands the next day
+        assertEquals(weekdays, count("schedule_rule_id = ?", ruleId));
+        assertEquals(0, count("schedule_rule_id = ? AND arrival_date <> DATEADD('DAY', 1, departure_date)", ruleId));
+        assertEquals(0, again.getChanged());
+        assertEquals(1, again.getRules());
+    }
+
+    @Test
+    void testUpdateRule_UpdatesCoveredDatesAndDeletesUnbookedOthers() throws Exception {
+        // Arrange: seats sold on one weekend and one weekday flight
+        ScheduleRule created = scheduleService.createRule(rule(100, TODAY.plusDays(28), EnumSet.allOf(DayOfWeek.class)));
+        int ruleId = created.getRuleId();
+        LocalDate saturday = next(DayOfWeek.SATURDAY);
+        LocalDate wednesday = next(DayOfWeek.WEDNESDAY);
+        sell(ruleId, saturday, 30);
+        sell(ruleId, wednesday, 40);
+        ScheduleRule changes = rule(60, TODAY.plusDays(28), WEEKDAYS);
+        changes.setFlightPrice(5000);
+        long weekdays = TODAY.plusDays(1).datesUntil(TODAY.plusDays(29))
+                .filter(d -> WEEKDAYS.contains(d.getDayOfWeek())).count();
+
+        // Act
+        scheduleService.updateRule(ruleId, changes);
+
+        // Assert
+        assertEquals(weekdays + 1, count("schedule_rule_id = ?", ruleId));
+        assertEquals(weekdays, count("schedule_rule_id = ? AND flight_price = 5000 AND tot_seat = 60", ruleId));
+        assertEquals(weekdays - 1, count("schedule_rule_id = ? AND avail_seat = 60", ruleId));
+        assertEquals(20, seats(ruleId, wednesday)[1]);
+        assertEquals(100, seats(ruleId, saturday)[0]); // Kept for its bookings, unchanged
+        assertEquals(70, seats(ruleId, saturday)[1]);
+    }
+
+    @Test
+    void testUpdateRule_RejectsCapacityBelowSeatsSoldOnCoveredFlight() throws Exception {
+        // Arrange
+        int ruleId = scheduleService.createRule(rule(100, null, EnumSet.allOf(DayOfWeek.class))).getRuleId();
+        LocalDate tuesday = next(DayOfWeek.TUESDAY);
+        sell(ruleId, tuesday, 80);
+        ScheduleRule smaller = rule(50, null, EnumSet.allOf(DayOfWeek.class));
+        ScheduleRule smallerWithoutTuesdays = rule(50, null, EnumSet.complementOf(EnumSet.of(DayOfWeek.TUESDAY)));
+
+        // Act & Assert: the same cut is fine once the oversold date is no longer covered
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> scheduleService.updateRule(ruleId, smaller));
+        assertEquals("totSeat 50 is below the seats already sold on 1 future flight(s), the first on " + tuesday,
+                ex.getMessage());
+        assertEquals(0, count("schedule_rule_id = ? AND tot_seat <> 100", ruleId));
+        assertEquals(0, scheduleService.findRule(ruleId).getRevision());
+        scheduleService.updateRule(ruleId, smallerWithoutTuesdays);
+        assertEquals(100, seats(ruleId, tuesday)[0]);
+        assertEquals(20, seats(ruleId, tuesday)[1]);
+        assertEquals(0, count("schedule_rule_id = ? AND departure_date <> ? AND tot_seat <> 50", ruleId, tuesday));
+    }
+
+    @Test
+    void testExpandAll_FlightSoldPastNewCapacityIsReportedNotClamped() {
+        // Arrange: the capacity cut was checked and saved, then the flight sold past it
+        int ruleId = scheduleService.createRule(rule(100, null, EnumSet.allOf(DayOfWeek.class))).getRuleId();
+        LocalDate date = TODAY.plusDays(5);
+        sell(ruleId, date, 80);
+        jdbc.update("UPDATE schedule_rules SET tot_seat = 50, revision = revision + 1 WHERE rule_id = ?", ruleId);
+
+        // Act
+        ExpansionReport report = scheduleService.expandAll();
+
+        // Assert
+        assertEquals(1, report.getOversold());
+        assertEquals(29, report.getUpdated());
+        assertEquals(100, seats(ruleId, date)[0]);
+        assertEquals(20, seats(ruleId, date)[1]);
+        assertEquals(0, count("schedule_rule_id = ? AND avail_seat < 0", ruleId));
+    }
+
+    @Test
+    void testExpandAll_RuleFailingOnRetryDoesNotStopTheOthers() {
+        // Arrange: both rules recorded as expanded only to day 20; A's later flights exist (one of
+        // them edited since), B's do not
+        int ruleA = scheduleService.createRule(rule(100, null, EnumSet.allOf(DayOfWeek.class))).getRuleId();
+        int ruleB = scheduleService.createRule(rule(100, null, EnumSet.allOf(DayOfWeek.class))).getRuleId();
+        jdbc.update("UPDATE schedule_rules SET expanded_through = ?", TODAY.plusDays(20));
+        jdbc.update("UPDATE flights SET flight_price = 1 WHERE schedule_rule_id = ? AND departure_date = ?", ruleA,
+                TODAY.plusDays(25));
+        jdbc.update("DELETE FROM flights WHERE schedule_rule_id = ? AND departure_date > ?", ruleB, TODAY.plusDays(20));
+        events.clear();
+        // Every UPDATE bumps the version, so A's retry, which has to update that flight, fails
+        jdbc.execute("ALTER TABLE flights ADD CONSTRAINT test_no_updates CHECK (version = 0)");
+        ExpansionReport report;
+        try {
+            // Act
+            report = scheduleService.expandAll();
+        } finally {
+            jdbc.execute("ALTER TABLE flights DROP CONSTRAINT test_no_updates");
+        }
+
+        // Assert
+        assertEquals(1, report.getRules());
+        assertEquals(10, report.getInserted());
+        assertEquals(30, count("schedule_rule_id = ?", ruleB));
+        assertEquals(1, count("schedule_rule_id = ? AND flight_price = 1", ruleA)); // Rolled back
+        assertEquals(1, events.stream(FlightsBulkChangedEvent.class).count());
+    }
+}
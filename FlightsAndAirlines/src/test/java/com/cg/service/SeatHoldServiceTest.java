@@ -0,0 +1,128 @@
+package com.cg.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.cg.entity.Airline;
+import com.cg.entity.AirlineClass;
+import com.cg.entity.Flight;
+import com.cg.entity.SeatHold;
+import com.cg.exception.HoldExpired;
+
+// Walks holds through confirm, release and expiry on H2 with a short hold window, including holds
+// whose rows another instance already deleted.
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:seathold;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.username=sa", "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false",
+        "app.hold.window=2s", "app.hold.tick=50ms" })
+public class SeatHoldServiceTest {
+
+    @Autowired
+    private SeatHoldService holdService;
+
+    @Autowired
+    private FlightService flightService;
+
+    @Autowired
+    private AirlineService airlineService;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    private int flightId;
+
+    @BeforeEach
+    void setUp() {
+        Airline airline = airlineService.saveAir(new Airline(0, "Indigo"));
+        flightId = flightService.saveFlight(new Flight(0, "E", 4500, "Hyd", "Del", LocalDate.of(2026, 12, 1),
+                LocalTime.of(10, 30), LocalDate.of(2026, 12, 1), LocalTime.of(12, 30), 120, 10, 10,
+                AirlineClass.ECONOMY, null), airline).getFlightId();
+    }
+
+    private int seatsLeft() {
+        return jdbc.queryForObject("SELECT avail_seat FROM flights WHERE flight_id = ?", Integer.class, flightId);
+    }
+
+    private int version() {
+        return jdbc.queryForObject("SELECT version FROM flights WHERE flight_id = ?", Integer.class, flightId);
+    }
+
+    private int holdRows(long holdId) {
+        return jdbc.queryForObject("SELECT COUNT(*) FROM seat_holds WHERE hold_id = ?", Integer.class, holdId);
+    }
+
+    @Test
+    void testConfirm_KeepsSeatsAndEndsTheHold() throws Exception {
+        // Arrange
+        SeatHold hold = holdService.hold(flightId, 3, "asha");
+
+        // Act
+        holdService.confirm(hold.getHoldId(), "asha");
+
+        // Assert
+        assertEquals(7, seatsLeft());
+        assertEquals(0, holdRows(hold.getHoldId()));
+        assertThrows(HoldExpired.class, () -> holdService.confirm(hold.getHoldId(), "asha"));
+        assertThrows(HoldExpired.class, () -> holdService.release(hold.getHoldId(), "asha"));
+        assertEquals(7, seatsLeft());
+    }
+
+    @Test
+    void testRelease_ReturnsSeatsWithoutBumpingVersion() throws Exception {
+        // Arrange
+        int versionBefore = version();
+        SeatHold hold = holdService.hold(flightId, 4, "asha");
+
+        // Act & Assert: only the owner may release it
+        assertThrows(HoldExpired.class, () -> holdService.release(hold.getHoldId(), "ravi"));
+        holdService.release(hold.getHoldId(), "asha");
+        assertEquals(10, seatsLeft());
+        assertEquals(versionBefore, version());
+        assertEquals(0, holdRows(hold.getHoldId()));
+        assertThrows(HoldExpired.class, () -> holdService.confirm(hold.getHoldId(), "asha"));
+    }
+
+    @Test
+    void testExpiry_ReturnsSeatsAfterTheWindow() throws Exception {
+        // Arrange
+        SeatHold hold = holdService.hold(flightId, 2, "asha");
+        assertEquals(8, seatsLeft());
+
+        // Act: the ticker returns the seats once the 2 s window has passed
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (holdRows(hold.getHoldId()) > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+
+        // Assert
+        assertEquals(0, holdRows(hold.getHoldId()));
+        assertEquals(10, seatsLeft());
+        assertThrows(HoldExpired.class, () -> holdService.confirm(hold.getHoldId(), "asha"));
+    }
+
+    @Test
+    void testHoldsEndedByAnotherInstance_AreNotReturnedTwice() throws Exception {
+        // Arrange: after a restart two instances reloaded the same holds, and the other one ended them
+        SeatHold released = holdService.hold(flightId, 3, "asha");
+        SeatHold confirmed = holdService.hold(flightId, 2, "asha");
+        jdbc.update("DELETE FROM seat_holds WHERE hold_id IN (?, ?)", released.getHoldId(), confirmed.getHoldId());
+
+        // Act & Assert
+        holdService.release(released.getHoldId(), "asha");
+        assertEquals(5, seatsLeft());
+        assertThrows(HoldExpired.class, () -> holdService.confirm(confirmed.getHoldId(), "asha"));
+        assertEquals(5, seatsLeft());
+    }
+}
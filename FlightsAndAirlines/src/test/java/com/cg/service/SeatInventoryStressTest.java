@@ -0,0 +1,98 @@
+package com.cg.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.cg.exception.SeatUnavailable;
+import com.cg.repository.FlightRepository;
+
+@ExtendWith(MockitoExtension.class)
+public class SeatInventoryStressTest {
+	@Mock
+    private FlightRepository repo;
+
+    @InjectMocks
+    private SeatInventory seatInventory;
+
+    @Test
+    void testReserve_ManyThreadsNeverOversell() throws Exception {
+        // Arrange: a hot flight with 100 seats and a database that applies the same conditional UPDATE
+        int seats = 100;
+        int threads = 16;
+        int attemptsPerThread = 2_000;
+        AtomicInteger dbSeats = new AtomicInteger(seats);
+        when(repo.findAvailSeat(7)).thenReturn(Optional.of(seats));
+        when(repo.reserveSeats(anyInt(), anyInt())).thenAnswer(inv -> {
+            int wanted = inv.getArgument(1);
+            int current;
+            do {
+                current = dbSeats.get();
+                if (current < wanted) {
+                    return 0;
+                }
+            } while (!dbSeats.compareAndSet(current, current - wanted));
+            return 1;
+        });
+
+        // Act: every thread hammers the same flight at once
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger booked = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < attemptsPerThread; i++) {
+                    try {
+                        seatInventory.reserve(7, 1);
+                        booked.incrementAndGet();
+                    } catch (SeatUnavailable ex) {
+                        rejected.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> f : futures) {
+            f.get(30, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        // Assert: exactly the available seats were sold, in memory and in the "database"
+        int attempts = threads * attemptsPerThread;
+        assertEquals(seats, booked.get());
+        assertEquals(attempts - seats, rejected.get());
+        assertEquals(0, dbSeats.get());
+    }
+
+    @Test
+    void testReserve_StaleCounterIsRejectedAndReloaded() throws Exception {
+        // Arrange: memory thinks 5 seats are left but an admin edit already set the row to 0
+        when(repo.findAvailSeat(9)).thenReturn(Optional.of(5)).thenReturn(Optional.of(0));
+        when(repo.reserveSeats(9, 1)).thenReturn(0);
+
+        // Act & Assert: the database guard wins, and the reloaded counter rejects from memory
+        assertThrows(SeatUnavailable.class, () -> seatInventory.reserve(9, 1));
+        assertThrows(SeatUnavailable.class, () -> seatInventory.reserve(9, 1));
+    }
+}